@@ -0,0 +1,172 @@
+package org.example.spring_ai.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.example.spring_ai.vector.ParallelEmbeddingModel;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.ollama.OllamaEmbeddingModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.ai.transformers.TransformersEmbeddingModel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Compares embedding models on the two paths the server uses them: single query embeddings
+ * (latency percentiles, as in semanticSearchDocs) and bulk chunk embedding (throughput, as in
+ * DocumentIndexerService, batched by token count like the vector store does).
+ *
+ * Models, from {@code benchmark.models}: {@code ollama} (HTTP, skipped if unreachable),
+ * {@code transformers} (in-process ONNX, one inference call per batch) and
+ * {@code transformers-parallel} (the same wrapped in {@link ParallelEmbeddingModel}, as configured
+ * in the server). Run with {@code ./gradlew embeddingBenchmark -Pbenchmark.queries=500}.
+ */
+public final class EmbeddingBenchmark {
+
+    private static final int WARMUP_CALLS = 10;
+
+    public static void main(String[] args) throws Exception {
+        List<String> models = List.of(prop("models", "ollama,transformers,transformers-parallel").split(","));
+        int queries = Integer.parseInt(prop("queries", "200"));
+        int rounds = Integer.parseInt(prop("rounds", "3"));
+        List<Document> chunks = chunks(Path.of(prop("docs", "docs")), Integer.parseInt(prop("chunkSize", "1000")),
+                Integer.parseInt(prop("maxChunks", "500")));
+        if (chunks.isEmpty()) {
+            throw new IllegalStateException("No .md/.txt/.adoc files under " + prop("docs", "docs"));
+        }
+        List<String> queryTexts = queryTexts(chunks, queries);
+        System.out.printf("Embedding benchmark: %d queries, %d chunks x %d rounds%n", queryTexts.size(), chunks.size(), rounds);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        TransformersEmbeddingModel transformers = null;
+        for (String name : models) {
+            EmbeddingModel model;
+            switch (name.trim()) {
+                case "ollama" -> model = ollama();
+                case "transformers" -> model = transformers = transformers != null ? transformers : transformers();
+                case "transformers-parallel" -> {
+                    transformers = transformers != null ? transformers : transformers();
+                    model = new ParallelEmbeddingModel(transformers,
+                            Integer.parseInt(prop("batchSize", "32")), Integer.parseInt(prop("threads", "0")));
+                }
+                default -> throw new IllegalArgumentException("Unknown model: " + name);
+            }
+            if (model == null) continue;
+            results.put(name.trim(), run(name.trim(), model, queryTexts, chunks, rounds));
+        }
+
+        String report = prop("report", "");
+        if (!report.isBlank()) {
+            Path file = Path.of(report);
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), results);
+            System.out.println("Report: " + file.toAbsolutePath());
+        }
+    }
+
+    private static Result run(String name, EmbeddingModel model, List<String> queryTexts, List<Document> chunks, int rounds) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            model.embed(queryTexts.get(i % queryTexts.size()));
+        }
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (String query : queryTexts) {
+            long start = System.nanoTime();
+            model.embed(query);
+            recorder.record("query", System.nanoTime() - start, false);
+        }
+        long indexNanos = 0;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            model.embed(chunks, EmbeddingOptions.builder().build(), new TokenCountBatchingStrategy());
+            long elapsed = System.nanoTime() - start;
+            recorder.record("index", elapsed, false);
+            indexNanos += elapsed;
+        }
+        LatencyRecorder.ToolSummary query = recorder.summarize(1).get("query");
+        double chunksPerSecond = chunks.size() * (double) rounds / (indexNanos / 1e9);
+        System.out.printf("%-22s dims=%4d query p50=%7.2f ms p90=%7.2f ms p99=%7.2f ms | index %8.1f chunks/s%n",
+                name, model.dimensions(), query.p50Ms(), query.p90Ms(), query.p99Ms(), chunksPerSecond);
+        return new Result(model.dimensions(), query.p50Ms(), query.p90Ms(), query.p99Ms(), query.maxMs(),
+                chunks.size(), rounds, chunksPerSecond);
+    }
+
+    private static EmbeddingModel ollama() {
+        String baseUrl = prop("ollamaUrl", "http://localhost:11434");
+        EmbeddingModel model = OllamaEmbeddingModel.builder()
+                .ollamaApi(OllamaApi.builder().baseUrl(baseUrl).build())
+                .defaultOptions(OllamaOptions.builder().model(prop("ollamaModel", "nomic-embed-text")).build())
+                .build();
+        try {
+            model.embed("ping");
+            return model;
+        } catch (Exception e) {
+            System.out.printf("%-22s skipped: Ollama not reachable at %s (%s)%n", "ollama", baseUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    private static TransformersEmbeddingModel transformers() throws Exception {
+        TransformersEmbeddingModel model = new TransformersEmbeddingModel();
+        String modelUri = prop("onnxModel", "");
+        if (!modelUri.isBlank()) {
+            model.setModelResource(modelUri);
+            model.setTokenizerResource(prop("tokenizer", TransformersEmbeddingModel.DEFAULT_ONNX_TOKENIZER_URI));
+        }
+        model.afterPropertiesSet();
+        return model;
+    }
+
+    /**
+     * Fixed-size chunks of the docs, roughly as the indexer produces them.
+     */
+    private static List<Document> chunks(Path dir, int chunkSize, int maxChunks) throws IOException {
+        List<Document> chunks = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return chunks;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.filter(p -> p.toString().matches(".*\\.(md|markdown|txt|adoc)$")).sorted().toList()) {
+                String content = Files.readString(file);
+                for (int from = 0; from < content.length() && chunks.size() < maxChunks; from += chunkSize) {
+                    String text = content.substring(from, Math.min(content.length(), from + chunkSize)).strip();
+                    if (!text.isEmpty()) chunks.add(new Document(text));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Short, distinct query-like texts taken from chunk openings.
+     */
+    private static List<String> queryTexts(List<Document> chunks, int count) {
+        List<String> queries = new ArrayList<>(count);
+        for (int i = 0; queries.size() < count; i++) {
+            String text = chunks.get(i % chunks.size()).getText().replaceAll("\\s+", " ");
+            String[] words = text.split(" ");
+            int offset = (i / chunks.size()) * 3 % Math.max(1, words.length);
+            StringBuilder query = new StringBuilder();
+            for (int w = offset; w < Math.min(words.length, offset + 8); w++) {
+                query.append(words[w]).append(' ');
+            }
+            queries.add(query.toString().strip() + " #" + i);
+        }
+        return queries;
+    }
+
+    private static String prop(String name, String defaultValue) {
+        return System.getProperty("benchmark." + name, defaultValue);
+    }
+
+    record Result(int dimensions, double queryP50Ms, double queryP90Ms, double queryP99Ms, double queryMaxMs,
+                  int chunks, int rounds, double chunksPerSecond) {}
+}
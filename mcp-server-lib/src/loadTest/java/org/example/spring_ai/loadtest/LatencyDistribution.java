@@ -0,0 +1,72 @@
+package org.example.spring_ai.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Artificial upstream latency for the stubs.
+ *
+ * Specs: {@code none}, {@code fixed:20ms}, {@code uniform:5ms:50ms}, {@code lognormal:20ms:200ms}
+ * (median and p99; models the long tail typical of a loaded OMS).
+ */
+public sealed interface LatencyDistribution {
+
+    long sampleMillis();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        return switch (parts[0]) {
+            case "none" -> new Fixed(0);
+            case "fixed" -> new Fixed(millis(parts, 1));
+            case "uniform" -> new Uniform(millis(parts, 1), millis(parts, 2));
+            case "lognormal" -> LogNormal.of(millis(parts, 1), millis(parts, 2));
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        };
+    }
+
+    private static long millis(String[] parts, int index) {
+        if (parts.length <= index) {
+            throw new IllegalArgumentException("Missing duration in latency spec: " + String.join(":", parts));
+        }
+        return DurationStyle.detectAndParse(parts[index]).toMillis();
+    }
+
+    default void sleep() {
+        long ms = sampleMillis();
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record Fixed(long millis) implements LatencyDistribution {
+        @Override
+        public long sampleMillis() {
+            return millis;
+        }
+    }
+
+    record Uniform(long min, long max) implements LatencyDistribution {
+        @Override
+        public long sampleMillis() {
+            return min >= max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+        }
+    }
+
+    /** Log-normal with the given median and p99 (sigma = ln(p99 / median) / z(0.99)). */
+    record LogNormal(double mu, double sigma) implements LatencyDistribution {
+
+        static LogNormal of(long median, long p99) {
+            double m = Math.max(1, median);
+            return new LogNormal(Math.log(m), Math.log(Math.max(m, p99) / m) / 2.326);
+        }
+
+        @Override
+        public long sampleMillis() {
+            return Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.spring_ai.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-tool latency samples (nanoseconds, measured from the scheduled start so queueing delay in an
+ * overloaded server is not hidden) and error counts.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> byTool = new ConcurrentHashMap<>();
+
+    void record(String tool, long nanos, boolean error) {
+        byTool.computeIfAbsent(tool, t -> new Samples()).add(nanos, error);
+    }
+
+    /**
+     * @return per-tool summaries sorted by tool name
+     */
+    Map<String, ToolSummary> summarize(double seconds) {
+        Map<String, ToolSummary> result = new TreeMap<>();
+        byTool.forEach((tool, samples) -> result.put(tool, samples.summary(seconds)));
+        return result;
+    }
+
+    record ToolSummary(long calls, long errors, double throughput,
+                       double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    private static final class Samples {
+        private long[] values = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long nanos, boolean error) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+            if (error) errors++;
+        }
+
+        synchronized ToolSummary summary(double seconds) {
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return new ToolSummary(count, errors, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+        }
+    }
+}
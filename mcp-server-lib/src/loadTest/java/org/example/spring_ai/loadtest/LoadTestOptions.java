@@ -0,0 +1,63 @@
+package org.example.spring_ai.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties (the Gradle task forwards
+ * {@code -Ploadtest.*} project properties).
+ *
+ * @param rate         target tool calls per second (open loop: calls are started on schedule
+ *                     regardless of how many are still in flight)
+ * @param warmup       warm-up phase, excluded from the results
+ * @param duration     measured phase
+ * @param maxInFlight  calls beyond this many in flight are counted as dropped instead of started
+ * @param mix          tool mix: file path or {@code classpath:mixes/<name>.json}
+ * @param omsLatency   latency of the stub OMS, see {@link LatencyDistribution}
+ * @param embeddingLatency latency of the stub embedding endpoint
+ * @param orders       number of generated orders
+ * @param vector       enable the vector store (needs a reachable Qdrant; embeddings are stubbed)
+ * @param heap         server max heap, e.g. "512m"
+ * @param classpath    server runtime classpath
+ * @param report       JSON report file (empty = console only)
+ * @param serverArgs   extra Spring arguments for the server, comma-separated
+ */
+record LoadTestOptions(
+        double rate,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        String mix,
+        String omsLatency,
+        String embeddingLatency,
+        int orders,
+        boolean vector,
+        String heap,
+        String classpath,
+        String report,
+        List<String> serverArgs) {
+
+    static LoadTestOptions fromSystemProperties() {
+        String extra = prop("serverArgs", "");
+        return new LoadTestOptions(
+                Double.parseDouble(prop("rate", "20")),
+                DurationStyle.detectAndParse(prop("warmup", "15s")),
+                DurationStyle.detectAndParse(prop("duration", "60s")),
+                Integer.parseInt(prop("maxInFlight", "256")),
+                prop("mix", "classpath:mixes/default.json"),
+                prop("omsLatency", "lognormal:15ms:150ms"),
+                prop("embeddingLatency", "lognormal:10ms:60ms"),
+                Integer.parseInt(prop("orders", "20000")),
+                Boolean.parseBoolean(prop("vector", "false")),
+                prop("heap", "512m"),
+                prop("classpath", System.getProperty("java.class.path")),
+                prop("report", ""),
+                extra.isBlank() ? List.of() : List.of(extra.split(",")));
+    }
+
+    private static String prop(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
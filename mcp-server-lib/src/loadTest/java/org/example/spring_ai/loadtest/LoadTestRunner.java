@@ -0,0 +1,194 @@
+package org.example.spring_ai.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.client.transport.StdioClientTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * Drives the MCP server over stdio with a tool mix at a fixed rate and reports throughput, latency
+ * percentiles per tool and the server's allocation rate.
+ *
+ * The server runs as a child JVM (as in production) against {@link StubUpstreams} for the OMS query
+ * API and Ollama embeddings; allocation and GC figures come from its JMX MBeans.
+ * Run with {@code ./gradlew loadTest -Ploadtest.rate=50 -Ploadtest.duration=2m}.
+ */
+public final class LoadTestRunner {
+
+    private static final String SERVER_MAIN = "org.example.spring_ai.SpringAiApplication";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        ToolMix mix = ToolMix.load(options.mix());
+        int jmxPort = freePort();
+
+        try (StubUpstreams stubs = new StubUpstreams(new OrderGenerator(options.orders(), 42L),
+                LatencyDistribution.parse(options.omsLatency()), LatencyDistribution.parse(options.embeddingLatency()))) {
+
+            McpSyncClient client = McpClient.sync(new StdioClientTransport(serverParameters(options, stubs, jmxPort)))
+                    .requestTimeout(Duration.ofSeconds(30))
+                    .initializationTimeout(Duration.ofSeconds(120))
+                    .build();
+            try (ServerJmx jmx = startServer(client, jmxPort)) {
+                System.out.printf("Load test: mix=%s rate=%.1f/s warmup=%s duration=%s oms=%s%n",
+                        mix.name(), options.rate(), options.warmup(), options.duration(), options.omsLatency());
+
+                run(client, mix, options, options.warmup(), new LatencyRecorder());
+
+                LatencyRecorder recorder = new LatencyRecorder();
+                long omsBefore = stubs.omsRequests();
+                ServerJmx.Snapshot before = jmx.snapshot();
+                Phase phase = run(client, mix, options, options.duration(), recorder);
+                ServerJmx.Snapshot after = jmx.snapshot();
+
+                Map<String, Object> report = report(options, mix, phase, recorder, before, after,
+                        stubs.omsRequests() - omsBefore);
+                if (!options.report().isBlank()) {
+                    Path file = Path.of(options.report());
+                    if (file.getParent() != null) Files.createDirectories(file.getParent());
+                    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+                    System.out.println("Report written to " + file.toAbsolutePath());
+                }
+            } finally {
+                client.closeGracefully();
+            }
+        }
+    }
+
+    private static ServerJmx startServer(McpSyncClient client, int jmxPort) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        client.initialize();
+        System.out.printf("Server initialized in %d ms, %d tools%n",
+                System.currentTimeMillis() - start, client.listTools().tools().size());
+        return ServerJmx.connect(jmxPort, 30_000);
+    }
+
+    private static ServerParameters serverParameters(LoadTestOptions options, StubUpstreams stubs, int jmxPort) {
+        List<String> args = new ArrayList<>();
+        args.add("-Xmx" + options.heap());
+        args.addAll(ServerJmx.jvmArgs(jmxPort));
+        args.add("-cp");
+        args.add(options.classpath());
+        args.add(SERVER_MAIN);
+        args.add("--spring.ai.mcp.server.stdio=true");
+        args.add("--spring.main.banner-mode=off");
+        args.add("--oms.base-url=" + stubs.baseUrl());
+        args.add("--spring.ai.ollama.base-url=" + stubs.baseUrl());
+        args.add("--vector.store.enabled=" + options.vector());
+        args.add("--domain.docs.paths=docs");
+        args.add("--mcp.warmup.stats-file=");
+        args.addAll(options.serverArgs());
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return ServerParameters.builder(java).args(args).build();
+    }
+
+    private record Phase(double seconds, long started, long dropped) {}
+
+    /**
+     * Open-loop schedule: call i is due at start + i / rate and is timed from that instant.
+     */
+    private static Phase run(McpSyncClient client, ToolMix mix, LoadTestOptions options, Duration length,
+                             LatencyRecorder recorder) throws InterruptedException {
+        long intervalNanos = (long) (1e9 / options.rate());
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        AtomicLong dropped = new AtomicLong();
+        long started = 0;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + i * intervalNanos;
+                if (due >= end) break;
+                long wait = due - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                if (!inFlight.tryAcquire()) {
+                    dropped.incrementAndGet();
+                    continue;
+                }
+                ToolMix.Call call = mix.next();
+                started++;
+                workers.execute(() -> {
+                    boolean error;
+                    try {
+                        McpSchema.CallToolResult result = client.callTool(
+                                new McpSchema.CallToolRequest(call.tool(), call.arguments()));
+                        error = Boolean.TRUE.equals(result.isError());
+                    } catch (RuntimeException e) {
+                        error = true;
+                    } finally {
+                        inFlight.release();
+                    }
+                    recorder.record(call.tool(), System.nanoTime() - due, error);
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return new Phase((System.nanoTime() - start) / 1e9, started, dropped.get());
+    }
+
+    private static Map<String, Object> report(LoadTestOptions options, ToolMix mix, Phase phase, LatencyRecorder recorder,
+                                              ServerJmx.Snapshot before, ServerJmx.Snapshot after, long omsRequests) {
+        Map<String, LatencyRecorder.ToolSummary> tools = recorder.summarize(phase.seconds());
+        long calls = tools.values().stream().mapToLong(LatencyRecorder.ToolSummary::calls).sum();
+        long errors = tools.values().stream().mapToLong(LatencyRecorder.ToolSummary::errors).sum();
+        double jmxSeconds = (after.nanoTime() - before.nanoTime()) / 1e9;
+        long allocated = after.allocatedBytes() - before.allocatedBytes();
+
+        System.out.printf("%n%-22s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "tool", "calls", "errors", "calls/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        tools.forEach((tool, s) -> System.out.printf("%-22s %8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                tool, s.calls(), s.errors(), s.throughput(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.p999Ms(), s.maxMs()));
+        System.out.printf("%ntotal: %d calls (%d errors, %d dropped) in %.1f s = %.1f calls/s, %d OMS requests%n",
+                calls, errors, phase.dropped(), phase.seconds(), calls / phase.seconds(), omsRequests);
+        System.out.printf("server: %.1f MB/s allocated, %.1f KB/call, %d GCs (%d ms), heap used %d MB%n",
+                allocated / jmxSeconds / 1e6, calls == 0 ? 0 : allocated / (double) calls / 1e3,
+                after.gcCount() - before.gcCount(), after.gcMillis() - before.gcMillis(), after.heapUsedBytes() >> 20);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mix", mix.name());
+        report.put("options", options);
+        report.put("seconds", phase.seconds());
+        report.put("calls", calls);
+        report.put("errors", errors);
+        report.put("started", phase.started());
+        report.put("dropped", phase.dropped());
+        report.put("throughput", calls / phase.seconds());
+        report.put("omsRequests", omsRequests);
+        report.put("allocatedBytesPerSecond", allocated / jmxSeconds);
+        report.put("allocatedBytesPerCall", calls == 0 ? 0 : allocated / (double) calls);
+        report.put("gcCount", after.gcCount() - before.gcCount());
+        report.put("gcMillis", after.gcMillis() - before.gcMillis());
+        report.put("tools", tools);
+        return report;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private LoadTestRunner() {
+    }
+}
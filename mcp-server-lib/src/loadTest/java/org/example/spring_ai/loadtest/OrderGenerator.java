@@ -0,0 +1,101 @@
+package org.example.spring_ai.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic set of orders shaped like the OMS {@code OrderDto}, grouped into parent/child trees,
+ * with the equality filters of {@code /api/query/orders} applied in memory.
+ */
+final class OrderGenerator {
+
+    private static final String[] SYMBOLS = {"INTC", "AAPL", "MSFT", "NVDA", "AMZN", "IBM", "ORCL", "CSCO"};
+    private static final String[] ACCOUNTS = {"ACC1", "ACC2", "ACC3", "ACC4", "ACC5"};
+    private static final String[] SIDES = {"BUY", "SELL", "SELL_SHORT"};
+    private static final String[] ORD_TYPES = {"MARKET", "LIMIT", "STOP", "STOP_LIMIT"};
+    private static final String[] STATES = {"NEW", "LIVE", "FILLED", "CXL", "CLOSED"};
+    private static final List<String> EQUALITY_FILTERS = List.of(
+            "orderId", "rootOrderId", "parentOrderId", "clOrdId", "account", "symbol", "side", "ordType", "state");
+
+    private final List<Map<String, Object>> orders;
+
+    OrderGenerator(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime start = LocalDateTime.of(2025, 10, 1, 8, 0);
+        orders = new ArrayList<>(count);
+        String rootId = null;
+        String symbol = null;
+        for (int i = 0; i < count; i++) {
+            // Every fifth order starts a new tree; the others are child slices of the current root
+            boolean root = i % 5 == 0;
+            String orderId = String.format("LT%08d", i);
+            if (root) {
+                rootId = orderId;
+                symbol = SYMBOLS[random.nextInt(SYMBOLS.length)];
+            }
+            double qty = root ? 1000 : 100 + random.nextInt(4) * 50;
+            Map<String, Object> order = new LinkedHashMap<>();
+            order.put("id", i + 1);
+            order.put("orderId", orderId);
+            order.put("rootOrderId", rootId);
+            order.put("parentOrderId", root ? null : rootId);
+            order.put("clOrdId", "CL" + orderId);
+            order.put("account", ACCOUNTS[random.nextInt(ACCOUNTS.length)]);
+            order.put("symbol", symbol);
+            order.put("side", SIDES[random.nextInt(SIDES.length)]);
+            order.put("ordType", ORD_TYPES[random.nextInt(ORD_TYPES.length)]);
+            order.put("state", STATES[random.nextInt(STATES.length)]);
+            order.put("price", Math.round((20 + random.nextDouble() * 200) * 100) / 100.0);
+            order.put("orderQty", qty);
+            order.put("cumQty", Math.floor(qty * random.nextDouble()));
+            order.put("transactTime", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start.plusSeconds(i * 7L)));
+            orders.add(order);
+        }
+    }
+
+    /**
+     * @return one page in the OMS HAL format ({@code _embedded.orders} + {@code page})
+     */
+    Map<String, Object> page(Map<String, String> query) {
+        List<Map<String, Object>> matching = orders.stream().filter(o -> matches(o, query)).toList();
+        String sort = query.get("sort");
+        if (sort != null && sort.startsWith("transactTime") && sort.contains("DESC")) {
+            matching = new ArrayList<>(matching);
+            matching.sort(Comparator.comparing((Map<String, Object> o) -> o.get("transactTime").toString()).reversed());
+        }
+        int size = Math.max(1, Math.min(500, intParam(query, "size", 20)));
+        int number = Math.max(0, intParam(query, "page", 0));
+        int from = Math.min(matching.size(), number * size);
+        int to = Math.min(matching.size(), from + size);
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("size", size);
+        page.put("totalElements", matching.size());
+        page.put("totalPages", (matching.size() + size - 1) / size);
+        page.put("number", number);
+        return Map.of("_embedded", Map.of("orders", matching.subList(from, to)), "page", page);
+    }
+
+    private static boolean matches(Map<String, Object> order, Map<String, String> query) {
+        for (String field : EQUALITY_FILTERS) {
+            String expected = query.get(field);
+            if (expected != null && !expected.equals(String.valueOf(order.get(field)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        try {
+            return query.containsKey(name) ? Integer.parseInt(query.get(name)) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.spring_ai.loadtest;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Reads allocation and GC counters of the server JVM over a local JMX connection.
+ */
+final class ServerJmx implements AutoCloseable {
+
+    record Snapshot(long nanoTime, long allocatedBytes, long gcCount, long gcMillis, long heapUsedBytes) {}
+
+    private final JMXConnector connector;
+    private final ThreadMXBean threads;
+    private final MemoryMXBean memory;
+    private final List<GarbageCollectorMXBean> collectors = new ArrayList<>();
+
+    private ServerJmx(JMXConnector connector) throws IOException {
+        this.connector = connector;
+        MBeanServerConnection connection = connector.getMBeanServerConnection();
+        this.threads = ManagementFactory.newPlatformMXBeanProxy(connection,
+                ManagementFactory.THREAD_MXBEAN_NAME, ThreadMXBean.class);
+        this.memory = ManagementFactory.newPlatformMXBeanProxy(connection,
+                ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+        try {
+            for (ObjectName name : connection.queryNames(
+                    new ObjectName(ManagementFactory.GARBAGE_COLLECTOR_MXBEAN_DOMAIN_TYPE + ",*"), null)) {
+                collectors.add(ManagementFactory.newPlatformMXBeanProxy(connection,
+                        name.getCanonicalName(), GarbageCollectorMXBean.class));
+            }
+        } catch (javax.management.MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Connect to {@code localhost:port}, retrying while the server JVM starts up.
+     */
+    static ServerJmx connect(int port, long timeoutMillis) throws IOException, InterruptedException {
+        JMXServiceURL url = new JMXServiceURL("service:jmx:rmi:///jndi/rmi://127.0.0.1:" + port + "/jmxrmi");
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            try {
+                return new ServerJmx(JMXConnectorFactory.connect(url));
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > deadline) throw e;
+                Thread.sleep(200);
+            }
+        }
+    }
+
+    /**
+     * JVM flags that expose JMX on the given port (loopback only, no auth: test harness use only).
+     */
+    static List<String> jvmArgs(int port) {
+        return List.of(
+                "-Dcom.sun.management.jmxremote.port=" + port,
+                "-Dcom.sun.management.jmxremote.rmi.port=" + port,
+                "-Dcom.sun.management.jmxremote.host=127.0.0.1",
+                "-Dcom.sun.management.jmxremote.authenticate=false",
+                "-Dcom.sun.management.jmxremote.ssl=false",
+                "-Djava.rmi.server.hostname=127.0.0.1");
+    }
+
+    Snapshot snapshot() {
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        return new Snapshot(System.nanoTime(), threads.getTotalThreadAllocatedBytes(), gcCount, gcMillis,
+                memory.getHeapMemoryUsage().getUsed());
+    }
+
+    @Override
+    public void close() throws IOException {
+        connector.close();
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.spring_ai.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-ins for the server's HTTP upstreams on one ephemeral port:
+ * - {@code GET /api/query/orders}: generated orders in the OMS HAL page format
+ * - {@code POST /api/embed}: Ollama-compatible embeddings (hashed bag of words, unit length)
+ *
+ * Each request sleeps for a sample of its latency distribution on a virtual thread.
+ */
+final class StubUpstreams implements AutoCloseable {
+
+    static final int EMBEDDING_DIMENSIONS = 768;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final OrderGenerator orders;
+    private final LatencyDistribution omsLatency;
+    private final LatencyDistribution embeddingLatency;
+    private final AtomicLong omsRequests = new AtomicLong();
+    private final AtomicLong embeddingRequests = new AtomicLong();
+
+    StubUpstreams(OrderGenerator orders, LatencyDistribution omsLatency, LatencyDistribution embeddingLatency)
+            throws IOException {
+        this.orders = orders;
+        this.omsLatency = omsLatency;
+        this.embeddingLatency = embeddingLatency;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.createContext("/api/query/orders", this::orders);
+        server.createContext("/api/embed", this::embed);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long omsRequests() {
+        return omsRequests.get();
+    }
+
+    long embeddingRequests() {
+        return embeddingRequests.get();
+    }
+
+    private void orders(HttpExchange exchange) throws IOException {
+        omsRequests.incrementAndGet();
+        omsLatency.sleep();
+        respond(exchange, 200, orders.page(queryParams(exchange.getRequestURI().getRawQuery())));
+    }
+
+    private void embed(HttpExchange exchange) throws IOException {
+        embeddingRequests.incrementAndGet();
+        JsonNode request;
+        try (InputStream body = exchange.getRequestBody()) {
+            request = MAPPER.readTree(body);
+        }
+        List<String> inputs = new ArrayList<>();
+        JsonNode input = request.path("input");
+        if (input.isArray()) {
+            input.forEach(n -> inputs.add(n.asText()));
+        } else {
+            inputs.add(input.asText());
+        }
+        embeddingLatency.sleep();
+        List<float[]> embeddings = inputs.stream().map(StubUpstreams::hashEmbedding).toList();
+        respond(exchange, 200, Map.of("model", request.path("model").asText("stub"), "embeddings", embeddings));
+    }
+
+    /** Hashed bag of words, so similar texts get similar vectors and searches return something sensible. */
+    static float[] hashEmbedding(String text) {
+        float[] vector = new float[EMBEDDING_DIMENSIONS];
+        for (String token : text.toLowerCase().split("\\W+")) {
+            if (token.isEmpty()) continue;
+            int h = token.hashCode();
+            vector[Math.floorMod(h, EMBEDDING_DIMENSIONS)] += 1f;
+            vector[Math.floorMod(h * 31 + 7, EMBEDDING_DIMENSIONS)] += 0.5f;
+        }
+        double norm = 0;
+        for (float v : vector) norm += v * v;
+        if (norm == 0) {
+            vector[0] = 1f;
+            return vector;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) vector[i] *= scale;
+        return vector;
+    }
+
+    private static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.spring_ai.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Weighted set of tool calls to replay.
+ *
+ * JSON mixes ({@code {"calls": [{"tool": ..., "weight": 5, "argumentSets": [{...}, ...]}]}}) pick a
+ * call by weight and one of its argument sets at random. JSON-lines recordings ({@code *.jsonl}, one
+ * {@code {"tool": ..., "arguments": {...}}} per line, e.g. extracted from tool-call logs) replay every
+ * recorded call with equal weight.
+ */
+final class ToolMix {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    record Call(String tool, Map<String, Object> arguments) {}
+
+    private record Entry(String tool, int weight, List<Map<String, Object>> argumentSets) {}
+
+    private final String name;
+    private final List<Entry> entries;
+    private final int totalWeight;
+
+    private ToolMix(String name, List<Entry> entries) {
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("Tool mix '" + name + "' has no calls");
+        }
+        this.name = name;
+        this.entries = entries;
+        this.totalWeight = entries.stream().mapToInt(Entry::weight).sum();
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * @param location file path, or {@code classpath:} resource
+     */
+    static ToolMix load(String location) throws IOException {
+        String name = location.substring(location.lastIndexOf('/') + 1);
+        try (InputStream in = location.startsWith("classpath:")
+                ? ToolMix.class.getResourceAsStream("/" + location.substring("classpath:".length()))
+                : Files.newInputStream(Path.of(location))) {
+            if (in == null) {
+                throw new IOException("Tool mix not found: " + location);
+            }
+            String text = new String(in.readAllBytes());
+            return location.endsWith(".jsonl") ? fromRecording(name, text) : fromMix(name, text);
+        }
+    }
+
+    private static ToolMix fromMix(String name, String json) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (JsonNode call : MAPPER.readTree(json).path("calls")) {
+            List<Map<String, Object>> sets = new ArrayList<>();
+            for (JsonNode args : call.path("argumentSets")) {
+                sets.add(MAPPER.convertValue(args, new TypeReference<Map<String, Object>>() {}));
+            }
+            if (sets.isEmpty()) sets.add(Map.of());
+            entries.add(new Entry(call.path("tool").asText(), Math.max(1, call.path("weight").asInt(1)), sets));
+        }
+        return new ToolMix(name, entries);
+    }
+
+    private static ToolMix fromRecording(String name, String jsonLines) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : jsonLines.split("\n")) {
+            if (line.isBlank()) continue;
+            JsonNode call = MAPPER.readTree(line);
+            Map<String, Object> args = call.has("arguments")
+                    ? MAPPER.convertValue(call.get("arguments"), new TypeReference<Map<String, Object>>() {})
+                    : Map.of();
+            entries.add(new Entry(call.path("tool").asText(), 1, List.of(args)));
+        }
+        return new ToolMix(name, entries);
+    }
+
+    Call next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(totalWeight);
+        for (Entry entry : entries) {
+            pick -= entry.weight();
+            if (pick < 0) {
+                return new Call(entry.tool(), entry.argumentSets().get(random.nextInt(entry.argumentSets().size())));
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+}
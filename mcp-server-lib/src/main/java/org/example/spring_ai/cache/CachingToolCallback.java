@@ -0,0 +1,145 @@
+package org.example.spring_ai.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.example.spring_ai.warmup.AccessStats;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+/**
+ * Tool callback decorator serving repeated calls from a {@link ToolResultCache}.
+ *
+ * The key is the tool name plus its normalized arguments: keys sorted, nulls and the "debug" flag
+ * dropped, strings trimmed with whitespace collapsed, and the free-text arguments that the keyword
+ * tools match case-insensitively (query, queries, sectionTitle) lower-cased. The semantic search
+ * tools embed their queries as given, so those are keyed on the exact text. Results are tied to the
+ * {@link CorpusVersion} read before the call, so a doc change during the call leaves a stale entry
+ * rather than a wrong one. Failed calls are not cached. Hits replay the {@link AccessStats}
+ * accesses recorded by the call that filled the entry.
+ */
+public class CachingToolCallback implements ToolCallback {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Set<String> FREE_TEXT = Set.of("query", "queries", "sectiontitle");
+    /** Tools whose free-text arguments are embedded verbatim and therefore keyed exactly. */
+    private static final Set<String> EXACT_TEXT_TOOLS = Set.of("semanticSearchDocs", "semanticSearchBatch");
+
+    private final ToolCallback delegate;
+    private final ToolResultCache cache;
+    private final CorpusVersion corpusVersion;
+    private final AccessStats accessStats;
+
+    public CachingToolCallback(ToolCallback delegate, ToolResultCache cache, CorpusVersion corpusVersion,
+                               AccessStats accessStats) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.corpusVersion = corpusVersion;
+        this.accessStats = accessStats;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        String key = key(delegate.getToolDefinition().name(), toolInput);
+        if (key == null) {
+            return invoke(toolInput, toolContext);
+        }
+        long version = corpusVersion.current();
+        ToolResultCache.Entry cached = cache.get(key, version);
+        if (cached != null) {
+            accessStats.replay(cached.accesses());
+            return cached.result();
+        }
+        List<AccessStats.Access> accesses = new ArrayList<>();
+        String result = accessStats.capturing(accesses, () -> invoke(toolInput, toolContext));
+        if (result != null) {
+            cache.put(key, version, result, accesses);
+        }
+        return result;
+    }
+
+    private String invoke(String toolInput, ToolContext toolContext) {
+        return toolContext == null ? delegate.call(toolInput) : delegate.call(toolInput, toolContext);
+    }
+
+    /**
+     * Cache key of a call: tool name plus normalized arguments.
+     *
+     * @return the key, or {@code null} if the arguments are not a JSON object (such calls are not cached)
+     */
+    public static String key(String toolName, String toolInput) {
+        String arguments = normalize(toolInput, !EXACT_TEXT_TOOLS.contains(toolName));
+        return arguments == null ? null : toolName + " " + arguments;
+    }
+
+    /**
+     * @param foldText whether the free-text arguments are matched case-insensitively by the tool;
+     *                 if not, they are kept verbatim
+     * @return canonical JSON of the arguments, or {@code null} if they are not a JSON object
+     */
+    static String normalize(String toolInput, boolean foldText) {
+        if (toolInput == null || toolInput.isBlank()) return "{}";
+        try {
+            JsonNode node = MAPPER.readTree(toolInput);
+            if (node == null || !node.isObject()) return null;
+            return MAPPER.writeValueAsString(canonical(node, foldText, false));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static JsonNode canonical(JsonNode node, boolean foldText, boolean freeText) {
+        if (node.isObject()) {
+            Map<String, JsonNode> sorted = new TreeMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (field.getValue().isNull() || field.getKey().equals("debug")) continue;
+                boolean text = FREE_TEXT.contains(field.getKey().toLowerCase(Locale.ROOT));
+                sorted.put(field.getKey(), canonical(field.getValue(), foldText, text));
+            }
+            ObjectNode result = JsonNodeFactory.instance.objectNode();
+            sorted.forEach(result::set);
+            return result;
+        }
+        if (node.isArray()) {
+            ArrayNode result = JsonNodeFactory.instance.arrayNode();
+            node.forEach(element -> result.add(canonical(element, foldText, freeText)));
+            return result;
+        }
+        if (node.isTextual()) {
+            if (freeText && !foldText) return node;
+            String text = node.asText().trim().replaceAll("\\s+", " ");
+            return TextNode.valueOf(freeText ? text.toLowerCase(Locale.ROOT) : text);
+        }
+        return node;
+    }
+}
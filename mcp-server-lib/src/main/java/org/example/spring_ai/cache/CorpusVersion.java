@@ -0,0 +1,63 @@
+package org.example.spring_ai.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.example.spring_ai.docs.DomainDocsTools;
+import org.example.spring_ai.vector.VectorIndexReadyEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Version stamp of the doc corpus. Increases when the doc catalog fingerprint changes (a doc was
+ * added, removed or edited) and whenever the vector index reports new contents, so results cached
+ * under an older version are never served.
+ *
+ * The catalog is re-scanned at most once per check interval; calls in between return the last
+ * version, so an edit becomes visible to cached tools within that interval.
+ */
+@Slf4j
+@Component
+public class CorpusVersion {
+
+    private final LongSupplier fingerprint;
+    private final long checkIntervalNanos;
+    private final AtomicLong version = new AtomicLong();
+    private long lastFingerprint;
+    private long checkedAt;
+    private boolean checked;
+
+    @Autowired
+    public CorpusVersion(DomainDocsTools docsTools, ToolCacheProperties properties) {
+        this(docsTools::catalogFingerprint, properties.corpusCheckInterval().toNanos());
+    }
+
+    CorpusVersion(LongSupplier fingerprint, long checkIntervalNanos) {
+        this.fingerprint = fingerprint;
+        this.checkIntervalNanos = checkIntervalNanos;
+    }
+
+    public long current() {
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (!checked || now - checkedAt >= checkIntervalNanos) {
+                long current = fingerprint.getAsLong();
+                if (checked && current != lastFingerprint) {
+                    log.info("[Cache] Doc catalog changed, corpus version {}", version.incrementAndGet());
+                }
+                lastFingerprint = current;
+                checkedAt = now;
+                checked = true;
+            }
+        }
+        return version.get();
+    }
+
+    @EventListener
+    public void onVectorIndexReady(VectorIndexReadyEvent event) {
+        log.info("[Cache] Vector index ready ({}), corpus version {}", event.reason(), version.incrementAndGet());
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.spring_ai.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(ToolCacheProperties.class)
+public class ToolCacheConfig {
+
+    @Bean
+    public ToolResultCache toolResultCache(ToolCacheProperties properties, MeterRegistry registry) {
+        ToolResultCache cache = new ToolResultCache(properties.maxChars());
+        FunctionCounter.builder("mcp.tool.cache.hits", cache, c -> c.stats().hits()).register(registry);
+        FunctionCounter.builder("mcp.tool.cache.misses", cache, c -> c.stats().misses()).register(registry);
+        Gauge.builder("mcp.tool.cache.entries", cache, c -> c.stats().entries()).register(registry);
+        Gauge.builder("mcp.tool.cache.chars", cache, c -> c.stats().chars()).register(registry);
+        return cache;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.spring_ai.cache;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Result cache for the docs tools ("mcp.tool-cache.*").
+ *
+ * @param enabled             serve repeated calls from the cache
+ * @param tools               tools whose results are cached
+ * @param maxChars            total characters of cached results; least recently used results are dropped
+ * @param corpusCheckInterval how often the doc catalog is re-scanned for changes (calls in between
+ *                            trust the last scan)
+ */
+@ConfigurationProperties(prefix = "mcp.tool-cache")
+public record ToolCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue({"searchDomainDocs", "searchDocSections", "readDocSection", "semanticSearchDocs"}) List<String> tools,
+        @DefaultValue("4000000") long maxChars,
+        @DefaultValue("2s") Duration corpusCheckInterval) {}
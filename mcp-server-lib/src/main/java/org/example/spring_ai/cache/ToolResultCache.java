@@ -0,0 +1,74 @@
+package org.example.spring_ai.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.spring_ai.warmup.AccessStats;
+
+/**
+ * LRU cache of tool results, bounded by total characters. Each result is stored with the corpus
+ * version it was computed under and only returned for that version; stale entries are dropped on
+ * lookup. Entries also keep the {@link AccessStats} accesses the call recorded, so hits can be
+ * counted for warm-up like the original call.
+ */
+public class ToolResultCache {
+
+    private final long maxChars;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalChars;
+    private long hits;
+    private long misses;
+
+    public ToolResultCache(long maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * @return the entry cached for {@code key} under {@code version}, or {@code null}
+     */
+    public synchronized Entry get(String key, long version) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == version) {
+            hits++;
+            return entry;
+        }
+        if (entry != null) {
+            entries.remove(key);
+            totalChars -= weight(key, entry.result);
+        }
+        misses++;
+        return null;
+    }
+
+    public void put(String key, long version, String result) {
+        put(key, version, result, List.of());
+    }
+
+    public synchronized void put(String key, long version, String result, List<AccessStats.Access> accesses) {
+        long weight = weight(key, result);
+        if (weight > maxChars) return;
+        Entry previous = entries.put(key, new Entry(version, result, List.copyOf(accesses)));
+        if (previous != null) totalChars -= weight(key, previous.result);
+        totalChars += weight;
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalChars > maxChars && eldest.hasNext()) {
+            Map.Entry<String, Entry> e = eldest.next();
+            totalChars -= weight(e.getKey(), e.getValue().result);
+            eldest.remove();
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), totalChars, hits, misses);
+    }
+
+    private static long weight(String key, String result) {
+        return (long) key.length() + result.length();
+    }
+
+    public record Entry(long version, String result, List<AccessStats.Access> accesses) {}
+
+    public record Stats(int entries, long chars, long hits, long misses) {}
+}
@@ -0,0 +1,68 @@
+package org.example.spring_ai.docs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Whole-file reads over {@link AsynchronousFileChannel}. The channel is bound to the given
+ * executor, so the number of threads doing file I/O stays at that pool's size however many
+ * reads are outstanding.
+ */
+final class AsyncFiles {
+
+    private AsyncFiles() {
+    }
+
+    static CompletableFuture<String> readString(Path file, ExecutorService executor) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        ByteBuffer buffer;
+        try {
+            channel = AsynchronousFileChannel.open(file, Set.of(StandardOpenOption.READ), executor);
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                channel.close();
+                return CompletableFuture.failedFuture(new IOException("File too large: " + file));
+            }
+            buffer = ByteBuffer.allocate((int) size);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        channel.read(buffer, 0, 0L, new CompletionHandler<Integer, Long>() {
+            @Override
+            public void completed(Integer read, Long position) {
+                if (read >= 0 && buffer.hasRemaining()) {
+                    long next = position + read;
+                    channel.read(buffer, next, next, this);
+                    return;
+                }
+                close(channel);
+                buffer.flip();
+                result.complete(StandardCharsets.UTF_8.decode(buffer).toString());
+            }
+
+            @Override
+            public void failed(Throwable e, Long position) {
+                close(channel);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static void close(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // read already finished or failed
+        }
+    }
+}
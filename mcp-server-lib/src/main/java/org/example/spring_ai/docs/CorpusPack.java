@@ -0,0 +1,469 @@
+package org.example.spring_ai.docs;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.example.spring_ai.docs.DomainDocsTools.DocSection;
+
+/**
+ * Prebuilt, immutable doc corpus in one file: normalized text, section headings and token index of
+ * every doc, plus the vector indexer's chunks with (optionally) their embeddings.
+ *
+ * The file is memory-mapped read-only. Opening it only reads the per-doc headers; texts, sections,
+ * indexes and vectors stay in the mapping (i.e. the page cache) until a reader decodes them, so
+ * {@link DomainDocsTools} and the vector indexer share one copy and startup does no directory walk.
+ *
+ * Docs are addressed by virtual paths {@code <pack file>/<base dir>/<relative path>}, so code that
+ * works with base directories and paths under them keeps working: {@link #baseDirs()} stands in for
+ * the configured base directories and {@link #paths()} for the walked files.
+ *
+ * Layout (big-endian, strings as int length + UTF-8 bytes):
+ * magic, format version, manifest, doc count, then per doc its base dir, relative path, last
+ * modified, source size and four length-prefixed blocks: text, sections, token index, chunks.
+ * Built by {@link Writer}, e.g. with the {@code corpusPack} Gradle task.
+ */
+public final class CorpusPack {
+
+    private static final byte[] MAGIC = {'M', 'C', 'P', 'C', 'P', 'A', 'C', 'K'};
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final Manifest manifest;
+    private final List<Doc> docs;
+    private final Map<Path, Doc> byPath;
+    private final List<Path> baseDirs;
+
+    private CorpusPack(Path file, MappedByteBuffer buffer, Manifest manifest, List<Doc> docs) {
+        this.file = file;
+        this.buffer = buffer;
+        this.manifest = manifest;
+        this.docs = List.copyOf(docs);
+        Map<Path, Doc> byPath = new TreeMap<>();
+        LinkedHashSet<Path> baseDirs = new LinkedHashSet<>();
+        for (Doc doc : docs) {
+            byPath.put(doc.path(), doc);
+            baseDirs.add(file.resolve(doc.baseDir()));
+        }
+        this.byPath = byPath;
+        this.baseDirs = List.copyOf(baseDirs);
+    }
+
+    /**
+     * Map a pack file and read its doc headers. Every length in the headers is checked against the
+     * file, so the blocks read later lie within the mapping.
+     *
+     * @throws IOException if the file is not a corpus pack of a supported version, or is truncated
+     */
+    public static CorpusPack open(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath().normalize();
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(absolute, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Corpus pack larger than 2 GB: " + absolute);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer in = buffer.duplicate();
+        byte[] magic = new byte[MAGIC.length];
+        if (in.remaining() < magic.length) {
+            throw new IOException("Not a corpus pack file: " + absolute);
+        }
+        in.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a corpus pack file: " + absolute);
+        }
+        int version = readInt(in);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported corpus pack format version: " + version);
+        }
+        Manifest manifest = new Manifest(version, readHeaderString(in), readHeaderString(in),
+                readInt(in), readInt(in), readHeaderString(in), readInt(in), readInt(in));
+        if (manifest.dimensions() < 0 || manifest.documents() < 0) {
+            throw new IOException("Corrupt corpus pack manifest: " + manifest);
+        }
+        List<Doc> docs = new ArrayList<>(Math.min(manifest.documents(), 1024));
+        for (int i = 0; i < manifest.documents(); i++) {
+            String baseDir = readHeaderString(in);
+            String relative = readHeaderString(in);
+            long lastModified = readLong(in);
+            long size = readLong(in);
+            int text = skipBlock(in);
+            int sections = skipBlock(in);
+            int index = skipBlock(in);
+            int chunks = skipBlock(in);
+            docs.add(new Doc(absolute.resolve(baseDir).resolve(relative), baseDir, relative, lastModified, size,
+                    text, sections, index, chunks));
+        }
+        return new CorpusPack(absolute, buffer, manifest, docs);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public Manifest manifest() {
+        return manifest;
+    }
+
+    /** Virtual base directories, one per base dir packed, in pack order. */
+    public List<Path> baseDirs() {
+        return baseDirs;
+    }
+
+    /** Virtual paths of all docs, sorted. */
+    public List<Path> paths() {
+        return List.copyOf(byPath.keySet());
+    }
+
+    public List<Doc> docs() {
+        return docs;
+    }
+
+    /** Docs under a virtual base directory, sorted by path. */
+    public List<Doc> docs(Path baseDir) {
+        return docs.stream()
+                .filter(doc -> doc.path().startsWith(baseDir))
+                .sorted(Comparator.comparing(Doc::path))
+                .toList();
+    }
+
+    /** @return the doc at a virtual path, or {@code null} */
+    public Doc doc(Path path) {
+        return byPath.get(path);
+    }
+
+    public String text(Doc doc) {
+        return new String(bytes(doc), StandardCharsets.UTF_8);
+    }
+
+    /** Raw UTF-8 text of a doc. */
+    public byte[] bytes(Doc doc) {
+        ByteBuffer in = block(doc.textAt);
+        byte[] text = new byte[in.remaining()];
+        in.get(text);
+        return text;
+    }
+
+    public List<DocSection> sections(Doc doc) {
+        ByteBuffer in = block(doc.sectionsAt);
+        int count = in.getInt();
+        List<DocSection> sections = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sections.add(new DocSection(readString(in), in.getInt(), in.getInt()));
+        }
+        return sections;
+    }
+
+    TokenIndex tokenIndex(Doc doc) {
+        return TokenIndex.read(block(doc.indexAt));
+    }
+
+    /** Chunk texts of a doc as split at build time with the manifest's chunk settings. */
+    public List<String> chunks(Doc doc) {
+        ByteBuffer in = block(doc.chunksAt);
+        int count = in.getInt();
+        List<String> chunks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            chunks.add(readString(in));
+            in.position(in.position() + manifest.dimensions() * Float.BYTES);
+        }
+        return chunks;
+    }
+
+    /**
+     * Chunks of a doc with their embeddings, decoded in one pass over the doc's chunk block.
+     * Vectors are {@code null} if the pack was built without embeddings.
+     */
+    public List<Chunk> chunksWithVectors(Doc doc) {
+        ByteBuffer in = block(doc.chunksAt);
+        int count = in.getInt();
+        List<Chunk> chunks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String text = readString(in);
+            float[] vector = null;
+            if (manifest.dimensions() > 0) {
+                vector = new float[manifest.dimensions()];
+                in.asFloatBuffer().get(vector);
+                in.position(in.position() + vector.length * Float.BYTES);
+            }
+            chunks.add(new Chunk(text, vector));
+        }
+        return chunks;
+    }
+
+    /** Stable identity of the pack contents, for change detection. */
+    public long fingerprint() {
+        return Long.parseUnsignedLong(manifest.corpusHash().substring(0, 16), 16);
+    }
+
+    /** Contents of a length-prefixed block, as an independent view of the mapping. */
+    private ByteBuffer block(int at) {
+        int length = buffer.getInt(at);
+        return buffer.slice(at + Integer.BYTES, length);
+    }
+
+    private static int skipBlock(ByteBuffer in) throws IOException {
+        int at = in.position();
+        int length = readLength(in);
+        in.position(in.position() + length);
+        return at;
+    }
+
+    private static String readHeaderString(ByteBuffer in) throws IOException {
+        byte[] bytes = new byte[readLength(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Length prefix of a string or block, checked against the bytes left in the file. */
+    private static int readLength(ByteBuffer in) throws IOException {
+        int length = readInt(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Corrupt or truncated corpus pack: length " + length + " at offset "
+                    + (in.position() - Integer.BYTES) + " with " + in.remaining() + " bytes left");
+        }
+        return length;
+    }
+
+    private static int readInt(ByteBuffer in) throws IOException {
+        requireRemaining(in, Integer.BYTES);
+        return in.getInt();
+    }
+
+    private static long readLong(ByteBuffer in) throws IOException {
+        requireRemaining(in, Long.BYTES);
+        return in.getLong();
+    }
+
+    private static void requireRemaining(ByteBuffer in, int bytes) throws IOException {
+        if (in.remaining() < bytes) {
+            throw new IOException("Corpus pack truncated: " + bytes + " bytes needed at offset " + in.position()
+                    + ", " + in.remaining() + " left");
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Text as stored in a pack: without byte order mark and with {@code \n} line endings.
+     */
+    public static String normalize(String text) {
+        String normalized = text.startsWith("\uFEFF") ? text.substring(1) : text;
+        return normalized.replace("\r\n", "\n").replace('\r', '\n');
+    }
+
+    /**
+     * Pack header.
+     *
+     * @param corpusHash     SHA-256 over every doc's base dir, path and text
+     * @param chunkSize      chunk size the chunks were split with (0 if the pack has no chunks)
+     * @param embeddingModel model the chunk vectors were embedded with, as named in vector snapshots ("" if none)
+     * @param dimensions     vector size (0 if the pack has no vectors)
+     */
+    public record Manifest(
+            int formatVersion,
+            String createdAt,
+            String corpusHash,
+            int chunkSize,
+            int chunkOverlap,
+            String embeddingModel,
+            int dimensions,
+            int documents
+    ) {
+
+        public boolean hasChunks(int chunkSize, int chunkOverlap) {
+            return this.chunkSize == chunkSize && this.chunkOverlap == chunkOverlap;
+        }
+    }
+
+    /**
+     * A packed chunk.
+     *
+     * @param vector its embedding, or {@code null} if the pack has no vectors
+     */
+    public record Chunk(String text, float[] vector) {}
+
+    /**
+     * A packed doc. {@code path} is its virtual path; {@code relativePath} is relative to its base dir.
+     */
+    public static final class Doc {
+
+        private final Path path;
+        private final String baseDir;
+        private final String relativePath;
+        private final long lastModified;
+        private final long size;
+        private final int textAt;
+        private final int sectionsAt;
+        private final int indexAt;
+        private final int chunksAt;
+
+        private Doc(Path path, String baseDir, String relativePath, long lastModified, long size,
+                    int textAt, int sectionsAt, int indexAt, int chunksAt) {
+            this.path = path;
+            this.baseDir = baseDir;
+            this.relativePath = relativePath;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.textAt = textAt;
+            this.sectionsAt = sectionsAt;
+            this.indexAt = indexAt;
+            this.chunksAt = chunksAt;
+        }
+
+        public Path path() { return path; }
+        public String baseDir() { return baseDir; }
+        public String relativePath() { return relativePath; }
+        /** Modification time of the source file, epoch millis. */
+        public long lastModified() { return lastModified; }
+        /** Size of the source file in bytes. */
+        public long size() { return size; }
+    }
+
+    /**
+     * A doc to pack.
+     *
+     * @param text    doc text, see {@link #normalize}
+     * @param chunks  chunk texts (empty if the pack has no chunks)
+     * @param vectors one embedding per chunk, or {@code null} if the pack has no vectors
+     */
+    public record Entry(String baseDir, String relativePath, long lastModified, long size, String text,
+                        List<String> chunks, List<float[]> vectors) {}
+
+    /**
+     * Writes a pack. Sections and token indexes are computed here with the same rules
+     * {@link DomainDocsTools} applies to files on disk.
+     */
+    public static final class Writer {
+
+        private Writer() {
+        }
+
+        /**
+         * Write docs to a temporary sibling of {@code file} and atomically move it into place.
+         *
+         * @param dimensions vector size, 0 if the entries carry no vectors
+         */
+        public static Manifest write(Path file, List<Entry> entries, int chunkSize, int chunkOverlap,
+                                     String embeddingModel, int dimensions) throws IOException {
+            Manifest manifest = new Manifest(FORMAT_VERSION, Instant.now().toString(), corpusHash(entries),
+                    chunkSize, chunkOverlap, embeddingModel == null ? "" : embeddingModel, dimensions, entries.size());
+            Path target = file.toAbsolutePath().normalize();
+            Path parent = target.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024))) {
+                out.write(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, manifest.createdAt());
+                writeString(out, manifest.corpusHash());
+                out.writeInt(chunkSize);
+                out.writeInt(chunkOverlap);
+                writeString(out, manifest.embeddingModel());
+                out.writeInt(dimensions);
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    writeDoc(out, entry, dimensions);
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return manifest;
+        }
+
+        private static void writeDoc(DataOutputStream out, Entry entry, int dimensions) throws IOException {
+            writeString(out, entry.baseDir());
+            writeString(out, entry.relativePath());
+            out.writeLong(entry.lastModified());
+            out.writeLong(entry.size());
+
+            byte[] text = entry.text().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(text.length);
+            out.write(text);
+
+            ByteArrayOutputStream block = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(block);
+            List<DocSection> sections = DomainDocsTools.extractSections(entry.text());
+            data.writeInt(sections.size());
+            for (DocSection section : sections) {
+                writeString(data, section.title());
+                data.writeInt(section.level());
+                data.writeInt(section.lineNumber());
+            }
+            writeBlock(out, block);
+
+            TokenIndex.of(entry.text()).write(data);
+            writeBlock(out, block);
+
+            data.writeInt(entry.chunks().size());
+            for (int i = 0; i < entry.chunks().size(); i++) {
+                writeString(data, entry.chunks().get(i));
+                if (dimensions == 0) continue;
+                float[] vector = entry.vectors().get(i);
+                if (vector.length != dimensions) {
+                    throw new IllegalArgumentException("Chunk " + i + " of " + entry.relativePath()
+                            + " has " + vector.length + " dimensions, expected " + dimensions);
+                }
+                for (float f : vector) data.writeFloat(f);
+            }
+            writeBlock(out, block);
+        }
+
+        private static void writeBlock(DataOutputStream out, ByteArrayOutputStream block) throws IOException {
+            out.writeInt(block.size());
+            block.writeTo(out);
+            block.reset();
+        }
+
+        private static String corpusHash(List<Entry> entries) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (Entry entry : entries) {
+                    digest.update((entry.baseDir() + "/" + entry.relativePath()).getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    digest.update(entry.text().getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                }
+                return HexFormat.of().formatHex(digest.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
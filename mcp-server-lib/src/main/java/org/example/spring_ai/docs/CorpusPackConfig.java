@@ -0,0 +1,34 @@
+package org.example.spring_ai.docs;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Maps the {@link CorpusPack} named by "domain.docs.pack.path", shared by {@link DomainDocsTools}
+ * and the vector indexer. Without the property both read the base directories in "domain.docs.paths".
+ */
+@Configuration
+public class CorpusPackConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CorpusPackConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "domain.docs.pack.path")
+    public CorpusPack corpusPack(@Value("${domain.docs.pack.path}") String path) throws IOException {
+        long start = System.currentTimeMillis();
+        CorpusPack pack = CorpusPack.open(Paths.get(path.trim()));
+        CorpusPack.Manifest manifest = pack.manifest();
+        log.info("[MCP] Corpus pack {} mapped in {}ms: {} docs, built {}, chunks {}/{}, vectors {}",
+                pack.file(), System.currentTimeMillis() - start, manifest.documents(), manifest.createdAt(),
+                manifest.chunkSize(), manifest.chunkOverlap(),
+                manifest.dimensions() == 0 ? "none" : manifest.embeddingModel() + " x" + manifest.dimensions());
+        return pack;
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.spring_ai.docs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory LRU cache of document contents, bounded by total characters.
+ *
+ * Entries are validated against the file's modification time and size on every lookup, so edits
+ * on disk are picked up on the next read without any invalidation hook. The {@link TokenIndex}
+ * used by keyword search is built lazily per entry and dropped with it.
+ *
+ * Documents served from a {@link CorpusPack} use a {@link Source} that takes both the stamp and the
+ * prebuilt token index from the pack instead of the file system.
+ */
+final class DocCache {
+
+    @FunctionalInterface
+    interface Loader {
+        String load() throws IOException;
+    }
+
+    @FunctionalInterface
+    interface AsyncLoader {
+        CompletableFuture<String> load();
+    }
+
+    /** Where cached documents come from: the stamp that validates an entry and its token index. */
+    interface Source {
+        Stamp stamp(Path file) throws IOException;
+
+        TokenIndex index(Path file, String content);
+    }
+
+    /** Modification time and size of a document; a cached entry is valid while they are unchanged. */
+    record Stamp(long modified, long size) {}
+
+    /** Files on disk, indexed on first use. */
+    static final Source FILES = new Source() {
+        @Override
+        public Stamp stamp(Path file) throws IOException {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Stamp(attrs.lastModifiedTime().toMillis(), attrs.size());
+        }
+
+        @Override
+        public TokenIndex index(Path file, String content) {
+            return TokenIndex.of(content);
+        }
+    };
+
+    /** Document content with its token index. */
+    record Indexed(String content, TokenIndex index) {}
+
+    private final long maxChars;
+    private final Source source;
+    private final Map<Path, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalChars;
+    private long hits;
+    private long misses;
+
+    DocCache(long maxChars) {
+        this(maxChars, FILES);
+    }
+
+    DocCache(long maxChars, Source source) {
+        this.maxChars = maxChars;
+        this.source = source;
+    }
+
+    /**
+     * @return cached content if the file is unchanged, otherwise the loader's result (cached if it fits)
+     */
+    String get(Path file, Loader loader) throws IOException {
+        return entry(file, loader).content;
+    }
+
+    /**
+     * Like {@link #get}, plus the token index of that content (built on first use).
+     */
+    Indexed indexed(Path file, Loader loader) throws IOException {
+        Entry entry = entry(file, loader);
+        TokenIndex index = entry.index;
+        if (index == null) {
+            // Racing builders produce identical indexes; last write wins
+            index = source.index(file, entry.content);
+            entry.index = index;
+        }
+        return new Indexed(entry.content, index);
+    }
+
+    /**
+     * Non-blocking {@link #get}: a fresh entry completes immediately, otherwise the loader's
+     * future is cached once it completes. Only the modification-time check touches the disk
+     * on the calling thread.
+     */
+    CompletableFuture<String> getAsync(Path file, AsyncLoader loader) throws IOException {
+        Stamp stamp = source.stamp(file);
+        Entry cached = fresh(file, stamp);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.content);
+        }
+        return loader.load().thenApply(content -> {
+            put(file, new Entry(stamp.modified(), stamp.size(), content));
+            return content;
+        });
+    }
+
+    synchronized Stats stats() {
+        return new Stats(entries.size(), totalChars, hits, misses);
+    }
+
+    private Entry entry(Path file, Loader loader) throws IOException {
+        Stamp stamp = source.stamp(file);
+        Entry cached = fresh(file, stamp);
+        if (cached != null) {
+            return cached;
+        }
+        Entry entry = new Entry(stamp.modified(), stamp.size(), loader.load());
+        put(file, entry);
+        return entry;
+    }
+
+    /** Cached entry if it matches the file's current modification time and size, counting the hit or miss. */
+    private synchronized Entry fresh(Path file, Stamp stamp) {
+        Entry entry = entries.get(file);
+        if (entry != null && entry.modified == stamp.modified() && entry.size == stamp.size()) {
+            hits++;
+            return entry;
+        }
+        misses++;
+        return null;
+    }
+
+    private synchronized void put(Path file, Entry entry) {
+        if (entry.content.length() > maxChars) return;
+        Entry previous = entries.put(file, entry);
+        if (previous != null) totalChars -= previous.content.length();
+        totalChars += entry.content.length();
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalChars > maxChars && eldest.hasNext()) {
+            totalChars -= eldest.next().content.length();
+            eldest.remove();
+        }
+    }
+
+    private static final class Entry {
+        final long modified;
+        final long size;
+        final String content;
+        volatile TokenIndex index;
+
+        Entry(long modified, long size, String content) {
+            this.modified = modified;
+            this.size = size;
+            this.content = content;
+        }
+    }
+
+    record Stats(int documents, long chars, long hits, long misses) {}
+}
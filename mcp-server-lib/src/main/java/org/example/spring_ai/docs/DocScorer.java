@@ -0,0 +1,231 @@
+package org.example.spring_ai.docs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyword relevance and snippet selection over {@link TokenIndex} positions.
+ *
+ * Score = BM25 over whole tokens (length-normalized against the average length of the scored
+ * documents or sections) + a phrase boost when the query terms occur consecutively in order
+ * + a proximity boost from the smallest token window that contains every matched term.
+ * Snippets are centered on the fixed-size window with the most distinct query terms.
+ */
+final class DocScorer {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PHRASE_WEIGHT = 2.0;
+    private static final double PROXIMITY_WEIGHT = 1.0;
+    /** Width in tokens of the window a snippet is centered on. */
+    private static final int SNIPPET_WINDOW_TOKENS = 30;
+
+    private DocScorer() {
+    }
+
+    /**
+     * Parsed query: terms in order (for phrase matching) and their distinct set.
+     */
+    record Query(List<String> terms, List<String> distinct) {
+
+        static Query parse(String text) {
+            List<String> terms = TokenIndex.tokenize(text);
+            return new Query(terms, new ArrayList<>(new LinkedHashSet<>(terms)));
+        }
+
+        boolean isEmpty() {
+            return terms.isEmpty();
+        }
+    }
+
+    /**
+     * Query-term positions within the token range [from, to) of one document.
+     *
+     * @param positions per distinct query term, its positions inside the range (possibly empty)
+     */
+    record Match(TokenIndex index, int from, int to, int[][] positions) {
+
+        int length() {
+            return to - from;
+        }
+
+        boolean contains(int term) {
+            return positions[term].length > 0;
+        }
+    }
+
+    /**
+     * Document frequencies and average length over the documents (or sections) being ranked.
+     */
+    static final class Corpus {
+        private final Map<String, Integer> documentFrequency = new HashMap<>();
+        private int documents;
+        private long totalLength;
+
+        void add(Match match, Query query) {
+            documents++;
+            totalLength += match.length();
+            for (int t = 0; t < query.distinct().size(); t++) {
+                if (match.contains(t)) documentFrequency.merge(query.distinct().get(t), 1, Integer::sum);
+            }
+        }
+
+        double idf(String term) {
+            int df = documentFrequency.getOrDefault(term, 0);
+            return Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+        }
+
+        double averageLength() {
+            return documents == 0 ? 1 : Math.max(1, (double) totalLength / documents);
+        }
+    }
+
+    /**
+     * @return positions of the query terms within [from, to), or null if none occurs there
+     */
+    static Match match(TokenIndex index, int from, int to, Query query) {
+        int[][] positions = new int[query.distinct().size()][];
+        boolean any = false;
+        for (int t = 0; t < positions.length; t++) {
+            int[] all = index.positions(query.distinct().get(t));
+            int lo = lowerBound(all, from);
+            int hi = lowerBound(all, to);
+            positions[t] = lo == 0 && hi == all.length ? all : Arrays.copyOfRange(all, lo, hi);
+            any |= hi > lo;
+        }
+        return any ? new Match(index, from, to, positions) : null;
+    }
+
+    static double score(Match match, Query query, Corpus corpus) {
+        double lengthNorm = 1 - B + B * match.length() / corpus.averageLength();
+        double score = 0;
+        int present = 0;
+        for (int t = 0; t < query.distinct().size(); t++) {
+            int tf = match.positions()[t].length;
+            if (tf == 0) continue;
+            present++;
+            score += corpus.idf(query.distinct().get(t)) * tf * (K1 + 1) / (tf + K1 * lengthNorm);
+        }
+        if (query.terms().size() > 1) {
+            score += PHRASE_WEIGHT * Math.log1p(phraseCount(match, query));
+        }
+        if (present > 1) {
+            score += PROXIMITY_WEIGHT * present / (double) minimalCover(match);
+        }
+        return score;
+    }
+
+    /**
+     * Occurrences of the full query as consecutive tokens in order.
+     */
+    static int phraseCount(Match match, Query query) {
+        List<String> terms = query.terms();
+        int[][] ordered = new int[terms.size()][];
+        for (int i = 0; i < terms.size(); i++) {
+            ordered[i] = match.positions()[query.distinct().indexOf(terms.get(i))];
+            if (ordered[i].length == 0) return 0;
+        }
+        int count = 0;
+        outer:
+        for (int p : ordered[0]) {
+            for (int i = 1; i < ordered.length; i++) {
+                if (Arrays.binarySearch(ordered[i], p + i) < 0) continue outer;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Length in tokens of the smallest window containing every query term that occurs in the match.
+     */
+    static int minimalCover(Match match) {
+        int[][] hits = mergedHits(match);
+        int present = 0;
+        for (int[] p : match.positions()) if (p.length > 0) present++;
+        int[] counts = new int[match.positions().length];
+        int covered = 0;
+        int best = Integer.MAX_VALUE;
+        int left = 0;
+        for (int right = 0; right < hits.length; right++) {
+            if (counts[hits[right][1]]++ == 0) covered++;
+            while (covered == present) {
+                best = Math.min(best, hits[right][0] - hits[left][0] + 1);
+                if (--counts[hits[left][1]] == 0) covered--;
+                left++;
+            }
+        }
+        return best == Integer.MAX_VALUE ? match.length() : best;
+    }
+
+    /**
+     * Snippet of about {@code maxChars} characters around the {@value #SNIPPET_WINDOW_TOKENS}-token
+     * window with the most distinct query terms (ties: most hits, then earliest).
+     */
+    static String snippet(String content, Match match, int maxChars) {
+        TokenIndex index = match.index();
+        int[][] hits = mergedHits(match);
+        int[] counts = new int[match.positions().length];
+        int distinct = 0;
+        int bestDistinct = -1;
+        int bestHits = -1;
+        int bestFrom = hits[0][0];
+        int bestTo = hits[0][0];
+        int left = 0;
+        for (int right = 0; right < hits.length; right++) {
+            if (counts[hits[right][1]]++ == 0) distinct++;
+            while (hits[right][0] - hits[left][0] >= SNIPPET_WINDOW_TOKENS) {
+                if (--counts[hits[left][1]] == 0) distinct--;
+                left++;
+            }
+            int windowHits = right - left + 1;
+            if (distinct > bestDistinct || (distinct == bestDistinct && windowHits > bestHits)) {
+                bestDistinct = distinct;
+                bestHits = windowHits;
+                bestFrom = hits[left][0];
+                bestTo = hits[right][0];
+            }
+        }
+
+        int regionStart = index.start(match.from());
+        int regionEnd = match.to() < index.size() ? index.start(match.to()) : content.length();
+        int start = index.start(bestFrom);
+        int end = index.end(bestTo);
+        int pad = Math.max(0, maxChars - (end - start)) / 2;
+        start = Math.max(regionStart, start - pad);
+        end = Math.min(regionEnd, Math.max(end + pad, start + maxChars));
+        if (end - start > maxChars) end = start + maxChars;
+        String snippet = content.substring(start, end).replace('\n', ' ').trim();
+        if (start > regionStart) snippet = "… " + snippet;
+        if (end < regionEnd) snippet = snippet + " …";
+        return snippet;
+    }
+
+    /** All (position, term) pairs of the match, sorted by position. */
+    private static int[][] mergedHits(Match match) {
+        int total = 0;
+        for (int[] p : match.positions()) total += p.length;
+        int[][] hits = new int[total][];
+        int i = 0;
+        for (int t = 0; t < match.positions().length; t++) {
+            for (int p : match.positions()[t]) hits[i++] = new int[] {p, t};
+        }
+        Arrays.sort(hits, (a, b) -> Integer.compare(a[0], b[0]));
+        return hits;
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -4,47 +4,101 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
+import org.example.spring_ai.resilience.AdaptiveBulkhead;
+import org.example.spring_ai.resilience.Bulkheads;
+import org.example.spring_ai.warmup.AccessStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+
 /**
  * MCP tools to make domain knowledge files available to LLM clients.
  *
  * Tools:
  * - listDomainDocs: enumerate known docs with basic metadata
  * - readDomainDoc: read a specific doc's content (optionally partial)
- * - searchDomainDocs: simple keyword search across docs (term frequency sum)
+ * - searchDomainDocs: keyword search across docs (BM25 with phrase/proximity boosts, see {@link DocScorer})
  * - listDocSections: list sections/headings in a markdown document
- * - readDocSection: read a specific section from a document
+ * - readDocSection: read a specific section from a document, paged by token budget (see {@link SectionPager})
  * - searchDocSections: search within sections for more precise results
  *
  * Configure base directories via property "domain.docs.paths" (comma-separated absolute or
  * project-relative paths). Defaults include known repo specs folders.
+ *
+ * File contents are kept in a {@link DocCache} of at most "domain.docs.cache.max-chars" characters,
+ * validated by modification time; reads are recorded in {@link AccessStats} for pre-warming.
+ *
+ * readDomainDoc and readDocSection also have non-blocking variants for the async MCP server, which
+ * read cache misses on a fixed pool of "domain.docs.io-threads" threads.
+ *
+ * With a {@link CorpusPack} configured ("domain.docs.pack.path"), docs, sections and token indexes
+ * come from the pack instead of the base directories, which are then not scanned at all.
  */
 @Component
 public class DomainDocsTools {
 
     private static final Logger log = LoggerFactory.getLogger(DomainDocsTools.class);
 
+    private static final int SNIPPET_CHARS = 240;
+
     private final List<Path> baseDirs;
+    private final AdaptiveBulkhead fileBulkhead;
+    private final ObservationRegistry observationRegistry;
+    private final DocCache docCache;
+    private final AccessStats accessStats;
+    private final int sectionPageTokens;
+    private final ExecutorService ioExecutor;
+    private final CorpusPack pack;
 
-    public DomainDocsTools(@Value("${domain.docs.paths:oms/specs}") String paths) {
+    public DomainDocsTools(@Value("${domain.docs.paths:oms/specs}") String paths,
+                           @Value("${domain.docs.cache.max-chars:16000000}") long cacheMaxChars,
+                           @Value("${domain.docs.section.max-tokens:4000}") int sectionPageTokens,
+                           @Value("${domain.docs.io-threads:4}") int ioThreads,
+                           Bulkheads bulkheads, ObservationRegistry observationRegistry, AccessStats accessStats,
+                           ObjectProvider<CorpusPack> corpusPack) {
+        this.fileBulkhead = bulkheads.get(Bulkheads.FILESYSTEM);
+        this.observationRegistry = observationRegistry;
+        this.pack = corpusPack.getIfAvailable();
+        this.docCache = pack == null ? new DocCache(cacheMaxChars) : new DocCache(cacheMaxChars, new PackSource(pack));
+        this.accessStats = accessStats;
+        this.sectionPageTokens = sectionPageTokens;
+        AtomicInteger ioThreadCount = new AtomicInteger();
+        this.ioExecutor = Executors.newFixedThreadPool(Math.max(1, ioThreads), r -> {
+            Thread t = new Thread(r, "doc-io-" + ioThreadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
         this.baseDirs = new ArrayList<>();
+        if (pack != null) {
+            baseDirs.addAll(pack.baseDirs());
+            log.info("[MCP] DomainDocsTools serving {} docs from corpus pack {}", pack.docs().size(), pack.file());
+            return;
+        }
         for (String part : paths.split(",")) {
             String trimmed = part.trim();
             if (!StringUtils.hasText(trimmed)) continue;
@@ -59,6 +113,14 @@ public class DomainDocsTools {
     @Tool(name = "listDomainDocs", description = "List available domain documents with metadata.")
     public List<DocMeta> listDomainDocs() {
         List<DocMeta> results = new ArrayList<>();
+        if (pack != null) {
+            for (CorpusPack.Doc doc : pack.docs()) {
+                results.add(new DocMeta(doc.baseDir() + "/" + doc.relativePath(), doc.path().getFileName().toString(),
+                        doc.size(), Instant.ofEpochMilli(doc.lastModified()).toString()));
+            }
+            results.sort(Comparator.comparing(DocMeta::path));
+            return results;
+        }
         for (Path base : baseDirs) {
             if (!Files.isDirectory(base)) continue;
             try (Stream<Path> stream = Files.walk(base)) {
@@ -75,6 +137,24 @@ public class DomainDocsTools {
 
     @Tool(name = "readDomainDoc", description = "Read the content of a domain document (use listDomainDocs to discover paths).")
     public DocContent readDomainDoc(String path, Integer offset, Integer limit) {
+        Path resolved = resolveDomainDoc(path);
+        try {
+            return docContent(resolved, readFile(resolved), offset, limit);
+        } catch (IOException e) {
+            throw new DomainDocReadException("Failed to read doc: " + path, e);
+        }
+    }
+
+    /**
+     * Non-blocking {@link #readDomainDoc} for the async MCP server; cache misses are read with
+     * {@link AsyncFiles}.
+     */
+    public CompletableFuture<DocContent> readDomainDocAsync(String path, Integer offset, Integer limit) {
+        Path resolved = resolveDomainDoc(path);
+        return readFileAsync(resolved, path).thenApply(content -> docContent(resolved, content, offset, limit));
+    }
+
+    private Path resolveDomainDoc(String path) {
         if (!StringUtils.hasText(path)) {
             throw new IllegalArgumentException("path must be provided (relative to a base dir)");
         }
@@ -82,49 +162,51 @@ public class DomainDocsTools {
         if (resolved == null) {
             throw new IllegalArgumentException("Document not found under configured base directories: " + path);
         }
-        try {
-            String content = Files.readString(resolved, StandardCharsets.UTF_8);
-            int len = content.length();
-            int from = offset == null ? 0 : clamp(offset, 0, len);
-            int to = limit == null ? len : clamp(from + Math.max(0, limit), 0, len);
-            String slice = content.substring(from, to);
-            return new DocContent(relativizeToAnyBase(resolved), slice, len, from, to);
-        } catch (IOException e) {
-            throw new DomainDocReadException("Failed to read doc: " + path, e);
-        }
+        return resolved;
     }
 
-    @Tool(name = "searchDomainDocs", description = "Keyword search across domain documents. Returns top matches with brief snippets.")
+    private DocContent docContent(Path resolved, String content, Integer offset, Integer limit) {
+        int len = content.length();
+        int from = offset == null ? 0 : clamp(offset, 0, len);
+        int to = limit == null ? len : clamp(from + Math.max(0, limit), 0, len);
+        String slice = content.substring(from, to);
+        String relative = relativizeToAnyBase(resolved);
+        accessStats.record(AccessStats.Kind.DOC, relative);
+        return new DocContent(relative, slice, len, from, to);
+    }
+
+    @Tool(name = "searchDomainDocs", description = "Keyword search across domain documents. Returns top matches with brief snippets. " +
+            "Matches whole words (plural-insensitive); documents with the words as a phrase or close together rank higher.")
     public List<SearchHit> searchDomainDocs(String query, Integer topK) {
         if (!StringUtils.hasText(query)) {
             return List.of();
         }
-        Set<String> terms = new LinkedHashSet<>();
-        for (String t : query.toLowerCase(Locale.ROOT).split("\\s+")) {
-            if (StringUtils.hasText(t)) terms.add(t);
-        }
-        if (terms.isEmpty()) return List.of();
+        DocScorer.Query q = DocScorer.Query.parse(query);
+        if (q.isEmpty()) return List.of();
 
         int k = (topK == null || topK <= 0) ? 5 : Math.min(topK, 50);
-        List<SearchHit> hits = new ArrayList<>();
-        for (Path base : baseDirs) {
-            if (!Files.isDirectory(base)) continue;
-            try (Stream<Path> stream = Files.walk(base)) {
-                for (Path p : stream.filter(Files::isRegularFile).filter(DomainDocsTools::isDocFile).toList()) {
-                    String content;
-                    try { content = Files.readString(p, StandardCharsets.UTF_8); }
-                    catch (IOException e) { continue; }
-                    int score = scoreContent(content, terms);
-                    if (score > 0) {
-                        String snippet = makeSnippet(content, terms.iterator().next());
-                        hits.add(new SearchHit(relativizeToAnyBase(p), score, snippet));
-                    }
-                }
-            } catch (IOException e) {
-                log.warn("Failed to search {}: {}", base, e.toString());
+        // Pass 1: term positions per doc and corpus statistics; pass 2: score and snippet
+        DocScorer.Corpus corpus = new DocScorer.Corpus();
+        List<Candidate> candidates = new ArrayList<>();
+        int[][] empty = new int[q.distinct().size()][0];
+        for (Path p : listDocPaths()) {
+            DocCache.Indexed doc;
+            try { doc = readIndexed(p); }
+            catch (IOException e) { continue; }
+            DocScorer.Match match = DocScorer.match(doc.index(), 0, doc.index().size(), q);
+            if (match == null) {
+                corpus.add(new DocScorer.Match(doc.index(), 0, doc.index().size(), empty), q);
+                continue;
             }
+            corpus.add(match, q);
+            candidates.add(new Candidate(p, null, doc.content(), match));
+        }
+        List<SearchHit> hits = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            hits.add(new SearchHit(relativizeToAnyBase(c.path()), round(DocScorer.score(c.match(), q, corpus)),
+                    DocScorer.snippet(c.content(), c.match(), SNIPPET_CHARS)));
         }
-        hits.sort(Comparator.comparingInt(SearchHit::score).reversed().thenComparing(SearchHit::path));
+        hits.sort(Comparator.comparingDouble(SearchHit::score).reversed().thenComparing(SearchHit::path));
         if (hits.size() <= k) return hits;
         return new ArrayList<>(hits.subList(0, k));
     }
@@ -139,15 +221,36 @@ public class DomainDocsTools {
             throw new IllegalArgumentException("Document not found: " + path);
         }
         try {
-            String content = Files.readString(resolved, StandardCharsets.UTF_8);
-            return extractSections(content);
+            String content = readFile(resolved);
+            accessStats.record(AccessStats.Kind.DOC, relativizeToAnyBase(resolved));
+            return sections(resolved, content);
         } catch (IOException e) {
             throw new DomainDocReadException("Failed to read doc: " + path, e);
         }
     }
 
-    @Tool(name = "readDocSection", description = "Read a specific section from a document by section title (use listDocSections to discover section names).")
-    public DocContent readDocSection(String path, String sectionTitle) {
+    @Tool(name = "readDocSection", description = "Read a specific section from a document by section title (use listDocSections to discover section names). " +
+            "Large sections are returned in pages of at most maxTokens tokens: pass the returned nextCursor to read on, " +
+            "or read one of remainingSections directly.")
+    public SectionPage readDocSection(String path, String sectionTitle, Integer maxTokens, String cursor) {
+        Path resolved = resolveSectionDoc(path, sectionTitle);
+        try {
+            return sectionPage(resolved, readFile(resolved), sectionTitle, maxTokens, cursor);
+        } catch (IOException e) {
+            throw new DomainDocReadException("Failed to read doc: " + path, e);
+        }
+    }
+
+    /**
+     * Non-blocking {@link #readDocSection} for the async MCP server.
+     */
+    public CompletableFuture<SectionPage> readDocSectionAsync(String path, String sectionTitle, Integer maxTokens, String cursor) {
+        Path resolved = resolveSectionDoc(path, sectionTitle);
+        return readFileAsync(resolved, path)
+                .thenApply(content -> sectionPage(resolved, content, sectionTitle, maxTokens, cursor));
+    }
+
+    private Path resolveSectionDoc(String path, String sectionTitle) {
         if (!StringUtils.hasText(path)) {
             throw new IllegalArgumentException("path must be provided");
         }
@@ -158,68 +261,79 @@ public class DomainDocsTools {
         if (resolved == null) {
             throw new IllegalArgumentException("Document not found: " + path);
         }
-        try {
-            String content = Files.readString(resolved, StandardCharsets.UTF_8);
-            String[] lines = content.split("\n");
-            
-            // Find the section
-            int startLine = -1;
-            int sectionLevel = -1;
-            String normalizedTitle = sectionTitle.trim().toLowerCase(Locale.ROOT);
-            
-            for (int i = 0; i < lines.length; i++) {
-                String line = lines[i].trim();
-                if (line.startsWith("#")) {
-                    int level = 0;
-                    while (level < line.length() && line.charAt(level) == '#') {
-                        level++;
-                    }
-                    String title = line.substring(level).trim().toLowerCase(Locale.ROOT);
-                    if (title.equals(normalizedTitle) || title.startsWith(normalizedTitle)) {
-                        startLine = i;
-                        sectionLevel = level;
-                        break;
-                    }
+        return resolved;
+    }
+
+    private SectionPage sectionPage(Path resolved, String content, String sectionTitle, Integer maxTokens, String cursor) {
+        String[] lines = content.split("\n");
+        
+        // Find the section
+        int startLine = -1;
+        int sectionLevel = -1;
+        String normalizedTitle = sectionTitle.trim().toLowerCase(Locale.ROOT);
+        
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.startsWith("#")) {
+                int level = 0;
+                while (level < line.length() && line.charAt(level) == '#') {
+                    level++;
                 }
-            }
-            
-            if (startLine == -1) {
-                throw new IllegalArgumentException("Section not found: " + sectionTitle);
-            }
-            
-            // Find the end of the section (next heading of same or higher level)
-            int endLine = lines.length;
-            for (int i = startLine + 1; i < lines.length; i++) {
-                String line = lines[i].trim();
-                if (line.startsWith("#")) {
-                    int level = 0;
-                    while (level < line.length() && line.charAt(level) == '#') {
-                        level++;
-                    }
-                    if (level <= sectionLevel) {
-                        endLine = i;
-                        break;
-                    }
+                String title = line.substring(level).trim().toLowerCase(Locale.ROOT);
+                if (title.equals(normalizedTitle) || title.startsWith(normalizedTitle)) {
+                    startLine = i;
+                    sectionLevel = level;
+                    break;
                 }
             }
-            
-            // Extract section content
-            StringBuilder sectionContent = new StringBuilder();
-            for (int i = startLine; i < endLine; i++) {
-                sectionContent.append(lines[i]).append("\n");
+        }
+        
+        if (startLine == -1) {
+            throw new IllegalArgumentException("Section not found: " + sectionTitle);
+        }
+        
+        // Find the end of the section (next heading of same or higher level)
+        int endLine = lines.length;
+        for (int i = startLine + 1; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.startsWith("#")) {
+                int level = 0;
+                while (level < line.length() && line.charAt(level) == '#') {
+                    level++;
+                }
+                if (level <= sectionLevel) {
+                    endLine = i;
+                    break;
+                }
             }
-            
-            String result = sectionContent.toString();
-            return new DocContent(
-                relativizeToAnyBase(resolved) + "#" + sectionTitle,
-                result,
-                result.length(),
-                0,
-                result.length()
-            );
-        } catch (IOException e) {
-            throw new DomainDocReadException("Failed to read doc: " + path, e);
         }
+        
+        // Extract section content
+        StringBuilder sectionContent = new StringBuilder();
+        for (int i = startLine; i < endLine; i++) {
+            sectionContent.append(lines[i]).append("\n");
+        }
+        
+        String result = sectionContent.toString();
+        String sectionPath = relativizeToAnyBase(resolved) + "#" + sectionTitle;
+        int from = StringUtils.hasText(cursor) ? SectionPager.offset(result, cursor) : 0;
+        int budget = (maxTokens == null || maxTokens <= 0) ? sectionPageTokens : maxTokens;
+        SectionPager.Page page = SectionPager.page(result, from, budget);
+        if (from == 0) {
+            accessStats.record(AccessStats.Kind.SECTION, sectionPath);
+        }
+        List<DocSection> remaining = page.nextCursor() == null ? List.of()
+                : remainingSections(result, page.to(), startLine);
+        return new SectionPage(
+            sectionPath,
+            result.substring(page.from(), page.to()),
+            result.length(),
+            page.from(),
+            page.to(),
+            page.tokens(),
+            page.nextCursor(),
+            remaining
+        );
     }
 
     @Tool(name = "searchDocSections", description = "Search within document sections for more precise results. Returns matching sections with context.")
@@ -227,53 +341,57 @@ public class DomainDocsTools {
         if (!StringUtils.hasText(query)) {
             return List.of();
         }
-        Set<String> terms = new LinkedHashSet<>();
-        for (String t : query.toLowerCase(Locale.ROOT).split("\\s+")) {
-            if (StringUtils.hasText(t)) terms.add(t);
-        }
-        if (terms.isEmpty()) return List.of();
+        DocScorer.Query q = DocScorer.Query.parse(query);
+        if (q.isEmpty()) return List.of();
 
         int k = (topK == null || topK <= 0) ? 5 : Math.min(topK, 50);
-        List<SectionSearchHit> hits = new ArrayList<>();
-        
-        for (Path base : baseDirs) {
-            if (!Files.isDirectory(base)) continue;
-            try (Stream<Path> stream = Files.walk(base)) {
-                for (Path p : stream.filter(Files::isRegularFile).filter(DomainDocsTools::isDocFile).toList()) {
-                    String content;
-                    try { content = Files.readString(p, StandardCharsets.UTF_8); }
-                    catch (IOException e) { continue; }
-                    
-                    List<DocSection> sections = extractSections(content);
-                    for (DocSection section : sections) {
-                        String sectionContent = extractSectionContent(content, section);
-                        int score = scoreContent(sectionContent, terms);
-                        if (score > 0) {
-                            String snippet = makeSnippet(sectionContent, terms.iterator().next());
-                            hits.add(new SectionSearchHit(
-                                relativizeToAnyBase(p),
-                                section.title(),
-                                section.level(),
-                                score,
-                                snippet
-                            ));
-                        }
-                    }
+        DocScorer.Corpus corpus = new DocScorer.Corpus();
+        List<Candidate> candidates = new ArrayList<>();
+        int[][] empty = new int[q.distinct().size()][0];
+        for (Path p : listDocPaths()) {
+            DocCache.Indexed doc;
+            try { doc = readIndexed(p); }
+            catch (IOException e) { continue; }
+            List<DocSection> sections = sections(p, doc.content());
+            int[] lineOffsets = lineOffsets(doc.content());
+            for (DocSection section : sections) {
+                int[] range = sectionRange(doc.content(), lineOffsets, section);
+                int from = doc.index().tokenAt(range[0]);
+                int to = doc.index().tokenAt(range[1]);
+                DocScorer.Match match = DocScorer.match(doc.index(), from, to, q);
+                if (match == null) {
+                    corpus.add(new DocScorer.Match(doc.index(), from, to, empty), q);
+                    continue;
                 }
-            } catch (IOException e) {
-                log.warn("Failed to search sections in {}: {}", base, e.toString());
+                corpus.add(match, q);
+                candidates.add(new Candidate(p, section, doc.content(), match));
             }
         }
+        List<SectionSearchHit> hits = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            hits.add(new SectionSearchHit(
+                relativizeToAnyBase(c.path()),
+                c.section().title(),
+                c.section().level(),
+                round(DocScorer.score(c.match(), q, corpus)),
+                DocScorer.snippet(c.content(), c.match(), SNIPPET_CHARS)
+            ));
+        }
         
-        hits.sort(Comparator.comparingInt(SectionSearchHit::score).reversed()
+        hits.sort(Comparator.comparingDouble(SectionSearchHit::score).reversed()
                 .thenComparing(SectionSearchHit::path)
                 .thenComparing(SectionSearchHit::sectionTitle));
         if (hits.size() <= k) return hits;
         return new ArrayList<>(hits.subList(0, k));
     }
 
+    /** Headings of a doc: prebuilt in a corpus pack, otherwise extracted from the content. */
+    private List<DocSection> sections(Path file, String content) {
+        return pack == null ? extractSections(content) : pack.sections(pack.doc(file));
+    }
+
     // Helper methods for section extraction
-    private List<DocSection> extractSections(String content) {
+    static List<DocSection> extractSections(String content) {
         List<DocSection> sections = new ArrayList<>();
         String[] lines = content.split("\n");
         
@@ -298,35 +416,62 @@ public class DomainDocsTools {
         return sections;
     }
 
-    private String extractSectionContent(String content, DocSection section) {
-        String[] lines = content.split("\n");
-        int startLine = section.lineNumber() - 1; // Convert to 0-based
-        if (startLine >= lines.length) return "";
-        
-        int sectionLevel = section.level();
-        int endLine = lines.length;
-        
-        // Find the next heading of same or higher level
-        for (int i = startLine + 1; i < lines.length; i++) {
-            String line = lines[i].trim();
+    /**
+     * Headings of a section that start at or after {@code offset}, with line numbers in the whole
+     * document ({@code sectionStartLine} is the 0-based line of the section heading).
+     */
+    private List<DocSection> remainingSections(String section, int offset, int sectionStartLine) {
+        int lineStart = offset;
+        if (lineStart > 0 && section.charAt(lineStart - 1) != '\n') {
+            // Page ended mid-line: headings can only start on the next line
+            int newline = section.indexOf('\n', lineStart);
+            if (newline < 0) return List.of();
+            lineStart = newline + 1;
+        }
+        int linesBefore = 0;
+        for (int i = 0; i < lineStart; i++) {
+            if (section.charAt(i) == '\n') linesBefore++;
+        }
+        List<DocSection> remaining = new ArrayList<>();
+        for (DocSection heading : extractSections(section.substring(lineStart))) {
+            remaining.add(new DocSection(heading.title(), heading.level(), sectionStartLine + linesBefore + heading.lineNumber()));
+        }
+        return remaining;
+    }
+
+    /** Start offset of every line (as split by extractSections). */
+    private static int[] lineOffsets(String content) {
+        String[] lines = content.split("\n", -1);
+        int[] offsets = new int[lines.length];
+        int offset = 0;
+        for (int i = 0; i < lines.length; i++) {
+            offsets[i] = offset;
+            offset += lines[i].length() + 1;
+        }
+        return offsets;
+    }
+
+    /**
+     * Character range [start, end) of a section: from its heading to the next heading of the same
+     * or a higher level.
+     */
+    private static int[] sectionRange(String content, int[] lineOffsets, DocSection section) {
+        int startLine = section.lineNumber() - 1;
+        if (startLine >= lineOffsets.length) return new int[] {content.length(), content.length()};
+        for (int i = startLine + 1; i < lineOffsets.length; i++) {
+            int lineEnd = i + 1 < lineOffsets.length ? lineOffsets[i + 1] - 1 : content.length();
+            String line = content.substring(lineOffsets[i], lineEnd).trim();
             if (line.startsWith("#")) {
                 int level = 0;
                 while (level < line.length() && line.charAt(level) == '#') {
                     level++;
                 }
-                if (level <= sectionLevel) {
-                    endLine = i;
-                    break;
+                if (level <= section.level()) {
+                    return new int[] {lineOffsets[startLine], lineOffsets[i]};
                 }
             }
         }
-        
-        StringBuilder sectionContent = new StringBuilder();
-        for (int i = startLine; i < endLine; i++) {
-            sectionContent.append(lines[i]).append("\n");
-        }
-        
-        return sectionContent.toString();
+        return new int[] {lineOffsets[startLine], content.length()};
     }
 
     private static boolean isDocFile(Path p) {
@@ -334,34 +479,23 @@ public class DomainDocsTools {
         return name.endsWith(".md") || name.endsWith(".markdown") || name.endsWith(".txt") || name.endsWith(".adoc");
     }
 
-    private static String makeSnippet(String content, String firstTerm) {
-        String lc = content.toLowerCase(Locale.ROOT);
-        int pos = firstTerm == null ? -1 : lc.indexOf(firstTerm.toLowerCase(Locale.ROOT));
-        int start = Math.max(0, pos < 0 ? 0 : pos - 80);
-        int end = Math.min(content.length(), start + 240);
-        String snippet = content.substring(start, end).replace('\n', ' ').trim();
-        if (start > 0) snippet = "… " + snippet;
-        if (end < content.length()) snippet = snippet + " …";
-        return snippet;
+    private static double round(double score) {
+        return Math.round(score * 1000) / 1000.0;
     }
 
-    private static int scoreContent(String content, Set<String> terms) {
-        String lc = content.toLowerCase(Locale.ROOT);
-        int score = 0;
-        for (String t : terms) {
-            score += countOccurrences(lc, t);
-        }
-        return score;
-    }
-
-    private static int countOccurrences(String text, String term) {
-        if (term.isEmpty()) return 0;
-        int count = 0;
-        int idx = 0;
-        while ((idx = text.indexOf(term, idx)) != -1) {
-            count++; idx += term.length();
+    /** Doc files under all base dirs (or all packed docs); unreadable dirs are logged and skipped. */
+    private List<Path> listDocPaths() {
+        if (pack != null) return pack.paths();
+        List<Path> files = new ArrayList<>();
+        for (Path base : baseDirs) {
+            if (!Files.isDirectory(base)) continue;
+            try (Stream<Path> stream = Files.walk(base)) {
+                stream.filter(Files::isRegularFile).filter(DomainDocsTools::isDocFile).forEach(files::add);
+            } catch (IOException e) {
+                log.warn("Failed to search {}: {}", base, e.toString());
+            }
         }
-        return count;
+        return files;
     }
 
     private DocMeta toMeta(Path base, Path file) {
@@ -380,7 +514,7 @@ public class DomainDocsTools {
     private Path resolveAgainstBases(String relative) {
         for (Path base : baseDirs) {
             Path p = base.resolve(relative).normalize();
-            if (p.startsWith(base) && Files.exists(p) && Files.isRegularFile(p)) {
+            if (p.startsWith(base) && isDocument(p)) {
                 return p;
             }
         }
@@ -389,7 +523,7 @@ public class DomainDocsTools {
             if (relative.startsWith(baseName + "/")) {
                 String sub = relative.substring((baseName + "/").length());
                 Path p = base.resolve(sub).normalize();
-                if (p.startsWith(base) && Files.exists(p) && Files.isRegularFile(p)) {
+                if (p.startsWith(base) && isDocument(p)) {
                     return p;
                 }
             }
@@ -397,6 +531,10 @@ public class DomainDocsTools {
         return null;
     }
 
+    private boolean isDocument(Path p) {
+        return pack == null ? Files.exists(p) && Files.isRegularFile(p) : pack.doc(p) != null;
+    }
+
     private String relativizeToAnyBase(Path p) {
         for (Path base : baseDirs) {
             if (p.startsWith(base)) {
@@ -408,6 +546,119 @@ public class DomainDocsTools {
         return p.getFileName().toString();
     }
 
+    /**
+     * Load documents into the cache ahead of use. Accepts tool-style paths, optionally with a
+     * "#section" suffix; unknown paths are skipped.
+     *
+     * @return number of documents now cached
+     */
+    public int warm(Collection<String> paths) {
+        int loaded = 0;
+        for (String path : paths) {
+            int hash = path.indexOf('#');
+            Path resolved = resolveAgainstBases(hash < 0 ? path : path.substring(0, hash));
+            if (resolved == null) continue;
+            try {
+                readFile(resolved);
+                loaded++;
+            } catch (IOException | RuntimeException e) {
+                log.debug("Skipping warm-up of {}: {}", path, e.toString());
+            }
+        }
+        DocCache.Stats stats = docCache.stats();
+        log.info("[MCP] Doc cache warmed with {} of {} hot docs ({} docs, {} chars cached)",
+                loaded, paths.size(), stats.documents(), stats.chars());
+        return loaded;
+    }
+
+    /**
+     * Fingerprint of the doc catalog: path, size and modification time of every doc file. Changes
+     * whenever a doc is added, removed or edited.
+     */
+    public long catalogFingerprint() {
+        if (pack != null) return pack.fingerprint();
+        long fingerprint = 17;
+        for (Path p : listDocPaths()) {
+            long modified;
+            long size;
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(p, BasicFileAttributes.class);
+                modified = attrs.lastModifiedTime().toMillis();
+                size = attrs.size();
+            } catch (IOException e) {
+                modified = -1;
+                size = -1;
+            }
+            fingerprint = 31 * fingerprint + p.hashCode();
+            fingerprint = 31 * fingerprint + modified;
+            fingerprint = 31 * fingerprint + size;
+        }
+        return fingerprint;
+    }
+
+    /** Read a document through the doc cache; misses go to disk via {@link #readFromDisk(Path)} or to the pack. */
+    private String readFile(Path file) throws IOException {
+        return docCache.get(file, () -> load(file));
+    }
+
+    private DocCache.Indexed readIndexed(Path file) throws IOException {
+        return docCache.indexed(file, () -> load(file));
+    }
+
+    private String load(Path file) throws IOException {
+        return pack == null ? readFromDisk(file) : pack.text(pack.doc(file));
+    }
+
+    /**
+     * Non-blocking {@link #readFile}. Misses are read on the doc I/O pool, which bounds disk
+     * concurrency the way the filesystem bulkhead does for blocking reads. Failures complete the
+     * future with {@link DomainDocReadException}.
+     */
+    private CompletableFuture<String> readFileAsync(Path file, String path) {
+        CompletableFuture<String> read;
+        try {
+            // Decoding a packed doc is a memory copy, not worth a hop to the I/O pool
+            read = docCache.getAsync(file, () -> pack == null ? readFromDiskAsync(file)
+                    : CompletableFuture.completedFuture(pack.text(pack.doc(file))));
+        } catch (IOException e) {
+            read = CompletableFuture.failedFuture(e);
+        }
+        return read.exceptionallyCompose(e -> CompletableFuture.failedFuture(new DomainDocReadException(
+                "Failed to read doc: " + path, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e)));
+    }
+
+    private CompletableFuture<String> readFromDiskAsync(Path file) {
+        Observation observation = Observation.createNotStarted("mcp.docs.read", observationRegistry)
+                .contextualName("read " + file.getFileName())
+                .highCardinalityKeyValue("file.path", file.toString())
+                .start();
+        return AsyncFiles.readString(file, ioExecutor).whenComplete((content, e) -> {
+            if (e != null) observation.error(e);
+            observation.stop();
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ioExecutor.shutdownNow();
+    }
+
+    /** Read a document under the filesystem bulkhead, observed as a "mcp.docs.read" span. */
+    private String readFromDisk(Path file) throws IOException {
+        Observation observation = Observation.createNotStarted("mcp.docs.read", observationRegistry)
+                .contextualName("read " + file.getFileName())
+                .highCardinalityKeyValue("file.path", file.toString())
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return fileBulkhead.execute(() -> Files.readString(file, StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
     private static int clamp(int value, int min, int max) {
         return Math.max(min, Math.min(max, value));
     }
@@ -415,9 +666,31 @@ public class DomainDocsTools {
     // Structured types for nicer MCP rendering
     public record DocMeta(String path, String name, long size, String lastModifiedIso) {}
     public record DocContent(String path, String content, int totalLength, int from, int to) {}
-    public record SearchHit(String path, int score, String snippet) {}
+    /** A page of a section; {@code from}/{@code to} are offsets within the section text. */
+    public record SectionPage(String path, String content, int totalLength, int from, int to, int tokens,
+                              String nextCursor, List<DocSection> remainingSections) {}
+    public record SearchHit(String path, double score, String snippet) {}
     public record DocSection(String title, int level, int lineNumber) {}
-    public record SectionSearchHit(String path, String sectionTitle, int level, int score, String snippet) {}
+    public record SectionSearchHit(String path, String sectionTitle, int level, double score, String snippet) {}
+
+    /** A document or section with query matches, kept between the statistics and scoring passes. */
+    private record Candidate(Path path, DocSection section, String content, DocScorer.Match match) {}
+
+    /** Stamps and token indexes of packed docs; the pack never changes while mapped. */
+    private record PackSource(CorpusPack pack) implements DocCache.Source {
+
+        @Override
+        public DocCache.Stamp stamp(Path file) throws IOException {
+            CorpusPack.Doc doc = pack.doc(file);
+            if (doc == null) throw new NoSuchFileException(file.toString());
+            return new DocCache.Stamp(doc.lastModified(), doc.size());
+        }
+
+        @Override
+        public TokenIndex index(Path file, String content) {
+            return pack.tokenIndex(pack.doc(file));
+        }
+    }
 
     public static class DomainDocReadException extends RuntimeException {
         public DomainDocReadException(String message, Throwable cause) { super(message, cause); }
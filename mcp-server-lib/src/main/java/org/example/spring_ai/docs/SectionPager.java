@@ -0,0 +1,104 @@
+package org.example.spring_ai.docs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+
+/**
+ * Splits section text into pages of at most a token budget, counted with the CL100K encoding that
+ * the vector indexer's {@code TokenTextSplitter} uses.
+ *
+ * Pages end on line boundaries; only a single line longer than the budget is cut mid-line. Only the
+ * lines of the requested page are tokenized, so reading the first page of a huge section is cheap.
+ *
+ * Cursors are opaque to clients: the next page's character offset plus a hash of the section text,
+ * so a cursor issued before the document changed is rejected instead of resuming mid-word.
+ */
+final class SectionPager {
+
+    private static final Encoding ENCODING = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+
+    private SectionPager() {}
+
+    /**
+     * One page of a section: characters [from, to), its token count and the cursor of the next
+     * page ({@code null} on the last page).
+     */
+    record Page(int from, int to, int tokens, String nextCursor) {}
+
+    static Page page(String section, int from, int maxTokens) {
+        int budget = Math.max(1, maxTokens);
+        int pos = from;
+        int tokens = 0;
+        while (pos < section.length()) {
+            int newline = section.indexOf('\n', pos);
+            int end = newline < 0 ? section.length() : newline + 1;
+            int lineTokens = countTokens(section.substring(pos, end));
+            if (tokens + lineTokens > budget) {
+                if (pos == from) {
+                    // A single line over budget: take the longest prefix that fits
+                    end = fittingPrefixEnd(section, pos, end, budget);
+                    tokens = countTokens(section.substring(pos, end));
+                    pos = end;
+                }
+                break;
+            }
+            tokens += lineTokens;
+            pos = end;
+        }
+        String next = pos < section.length() ? cursor(section, pos) : null;
+        return new Page(from, pos, tokens, next);
+    }
+
+    static int countTokens(String text) {
+        return text.isEmpty() ? 0 : ENCODING.countTokens(text);
+    }
+
+    static String cursor(String section, int offset) {
+        String raw = offset + ":" + Integer.toHexString(section.hashCode());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Offset a cursor points at.
+     *
+     * @throws IllegalArgumentException for a malformed cursor or one issued for other section text
+     */
+    static int offset(String section, String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        int colon = raw.indexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        if (!raw.substring(colon + 1).equals(Integer.toHexString(section.hashCode()))) {
+            throw new IllegalArgumentException("Section changed since the cursor was issued; read it again without a cursor");
+        }
+        int offset;
+        try {
+            offset = Integer.parseInt(raw.substring(0, colon));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (offset < 0 || offset > section.length()) throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        return offset;
+    }
+
+    /** Largest end in (from, max] whose prefix fits the budget; at least one code point. */
+    private static int fittingPrefixEnd(String text, int from, int max, int budget) {
+        int lo = text.offsetByCodePoints(from, 1);
+        int hi = max;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (countTokens(text.substring(from, mid)) <= budget) lo = mid;
+            else hi = mid - 1;
+        }
+        if (lo < max && Character.isLowSurrogate(text.charAt(lo)) && lo - 1 > from) lo--;
+        return lo;
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.spring_ai.docs;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Positional token index of one document: character offsets of every token and, per normalized
+ * term, the sorted token positions where it occurs. Built once per cached document version.
+ *
+ * Tokens are runs of letters and digits, lower-cased, with a plural "s" stripped (so "orders"
+ * matches "order" but "reorder" does not).
+ */
+final class TokenIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final int[] starts;
+    private final int[] ends;
+    private final Map<String, int[]> positions;
+
+    private TokenIndex(int[] starts, int[] ends, Map<String, int[]> positions) {
+        this.starts = starts;
+        this.ends = ends;
+        this.positions = positions;
+    }
+
+    static TokenIndex of(String content) {
+        int[] starts = new int[Math.max(16, content.length() / 6)];
+        int[] ends = new int[starts.length];
+        Map<String, IntList> byTerm = new HashMap<>();
+        int count = 0;
+        int i = 0;
+        int n = content.length();
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(content.charAt(i))) i++;
+            if (i >= n) break;
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(content.charAt(i))) i++;
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = i;
+            byTerm.computeIfAbsent(normalize(content.substring(start, i)), k -> new IntList()).add(count);
+            count++;
+        }
+        Map<String, int[]> positions = new HashMap<>(byTerm.size() * 2);
+        byTerm.forEach((term, list) -> positions.put(term, list.toArray()));
+        return new TokenIndex(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count), positions);
+    }
+
+    /**
+     * Write the index in the {@link CorpusPack} layout: token count, starts, ends, then every term
+     * with its positions.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(starts.length);
+        for (int start : starts) out.writeInt(start);
+        for (int end : ends) out.writeInt(end);
+        out.writeInt(positions.size());
+        for (Map.Entry<String, int[]> e : positions.entrySet()) {
+            byte[] term = e.getKey().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(term.length);
+            out.write(term);
+            out.writeInt(e.getValue().length);
+            for (int position : e.getValue()) out.writeInt(position);
+        }
+    }
+
+    /**
+     * Read an index written by {@link #write}; the int arrays are bulk-copied from the buffer.
+     */
+    static TokenIndex read(ByteBuffer in) {
+        int count = in.getInt();
+        int[] starts = new int[count];
+        int[] ends = new int[count];
+        in.asIntBuffer().get(starts);
+        in.position(in.position() + count * Integer.BYTES);
+        in.asIntBuffer().get(ends);
+        in.position(in.position() + count * Integer.BYTES);
+        int terms = in.getInt();
+        Map<String, int[]> positions = new HashMap<>(terms * 2);
+        for (int t = 0; t < terms; t++) {
+            byte[] term = new byte[in.getInt()];
+            in.get(term);
+            int[] termPositions = new int[in.getInt()];
+            in.asIntBuffer().get(termPositions);
+            in.position(in.position() + termPositions.length * Integer.BYTES);
+            positions.put(new String(term, StandardCharsets.UTF_8), termPositions);
+        }
+        return new TokenIndex(starts, ends, positions);
+    }
+
+    /**
+     * Split text with the same rules as the index, keeping order and duplicates.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        int n = text.length();
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(text.charAt(i))) i++;
+            if (i > start) tokens.add(normalize(text.substring(start, i)));
+        }
+        return tokens;
+    }
+
+    static String normalize(String token) {
+        String t = token.toLowerCase(Locale.ROOT);
+        if (t.length() > 3 && t.endsWith("s") && !t.endsWith("ss")) {
+            return t.substring(0, t.length() - 1);
+        }
+        return t;
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    int start(int token) {
+        return starts[token];
+    }
+
+    int end(int token) {
+        return ends[token];
+    }
+
+    /** Sorted token positions of a normalized term (empty if absent). */
+    int[] positions(String term) {
+        return positions.getOrDefault(term, NONE);
+    }
+
+    /** Index of the first token starting at or after the given character offset. */
+    int tokenAt(int charOffset) {
+        int i = Arrays.binarySearch(starts, charOffset);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.spring_ai.encoding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Compact, still textual, encoding of JSON tool results for LLM clients.
+ *
+ * - Arrays of two or more objects (order pages, search hits, time-series buckets) become tables:
+ *   {@code {"$rows": n, "$columns": {"field": [values...]}}}, so each field name appears once and
+ *   numeric fields are plain number arrays. Within a column, a value shared by every row is written
+ *   once as {@code {"$same": value}}, low-cardinality strings (side, state, symbol) as
+ *   {@code {"$dict": [values], "$codes": [indexes]}} (-1 for null), and object values such as
+ *   search-hit metadata as a nested table, which deduplicates their keys and constant entries.
+ *   Rows that lack a field hold null in its column and are listed under
+ *   {@code "$absent": {"field": [row indexes]}}, which keeps a missing field apart from a null one.
+ * - A top-level object dominated by one long string field (readDomainDoc, readDocSection) is
+ *   written as its other fields, with {@code "$body": "field"}, followed by a blank line and the
+ *   raw text, which avoids escaping every newline and quote.
+ *
+ * The encoding is lossless apart from key order in the rebuilt rows.
+ */
+public final class CompactJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final int MIN_DICT_ROWS = 4;
+
+    private CompactJson() {
+    }
+
+    /**
+     * @param bodyMinChars minimum length of a string field written as a raw body
+     * @return the compact form, or {@code null} if the input is not a JSON object or array or the
+     *         compact form is not shorter
+     */
+    public static String encode(String json, int bodyMinChars) {
+        JsonNode root;
+        try {
+            root = json == null ? null : MAPPER.readTree(json);
+        } catch (Exception e) {
+            return null;
+        }
+        if (root == null || !root.isContainerNode()) {
+            return null;
+        }
+        String encoded;
+        try {
+            encoded = root.isObject() ? encodeObject((ObjectNode) root, bodyMinChars) : MAPPER.writeValueAsString(compact(root));
+        } catch (Exception e) {
+            return null;
+        }
+        return encoded.length() < json.length() ? encoded : null;
+    }
+
+    private static String encodeObject(ObjectNode root, int bodyMinChars) throws Exception {
+        String bodyField = null;
+        for (Iterator<Map.Entry<String, JsonNode>> it = root.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (field.getValue().isTextual() && field.getValue().asText().length() >= bodyMinChars
+                    && (bodyField == null || field.getValue().asText().length() > root.get(bodyField).asText().length())) {
+                bodyField = field.getKey();
+            }
+        }
+        if (bodyField == null) {
+            return MAPPER.writeValueAsString(compact(root));
+        }
+        ObjectNode header = (ObjectNode) compact(root);
+        header.remove(bodyField);
+        header.put("$body", bodyField);
+        return MAPPER.writeValueAsString(header) + "\n\n" + root.get(bodyField).asText();
+    }
+
+    static JsonNode compact(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode result = NODES.objectNode();
+            node.fields().forEachRemaining(field -> result.set(field.getKey(), compact(field.getValue())));
+            return result;
+        }
+        if (node.isArray()) {
+            if (isTable(node)) {
+                return table(node);
+            }
+            ArrayNode result = NODES.arrayNode(node.size());
+            node.forEach(element -> result.add(compact(element)));
+            return result;
+        }
+        return node;
+    }
+
+    private static boolean isTable(JsonNode array) {
+        if (array.size() < 2) return false;
+        for (JsonNode element : array) {
+            if (!element.isObject()) return false;
+        }
+        return true;
+    }
+
+    private static ObjectNode table(JsonNode rows) {
+        Set<String> keys = new LinkedHashSet<>();
+        rows.forEach(row -> row.fieldNames().forEachRemaining(keys::add));
+        ObjectNode columns = NODES.objectNode();
+        ObjectNode absent = NODES.objectNode();
+        for (String key : keys) {
+            List<JsonNode> values = new ArrayList<>(rows.size());
+            ArrayNode missing = NODES.arrayNode();
+            for (JsonNode row : rows) {
+                JsonNode value = row.get(key);
+                if (value == null) {
+                    missing.add(values.size());
+                }
+                values.add(value == null ? NODES.nullNode() : value);
+            }
+            columns.set(key, column(values));
+            if (!missing.isEmpty()) {
+                absent.set(key, missing);
+            }
+        }
+        ObjectNode table = NODES.objectNode();
+        table.put("$rows", rows.size());
+        table.set("$columns", columns);
+        if (!absent.isEmpty()) {
+            table.set("$absent", absent);
+        }
+        return table;
+    }
+
+    private static JsonNode column(List<JsonNode> values) {
+        JsonNode first = values.get(0);
+        boolean same = true;
+        boolean objects = true;
+        boolean strings = true;
+        for (JsonNode value : values) {
+            same &= value.equals(first);
+            objects &= value.isObject();
+            strings &= value.isTextual() || value.isNull();
+        }
+        if (same) {
+            return NODES.objectNode().set("$same", compact(first));
+        }
+        if (objects) {
+            ArrayNode rows = NODES.arrayNode(values.size());
+            values.forEach(rows::add);
+            return table(rows);
+        }
+        if (strings && values.size() >= MIN_DICT_ROWS) {
+            JsonNode dictionary = dictionary(values);
+            if (dictionary != null) return dictionary;
+        }
+        ArrayNode result = NODES.arrayNode(values.size());
+        values.forEach(value -> result.add(compact(value)));
+        return result;
+    }
+
+    /** Dictionary coding when at most half the rows have distinct values; otherwise null. */
+    private static JsonNode dictionary(List<JsonNode> values) {
+        Map<String, Integer> codes = new HashMap<>();
+        ArrayNode dictionary = NODES.arrayNode();
+        ArrayNode indexes = NODES.arrayNode(values.size());
+        for (JsonNode value : values) {
+            if (value.isNull()) {
+                indexes.add(-1);
+                continue;
+            }
+            Integer code = codes.get(value.asText());
+            if (code == null) {
+                if (codes.size() >= values.size() / 2) return null;
+                code = codes.size();
+                codes.put(value.asText(), code);
+                dictionary.add(value.asText());
+            }
+            indexes.add(code);
+        }
+        ObjectNode result = NODES.objectNode();
+        result.set("$dict", dictionary);
+        result.set("$codes", indexes);
+        return result;
+    }
+}
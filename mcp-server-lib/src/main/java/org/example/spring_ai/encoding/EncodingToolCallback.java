@@ -0,0 +1,42 @@
+package org.example.spring_ai.encoding;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+/**
+ * Tool callback decorator passing results through {@link ResponseEncoding}: records their size and
+ * returns the compact form for large results when enabled.
+ */
+public class EncodingToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final ResponseEncoding encoding;
+
+    public EncodingToolCallback(ToolCallback delegate, ResponseEncoding encoding) {
+        this.delegate = delegate;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        String result = toolContext == null ? delegate.call(toolInput) : delegate.call(toolInput, toolContext);
+        return encoding.apply(delegate.getToolDefinition().name(), result);
+    }
+}
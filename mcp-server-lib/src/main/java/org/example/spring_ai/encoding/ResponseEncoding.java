@@ -0,0 +1,89 @@
+package org.example.spring_ai.encoding;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Measures tool results and, when enabled, replaces large ones with their {@link CompactJson} form.
+ *
+ * Every result is recorded in "mcp.tool.response.bytes" (UTF-8 bytes as sent over the transport)
+ * tagged with the tool and encoding=json; encoded results are recorded again with
+ * encoding=compact, and the encoding step in "mcp.tool.response.encode". In dry-run mode the
+ * compact size is recorded but JSON is returned, so both sides can be compared before opting in.
+ */
+public class ResponseEncoding {
+
+    private final ResponseEncodingProperties properties;
+    private final MeterRegistry registry;
+    private final Set<String> tools;
+
+    /**
+     * @param registry registry for the "mcp.tool.response.*" meters, or {@code null}
+     */
+    public ResponseEncoding(ResponseEncodingProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.tools = Set.copyOf(properties.tools());
+    }
+
+    /**
+     * @param result JSON result of the tool
+     * @return the result to send: compact if enabled and shorter, else unchanged
+     */
+    public String apply(String tool, String result) {
+        if (result == null) {
+            return null;
+        }
+        record(tool, "json", result);
+        boolean encode = (properties.enabled() || properties.dryRun())
+                && result.length() >= properties.minChars() && tools.contains(tool);
+        if (!encode) {
+            return result;
+        }
+        long start = System.nanoTime();
+        String compact = CompactJson.encode(result, properties.bodyMinChars());
+        if (registry != null) {
+            Timer.builder("mcp.tool.response.encode").tag("tool", tool).register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (compact == null) {
+            return result;
+        }
+        record(tool, "compact", compact);
+        return properties.enabled() ? compact : result;
+    }
+
+    private void record(String tool, String encoding, String text) {
+        if (registry == null) return;
+        DistributionSummary.builder("mcp.tool.response.bytes")
+                .baseUnit("bytes")
+                .tag("tool", tool)
+                .tag("encoding", encoding)
+                .register(registry)
+                .record(utf8Length(text));
+    }
+
+    /** UTF-8 length without encoding the string. */
+    static long utf8Length(String text) {
+        long bytes = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    // 4 bytes for the pair of 2 chars
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.spring_ai.encoding;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(ResponseEncodingProperties.class)
+public class ResponseEncodingConfig {
+
+    @Bean
+    public ResponseEncoding responseEncoding(ResponseEncodingProperties properties, MeterRegistry registry) {
+        return new ResponseEncoding(properties, registry);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.spring_ai.encoding;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Compact encoding of large tool results ("mcp.encoding.*"), see {@link CompactJson}.
+ *
+ * @param enabled      return the compact form instead of JSON (opt-in; clients must understand it)
+ * @param dryRun       encode and record the compact size, but keep returning JSON, to measure the
+ *                     saving before enabling
+ * @param tools        tools whose results are encoded
+ * @param minChars     results shorter than this are returned as JSON
+ * @param bodyMinChars string fields at least this long are written as a raw text body
+ */
+@ConfigurationProperties(prefix = "mcp.encoding")
+public record ResponseEncodingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("false") boolean dryRun,
+        @DefaultValue({"searchOrders", "orderTimeSeries", "semanticSearchDocs", "semanticSearchBatch",
+                "readDomainDoc", "readDocSection", "searchDomainDocs", "searchDocSections"}) List<String> tools,
+        @DefaultValue("2048") int minChars,
+        @DefaultValue("1024") int bodyMinChars) {}
@@ -0,0 +1,22 @@
+package org.example.spring_ai.logging;
+
+/**
+ * Lazily truncated payloads for log statements: the returned object only builds its string
+ * when the logger actually formats the event.
+ */
+public final class LogBodies {
+
+    private LogBodies() {
+    }
+
+    public static Object truncated(String body, int maxChars) {
+        return new Object() {
+            @Override
+            public String toString() {
+                if (body == null) return "null";
+                if (body.length() <= maxChars) return body;
+                return body.substring(0, maxChars) + "... [truncated " + (body.length() - maxChars) + " of " + body.length() + " chars]";
+            }
+        };
+    }
+}
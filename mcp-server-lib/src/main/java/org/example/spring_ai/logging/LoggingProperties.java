@@ -0,0 +1,13 @@
+package org.example.spring_ai.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Hot-path logging settings ("mcp.logging.*"). Sampling rates ("mcp.logging.sampling") are read
+ * directly by logback-spring.xml for {@link SamplingTurboFilter}.
+ *
+ * @param bodyMaxChars maximum characters of a payload logged for debug-flagged requests
+ */
+@ConfigurationProperties(prefix = "mcp.logging")
+public record LoggingProperties(@DefaultValue("2048") int bodyMaxChars) {}
@@ -0,0 +1,120 @@
+package org.example.spring_ai.logging;
+
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tool callback decorator that puts the tool name (and the debug flag, if the arguments contain
+ * a top-level {@code "debug": true}) into the MDC for the duration of the call and logs its
+ * duration. The flag is declared as an optional property of the input schema so clients can
+ * discover it; the method tool binding ignores it.
+ */
+@Slf4j
+public class LoggingToolCallback implements ToolCallback {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static final String DEBUG_PROPERTY = "debug";
+
+    private final ToolCallback delegate;
+    private final ToolDefinition definition;
+
+    public LoggingToolCallback(ToolCallback delegate) {
+        this.delegate = delegate;
+        this.definition = withDebugFlag(delegate.getToolDefinition());
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return definition;
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        String name = delegate.getToolDefinition().name();
+        boolean debug = hasDebugFlag(toolInput);
+        return inContext(name, debug, () -> {
+            long start = System.nanoTime();
+            if (debug) {
+                log.info("[MCP] {} input: {}", name, toolInput);
+            }
+            String result = toolContext == null ? delegate.call(toolInput) : delegate.call(toolInput, toolContext);
+            log.debug("[MCP] {} completed in {} ms ({} chars)", name, (System.nanoTime() - start) / 1_000_000,
+                    result == null ? 0 : result.length());
+            return result;
+        });
+    }
+
+    /**
+     * Runs {@code call} with the tool name and, if set, the debug flag in the MDC. Also used by the
+     * async tool specifications for the part of a call that runs on the calling thread.
+     */
+    public static <T> T inContext(String toolName, boolean debug, Supplier<T> call) {
+        MDC.put("tool", toolName);
+        if (debug) MDC.put(RequestDebug.MDC_KEY, "true");
+        try {
+            return call.get();
+        } finally {
+            MDC.remove("tool");
+            MDC.remove(RequestDebug.MDC_KEY);
+        }
+    }
+
+    /**
+     * Returns the definition with an optional boolean {@code debug} property added to its input
+     * schema; definitions whose schema already declares it, or is not an object schema, are
+     * returned unchanged.
+     */
+    public static ToolDefinition withDebugFlag(ToolDefinition definition) {
+        try {
+            JsonNode schema = MAPPER.readTree(definition.inputSchema());
+            if (!(schema instanceof ObjectNode root) || root.path("properties").has(DEBUG_PROPERTY)) {
+                return definition;
+            }
+            ObjectNode properties = root.path("properties") instanceof ObjectNode existing ? existing
+                    : root.putObject("properties");
+            properties.putObject(DEBUG_PROPERTY)
+                    .put("type", "boolean")
+                    .put("description", "Log this call's input and upstream payloads (truncated), bypassing log sampling");
+            return ToolDefinition.builder()
+                    .name(definition.name())
+                    .description(definition.description())
+                    .inputSchema(MAPPER.writeValueAsString(root))
+                    .build();
+        } catch (Exception e) {
+            log.warn("Could not add the debug flag to the input schema of {}: {}", definition.name(), e.getMessage());
+            return definition;
+        }
+    }
+
+    static boolean hasDebugFlag(String toolInput) {
+        if (toolInput == null || !toolInput.contains("\"" + DEBUG_PROPERTY + "\"")) return false;
+        try {
+            JsonNode flag = MAPPER.readTree(toolInput).path(DEBUG_PROPERTY);
+            return flag.asBoolean(false);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
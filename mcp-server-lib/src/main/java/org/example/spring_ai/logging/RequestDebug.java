@@ -0,0 +1,20 @@
+package org.example.spring_ai.logging;
+
+import org.slf4j.MDC;
+
+/**
+ * Per-request debug flag carried in the MDC. While set, payload bodies are logged (truncated)
+ * and log sampling is bypassed. Tool calls enable it with a top-level {@code "debug": true}
+ * argument (see {@link LoggingToolCallback}).
+ */
+public final class RequestDebug {
+
+    public static final String MDC_KEY = "debug";
+
+    private RequestDebug() {
+    }
+
+    public static boolean isEnabled() {
+        return "true".equals(MDC.get(MDC_KEY));
+    }
+}
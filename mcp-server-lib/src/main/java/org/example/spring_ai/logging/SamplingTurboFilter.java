@@ -0,0 +1,68 @@
+package org.example.spring_ai.logging;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback turbo filter that samples TRACE..INFO events per logger.
+ *
+ * Rates are given as "loggerPrefix=rate" pairs separated by commas (e.g.
+ * "org.example.spring_ai.oms=0.1"); the longest matching prefix wins and unlisted loggers are
+ * not sampled. WARN and ERROR events, level checks (isDebugEnabled) and requests carrying the
+ * {@link RequestDebug} flag always pass.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<Map.Entry<String, Double>> rates = new ArrayList<>();
+    private final Map<String, Double> resolved = new ConcurrentHashMap<>();
+
+    public void setRates(String spec) {
+        rates.clear();
+        resolved.clear();
+        if (spec == null || spec.isBlank()) return;
+        for (String pair : spec.split(",")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            try {
+                double rate = Double.parseDouble(pair.substring(eq + 1).trim());
+                rates.add(Map.entry(pair.substring(0, eq).trim(), Math.max(0, Math.min(1, rate))));
+            } catch (NumberFormatException e) {
+                addWarn("Ignoring invalid sampling rate: " + pair);
+            }
+        }
+        rates.sort(Comparator.comparingInt((Map.Entry<String, Double> e) -> e.getKey().length()).reversed());
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN) || rates.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = resolved.computeIfAbsent(logger.getName(), this::rateFor);
+        if (rate >= 1.0 || RequestDebug.isEnabled()) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private double rateFor(String loggerName) {
+        for (Map.Entry<String, Double> e : rates) {
+            String prefix = e.getKey();
+            if (loggerName.equals(prefix) || loggerName.startsWith(prefix + ".")) {
+                return e.getValue();
+            }
+        }
+        return 1.0;
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.spring_ai.oms;
+
+/**
+ * Order search arguments rejected locally, before any request is sent to the OMS.
+ */
+public class InvalidOrderQueryException extends IllegalArgumentException {
+
+    public InvalidOrderQueryException(String message) {
+        super(message);
+    }
+}
@@ -1,28 +1,92 @@
 package org.example.spring_ai.oms;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
+import org.example.spring_ai.logging.LogBodies;
+import org.example.spring_ai.logging.RequestDebug;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.NonNull;
+import org.springframework.util.StreamUtils;
 
+/**
+ * Logs OMS requests and responses at DEBUG (headers at TRACE). Request and response bodies are only
+ * logged, truncated, for requests carrying the {@link RequestDebug} flag; the response is then
+ * buffered so the caller can still read it.
+ */
 public class LoggingInterceptor implements ClientHttpRequestInterceptor {
     private static final Logger log = LoggerFactory.getLogger(LoggingInterceptor.class);
 
+    private final int bodyMaxChars;
+
+    public LoggingInterceptor(int bodyMaxChars) {
+        this.bodyMaxChars = bodyMaxChars;
+    }
+
     @Override
     public @NonNull ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body, @NonNull ClientHttpRequestExecution execution) throws IOException {
-        log.info("Request: {} {}", request.getMethod(), request.getURI());
-        log.debug("Request headers: {}", request.getHeaders());
-        if (body.length > 0 && log.isDebugEnabled()) {
-            log.debug("Request body: {}", new String(body));
+        log.debug("Request: {} {}", request.getMethod(), request.getURI());
+        log.trace("Request headers: {}", request.getHeaders());
+        if (body.length > 0 && RequestDebug.isEnabled()) {
+            log.info("Request body: {}", LogBodies.truncated(new String(body, StandardCharsets.UTF_8), bodyMaxChars));
         }
+        long start = System.nanoTime();
         ClientHttpResponse response = execution.execute(request, body);
-        log.info("Response: {} {}", response.getStatusCode(), response.getStatusText());
-        log.debug("Response headers: {}", response.getHeaders());
-        return response;
+        log.debug("Response: {} in {} ms", response.getStatusCode(), (System.nanoTime() - start) / 1_000_000);
+        log.trace("Response headers: {}", response.getHeaders());
+        if (!RequestDebug.isEnabled()) {
+            return response;
+        }
+        BufferedResponse buffered = new BufferedResponse(response);
+        log.info("Response body: {}", LogBodies.truncated(new String(buffered.body, StandardCharsets.UTF_8), bodyMaxChars));
+        return buffered;
+    }
+
+    /**
+     * Response whose body was read up front, so it can be logged and still be read by the caller.
+     */
+    private static final class BufferedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final byte[] body;
+
+        BufferedResponse(ClientHttpResponse delegate) throws IOException {
+            this.delegate = delegate;
+            this.body = StreamUtils.copyToByteArray(delegate.getBody());
+        }
+
+        @Override
+        public @NonNull HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public @NonNull String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public @NonNull HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public @NonNull InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
     }
 }
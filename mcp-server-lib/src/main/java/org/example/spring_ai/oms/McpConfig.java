@@ -1,29 +1,82 @@
 package org.example.spring_ai.oms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.example.spring_ai.cache.CachingToolCallback;
+import org.example.spring_ai.cache.CorpusVersion;
+import org.example.spring_ai.cache.ToolCacheProperties;
+import org.example.spring_ai.cache.ToolResultCache;
 import org.example.spring_ai.docs.DomainDocsTools;
+import org.example.spring_ai.encoding.EncodingToolCallback;
+import org.example.spring_ai.encoding.ResponseEncoding;
+import org.example.spring_ai.logging.LoggingToolCallback;
+import org.example.spring_ai.oms.OrderSearchMcpTools.OrderSearchFilters;
+import org.example.spring_ai.quota.QuotaToolCallback;
+import org.example.spring_ai.quota.ToolCostEstimator;
+import org.example.spring_ai.quota.ToolQuotas;
 import org.example.spring_ai.tools.HealthTools;
+import org.example.spring_ai.tools.ReactiveTools;
+import org.example.spring_ai.tracing.ObservedToolCallback;
 import org.example.spring_ai.vector.SemanticSearchTools;
+import org.example.spring_ai.vector.VectorMaintenanceTools;
+import org.example.spring_ai.warmup.AccessStats;
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.definition.ToolDefinition;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.micrometer.observation.ObservationRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registers the MCP tools. In the default sync server mode every tool is a (decorated) blocking
+ * callback. With {@code spring.ai.mcp.server.type=ASYNC} the tools in {@link ReactiveTools#TOOL_NAMES}
+ * are registered as native async specifications instead, and the remaining callbacks are bridged
+ * by Spring AI.
+ */
 @Configuration
 public class McpConfig {
 
+    private static final String ASYNC = "ASYNC";
+
     @Bean
     public ToolCallbackProvider tools(
             OrderSearchMcpTools orderTools, 
+            OrderTreeMcpTools orderTreeTools,
+            OrderWatchMcpTools orderWatchTools,
+            OrderTimeSeriesMcpTools orderTimeSeriesTools,
             DomainDocsTools docsTools, 
             HealthTools healthTools,
-            @Autowired(required = false) SemanticSearchTools semanticSearchTools) {
+            ObservationRegistry observationRegistry,
+            ToolCacheProperties toolCacheProperties,
+            ToolResultCache toolResultCache,
+            CorpusVersion corpusVersion,
+            AccessStats accessStats,
+            ToolQuotas toolQuotas,
+            ToolCostEstimator toolCostEstimator,
+            ResponseEncoding responseEncoding,
+            @Value("${spring.ai.mcp.server.type:SYNC}") String serverType,
+            @Autowired(required = false) SemanticSearchTools semanticSearchTools,
+            @Autowired(required = false) VectorMaintenanceTools vectorMaintenanceTools) {
         
         List<Object> toolObjects = new ArrayList<>();
         toolObjects.add(orderTools);
+        toolObjects.add(orderTreeTools);
+        toolObjects.add(orderWatchTools);
+        toolObjects.add(orderTimeSeriesTools);
         toolObjects.add(docsTools);
         toolObjects.add(healthTools);
         
@@ -31,9 +84,85 @@ public class McpConfig {
         if (semanticSearchTools != null) {
             toolObjects.add(semanticSearchTools);
         }
+        if (vectorMaintenanceTools != null) {
+            toolObjects.add(vectorMaintenanceTools);
+        }
         
-        return MethodToolCallbackProvider.builder()
+        ToolCallback[] callbacks = MethodToolCallbackProvider.builder()
                 .toolObjects(toolObjects.toArray())
-                .build();
+                .build()
+                .getToolCallbacks();
+
+        // Admit executions through the per-client quotas, serve repeated docs-tool calls from the result
+        // cache until the corpus changes (cache hits skip the quotas), measure and optionally compact the
+        // results, then decorate every tool with a span/timer and MDC context (tool name, per-request
+        // debug flag). In async mode the tools with native async variants come from
+        // reactiveToolSpecifications instead.
+        boolean async = ASYNC.equalsIgnoreCase(serverType);
+        List<ToolCallback> decorated = Arrays.stream(callbacks)
+                .filter(cb -> !async || !ReactiveTools.TOOL_NAMES.contains(cb.getToolDefinition().name()))
+                .map(cb -> toolQuotas.enabled() ? new QuotaToolCallback(cb, toolQuotas, toolCostEstimator) : cb)
+                .map(cb -> toolCacheProperties.enabled() && toolCacheProperties.tools().contains(cb.getToolDefinition().name())
+                        ? new CachingToolCallback(cb, toolResultCache, corpusVersion, accessStats) : cb)
+                .<ToolCallback>map(cb -> new ObservedToolCallback(new LoggingToolCallback(new EncodingToolCallback(cb, responseEncoding)),
+                        observationRegistry))
+                .toList();
+        return ToolCallbackProvider.from(decorated);
+    }
+
+    /**
+     * Native async variants of the I/O-bound tools, for the async MCP server.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = ASYNC)
+    public List<McpServerFeatures.AsyncToolSpecification> reactiveToolSpecifications(
+            OrderSearchMcpTools orderTools,
+            DomainDocsTools docsTools,
+            ObservationRegistry observationRegistry,
+            ToolCacheProperties toolCacheProperties,
+            ToolResultCache toolResultCache,
+            CorpusVersion corpusVersion,
+            AccessStats accessStats,
+            ToolQuotas toolQuotas,
+            ToolCostEstimator toolCostEstimator,
+            ResponseEncoding responseEncoding,
+            @Autowired(required = false) SemanticSearchTools semanticSearchTools) {
+
+        List<Object> toolObjects = new ArrayList<>(List.of(orderTools, docsTools));
+        if (semanticSearchTools != null) {
+            toolObjects.add(semanticSearchTools);
+        }
+        Map<String, ToolDefinition> definitions = Arrays.stream(MethodToolCallbackProvider.builder()
+                        .toolObjects(toolObjects.toArray())
+                        .build()
+                        .getToolCallbacks())
+                .map(ToolCallback::getToolDefinition)
+                .collect(Collectors.toMap(ToolDefinition::name, Function.identity()));
+        ReactiveTools reactive = new ReactiveTools(observationRegistry, toolResultCache, corpusVersion, accessStats,
+                toolCacheProperties.enabled() ? toolCacheProperties.tools() : List.of(), toolQuotas, toolCostEstimator,
+                responseEncoding);
+
+        List<McpServerFeatures.AsyncToolSpecification> specs = new ArrayList<>();
+        specs.add(reactive.spec(definitions.get("searchOrders"), args -> orderTools.searchOrdersAsync(
+                args.get("filters", OrderSearchFilters.class), args.get("page", Integer.class),
+                args.get("size", Integer.class), args.get("sort", String.class))));
+        specs.add(reactive.spec(definitions.get("readDomainDoc"), args -> mono(() -> docsTools.readDomainDocAsync(
+                args.get("path", String.class), args.get("offset", Integer.class), args.get("limit", Integer.class)))));
+        specs.add(reactive.spec(definitions.get("readDocSection"), args -> mono(() -> docsTools.readDocSectionAsync(
+                args.get("path", String.class), args.get("sectionTitle", String.class),
+                args.get("maxTokens", Integer.class), args.get("cursor", String.class)))));
+        if (semanticSearchTools != null) {
+            specs.add(reactive.spec(definitions.get("semanticSearchDocs"), args -> mono(() -> semanticSearchTools.semanticSearchDocsAsync(
+                    args.get("query", String.class), args.get("topK", Integer.class),
+                    args.get("similarityThreshold", Double.class), args.get("pathPrefix", String.class),
+                    args.get("baseDir", String.class), args.get("filenameGlob", String.class),
+                    args.get("modifiedSince", String.class), args.get("rerank", Boolean.class),
+                    args.strings("namespaces")))));
+        }
+        return specs;
+    }
+
+    private static <T> Mono<T> mono(Supplier<CompletableFuture<T>> future) {
+        return Mono.fromFuture(future);
     }
 }
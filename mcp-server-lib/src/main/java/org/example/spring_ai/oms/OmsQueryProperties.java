@@ -0,0 +1,30 @@
+package org.example.spring_ai.oms;
+
+import java.time.Duration;
+
+import org.example.spring_ai.resilience.HedgedRetryExecutor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Retry and hedging settings for OMS order queries ("oms.query.*").
+ * See {@link HedgedRetryExecutor.Settings} for the meaning of each field.
+ */
+@ConfigurationProperties(prefix = "oms.query")
+public record OmsQueryProperties(
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("100ms") Duration initialBackoff,
+        @DefaultValue("1s") Duration maxBackoff,
+        @DefaultValue("false") boolean hedging,
+        @DefaultValue("0.95") double hedgePercentile,
+        @DefaultValue("500ms") Duration hedgeInitialDelay,
+        @DefaultValue("20ms") Duration hedgeMinDelay,
+        @DefaultValue("32") int hedgeMaxThreads,
+        @DefaultValue("0.1") double retryBudgetRatio,
+        @DefaultValue("10") int retryBudgetMaxTokens) {
+
+    public HedgedRetryExecutor.Settings toSettings() {
+        return new HedgedRetryExecutor.Settings(Math.max(1, maxAttempts), initialBackoff, maxBackoff, hedging,
+                hedgePercentile, hedgeInitialDelay, hedgeMinDelay, hedgeMaxThreads, retryBudgetRatio, retryBudgetMaxTokens);
+    }
+}
@@ -2,32 +2,71 @@ package org.example.spring_ai.oms;
 
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.example.spring_ai.logging.LogBodies;
+import org.example.spring_ai.logging.LoggingProperties;
+import org.example.spring_ai.logging.RequestDebug;
+import org.example.spring_ai.resilience.HedgedRetryExecutor;
+import org.example.spring_ai.resilience.RetryBudget;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * REST client to call the OMS OrderQueryController search endpoint.
+ * Searches are idempotent reads, so transient failures are retried and slow calls may be
+ * hedged according to {@link OmsQueryProperties}.
+ *
+ * {@link #searchAsync} is the non-blocking variant over {@link WebClient}: same encoding, parsing
+ * and retry settings, with retries drawn from its own budget; it does not hedge.
  */
 @Slf4j
 @Component
 public class OrderQueryClient {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private final RestClient restClient;
+    private final WebClient webClient;
+    private final HedgedRetryExecutor executor;
+    private final OmsQueryProperties queryProperties;
+    private final RetryBudget asyncRetryBudget;
+    private final int bodyMaxChars;
 
-    public OrderQueryClient(RestClient omsRestClient) {
+    public OrderQueryClient(RestClient omsRestClient, WebClient omsWebClient, OmsQueryProperties queryProperties,
+                            LoggingProperties loggingProperties, ObjectProvider<MeterRegistry> meterRegistry) {
         this.restClient = omsRestClient;
+        this.webClient = omsWebClient;
+        this.queryProperties = queryProperties;
+        this.asyncRetryBudget = new RetryBudget(queryProperties.retryBudgetRatio(), queryProperties.retryBudgetMaxTokens());
+        this.bodyMaxChars = loggingProperties.bodyMaxChars();
+        this.executor = new HedgedRetryExecutor("oms-query", queryProperties.toSettings());
+        meterRegistry.ifAvailable(this::registerMetrics);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
     }
 
     /**
@@ -41,43 +80,57 @@ public class OrderQueryClient {
      * @param sort   sort string e.g. "field,DESC;otherField,ASC"
      * @return PageResponse of OrderDto (maps through generic types, so raw map is
      *         returned)
+     * @throws InvalidOrderQueryException if a filter, sort or paging argument is invalid
      */
-    @SuppressWarnings({ "unchecked" })
     public PageResponse<Map<String, Object>> search(Map<String, ?> params, Integer page, Integer size, String sort) {
-        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/api/query/orders");
-
-        Map<String, Object> merged = new HashMap<>();
-        if (params != null)
-            merged.putAll(params);
-        if (page != null)
-            merged.put("page", page);
-        if (size != null)
-            merged.put("size", size);
-        if (sort != null && !sort.isBlank())
-            merged.put("sort", sort);
-
-        merged.forEach((k, v) -> {
-            if (Objects.nonNull(v)) {
-                builder.queryParam(k, v);
-            }
-        });
-
-        URI uri = builder.build(true).toUri();
+        // Validated and encoded locally; invalid filters/sort never reach the OMS
+        URI uri = URI.create(OrderQueryEncoder.encode(params, page, size, sort));
         
-        log.info("OMS Order Search Request - URI: {}", uri);
+        log.debug("OMS Order Search Request - URI: {}", uri);
 
         // Get the response as raw string to parse manually
-        String raw = restClient.get()
+        String raw = executor.execute(() -> restClient.get()
                 .uri(uri)
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .body(String.class);
+                .body(String.class), OrderQueryClient::isTransient);
         
-        log.info("OMS Order Search Response - Body: {}", raw);
+        // The body of debug-flagged requests is logged by LoggingInterceptor
+        log.debug("OMS Order Search Response - {} chars", raw == null ? 0 : raw.length());
+
+        return parse(raw);
+    }
 
+    /**
+     * Non-blocking {@link #search}: the exchange runs on the WebClient's event loop and no thread
+     * waits for the OMS. Invalid arguments fail the returned Mono with {@link InvalidOrderQueryException}.
+     */
+    public Mono<PageResponse<Map<String, Object>>> searchAsync(Map<String, ?> params, Integer page, Integer size, String sort) {
+        return Mono.fromCallable(() -> URI.create(OrderQueryEncoder.encode(params, page, size, sort)))
+                .flatMap(uri -> {
+                    log.debug("OMS Order Search Request (async) - URI: {}", uri);
+                    asyncRetryBudget.deposit();
+                    return webClient.get()
+                            .uri(uri)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .retrieve()
+                            .bodyToMono(String.class)
+                            .retryWhen(Retry.backoff(Math.max(0, queryProperties.maxAttempts() - 1), queryProperties.initialBackoff())
+                                    .maxBackoff(queryProperties.maxBackoff())
+                                    .jitter(1.0)
+                                    .filter(e -> isTransient(e) && asyncRetryBudget.tryWithdraw())
+                                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+                })
+                .map(raw -> {
+                    log.debug("OMS Order Search Response (async) - {} chars", raw.length());
+                    return parse(raw);
+                });
+    }
+
+    @SuppressWarnings({ "unchecked" })
+    private static PageResponse<Map<String, Object>> parse(String raw) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(raw);
+            JsonNode root = MAPPER.readTree(raw);
             
             // Extract content from different possible formats
             List<Map<String, Object>> content = new ArrayList<>();
@@ -86,7 +139,7 @@ public class OrderQueryClient {
             JsonNode contentNode = root.path("content");
             if (contentNode.isArray()) {
                 for (JsonNode node : contentNode) {
-                    content.add(mapper.convertValue(node, Map.class));
+                    content.add(MAPPER.convertValue(node, Map.class));
                 }
             } 
             // Check for HAL format (_embedded.orders)
@@ -96,13 +149,13 @@ public class OrderQueryClient {
                 
                 if (orders.isArray()) {
                     for (JsonNode node : orders) {
-                        content.add(mapper.convertValue(node, Map.class));
+                        content.add(MAPPER.convertValue(node, Map.class));
                     }
                 } 
                 // Check if root itself is an array
                 else if (root.isArray()) {
                     for (JsonNode node : root) {
-                        content.add(mapper.convertValue(node, Map.class));
+                        content.add(MAPPER.convertValue(node, Map.class));
                     }
                 }
             }
@@ -119,4 +172,32 @@ public class OrderQueryClient {
             throw new RuntimeException("Failed to parse orders from response", e);
         }
     }
+
+    /**
+     * I/O errors, throttling and gateway/availability errors are worth another attempt;
+     * other 4xx/5xx responses and bulkhead rejections are not.
+     */
+    static boolean isTransient(Throwable e) {
+        if (e instanceof ResourceAccessException || e instanceof WebClientRequestException) return true;
+        int status;
+        if (e instanceof HttpStatusCodeException http) {
+            status = http.getStatusCode().value();
+        } else if (e instanceof WebClientResponseException http) {
+            status = http.getStatusCode().value();
+        } else {
+            return false;
+        }
+        return status == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status == HttpStatus.BAD_GATEWAY.value()
+                || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("oms.query.retries", executor, e -> e.stats().retries()).register(registry);
+        FunctionCounter.builder("oms.query.hedges", executor, e -> e.stats().hedges()).register(registry);
+        FunctionCounter.builder("oms.query.hedge.wins", executor, e -> e.stats().hedgeWins()).register(registry);
+        FunctionCounter.builder("oms.query.budget.exhausted", executor, e -> e.stats().budgetExhausted()).register(registry);
+        FunctionCounter.builder("oms.query.hedge.saturated", executor, e -> e.stats().saturated()).register(registry);
+    }
 }
@@ -0,0 +1,187 @@
+package org.example.spring_ai.oms;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Validates and encodes order search parameters into a request URI in a single pass, using the
+ * descriptor table generated from oms-query-api.yml. Unknown filters, malformed values or ranges,
+ * unsupported sort fields and out-of-range paging are rejected with
+ * {@link InvalidOrderQueryException} instead of a round trip to the OMS.
+ */
+final class OrderQueryEncoder {
+
+    private static final Map<String, QueryParamDescriptor> BY_NAME = new HashMap<>();
+
+    static {
+        for (QueryParamDescriptor d : OrderQueryParamTable.FILTERS) {
+            BY_NAME.put(d.name(), d);
+        }
+    }
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private OrderQueryEncoder() {
+    }
+
+    /**
+     * Canonical form of a filter set, independent of parameter order, for keying pollers and caches
+     * by filters.
+     */
+    static String key(Map<String, ?> params) {
+        return new TreeMap<>(params).toString();
+    }
+
+    /**
+     * @return path and query string, e.g. "/api/query/orders?symbol=INTC&amp;page=0"
+     * @throws InvalidOrderQueryException if any argument is invalid
+     */
+    static String encode(Map<String, ?> params, Integer page, Integer size, String sort) {
+        StringBuilder sb = new StringBuilder(OrderQueryParamTable.PATH.length() + 128).append(OrderQueryParamTable.PATH);
+        char sep = '?';
+        if (params != null) {
+            for (Map.Entry<String, ?> e : params.entrySet()) {
+                if (e.getValue() == null) continue;
+                String value = e.getValue().toString();
+                validate(e.getKey(), value);
+                sb.append(sep);
+                appendEncoded(sb, e.getKey());
+                sb.append('=');
+                appendEncoded(sb, value);
+                sep = '&';
+            }
+        }
+        if (page != null) {
+            if (page < 0) throw new InvalidOrderQueryException("page must be >= 0: " + page);
+            sb.append(sep).append("page=").append(page);
+            sep = '&';
+        }
+        if (size != null) {
+            if (size < 1 || size > OrderQueryParamTable.MAX_PAGE_SIZE) {
+                throw new InvalidOrderQueryException("size must be between 1 and " + OrderQueryParamTable.MAX_PAGE_SIZE + ": " + size);
+            }
+            sb.append(sep).append("size=").append(size);
+            sep = '&';
+        }
+        if (sort != null && !sort.isBlank()) {
+            validateSort(sort);
+            sb.append(sep).append("sort=");
+            appendEncoded(sb, sort);
+        }
+        return sb.toString();
+    }
+
+    static void validate(String name, String value) {
+        QueryParamDescriptor d = BY_NAME.get(name);
+        if (d == null) {
+            throw new InvalidOrderQueryException("Unknown order filter: " + name);
+        }
+        if (value.isBlank()) {
+            throw new InvalidOrderQueryException(name + " must not be blank");
+        }
+        if (d.op() == QueryParamDescriptor.Op.BETWEEN) {
+            validateRange(d, value);
+            return;
+        }
+        switch (d.type()) {
+            case NUMBER -> parseNumber(d, value);
+            case DATE_TIME -> parseDateTime(d, value);
+            case ENUM -> {
+                if (!d.enumValues().contains(value)) {
+                    throw new InvalidOrderQueryException(name + " must be one of " + new TreeSet<>(d.enumValues()) + ": " + value);
+                }
+            }
+            case STRING -> {
+                // any non-blank text
+            }
+        }
+    }
+
+    static void validateSort(String sort) {
+        for (String segment : sort.split(";")) {
+            if (segment.isBlank()) continue;
+            int comma = segment.indexOf(',');
+            String field = (comma < 0 ? segment : segment.substring(0, comma)).trim();
+            if (!OrderQueryParamTable.SORTABLE_FIELDS.contains(field)) {
+                throw new InvalidOrderQueryException("Unsupported sort field '" + field + "'; supported: "
+                        + new TreeSet<>(OrderQueryParamTable.SORTABLE_FIELDS));
+            }
+            if (comma >= 0) {
+                String direction = segment.substring(comma + 1).trim().toUpperCase(Locale.ROOT);
+                if (!direction.equals("ASC") && !direction.equals("DESC")) {
+                    throw new InvalidOrderQueryException("Sort direction must be ASC or DESC: " + segment.trim());
+                }
+            }
+        }
+    }
+
+    private static void validateRange(QueryParamDescriptor d, String value) {
+        int comma = value.indexOf(',');
+        if (comma < 0 || value.indexOf(',', comma + 1) >= 0) {
+            throw new InvalidOrderQueryException(d.name() + " must be 'from,to' (either side may be blank): " + value);
+        }
+        String from = value.substring(0, comma).trim();
+        String to = value.substring(comma + 1).trim();
+        if (from.isEmpty() && to.isEmpty()) {
+            throw new InvalidOrderQueryException(d.name() + " needs at least one bound: " + value);
+        }
+        if (d.type() == QueryParamDescriptor.ValueType.DATE_TIME) {
+            LocalDateTime lo = from.isEmpty() ? null : parseDateTime(d, from);
+            LocalDateTime hi = to.isEmpty() ? null : parseDateTime(d, to);
+            if (lo != null && hi != null && lo.isAfter(hi)) {
+                throw new InvalidOrderQueryException(d.name() + " lower bound is after upper bound: " + value);
+            }
+        } else {
+            BigDecimal lo = from.isEmpty() ? null : parseNumber(d, from);
+            BigDecimal hi = to.isEmpty() ? null : parseNumber(d, to);
+            if (lo != null && hi != null && lo.compareTo(hi) > 0) {
+                throw new InvalidOrderQueryException(d.name() + " lower bound is greater than upper bound: " + value);
+            }
+        }
+    }
+
+    private static BigDecimal parseNumber(QueryParamDescriptor d, String value) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidOrderQueryException(d.name() + " must be numeric: " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(QueryParamDescriptor d, String value) {
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidOrderQueryException(d.name() + " must be an ISO-8601 local date-time (e.g. 2025-08-29T12:34:56): " + value);
+        }
+    }
+
+    /**
+     * Percent-encode a query component; unreserved characters plus ',', ':' and ';' are kept as-is.
+     */
+    private static void appendEncoded(StringBuilder sb, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '.' || c == '_' || c == '~' || c == ',' || c == ':' || c == ';') {
+                sb.append(c);
+            } else if (c < 0x80) {
+                sb.append('%').append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            } else {
+                int end = i + 1;
+                if (Character.isHighSurrogate(c) && end < s.length()) end++;
+                for (byte b : s.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                    sb.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+                }
+                i = end - 1;
+            }
+        }
+    }
+}
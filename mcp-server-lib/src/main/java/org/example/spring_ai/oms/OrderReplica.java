@@ -0,0 +1,646 @@
+package org.example.spring_ai.oms;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process, columnar replica of OMS orders.
+ *
+ * Prices, quantities and times live in primitive arrays; low-cardinality strings (symbol, account,
+ * side, ordType, state, cancelState) are dictionary-encoded into int codes. Secondary indexes on
+ * orderId, rootOrderId, account and symbol narrow the rows scanned per query. Fields without a
+ * dedicated column are kept per row in a small map so responses match the REST payload. The JSON
+ * number type of id, price and orderQty is kept per row, and a transactTime that does not print
+ * back identically is kept verbatim, so materialized orders have the REST values and types.
+ *
+ * {@link #query} answers the same query parameters as {@code /api/query/orders} for the supported
+ * subset and returns {@link Optional#empty()} otherwise, so callers can fall back to REST.
+ */
+@Slf4j
+public class OrderReplica {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final long MISSING = Long.MIN_VALUE;
+
+    /** JSON number types of the id, price and orderQty columns, two bits each in {@link #numberKinds}. */
+    private static final int KIND_DOUBLE = 0;
+    private static final int KIND_INT = 1;
+    private static final int KIND_LONG = 2;
+    private static final int KIND_OTHER = 3;
+    private static final int ID_SHIFT = 0;
+    private static final int PRICE_SHIFT = 2;
+    private static final int QTY_SHIFT = 4;
+
+    /** Fields with dedicated columns; everything else is kept in the per-row extras map. */
+    private static final Set<String> COLUMN_FIELDS = Set.of(
+            "id", "orderId", "rootOrderId", "parentOrderId", "clOrdId", "symbol", "account",
+            "side", "ordType", "state", "cancelState", "price", "orderQty", "transactTime");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private long[] internalId;
+    private String[] orderId;
+    private String[] rootOrderId;
+    private String[] parentOrderId;
+    private String[] clOrdId;
+    private int[] symbol;
+    private int[] account;
+    private int[] side;
+    private int[] ordType;
+    private int[] state;
+    private int[] cancelState;
+    private double[] price;
+    private double[] orderQty;
+    private long[] transactTime;
+    private byte[] numberKinds;
+    private Map<String, Object>[] extras;
+
+    private final Dictionary symbols = new Dictionary();
+    private final Dictionary accounts = new Dictionary();
+    private final Dictionary sides = new Dictionary();
+    private final Dictionary ordTypes = new Dictionary();
+    private final Dictionary states = new Dictionary();
+    private final Dictionary cancelStates = new Dictionary();
+
+    private final Map<String, Integer> byOrderId = new HashMap<>();
+    private final Map<String, IntList> byRootOrderId = new HashMap<>();
+    private final List<IntList> byAccount = new ArrayList<>();
+    private final List<IntList> bySymbol = new ArrayList<>();
+
+    private volatile long maxTransactTime = MISSING;
+
+    public OrderReplica(int initialCapacity) {
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return highest transactTime seen, as a UTC local date-time, or null if the replica is empty
+     */
+    public LocalDateTime maxTransactTime() {
+        long max = maxTransactTime;
+        return max == MISSING ? null : toLocalDateTime(max);
+    }
+
+    /**
+     * Insert or update orders keyed by orderId. Orders without an orderId are ignored.
+     */
+    public void upsertAll(List<Map<String, Object>> orders) {
+        lock.writeLock().lock();
+        try {
+            for (Map<String, Object> order : orders) {
+                upsert(order);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Answer an order search from the replica.
+     *
+     * @param params query parameters using the server naming conventions (e.g. "price__between")
+     * @return page of orders, or empty if a filter or sort field is not supported locally
+     */
+    public Optional<PageResponse<Map<String, Object>>> query(Map<String, ?> params, Integer page, Integer pageSize, String sort) {
+        int pageIndex = page == null || page < 0 ? 0 : page;
+        int limit = pageSize == null || pageSize < 1 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+
+        // Filters capture column arrays and dictionary codes, which upserts replace or extend
+        lock.readLock().lock();
+        try {
+            List<RowFilter> filters = new ArrayList<>();
+            if (params != null) {
+                for (Map.Entry<String, ?> e : params.entrySet()) {
+                    if (e.getValue() == null) continue;
+                    RowFilter filter = parseFilter(e.getKey(), e.getValue().toString());
+                    if (filter == null) {
+                        log.debug("[Replica] Unsupported filter {}, falling back", e.getKey());
+                        return Optional.empty();
+                    }
+                    filters.add(filter);
+                }
+            }
+            Comparator<Integer> order = parseSort(sort);
+            if (order == null) {
+                log.debug("[Replica] Unsupported sort {}, falling back", sort);
+                return Optional.empty();
+            }
+
+            int[] candidates = candidateRows(filters);
+            List<Integer> matches = new ArrayList<>();
+            outer:
+            for (int row : candidates) {
+                for (RowFilter f : filters) {
+                    if (!f.test(row)) continue outer;
+                }
+                matches.add(row);
+            }
+            matches.sort(order);
+
+            int from = Math.min(matches.size(), pageIndex * limit);
+            int to = Math.min(matches.size(), from + limit);
+            List<Map<String, Object>> content = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                content.add(materialize(matches.get(i)));
+            }
+            long totalPages = matches.isEmpty() ? 0 : (matches.size() + limit - 1) / limit;
+            return Optional.of(new PageResponse<>(content, pageIndex, limit, matches.size(), totalPages));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    private void upsert(Map<String, Object> order) {
+        String id = asString(order.get("orderId"));
+        if (id == null) return;
+        Integer existing = byOrderId.get(id);
+        int row;
+        if (existing == null) {
+            if (size == orderId.length) {
+                allocate(size * 2);
+            }
+            row = size++;
+            byOrderId.put(id, row);
+            orderId[row] = id;
+        } else {
+            row = existing;
+            unindex(row);
+        }
+
+        internalId[row] = asLong(order.get("id"));
+        rootOrderId[row] = asString(order.get("rootOrderId"));
+        parentOrderId[row] = asString(order.get("parentOrderId"));
+        clOrdId[row] = asString(order.get("clOrdId"));
+        symbol[row] = symbols.encode(asString(order.get("symbol")));
+        account[row] = accounts.encode(asString(order.get("account")));
+        side[row] = sides.encode(asString(order.get("side")));
+        ordType[row] = ordTypes.encode(asString(order.get("ordType")));
+        state[row] = states.encode(asString(order.get("state")));
+        cancelState[row] = cancelStates.encode(asString(order.get("cancelState")));
+        price[row] = asDouble(order.get("price"));
+        orderQty[row] = asDouble(order.get("orderQty"));
+        transactTime[row] = asEpochMillis(order.get("transactTime"));
+        if (transactTime[row] != MISSING && transactTime[row] > maxTransactTime) {
+            maxTransactTime = transactTime[row];
+        }
+        numberKinds[row] = (byte) (kindOf(order.get("id")) << ID_SHIFT
+                | kindOf(order.get("price")) << PRICE_SHIFT
+                | kindOf(order.get("orderQty")) << QTY_SHIFT);
+
+        Map<String, Object> rest = null;
+        for (Map.Entry<String, Object> e : order.entrySet()) {
+            if (!COLUMN_FIELDS.contains(e.getKey()) || !representable(e.getKey(), e.getValue(), row)) {
+                // Column values that would not materialize identically are kept verbatim as well
+                if (rest == null) rest = new LinkedHashMap<>();
+                rest.put(e.getKey(), e.getValue());
+            }
+        }
+        extras[row] = rest;
+        index(row);
+    }
+
+    private void index(int row) {
+        if (rootOrderId[row] != null) {
+            byRootOrderId.computeIfAbsent(rootOrderId[row], k -> new IntList()).add(row);
+        }
+        postings(byAccount, account[row]).add(row);
+        postings(bySymbol, symbol[row]).add(row);
+    }
+
+    private void unindex(int row) {
+        if (rootOrderId[row] != null) {
+            IntList rows = byRootOrderId.get(rootOrderId[row]);
+            if (rows != null) rows.remove(row);
+        }
+        postings(byAccount, account[row]).remove(row);
+        postings(bySymbol, symbol[row]).remove(row);
+    }
+
+    private static IntList postings(List<IntList> index, int code) {
+        while (index.size() <= code) {
+            index.add(new IntList());
+        }
+        return index.get(code);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        internalId = grow(internalId, capacity);
+        orderId = grow(orderId, capacity);
+        rootOrderId = grow(rootOrderId, capacity);
+        parentOrderId = grow(parentOrderId, capacity);
+        clOrdId = grow(clOrdId, capacity);
+        symbol = grow(symbol, capacity);
+        account = grow(account, capacity);
+        side = grow(side, capacity);
+        ordType = grow(ordType, capacity);
+        state = grow(state, capacity);
+        cancelState = grow(cancelState, capacity);
+        price = grow(price, capacity);
+        orderQty = grow(orderQty, capacity);
+        transactTime = grow(transactTime, capacity);
+        numberKinds = numberKinds == null ? new byte[capacity] : Arrays.copyOf(numberKinds, capacity);
+        extras = extras == null ? new Map[capacity] : Arrays.copyOf(extras, capacity);
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    private int[] candidateRows(List<RowFilter> filters) {
+        int[] best = null;
+        for (RowFilter f : filters) {
+            int[] rows = f.indexedRows();
+            if (rows != null && (best == null || rows.length < best.length)) {
+                best = rows;
+            }
+        }
+        if (best != null) return best;
+        int[] all = new int[size];
+        for (int i = 0; i < size; i++) all[i] = i;
+        return all;
+    }
+
+    private Map<String, Object> materialize(int row) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        if (internalId[row] != MISSING) {
+            m.put("id", kind(row, ID_SHIFT) == KIND_INT ? Integer.valueOf((int) internalId[row]) : Long.valueOf(internalId[row]));
+        }
+        m.put("orderId", orderId[row]);
+        m.put("rootOrderId", rootOrderId[row]);
+        m.put("parentOrderId", parentOrderId[row]);
+        m.put("clOrdId", clOrdId[row]);
+        m.put("account", accounts.decode(account[row]));
+        m.put("symbol", symbols.decode(symbol[row]));
+        m.put("side", sides.decode(side[row]));
+        m.put("ordType", ordTypes.decode(ordType[row]));
+        m.put("state", states.decode(state[row]));
+        m.put("cancelState", cancelStates.decode(cancelState[row]));
+        m.put("price", number(price[row], kind(row, PRICE_SHIFT)));
+        m.put("orderQty", number(orderQty[row], kind(row, QTY_SHIFT)));
+        m.put("transactTime", transactTime[row] == MISSING ? null : formatTime(transactTime[row]));
+        if (extras[row] != null) m.putAll(extras[row]);
+        return m;
+    }
+
+    private int kind(int row, int shift) {
+        return (numberKinds[row] >> shift) & 3;
+    }
+
+    /**
+     * Whether a column value comes back unchanged from {@link #materialize}; anything else
+     * (e.g. BigDecimal prices or a transactTime with zone or extra digits) is kept verbatim.
+     */
+    private boolean representable(String field, Object value, int row) {
+        if (value == null) return true;
+        return switch (field) {
+            case "id" -> kindOf(value) == KIND_INT || kindOf(value) == KIND_LONG;
+            case "price", "orderQty" -> kindOf(value) != KIND_OTHER;
+            case "transactTime" -> transactTime[row] != MISSING && value.equals(formatTime(transactTime[row]));
+            default -> !(value instanceof Number);
+        };
+    }
+
+    private static int kindOf(Object value) {
+        if (value == null || value instanceof Double) return KIND_DOUBLE;
+        if (value instanceof Integer) return KIND_INT;
+        if (value instanceof Long) return KIND_LONG;
+        return KIND_OTHER;
+    }
+
+    private static Object number(double value, int kind) {
+        if (Double.isNaN(value)) return null;
+        return switch (kind) {
+            case KIND_INT -> (int) value;
+            case KIND_LONG -> (long) value;
+            default -> value;
+        };
+    }
+
+    private static String formatTime(long epochMillis) {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(toLocalDateTime(epochMillis));
+    }
+
+    /**
+     * Translate one query parameter into a row predicate, or null if it is not supported locally.
+     */
+    private RowFilter parseFilter(String key, String value) {
+        int sep = key.indexOf("__");
+        String field = sep < 0 ? key : key.substring(0, sep);
+        String op = sep < 0 ? "eq" : key.substring(sep + 2);
+        try {
+            return switch (field) {
+                case "orderId" -> switch (op) {
+                    case "eq" -> new RowFilter(row -> value.equals(orderId[row]), () -> {
+                        Integer r = byOrderId.get(value);
+                        return r == null ? new int[0] : new int[] {r};
+                    });
+                    case "like" -> like(orderId, value);
+                    default -> null;
+                };
+                case "rootOrderId" -> "eq".equals(op) ? new RowFilter(row -> value.equals(rootOrderId[row]), () -> {
+                    IntList rows = byRootOrderId.get(value);
+                    return rows == null ? new int[0] : rows.toArray();
+                }) : null;
+                case "parentOrderId" -> "eq".equals(op) ? new RowFilter(row -> value.equals(parentOrderId[row]), null) : null;
+                case "clOrdId" -> "eq".equals(op) ? new RowFilter(row -> value.equals(clOrdId[row]), null) : null;
+                case "account" -> "eq".equals(op) ? dictEq(accounts, account, byAccount, value) : null;
+                case "symbol" -> switch (op) {
+                    case "eq" -> dictEq(symbols, symbol, bySymbol, value);
+                    case "like" -> {
+                        Predicate<String> matcher = likeMatcher(value);
+                        yield new RowFilter(row -> {
+                            String s = symbols.decode(symbol[row]);
+                            return s != null && matcher.test(s);
+                        }, null);
+                    }
+                    default -> null;
+                };
+                case "side" -> "eq".equals(op) ? dictEq(sides, side, null, value) : null;
+                case "ordType" -> "eq".equals(op) ? dictEq(ordTypes, ordType, null, value) : null;
+                case "state" -> "eq".equals(op) ? dictEq(states, state, null, value) : null;
+                case "cancelState" -> "eq".equals(op) ? dictEq(cancelStates, cancelState, null, value) : null;
+                case "price" -> numeric(price, op, value);
+                case "orderQty" -> numeric(orderQty, op, value);
+                case "transactTime" -> "between".equals(op) ? timeBetween(value) : null;
+                default -> null;
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            // Malformed values are left to the server, which ignores them
+            return null;
+        }
+    }
+
+    private RowFilter dictEq(Dictionary dict, int[] column, List<IntList> index, String value) {
+        int code = dict.lookup(value);
+        if (code < 0) {
+            return new RowFilter(row -> false, () -> new int[0]);
+        }
+        return new RowFilter(row -> column[row] == code,
+                index == null ? null : () -> code < index.size() ? index.get(code).toArray() : new int[0]);
+    }
+
+    private static RowFilter like(String[] column, String value) {
+        Predicate<String> matcher = likeMatcher(value);
+        return new RowFilter(row -> column[row] != null && matcher.test(column[row]), null);
+    }
+
+    /**
+     * Case-insensitive LIKE: '%' is a wildcard; values without one match as a substring.
+     */
+    static Predicate<String> likeMatcher(String pattern) {
+        String lower = pattern.toLowerCase(Locale.ROOT);
+        if (lower.indexOf('%') < 0) {
+            return s -> s.toLowerCase(Locale.ROOT).contains(lower);
+        }
+        StringBuilder regex = new StringBuilder();
+        for (String part : lower.split("%", -1)) {
+            if (regex.length() > 0 || lower.startsWith("%")) regex.append(".*");
+            regex.append(Pattern.quote(part));
+        }
+        Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        return s -> compiled.matcher(s.toLowerCase(Locale.ROOT)).matches();
+    }
+
+    private static RowFilter numeric(double[] column, String op, String value) {
+        return switch (op) {
+            case "eq" -> {
+                double v = Double.parseDouble(value);
+                yield new RowFilter(row -> column[row] == v, null);
+            }
+            case "gt" -> {
+                double v = Double.parseDouble(value);
+                yield new RowFilter(row -> column[row] > v, null);
+            }
+            case "gte" -> {
+                double v = Double.parseDouble(value);
+                yield new RowFilter(row -> column[row] >= v, null);
+            }
+            case "lt" -> {
+                double v = Double.parseDouble(value);
+                yield new RowFilter(row -> column[row] < v, null);
+            }
+            case "lte" -> {
+                double v = Double.parseDouble(value);
+                yield new RowFilter(row -> column[row] <= v, null);
+            }
+            case "between" -> {
+                String[] bounds = splitRange(value);
+                double lo = bounds[0].isEmpty() ? Double.NEGATIVE_INFINITY : Double.parseDouble(bounds[0]);
+                double hi = bounds[1].isEmpty() ? Double.POSITIVE_INFINITY : Double.parseDouble(bounds[1]);
+                yield new RowFilter(row -> column[row] >= lo && column[row] <= hi, null);
+            }
+            default -> null;
+        };
+    }
+
+    private RowFilter timeBetween(String value) {
+        String[] bounds = splitRange(value);
+        long lo = bounds[0].isEmpty() ? Long.MIN_VALUE + 1 : parseEpochMillis(bounds[0]);
+        long hi = bounds[1].isEmpty() ? Long.MAX_VALUE : parseEpochMillis(bounds[1]);
+        return new RowFilter(row -> transactTime[row] != MISSING && transactTime[row] >= lo && transactTime[row] <= hi, null);
+    }
+
+    /**
+     * Build a row comparator for a sort spec ("field[,ASC|DESC];..."), or null if unsupported.
+     * Without a sort the server orders by internal id descending; rows without ids fall back to transactTime.
+     */
+    private Comparator<Integer> parseSort(String sort) {
+        String spec = sort == null || sort.isBlank() ? "id,DESC" : sort;
+        Comparator<Integer> result = null;
+        for (String segment : spec.split(";")) {
+            if (segment.isBlank()) continue;
+            String[] parts = segment.split(",");
+            String field = parts[0].trim();
+            boolean desc = parts.length > 1 && "DESC".equalsIgnoreCase(parts[1].trim());
+            Comparator<Integer> c = switch (field) {
+                case "id" -> Comparator.<Integer>comparingLong(r -> internalId[r] != MISSING ? internalId[r] : transactTime[r]);
+                case "orderId" -> Comparator.comparing(r -> orderId[r], Comparator.nullsLast(Comparator.naturalOrder()));
+                case "rootOrderId" -> Comparator.comparing(r -> rootOrderId[r], Comparator.nullsLast(Comparator.naturalOrder()));
+                case "parentOrderId" -> Comparator.comparing(r -> parentOrderId[r], Comparator.nullsLast(Comparator.naturalOrder()));
+                case "clOrdId" -> Comparator.comparing(r -> clOrdId[r], Comparator.nullsLast(Comparator.naturalOrder()));
+                case "symbol" -> Comparator.comparing(r -> symbols.decode(symbol[r]), Comparator.nullsLast(Comparator.naturalOrder()));
+                case "account" -> Comparator.comparing(r -> accounts.decode(account[r]), Comparator.nullsLast(Comparator.naturalOrder()));
+                case "state" -> Comparator.comparing(r -> states.decode(state[r]), Comparator.nullsLast(Comparator.naturalOrder()));
+                case "side" -> Comparator.comparing(r -> sides.decode(side[r]), Comparator.nullsLast(Comparator.naturalOrder()));
+                case "ordType" -> Comparator.comparing(r -> ordTypes.decode(ordType[r]), Comparator.nullsLast(Comparator.naturalOrder()));
+                case "price" -> Comparator.comparingDouble(r -> price[r]);
+                case "orderQty" -> Comparator.comparingDouble(r -> orderQty[r]);
+                case "transactTime" -> Comparator.comparingLong(r -> transactTime[r]);
+                default -> null;
+            };
+            if (c == null) return null;
+            if (desc) c = c.reversed();
+            result = result == null ? c : result.thenComparing(c);
+        }
+        return result == null ? Comparator.naturalOrder() : result;
+    }
+
+    // ---------------------------------------------------------------- value helpers
+
+    private static String[] splitRange(String value) {
+        int comma = value.indexOf(',');
+        if (comma < 0) throw new NumberFormatException("Range must be 'from,to': " + value);
+        return new String[] {value.substring(0, comma).trim(), value.substring(comma + 1).trim()};
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static double asDouble(Object value) {
+        if (value instanceof Number n) return n.doubleValue();
+        if (value == null) return Double.NaN;
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static long asLong(Object value) {
+        if (value instanceof Number n) return n.longValue();
+        if (value == null) return MISSING;
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException e) {
+            return MISSING;
+        }
+    }
+
+    private static long asEpochMillis(Object value) {
+        if (value == null) return MISSING;
+        try {
+            return parseEpochMillis(value.toString());
+        } catch (DateTimeParseException e) {
+            return MISSING;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+                (int) Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    static long parseEpochMillis(String text) {
+        try {
+            return LocalDateTime.parse(text).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        }
+    }
+
+    private static long[] grow(long[] a, int capacity) {
+        return a == null ? new long[capacity] : Arrays.copyOf(a, capacity);
+    }
+
+    private static int[] grow(int[] a, int capacity) {
+        return a == null ? new int[capacity] : Arrays.copyOf(a, capacity);
+    }
+
+    private static double[] grow(double[] a, int capacity) {
+        return a == null ? new double[capacity] : Arrays.copyOf(a, capacity);
+    }
+
+    private static String[] grow(String[] a, int capacity) {
+        return a == null ? new String[capacity] : Arrays.copyOf(a, capacity);
+    }
+
+    // ---------------------------------------------------------------- support types
+
+    /**
+     * Row predicate with an optional index lookup that yields a superset of the matching rows.
+     */
+    private record RowFilter(IntPredicate predicate, Supplier<int[]> index) {
+
+        boolean test(int row) {
+            return predicate.test(row);
+        }
+
+        int[] indexedRows() {
+            return index == null ? null : index.get();
+        }
+    }
+
+    /**
+     * String dictionary; code 0 is reserved for null.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>(List.of(""));
+
+        int encode(String value) {
+            if (value == null) return 0;
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        int lookup(String value) {
+            Integer code = codes.get(value);
+            return code == null ? -1 : code;
+        }
+
+        String decode(int code) {
+            return code == 0 ? null : values.get(code);
+        }
+    }
+
+    /**
+     * Growable primitive int list used for index postings.
+     */
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (data[i] == value) {
+                    data[i] = data[--size];
+                    return;
+                }
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.spring_ai.oms;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the optional in-process order replica.
+ *
+ * @param enabled         load and sync the replica (off by default)
+ * @param pollInterval    delay between incremental syncs
+ * @param maxStaleness    searches fall back to REST if the last successful sync is older than this
+ * @param pageSize        page size used for the bulk load and incremental polls
+ * @param initialCapacity initial number of rows allocated per column
+ */
+@ConfigurationProperties(prefix = "oms.replica")
+public record OrderReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5s") Duration pollInterval,
+        @DefaultValue("30s") Duration maxStaleness,
+        @DefaultValue("500") int pageSize,
+        @DefaultValue("10000") int initialCapacity) {}
@@ -0,0 +1,135 @@
+package org.example.spring_ai.oms;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the {@link OrderReplica} in sync with the OMS query API.
+ *
+ * The first run bulk-loads all orders sorted by transactTime; subsequent runs poll
+ * {@code transactTime__between=<watermark>,} and upsert by orderId. Both page by key rather than
+ * by offset: each page restarts at page 0 from the last transactTime read, so an order updated
+ * mid-scan moves to the end of the scan instead of shifting unread orders into pages already read.
+ * Bounds are inclusive, so orders sharing a timestamp are fetched again and simply overwritten. The
+ * watermark only advances once a scan has read to the end; a failed scan is repeated in full.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "oms.replica.enabled", havingValue = "true")
+public class OrderReplicaSync {
+
+    private static final String SORT = "transactTime,ASC";
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final PageSource pages;
+    private final OrderReplicaProperties properties;
+    private final OrderReplica replica;
+
+    private volatile boolean loaded;
+    private volatile long lastSyncMillis;
+    /** Highest transactTime (epoch millis) of the last complete scan. */
+    private volatile long watermark = NONE;
+
+    @Autowired
+    public OrderReplicaSync(OrderQueryClient orderQueryClient, OrderReplicaProperties properties) {
+        this(orderQueryClient::search, properties);
+    }
+
+    OrderReplicaSync(PageSource pages, OrderReplicaProperties properties) {
+        this.pages = pages;
+        this.properties = properties;
+        this.replica = new OrderReplica(properties.initialCapacity());
+    }
+
+    public OrderReplica getReplica() {
+        return replica;
+    }
+
+    /**
+     * @return true once the bulk load finished and the last successful sync is within max staleness
+     */
+    public boolean isFresh() {
+        return loaded && System.currentTimeMillis() - lastSyncMillis <= properties.maxStaleness().toMillis();
+    }
+
+    @Scheduled(fixedDelayString = "${oms.replica.poll-interval:5s}")
+    public void sync() {
+        long start = System.currentTimeMillis();
+        try {
+            Scan scan = scanFrom(watermark);
+            watermark = scan.maxTransactTime();
+            if (!loaded) {
+                loaded = true;
+                log.info("[Replica] Bulk load complete: {} orders in {} ms", replica.size(), System.currentTimeMillis() - start);
+            } else {
+                log.debug("[Replica] Incremental sync: {} orders fetched in {} ms (size={})",
+                        scan.orders(), System.currentTimeMillis() - start, replica.size());
+            }
+            lastSyncMillis = start;
+        } catch (Exception e) {
+            log.warn("[Replica] Sync failed, searches use REST until the next successful sync: {}", e.getMessage());
+        }
+    }
+
+    private Scan scanFrom(long from) {
+        Set<Object> orderIds = new HashSet<>();
+        long bound = from;
+        int page = 0;
+        while (true) {
+            Map<String, ?> params = bound == NONE ? Map.of() : Map.of("transactTime__between", format(bound) + ",");
+            PageResponse<Map<String, Object>> response = pages.search(params, page, properties.pageSize(), SORT);
+            List<Map<String, Object>> content = response.getContent();
+            replica.upsertAll(content);
+            long last = bound;
+            for (Map<String, Object> order : content) {
+                orderIds.add(order.get("orderId"));
+                last = Math.max(last, transactTime(order));
+            }
+            if (content.isEmpty() || page + 1 >= response.getTotalPages()) {
+                return new Scan(last, orderIds.size());
+            }
+            if (last > bound) {
+                bound = last;
+                page = 0;
+            } else {
+                // A full page sharing one timestamp: page by offset within it
+                page++;
+            }
+        }
+    }
+
+    private static long transactTime(Map<String, Object> order) {
+        Object value = order.get("transactTime");
+        try {
+            return value == null ? NONE : OrderReplica.parseEpochMillis(value.toString());
+        } catch (DateTimeParseException e) {
+            return NONE;
+        }
+    }
+
+    private static String format(long epochMillis) {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC));
+    }
+
+    private record Scan(long maxTransactTime, int orders) {}
+
+    /** Source of order pages, the OMS query API outside tests. */
+    @FunctionalInterface
+    interface PageSource {
+        PageResponse<Map<String, Object>> search(Map<String, ?> params, Integer page, Integer size, String sort);
+    }
+}
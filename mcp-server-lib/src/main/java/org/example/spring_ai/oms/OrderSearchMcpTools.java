@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.example.common.model.query.CancelState;
 import org.example.common.model.query.OrdType;
@@ -12,9 +13,12 @@ import org.example.common.model.query.State; // Spring AI tool annotation
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import reactor.core.publisher.Mono;
+
 /**
  * MCP Tools exposing OMS order query search functionality.
  */
@@ -24,15 +28,20 @@ public class OrderSearchMcpTools {
     private static final Logger log = LoggerFactory.getLogger(OrderSearchMcpTools.class);
 
     private final OrderQueryClient orderQueryClient;
+    private final OrderReplicaSync replicaSync;
 
-    public OrderSearchMcpTools(OrderQueryClient orderQueryClient) {
+    public OrderSearchMcpTools(OrderQueryClient orderQueryClient,
+                               @Autowired(required = false) OrderReplicaSync replicaSync) {
         this.orderQueryClient = orderQueryClient;
+        this.replicaSync = replicaSync;
         log.debug("[MCP] OrderSearchMcpTools initialized");
     }
 
     /**
      * Search OMS Orders.
      * Optional filter parameters map directly to the REST API query parameters.
+     * When the local order replica is enabled and fresh, supported queries are answered from it;
+     * everything else goes to the REST API.
      * Common filter keys include: id, symbol, account, state, side, fromCreatedTime, toCreatedTime.
      *
      * @param filters arbitrary filter key/value pairs supported by the backend (nullable)
@@ -43,12 +52,30 @@ public class OrderSearchMcpTools {
      */
     @Tool(name = "searchOrders", description = "Search OMS orders with typed filters, pagination and sorting.")
     public OrderSearchResponse searchOrders(OrderSearchFilters filters, Integer page, Integer size, String sort) {
-        log.info("[MCP] searchOrders called with filters={}, page={}, size={}, sort={}",
+        log.debug("[MCP] searchOrders called with filters={}, page={}, size={}, sort={}",
             filters, page, size, sort);
         Map<String,Object> queryParams = buildQueryParams(filters);
-        PageResponse<Map<String, Object>> paged = orderQueryClient.search(queryParams, page, size, sort);
-        log.info("Received paged response: {}", paged);
+        PageResponse<Map<String, Object>> paged = searchReplica(queryParams, page, size, sort)
+            .orElseGet(() -> orderQueryClient.search(queryParams, page, size, sort));
+        log.debug("Received paged response: {}", paged);
+        return toResponse(paged);
+    }
+
+    /**
+     * Non-blocking {@link #searchOrders} for the async MCP server: replica hits are answered
+     * in place, REST searches go through {@link OrderQueryClient#searchAsync}.
+     */
+    public Mono<OrderSearchResponse> searchOrdersAsync(OrderSearchFilters filters, Integer page, Integer size, String sort) {
+        return Mono.defer(() -> {
+            Map<String,Object> queryParams = buildQueryParams(filters);
+            return searchReplica(queryParams, page, size, sort)
+                .map(Mono::just)
+                .orElseGet(() -> orderQueryClient.searchAsync(queryParams, page, size, sort))
+                .map(OrderSearchMcpTools::toResponse);
+        });
+    }
 
+    private static OrderSearchResponse toResponse(PageResponse<Map<String, Object>> paged) {
         // Content is already a list of maps
         List<Map<String, Object>> content = new ArrayList<>(paged.getContent());
 
@@ -60,6 +87,18 @@ public class OrderSearchMcpTools {
             content);
     }
 
+    private Optional<PageResponse<Map<String, Object>>> searchReplica(Map<String,Object> queryParams,
+                                                                      Integer page, Integer size, String sort) {
+        if (replicaSync == null || !replicaSync.isFresh()) {
+            return Optional.empty();
+        }
+        Optional<PageResponse<Map<String, Object>>> local = replicaSync.getReplica().query(queryParams, page, size, sort);
+        if (local.isPresent()) {
+            log.debug("[MCP] searchOrders answered from replica");
+        }
+        return local;
+    }
+
     /**
      * Response record returned to MCP clients.
      */
@@ -110,7 +149,7 @@ public class OrderSearchMcpTools {
         }
     }
 
-    private static Map<String,Object> buildQueryParams(OrderSearchFilters f) {
+    static Map<String,Object> buildQueryParams(OrderSearchFilters f) {
         Map<String,Object> qp = new LinkedHashMap<>();
         if (f == null) return qp;
         // Simple string equality filters
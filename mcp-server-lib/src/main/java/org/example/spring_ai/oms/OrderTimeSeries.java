@@ -0,0 +1,144 @@
+package org.example.spring_ai.oms;
+
+/**
+ * Order counts, quantity and price-weighted notional over a contiguous range of equal-width time
+ * buckets, aligned to multiples of the width since the epoch (UTC). Kept in parallel primitive
+ * arrays so a day of one-minute buckets is a few small arrays rather than 1440 objects.
+ *
+ * VWAP is computed over orders with a price (market orders count towards quantity only).
+ * Not thread-safe; cached instances are only read or replaced, never modified.
+ */
+final class OrderTimeSeries {
+
+    private final long start;
+    private final long width;
+    private final long[] counts;
+    private final double[] quantities;
+    private final double[] notionals;
+    private final double[] pricedQuantities;
+
+    /**
+     * @param start first bucket start in epoch millis, a multiple of width
+     * @param width bucket width in millis
+     */
+    OrderTimeSeries(long start, long width, int buckets) {
+        this.start = start;
+        this.width = width;
+        this.counts = new long[buckets];
+        this.quantities = new double[buckets];
+        this.notionals = new double[buckets];
+        this.pricedQuantities = new double[buckets];
+    }
+
+    static long floor(long epochMillis, long width) {
+        return Math.floorDiv(epochMillis, width) * width;
+    }
+
+    static long ceil(long epochMillis, long width) {
+        return -Math.floorDiv(-epochMillis, width) * width;
+    }
+
+    long start() {
+        return start;
+    }
+
+    /** Exclusive end of the last bucket. */
+    long end() {
+        return start + width * counts.length;
+    }
+
+    long width() {
+        return width;
+    }
+
+    int size() {
+        return counts.length;
+    }
+
+    long bucketStart(int bucket) {
+        return start + width * bucket;
+    }
+
+    long count(int bucket) {
+        return counts[bucket];
+    }
+
+    double quantity(int bucket) {
+        return quantities[bucket];
+    }
+
+    /** Sum of price * orderQty over the bucket's priced orders. */
+    double notional(int bucket) {
+        return notionals[bucket];
+    }
+
+    /** Sum of orderQty over the bucket's priced orders. */
+    double pricedQuantity(int bucket) {
+        return pricedQuantities[bucket];
+    }
+
+    /** @return VWAP of the bucket, NaN if it holds no priced order */
+    double vwap(int bucket) {
+        return pricedQuantities[bucket] > 0 ? notionals[bucket] / pricedQuantities[bucket] : Double.NaN;
+    }
+
+    /**
+     * Add one order. Orders outside the range are ignored.
+     *
+     * @param price NaN or non-positive for orders without a price
+     */
+    void add(long epochMillis, double quantity, double price) {
+        if (epochMillis < start || epochMillis >= end()) return;
+        int bucket = (int) ((epochMillis - start) / width);
+        counts[bucket]++;
+        if (Double.isNaN(quantity)) return;
+        quantities[bucket] += quantity;
+        if (price > 0 && quantity > 0) {
+            notionals[bucket] += price * quantity;
+            pricedQuantities[bucket] += quantity;
+        }
+    }
+
+    /**
+     * Copy the buckets of {@code other} (same width and alignment) that fall into
+     * [{@code from}, {@code to}), overwriting this series' values.
+     */
+    void copy(OrderTimeSeries other, long from, long to) {
+        long lo = Math.max(from, Math.max(start, other.start));
+        long hi = Math.min(to, Math.min(end(), other.end()));
+        if (lo >= hi) return;
+        int target = (int) ((lo - start) / width);
+        int source = (int) ((lo - other.start) / width);
+        int length = (int) ((hi - lo) / width);
+        System.arraycopy(other.counts, source, counts, target, length);
+        System.arraycopy(other.quantities, source, quantities, target, length);
+        System.arraycopy(other.notionals, source, notionals, target, length);
+        System.arraycopy(other.pricedQuantities, source, pricedQuantities, target, length);
+    }
+
+    /** A copy of the buckets in [{@code from}, {@code to}), clamped to this series. */
+    OrderTimeSeries slice(long from, long to) {
+        long lo = Math.max(from, start);
+        long hi = Math.max(lo, Math.min(to, end()));
+        OrderTimeSeries slice = new OrderTimeSeries(lo, width, (int) ((hi - lo) / width));
+        slice.copy(this, lo, hi);
+        return slice;
+    }
+
+    /**
+     * Union of two series of the same width when they overlap or touch; values of {@code newer}
+     * win where both have them. Otherwise {@code newer} alone. At most {@code maxBuckets} of the
+     * latest buckets are kept.
+     */
+    static OrderTimeSeries merge(OrderTimeSeries older, OrderTimeSeries newer, int maxBuckets) {
+        OrderTimeSeries merged = newer;
+        if (older != null && older.width == newer.width && newer.start <= older.end() && older.start <= newer.end()) {
+            long lo = Math.min(older.start, newer.start);
+            long hi = Math.max(older.end(), newer.end());
+            merged = new OrderTimeSeries(lo, newer.width, (int) ((hi - lo) / newer.width));
+            merged.copy(older, lo, hi);
+            merged.copy(newer, lo, hi);
+        }
+        return merged.size() <= maxBuckets ? merged : merged.slice(merged.end() - merged.width * maxBuckets, merged.end());
+    }
+}
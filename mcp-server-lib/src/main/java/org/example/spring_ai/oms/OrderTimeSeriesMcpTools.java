@@ -0,0 +1,334 @@
+package org.example.spring_ai.oms;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.example.spring_ai.oms.OrderSearchMcpTools.OrderSearchFilters;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MCP tool rolling orders up into a time series (count, orderQty and VWAP per bucket), so agents
+ * asking for "order flow per minute" do not page through thousands of orders themselves.
+ *
+ * All orders in the window are streamed page by page, sorted by the time field, and folded into an
+ * {@link OrderTimeSeries}. Closed buckets (ending before now minus the close delay) are cached per
+ * filter set, time field and width; a repeated query over an overlapping window copies them and
+ * only fetches the uncovered head and the open tail.
+ */
+@Slf4j
+@Component
+public class OrderTimeSeriesMcpTools {
+
+    static final List<String> TIME_FIELDS = List.of("transactTime", "sendingTime");
+
+    private final PageSource pages;
+    private final OrderTimeSeriesProperties properties;
+    private final LongSupplier clock;
+
+    /** Closed buckets by series key, least recently used first; guarded by {@code this}. */
+    private final LinkedHashMap<String, OrderTimeSeries> closed = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public OrderTimeSeriesMcpTools(OrderQueryClient orderQueryClient,
+                                   @Autowired(required = false) OrderReplicaSync replicaSync,
+                                   OrderTimeSeriesProperties properties) {
+        this((params, page, size, sort) -> {
+            if (replicaSync != null && replicaSync.isFresh()) {
+                var local = replicaSync.getReplica().query(params, page, size, sort);
+                if (local.isPresent()) return new Page(local.get(), false);
+            }
+            return new Page(orderQueryClient.search(params, page, size, sort), true);
+        }, properties, System::currentTimeMillis);
+        log.debug("[MCP] OrderTimeSeriesMcpTools initialized");
+    }
+
+    OrderTimeSeriesMcpTools(PageSource pages, OrderTimeSeriesProperties properties, LongSupplier clock) {
+        this.pages = pages;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Tool(
+        name = "orderTimeSeries",
+        description = "Roll up orders into time buckets: order count, total orderQty and VWAP (over priced orders) per bucket. " +
+                     "Use instead of paging through searchOrders for questions like 'order flow per minute for BTC-USD over the last day'. " +
+                     "timeField: transactTime (default) or sendingTime. bucket: width such as 30s, 1m, 5m, 1h, 1d. " +
+                     "from/to: UTC date-times like 2025-08-01T00:00:00 (to defaults to now; the window may instead be given as " +
+                     "transactTimeBetween/sendingTimeBetween in filters). Empty buckets are omitted."
+    )
+    public OrderTimeSeriesResponse orderTimeSeries(OrderSearchFilters filters, String timeField, String bucket,
+                                                   String from, String to) {
+        log.debug("[MCP] orderTimeSeries called with filters={}, timeField={}, bucket={}, from={}, to={}",
+                filters, timeField, bucket, from, to);
+        String field = StringUtils.hasText(timeField) ? timeField.trim() : TIME_FIELDS.get(0);
+        if (!TIME_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("timeField must be one of " + TIME_FIELDS + ": " + timeField);
+        }
+        long width = parseWidth(bucket);
+        Map<String, Object> params = OrderSearchMcpTools.buildQueryParams(filters);
+        // The window replaces any range on the time field; fall back to that range if no from/to is given
+        String[] range = splitRange(params.remove(field + "__between"));
+        String fromText = StringUtils.hasText(from) ? from : range[0];
+        String toText = StringUtils.hasText(to) ? to : range[1];
+        if (!StringUtils.hasText(fromText)) {
+            throw new IllegalArgumentException("from is required (or " + field + "Between in filters)");
+        }
+        long now = clock.getAsLong();
+        long start = OrderTimeSeries.floor(parseTime("from", fromText), width);
+        long end = OrderTimeSeries.ceil(StringUtils.hasText(toText) ? parseTime("to", toText) + 1 : now, width);
+        if (end <= start) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        long buckets = (end - start) / width;
+        if (buckets > properties.maxBuckets()) {
+            throw new IllegalArgumentException("%d buckets requested, at most %d; use a wider bucket or a shorter window"
+                    .formatted(buckets, properties.maxBuckets()));
+        }
+
+        String key = field + "|" + width + "|" + OrderQueryEncoder.key(params);
+        OrderTimeSeries series = new OrderTimeSeries(start, width, (int) buckets);
+        OrderTimeSeries cached;
+        synchronized (this) {
+            cached = closed.get(key);
+        }
+        long coveredFrom = start;
+        long coveredTo = start;
+        if (cached != null && cached.start() < end && start < cached.end()) {
+            coveredFrom = Math.max(start, cached.start());
+            coveredTo = Math.min(end, cached.end());
+            series.copy(cached, coveredFrom, coveredTo);
+        }
+
+        Fetch fetch = new Fetch(series, field, params);
+        fetch.range(start, coveredFrom);
+        fetch.range(coveredTo, end);
+
+        long closedUntil = OrderTimeSeries.floor(now - properties.closeDelay().toMillis(), width);
+        long complete = Math.min(end, fetch.truncatedAt == null ? closedUntil : Math.min(closedUntil, fetch.truncatedAt));
+        if (complete > start) {
+            OrderTimeSeries closedPart = series.slice(start, complete);
+            synchronized (this) {
+                closed.put(key, OrderTimeSeries.merge(closed.get(key), closedPart, properties.maxBuckets()));
+                while (closed.size() > properties.maxSeries()) {
+                    closed.remove(closed.keySet().iterator().next());
+                }
+            }
+        }
+
+        List<String> notes = new ArrayList<>();
+        if (fetch.truncatedAt != null) {
+            notes.add("Stopped after " + properties.maxOrders() + " orders; buckets from " + format(fetch.truncatedAt)
+                    + " on are incomplete. Narrow the filters or the window.");
+        }
+        if (fetch.skipped > 0) {
+            notes.add(fetch.skipped + " order(s) without a parseable " + field + " were skipped");
+        }
+        int cachedBuckets = (int) ((coveredTo - coveredFrom) / width);
+        log.debug("[MCP] orderTimeSeries {} x {} buckets: {} orders fetched in {} upstream calls, {} buckets from cache",
+                field, buckets, fetch.orders, fetch.calls, cachedBuckets);
+        return response(series, field, closedUntil, fetch, cachedBuckets, notes);
+    }
+
+    private static OrderTimeSeriesResponse response(OrderTimeSeries series, String field, long closedUntil,
+                                                    Fetch fetch, int cachedBuckets, List<String> notes) {
+        List<Bucket> buckets = new ArrayList<>();
+        long orders = 0;
+        double quantity = 0;
+        double notional = 0;
+        double pricedQuantity = 0;
+        for (int i = 0; i < series.size(); i++) {
+            long count = series.count(i);
+            if (count == 0) continue;
+            double vwap = series.vwap(i);
+            buckets.add(new Bucket(format(series.bucketStart(i)), count, series.quantity(i),
+                    Double.isNaN(vwap) ? null : vwap, series.bucketStart(i) + series.width() <= closedUntil));
+            orders += count;
+            quantity += series.quantity(i);
+            notional += series.notional(i);
+            pricedQuantity += series.pricedQuantity(i);
+        }
+        return new OrderTimeSeriesResponse(
+                field,
+                Duration.ofMillis(series.width()).toString(),
+                format(series.start()),
+                format(series.end()),
+                series.size(),
+                orders,
+                quantity,
+                pricedQuantity > 0 ? notional / pricedQuantity : null,
+                fetch.orders,
+                cachedBuckets,
+                fetch.calls,
+                fetch.truncatedAt != null,
+                buckets,
+                notes);
+    }
+
+    static long parseWidth(String bucket) {
+        if (!StringUtils.hasText(bucket)) {
+            throw new IllegalArgumentException("bucket is required, e.g. 1m, 5m, 1h");
+        }
+        Duration width;
+        try {
+            width = DurationStyle.detectAndParse(bucket.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("bucket must be a duration such as 30s, 1m, 1h or PT5M: " + bucket);
+        }
+        if (width.toMillis() < 1000) {
+            throw new IllegalArgumentException("bucket must be at least 1s: " + bucket);
+        }
+        return width.toMillis();
+    }
+
+    private static long parseTime(String name, String text) {
+        try {
+            return OrderReplica.parseEpochMillis(text.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be a date-time like 2025-08-01T00:00:00: " + text);
+        }
+    }
+
+    private static String[] splitRange(Object range) {
+        if (range == null) return new String[] {null, null};
+        String text = range.toString();
+        int comma = text.indexOf(',');
+        return comma < 0 ? new String[] {text.trim(), null}
+                : new String[] {text.substring(0, comma).trim(), text.substring(comma + 1).trim()};
+    }
+
+    private static String format(long epochMillis) {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.ofEpochSecond(
+                Math.floorDiv(epochMillis, 1000), (int) Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC));
+    }
+
+    private static double number(Object value) {
+        if (value instanceof Number n) return n.doubleValue();
+        if (value == null) return Double.NaN;
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Streams the orders of one or more time ranges into the series; counts upstream calls and
+     * stops at the order limit.
+     */
+    private final class Fetch {
+        final OrderTimeSeries series;
+        final String field;
+        final Map<String, Object> params;
+        final String sort;
+        int calls;
+        int orders;
+        int skipped;
+        Long truncatedAt;
+
+        Fetch(OrderTimeSeries series, String field, Map<String, Object> params) {
+            this.series = series;
+            this.field = field;
+            this.params = params;
+            this.sort = field + ",ASC;id,ASC";
+        }
+
+        void range(long from, long to) {
+            if (from >= to || truncatedAt != null) return;
+            Map<String, Object> query = new LinkedHashMap<>(params);
+            // between is inclusive on both ends
+            query.put(field + "__between", format(from) + "," + format(to - 1));
+            int page = 0;
+            while (true) {
+                Page result = pages.search(query, page, properties.pageSize(), sort);
+                if (result.upstream()) calls++;
+                List<Map<String, Object>> content = result.response().getContent();
+                long last = from;
+                for (Map<String, Object> order : content) {
+                    Object time = order.get(field);
+                    long t;
+                    try {
+                        t = time == null ? Long.MIN_VALUE : OrderReplica.parseEpochMillis(time.toString());
+                    } catch (DateTimeParseException e) {
+                        t = Long.MIN_VALUE;
+                    }
+                    if (t == Long.MIN_VALUE) {
+                        skipped++;
+                        continue;
+                    }
+                    series.add(t, number(order.get("orderQty")), number(order.get("price")));
+                    last = Math.max(last, t);
+                    orders++;
+                }
+                if (content.isEmpty() || page + 1 >= result.response().getTotalPages()) {
+                    return;
+                }
+                if (orders >= properties.maxOrders()) {
+                    // Sorted by time: buckets before the last order's are complete
+                    truncatedAt = OrderTimeSeries.floor(last, series.width());
+                    return;
+                }
+                page++;
+            }
+        }
+    }
+
+    /** Source of order pages; {@code upstream} is false when answered from the local replica. */
+    @FunctionalInterface
+    interface PageSource {
+        Page search(Map<String, Object> params, int page, int size, String sort);
+    }
+
+    record Page(PageResponse<Map<String, Object>> response, boolean upstream) {}
+
+    /**
+     * Time series returned to MCP clients.
+     *
+     * @param bucket        bucket width as an ISO-8601 duration
+     * @param from          start of the first bucket (UTC)
+     * @param to            end of the last bucket, exclusive (UTC)
+     * @param bucketCount   number of buckets in the window, including the omitted empty ones
+     * @param vwap          VWAP over all priced orders in the window, null if none
+     * @param fetchedOrders orders fetched by this call (cached buckets are not fetched again)
+     * @param cachedBuckets buckets served from the closed-bucket cache
+     * @param upstreamCalls REST calls made (pages answered by the local replica are not counted)
+     */
+    public record OrderTimeSeriesResponse(
+            String timeField,
+            String bucket,
+            String from,
+            String to,
+            int bucketCount,
+            long orderCount,
+            double totalQty,
+            Double vwap,
+            int fetchedOrders,
+            int cachedBuckets,
+            int upstreamCalls,
+            boolean truncated,
+            List<Bucket> buckets,
+            List<String> notes
+    ) {}
+
+    /**
+     * One non-empty bucket.
+     *
+     * @param start  bucket start (UTC)
+     * @param vwap   sum(price * orderQty) / sum(orderQty) over orders with a price, null if none
+     * @param closed whether the bucket ended before now minus the close delay
+     */
+    public record Bucket(String start, long count, double qty, Double vwap, boolean closed) {}
+}
@@ -0,0 +1,24 @@
+package org.example.spring_ai.oms;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for order time-series rollups ({@code orderTimeSeries}).
+ *
+ * @param closeDelay buckets ending more than this long ago are considered closed (no more late
+ *                   orders expected) and cached
+ * @param maxOrders  maximum number of orders fetched per call; later buckets are reported incomplete
+ * @param maxBuckets maximum number of buckets per call, and of cached buckets per series
+ * @param maxSeries  number of distinct filter/field/width combinations whose closed buckets are cached
+ * @param pageSize   page size used when fetching orders
+ */
+@ConfigurationProperties(prefix = "oms.timeseries")
+public record OrderTimeSeriesProperties(
+        @DefaultValue("1m") Duration closeDelay,
+        @DefaultValue("100000") int maxOrders,
+        @DefaultValue("10000") int maxBuckets,
+        @DefaultValue("32") int maxSeries,
+        @DefaultValue("500") int pageSize) {}
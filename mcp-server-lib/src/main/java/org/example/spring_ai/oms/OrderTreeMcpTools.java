@@ -0,0 +1,251 @@
+package org.example.spring_ai.oms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MCP tool reconstructing parent/child order hierarchies (e.g. algo parent with child slices).
+ *
+ * The given order is looked up by orderId and the whole tree is then fetched with a single
+ * {@code rootOrderId} query (auto-paginated at the maximum page size) instead of one search per
+ * level; one more lookup fetches the root if it does not carry its own rootOrderId.
+ */
+@Slf4j
+@Component
+public class OrderTreeMcpTools {
+
+    private static final int PAGE_SIZE = 500;
+    private static final int MAX_TREE_ORDERS = 5000;
+
+    private final OrderReplicaSync.PageSource upstream;
+    private final OrderReplicaSync replicaSync;
+
+    @Autowired
+    public OrderTreeMcpTools(OrderQueryClient orderQueryClient,
+                             @Autowired(required = false) OrderReplicaSync replicaSync) {
+        this(orderQueryClient::search, replicaSync);
+        log.debug("[MCP] OrderTreeMcpTools initialized");
+    }
+
+    OrderTreeMcpTools(OrderReplicaSync.PageSource upstream, OrderReplicaSync replicaSync) {
+        this.upstream = upstream;
+        this.replicaSync = replicaSync;
+    }
+
+    @Tool(
+        name = "getOrderTree",
+        description = "Get the full parent/child hierarchy of an order given its own orderId or its root's orderId. " +
+                     "Returns a nested tree with per-node rollups (child and leaf orderQty/cumQty) fetched in two upstream queries " +
+                     "(three if the root does not carry its own rootOrderId)."
+    )
+    public OrderTreeResponse getOrderTree(String orderId) {
+        log.debug("[MCP] getOrderTree called with orderId={}", orderId);
+        if (!StringUtils.hasText(orderId)) {
+            throw new IllegalArgumentException("orderId is required");
+        }
+        String requested = orderId.trim();
+        Fetcher fetcher = new Fetcher();
+
+        Map<String, Object> requestedOrder = fetcher.byOrderId(requested);
+        if (requestedOrder == null) {
+            return new OrderTreeResponse(requested, null, 0, 0, fetcher.calls, false, null, List.of("Order not found"));
+        }
+        String declaredRoot = string(requestedOrder.get("rootOrderId"));
+        String rootId = declaredRoot != null ? declaredRoot : requested;
+
+        Map<String, Map<String, Object>> byId = new LinkedHashMap<>();
+        for (Map<String, Object> order : fetcher.byRoot(rootId)) {
+            String id = string(order.get("orderId"));
+            if (id != null) byId.putIfAbsent(id, order);
+        }
+        byId.putIfAbsent(requested, requestedOrder);
+        List<String> notes = new ArrayList<>();
+        if (!byId.containsKey(rootId)) {
+            Map<String, Object> root = fetcher.byOrderId(rootId);
+            if (root != null) {
+                byId.put(rootId, root);
+            } else {
+                notes.add("Root order " + rootId + " not found; showing its known descendants");
+                Map<String, Object> placeholder = new LinkedHashMap<>();
+                placeholder.put("orderId", rootId);
+                byId.put(rootId, placeholder);
+            }
+        }
+        if (fetcher.truncated) {
+            notes.add("Tree truncated at " + MAX_TREE_ORDERS + " orders");
+        }
+
+        OrderNode root = assemble(rootId, byId, notes);
+        return new OrderTreeResponse(requested, rootId, byId.size(), depth(root), fetcher.calls, fetcher.truncated, root, notes);
+    }
+
+    /**
+     * Link orders by parentOrderId. Orders whose parent is unknown are attached to the root.
+     */
+    private static OrderNode assemble(String rootId, Map<String, Map<String, Object>> byId, List<String> notes) {
+        Map<String, List<String>> children = new HashMap<>();
+        int detached = 0;
+        for (Map.Entry<String, Map<String, Object>> e : byId.entrySet()) {
+            if (e.getKey().equals(rootId)) continue;
+            String parent = string(e.getValue().get("parentOrderId"));
+            if (parent == null || parent.equals(e.getKey()) || !byId.containsKey(parent)) {
+                if (parent != null && !parent.equals(e.getKey())) detached++;
+                parent = rootId;
+            }
+            children.computeIfAbsent(parent, k -> new ArrayList<>()).add(e.getKey());
+        }
+        if (detached > 0) {
+            notes.add(detached + " order(s) reference a parent outside this tree and were attached to the root");
+        }
+        Set<String> visited = new HashSet<>();
+        OrderNode root = build(rootId, byId, children, visited);
+        if (visited.size() < byId.size()) {
+            notes.add((byId.size() - visited.size()) + " order(s) are part of a parent cycle and were omitted");
+        }
+        return root;
+    }
+
+    /**
+     * Build the subtree below {@code id}. Each order is in exactly one children list, so orders
+     * whose parent links form a cycle are never reached from the root and stay out of {@code visited}.
+     */
+    private static OrderNode build(String id, Map<String, Map<String, Object>> byId,
+                                   Map<String, List<String>> children, Set<String> visited) {
+        Map<String, Object> order = byId.get(id);
+        visited.add(id);
+        List<OrderNode> nodes = new ArrayList<>();
+        double childOrderQty = 0;
+        double childCumQty = 0;
+        double leafOrderQty = 0;
+        double leafCumQty = 0;
+        int descendants = 0;
+        for (String childId : children.getOrDefault(id, List.of())) {
+            OrderNode child = build(childId, byId, children, visited);
+            nodes.add(child);
+            childOrderQty += number(child.order().get("orderQty"));
+            childCumQty += number(child.order().get("cumQty"));
+            leafOrderQty += child.leafOrderQty();
+            leafCumQty += child.leafCumQty();
+            descendants += 1 + child.descendantCount();
+        }
+        if (nodes.isEmpty()) {
+            leafOrderQty = number(order.get("orderQty"));
+            leafCumQty = number(order.get("cumQty"));
+        }
+        return new OrderNode(order, childOrderQty, childCumQty, leafOrderQty, leafCumQty, descendants,
+                Collections.unmodifiableList(nodes));
+    }
+
+    private static int depth(OrderNode node) {
+        int max = 0;
+        for (OrderNode child : node.children()) {
+            max = Math.max(max, depth(child));
+        }
+        return max + 1;
+    }
+
+    private static String string(Object value) {
+        return value == null || value.toString().isBlank() ? null : value.toString();
+    }
+
+    private static double number(Object value) {
+        if (value instanceof Number n) return n.doubleValue();
+        if (value == null) return 0;
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Upstream access for one tool call; counts REST calls and prefers the fresh local replica.
+     */
+    private final class Fetcher {
+        int calls;
+        boolean truncated;
+
+        List<Map<String, Object>> byRoot(String rootOrderId) {
+            Map<String, Object> params = Map.of("rootOrderId", rootOrderId);
+            List<Map<String, Object>> result = new ArrayList<>();
+            int page = 0;
+            while (true) {
+                PageResponse<Map<String, Object>> response = search(params, page);
+                result.addAll(response.getContent());
+                if (result.size() >= MAX_TREE_ORDERS) {
+                    truncated = response.getTotalElements() > MAX_TREE_ORDERS;
+                    return result.subList(0, Math.min(result.size(), MAX_TREE_ORDERS));
+                }
+                if (response.getContent().isEmpty() || page + 1 >= response.getTotalPages()) {
+                    return result;
+                }
+                page++;
+            }
+        }
+
+        Map<String, Object> byOrderId(String orderId) {
+            List<Map<String, Object>> content = search(Map.of("orderId", orderId), 0).getContent();
+            return content.stream()
+                    .filter(o -> Objects.equals(orderId, string(o.get("orderId"))))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        private PageResponse<Map<String, Object>> search(Map<String, Object> params, int page) {
+            if (replicaSync != null && replicaSync.isFresh()) {
+                var local = replicaSync.getReplica().query(params, page, PAGE_SIZE, "transactTime,ASC");
+                if (local.isPresent()) return local.get();
+            }
+            calls++;
+            return upstream.search(params, page, PAGE_SIZE, "transactTime,ASC");
+        }
+    }
+
+    /**
+     * Order hierarchy returned to MCP clients.
+     *
+     * @param upstreamCalls number of REST calls made (0 when answered from the local replica)
+     */
+    public record OrderTreeResponse(
+            String requestedOrderId,
+            String rootOrderId,
+            int orderCount,
+            int depth,
+            int upstreamCalls,
+            boolean truncated,
+            OrderNode root,
+            List<String> notes
+    ) {}
+
+    /**
+     * One order in the tree with rollups over its subtree.
+     *
+     * @param childOrderQty sum of orderQty of the direct children
+     * @param childCumQty   sum of cumQty of the direct children
+     * @param leafOrderQty  sum of orderQty of the leaf orders below (own value for a leaf)
+     * @param leafCumQty    sum of cumQty of the leaf orders below (own value for a leaf)
+     */
+    public record OrderNode(
+            Map<String, Object> order,
+            double childOrderQty,
+            double childCumQty,
+            double leafOrderQty,
+            double leafCumQty,
+            int descendantCount,
+            List<OrderNode> children
+    ) {}
+}
@@ -0,0 +1,187 @@
+package org.example.spring_ai.oms;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.example.spring_ai.oms.OrderWatchMcpTools.OrderChange;
+
+/**
+ * Last snapshot of one watched filter set plus a bounded history of per-poll deltas.
+ *
+ * Each {@link #apply} compares a fresh poll result with the snapshot by orderId and,
+ * if anything differs, records a new version. {@link #since(long)} merges the deltas after a
+ * client's version into one; clients whose version fell out of the history get a full resync.
+ * Not thread-safe: callers synchronize on the instance.
+ */
+final class OrderWatch {
+
+    private final Map<String, Object> params;
+    private final int maxHistory;
+    private Map<String, Map<String, Object>> snapshot = new LinkedHashMap<>();
+    private final Deque<Delta> history = new ArrayDeque<>();
+    private long version;
+    private boolean polled;
+    private boolean truncated;
+    private long lastPolledMillis;
+
+    OrderWatch(Map<String, Object> params, int maxHistory) {
+        this.params = Map.copyOf(params);
+        this.maxHistory = maxHistory;
+    }
+
+    Map<String, Object> params() {
+        return params;
+    }
+
+    long version() {
+        return version;
+    }
+
+    boolean polled() {
+        return polled;
+    }
+
+    boolean truncated() {
+        return truncated;
+    }
+
+    long lastPolledMillis() {
+        return lastPolledMillis;
+    }
+
+    int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * Replace the snapshot with a new poll result.
+     *
+     * @return true if a new version was recorded
+     */
+    boolean apply(Collection<Map<String, Object>> orders, boolean truncated, long nowMillis) {
+        Map<String, Map<String, Object>> next = new LinkedHashMap<>(orders.size() * 2);
+        for (Map<String, Object> order : orders) {
+            Object id = order.get("orderId");
+            if (id != null) next.put(id.toString(), order);
+        }
+        Map<String, Map<String, Object>> added = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Object>> e : next.entrySet()) {
+            Map<String, Object> previous = snapshot.get(e.getKey());
+            if (previous == null) {
+                added.put(e.getKey(), e.getValue());
+            } else {
+                Map<String, Object> fields = diff(previous, e.getValue());
+                if (!fields.isEmpty()) changed.put(e.getKey(), fields);
+            }
+        }
+        Set<String> removed = new HashSet<>();
+        for (String id : snapshot.keySet()) {
+            if (!next.containsKey(id)) removed.add(id);
+        }
+        boolean firstPoll = !polled;
+        snapshot = next;
+        polled = true;
+        this.truncated = truncated;
+        lastPolledMillis = nowMillis;
+        if (firstPoll) {
+            // Initial snapshot: clients at version 0 get it through the resync path
+            version = 1;
+            return true;
+        }
+        if (added.isEmpty() && changed.isEmpty() && removed.isEmpty()) {
+            return false;
+        }
+        version++;
+        history.addLast(new Delta(version, added, changed, removed));
+        while (history.size() > maxHistory) {
+            history.removeFirst();
+        }
+        return true;
+    }
+
+    /**
+     * Changes after the given version. A version of 0, or one that is no longer covered by the
+     * retained history, yields the full snapshot with {@code resync = true}.
+     */
+    Changes since(long clientVersion) {
+        if (clientVersion <= 0 || clientVersion > version || !covers(clientVersion)) {
+            return new Changes(version, true, new ArrayList<>(snapshot.values()), List.of(), List.of());
+        }
+        Map<String, Map<String, Object>> added = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> changed = new LinkedHashMap<>();
+        Set<String> removed = new HashSet<>();
+        for (Delta delta : history) {
+            if (delta.version() <= clientVersion) continue;
+            for (String id : delta.removed()) {
+                // Added and removed within the window: the client never saw it
+                if (added.remove(id) == null) removed.add(id);
+                changed.remove(id);
+            }
+            for (Map.Entry<String, Map<String, Object>> e : delta.added().entrySet()) {
+                if (removed.remove(e.getKey())) {
+                    changed.put(e.getKey(), new LinkedHashMap<>(e.getValue()));
+                } else {
+                    added.put(e.getKey(), e.getValue());
+                }
+            }
+            for (Map.Entry<String, Map<String, Object>> e : delta.changed().entrySet()) {
+                Map<String, Object> pendingAdd = added.get(e.getKey());
+                if (pendingAdd != null) {
+                    added.put(e.getKey(), snapshot.getOrDefault(e.getKey(), pendingAdd));
+                } else {
+                    changed.computeIfAbsent(e.getKey(), k -> new LinkedHashMap<>()).putAll(e.getValue());
+                }
+            }
+        }
+        List<OrderChange> changes = new ArrayList<>(changed.size());
+        changed.forEach((id, fields) -> changes.add(new OrderChange(id, fields)));
+        List<String> removedIds = new ArrayList<>(removed);
+        removedIds.sort(null);
+        return new Changes(version, false, new ArrayList<>(added.values()), changes, removedIds);
+    }
+
+    private boolean covers(long clientVersion) {
+        if (clientVersion == version) return true;
+        Delta oldest = history.peekFirst();
+        return oldest != null && oldest.version() <= clientVersion + 1;
+    }
+
+    /**
+     * Fields whose value differs (including fields that appeared or disappeared, reported as null).
+     */
+    static Map<String, Object> diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> e : after.entrySet()) {
+            if (!Objects.equals(before.get(e.getKey()), e.getValue())) {
+                fields.put(e.getKey(), e.getValue());
+            }
+        }
+        for (String key : before.keySet()) {
+            if (!after.containsKey(key) && before.get(key) != null) {
+                fields.put(key, null);
+            }
+        }
+        return fields;
+    }
+
+    private record Delta(long version, Map<String, Map<String, Object>> added,
+                         Map<String, Map<String, Object>> changed, Set<String> removed) {}
+
+    /**
+     * Merged delta returned to a client.
+     *
+     * @param version current version; pass it back in the next cursor
+     * @param resync  true if {@code added} holds the full snapshot and the client should replace its state
+     */
+    record Changes(long version, boolean resync, List<Map<String, Object>> added,
+                   List<OrderChange> changed, List<String> removed) {}
+}
@@ -0,0 +1,330 @@
+package org.example.spring_ai.oms;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.spring_ai.oms.OrderSearchMcpTools.OrderSearchFilters;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MCP tools giving polling agents a change feed instead of repeated full searches.
+ *
+ * Each distinct filter set is polled once per interval on the server, no matter how many clients
+ * watch it; clients read merged deltas since the version in their cursor. Watches not read within
+ * the idle timeout are dropped, and a poller stops once its last watch is gone.
+ *
+ * Filter sets are polled in parallel on a small pool, so one slow OMS query only delays its own
+ * watch. Each watch reads from a single source for its lifetime (the local replica if it was
+ * fresh and able to answer the first poll, otherwise the OMS query API), so a replica becoming
+ * stale or fresh again never shows up as spurious changes in the deltas.
+ *
+ * A filter set matching more than {@code maxOrders} orders is polled newest first and keeps the
+ * most recent ones by transactTime, so new orders still arrive as added while the oldest drop out
+ * as removed; such watches report {@code truncated=true}.
+ */
+@Slf4j
+@Component
+public class OrderWatchMcpTools {
+
+    private static final String SORT = "transactTime,DESC";
+
+    private enum Source { REPLICA, REST }
+
+    private final OrderReplicaSync.PageSource upstream;
+    private final OrderReplicaSync replicaSync;
+    private final OrderWatchProperties properties;
+
+    /** Pollers by canonical filter key and client watches by id; guarded by {@code this}. */
+    private final Map<String, Poller> pollers = new HashMap<>();
+    private final Map<String, Subscription> watches = new HashMap<>();
+    private final ExecutorService pollExecutor;
+
+    @Autowired
+    public OrderWatchMcpTools(OrderQueryClient orderQueryClient,
+                              @Autowired(required = false) OrderReplicaSync replicaSync,
+                              OrderWatchProperties properties) {
+        this(orderQueryClient::search, replicaSync, properties);
+    }
+
+    OrderWatchMcpTools(OrderReplicaSync.PageSource upstream, OrderReplicaSync replicaSync, OrderWatchProperties properties) {
+        this.upstream = upstream;
+        this.replicaSync = replicaSync;
+        this.properties = properties;
+        AtomicInteger pollThreadCount = new AtomicInteger();
+        this.pollExecutor = Executors.newFixedThreadPool(Math.max(1, properties.pollThreads()), r -> {
+            Thread t = new Thread(r, "order-watch-poll-" + pollThreadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        log.debug("[MCP] OrderWatchMcpTools initialized");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pollExecutor.shutdownNow();
+    }
+
+    @Tool(
+        name = "watchOrders",
+        description = "Watch orders matching a filter set and get only what changed. First call with filters and no cursor: " +
+                     "returns all matching orders as 'added' (resync=true) and a cursor. Later calls with just the cursor: " +
+                     "returns orders added, changed fields (new values) and removed orderIds since that cursor. " +
+                     "Always pass the returned cursor to the next call; call unwatchOrders when done."
+    )
+    public WatchOrdersResponse watchOrders(OrderSearchFilters filters, String cursor) {
+        log.debug("[MCP] watchOrders called with filters={}, cursor={}", filters, cursor);
+        Subscription subscription;
+        long clientVersion;
+        if (StringUtils.hasText(cursor)) {
+            String[] parts = cursor.trim().split(":", 2);
+            subscription = touch(parts[0]);
+            clientVersion = parts.length > 1 ? parseVersion(parts[1]) : 0;
+        } else {
+            subscription = register(OrderSearchMcpTools.buildQueryParams(filters));
+            clientVersion = 0;
+        }
+
+        Poller poller = subscription.poller;
+        OrderWatch watch = poller.watch;
+        synchronized (watch) {
+            if (!watch.polled()) {
+                poll(poller);
+            }
+            OrderWatch.Changes changes = watch.since(clientVersion);
+            return new WatchOrdersResponse(
+                    subscription.id,
+                    subscription.id + ":" + changes.version(),
+                    changes.resync(),
+                    watch.size(),
+                    watch.truncated(),
+                    Instant.ofEpochMilli(watch.lastPolledMillis()).toString(),
+                    changes.added(),
+                    changes.changed(),
+                    changes.removed());
+        }
+    }
+
+    @Tool(name = "unwatchOrders", description = "Stop a watch created by watchOrders. Accepts the watchId or the latest cursor.")
+    public UnwatchOrdersResponse unwatchOrders(String watchId) {
+        if (!StringUtils.hasText(watchId)) {
+            throw new IllegalArgumentException("watchId is required");
+        }
+        String id = watchId.trim().split(":", 2)[0];
+        synchronized (this) {
+            Subscription removed = watches.remove(id);
+            if (removed != null) {
+                release(removed.poller);
+            }
+            return new UnwatchOrdersResponse(id, removed != null, pollers.size());
+        }
+    }
+
+    /**
+     * Poll every active filter set once and drop watches that have not been read for too long.
+     * Polls run on the poll pool; a filter set whose previous poll is still running is skipped.
+     */
+    @Scheduled(fixedDelayString = "${oms.watch.poll-interval:5s}")
+    public void pollAll() {
+        List<Poller> active;
+        synchronized (this) {
+            long idleBefore = System.currentTimeMillis() - properties.idleTimeout().toMillis();
+            for (Iterator<Subscription> it = watches.values().iterator(); it.hasNext(); ) {
+                Subscription s = it.next();
+                if (s.lastAccessMillis < idleBefore) {
+                    it.remove();
+                    release(s.poller);
+                    log.debug("[Watch] Dropped idle watch {}", s.id);
+                }
+            }
+            active = new ArrayList<>(pollers.values());
+        }
+        for (Poller poller : active) {
+            if (!poller.polling.compareAndSet(false, true)) {
+                log.debug("[Watch] Previous poll of {} still running, skipping", poller.key);
+                continue;
+            }
+            try {
+                pollExecutor.execute(() -> pollScheduled(poller));
+            } catch (RejectedExecutionException e) {
+                poller.polling.set(false);
+            }
+        }
+    }
+
+    private void pollScheduled(Poller poller) {
+        try {
+            synchronized (poller.watch) {
+                poll(poller);
+            }
+        } catch (RuntimeException e) {
+            // Keep the last snapshot; clients see it through the unchanged polledAt
+            log.warn("[Watch] Poll failed for {}: {}", poller.key, e.getMessage());
+        } finally {
+            poller.polling.set(false);
+        }
+    }
+
+    private synchronized Subscription register(Map<String, Object> params) {
+        // Reject bad filters now rather than on every poll
+        OrderQueryEncoder.encode(params, 0, properties.pageSize(), SORT);
+        String key = OrderQueryEncoder.key(params);
+        Poller poller = pollers.get(key);
+        if (poller == null) {
+            if (pollers.size() >= properties.maxWatches()) {
+                throw new IllegalStateException("Too many active order watches (" + pollers.size()
+                        + "); reuse an existing filter set or call unwatchOrders first");
+            }
+            poller = new Poller(key, new OrderWatch(params, properties.maxHistory()));
+            pollers.put(key, poller);
+        }
+        poller.subscribers++;
+        Subscription subscription = new Subscription(UUID.randomUUID().toString().substring(0, 8), poller);
+        watches.put(subscription.id, subscription);
+        log.debug("[Watch] Registered {} on {} ({} subscriber(s))", subscription.id, key, poller.subscribers);
+        return subscription;
+    }
+
+    private synchronized Subscription touch(String id) {
+        Subscription subscription = watches.get(id);
+        if (subscription == null) {
+            throw new IllegalArgumentException("Unknown or expired watch '" + id
+                    + "'; call watchOrders with filters and no cursor to start a new one");
+        }
+        subscription.lastAccessMillis = System.currentTimeMillis();
+        return subscription;
+    }
+
+    private void release(Poller poller) {
+        if (--poller.subscribers <= 0) {
+            pollers.remove(poller.key);
+        }
+    }
+
+    private static long parseVersion(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor version: " + value);
+        }
+    }
+
+    /**
+     * Fetch the result for the watch's filters, newest first and capped at maxOrders, and apply it
+     * oldest first. Caller holds the watch lock.
+     */
+    private void poll(Poller poller) {
+        OrderWatch watch = poller.watch;
+        if (poller.source == Source.REPLICA && !replicaSync.isFresh()) {
+            // Keep the last snapshot rather than switch sources; polledAt shows it is not advancing
+            log.debug("[Watch] Replica is stale, skipping poll of {}", poller.key);
+            return;
+        }
+        List<Map<String, Object>> orders = new ArrayList<>();
+        boolean truncated = false;
+        int page = 0;
+        while (true) {
+            PageResponse<Map<String, Object>> response = search(poller, page);
+            orders.addAll(response.getContent());
+            if (orders.size() >= properties.maxOrders()) {
+                truncated = response.getTotalElements() > properties.maxOrders();
+                orders = orders.subList(0, properties.maxOrders());
+                break;
+            }
+            if (response.getContent().isEmpty() || page + 1 >= response.getTotalPages()) {
+                break;
+            }
+            page++;
+        }
+        orders = new ArrayList<>(orders);
+        Collections.reverse(orders);
+        watch.apply(orders, truncated, System.currentTimeMillis());
+    }
+
+    /** Search the watch's source, choosing and pinning it on the first call. Caller holds the watch lock. */
+    private PageResponse<Map<String, Object>> search(Poller poller, int page) {
+        Map<String, Object> params = poller.watch.params();
+        if (poller.source == null && replicaSync != null && replicaSync.isFresh()) {
+            var local = replicaSync.getReplica().query(params, page, properties.pageSize(), SORT);
+            poller.source = local.isPresent() ? Source.REPLICA : Source.REST;
+            log.debug("[Watch] Polling {} from {}", poller.key, poller.source);
+            if (local.isPresent()) return local.get();
+        }
+        if (poller.source == Source.REPLICA) {
+            return replicaSync.getReplica().query(params, page, properties.pageSize(), SORT)
+                    .orElseThrow(() -> new IllegalStateException("Order replica can no longer answer " + poller.key));
+        }
+        poller.source = Source.REST;
+        return upstream.search(params, page, properties.pageSize(), SORT);
+    }
+
+    private static final class Poller {
+        final String key;
+        final OrderWatch watch;
+        final AtomicBoolean polling = new AtomicBoolean();
+        int subscribers;
+        /** Source of every poll of this watch, set by the first one; guarded by the watch lock. */
+        Source source;
+
+        Poller(String key, OrderWatch watch) {
+            this.key = key;
+            this.watch = watch;
+        }
+    }
+
+    private static final class Subscription {
+        final String id;
+        final Poller poller;
+        volatile long lastAccessMillis = System.currentTimeMillis();
+
+        Subscription(String id, Poller poller) {
+            this.id = id;
+            this.poller = poller;
+        }
+    }
+
+    /**
+     * Delta returned to MCP clients.
+     *
+     * @param cursor     pass to the next watchOrders call
+     * @param resync     true if {@code added} holds every matching order and local state should be replaced
+     * @param orderCount number of orders currently matching
+     * @param polledAt   time of the last successful poll
+     * @param changed    changed fields with their new values (null if a field was dropped)
+     */
+    public record WatchOrdersResponse(
+            String watchId,
+            String cursor,
+            boolean resync,
+            int orderCount,
+            boolean truncated,
+            String polledAt,
+            List<Map<String, Object>> added,
+            List<OrderChange> changed,
+            List<String> removed
+    ) {}
+
+    /**
+     * Changed fields of one order with their new values (null if the field was dropped).
+     */
+    public record OrderChange(String orderId, Map<String, Object> fields) {}
+
+    public record UnwatchOrdersResponse(String watchId, boolean removed, int activePollers) {}
+}
@@ -0,0 +1,27 @@
+package org.example.spring_ai.oms;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for server-side order watches ({@code watchOrders}).
+ *
+ * @param pollInterval delay between polls of all active watches
+ * @param idleTimeout  watches not read by their client within this time are dropped
+ * @param maxWatches   maximum number of distinct filter sets polled at the same time
+ * @param maxOrders    maximum number of orders kept per watch; larger results keep the most recent by transactTime
+ * @param maxHistory   number of per-poll deltas kept; older cursors get a full resync
+ * @param pageSize     page size used when polling
+ * @param pollThreads  number of filter sets polled concurrently
+ */
+@ConfigurationProperties(prefix = "oms.watch")
+public record OrderWatchProperties(
+        @DefaultValue("5s") Duration pollInterval,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("20") int maxWatches,
+        @DefaultValue("2000") int maxOrders,
+        @DefaultValue("120") int maxHistory,
+        @DefaultValue("500") int pageSize,
+        @DefaultValue("4") int pollThreads) {}
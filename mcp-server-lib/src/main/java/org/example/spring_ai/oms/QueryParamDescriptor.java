@@ -0,0 +1,20 @@
+package org.example.spring_ai.oms;
+
+import java.util.Set;
+
+/**
+ * One filter query parameter of the OMS order search API, as listed in oms-query-api.yml.
+ * Instances are generated into {@code OrderQueryParamTable} at build time.
+ *
+ * @param name       query parameter name (e.g. "price__between")
+ * @param field      filtered field (e.g. "price")
+ * @param op         comparison operator
+ * @param type       value type of the field
+ * @param enumValues allowed values for enum fields, otherwise null
+ */
+record QueryParamDescriptor(String name, String field, Op op, ValueType type, Set<String> enumValues) {
+
+    enum Op { EQ, LIKE, GT, GTE, LT, LTE, BETWEEN }
+
+    enum ValueType { STRING, NUMBER, DATE_TIME, ENUM }
+}
@@ -1,18 +1,41 @@
 package org.example.spring_ai.oms;
 
+import org.example.spring_ai.logging.LoggingProperties;
+import org.example.spring_ai.resilience.BulkheadExchangeFilter;
+import org.example.spring_ai.resilience.BulkheadHttpInterceptor;
+import org.example.spring_ai.resilience.Bulkheads;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.observation.ObservationRegistry;
 
 @Configuration
-@EnableConfigurationProperties(OmsClientProperties.class)
+@EnableConfigurationProperties({OmsClientProperties.class, OmsQueryProperties.class, OrderReplicaProperties.class,
+        OrderWatchProperties.class, OrderTimeSeriesProperties.class, LoggingProperties.class})
 public class RestClientConfig {
 
     @Bean
-    public RestClient omsRestClient(OmsClientProperties props, RestClient.Builder builder) {
+    public RestClient omsRestClient(OmsClientProperties props, RestClient.Builder builder, Bulkheads bulkheads,
+                                    LoggingProperties loggingProperties, ObservationRegistry observationRegistry) {
         builder.baseUrl(props.baseUrl());
-        builder.requestInterceptor(new LoggingInterceptor());
+        // One client span per exchange (child of the tool span), with W3C trace headers sent to the OMS
+        builder.observationRegistry(observationRegistry);
+        builder.requestInterceptor(new LoggingInterceptor(loggingProperties.bodyMaxChars()));
+        builder.requestInterceptor(new BulkheadHttpInterceptor(bulkheads.get(Bulkheads.OMS)));
         return builder.build();
     }
+
+    /**
+     * Non-blocking OMS client for the async tool variants. The auto-configured builder already
+     * records client observations; the bulkhead sheds instead of queueing.
+     */
+    @Bean
+    public WebClient omsWebClient(OmsClientProperties props, WebClient.Builder builder, Bulkheads bulkheads) {
+        return builder.baseUrl(props.baseUrl())
+                .filter(new BulkheadExchangeFilter(bulkheads.get(Bulkheads.OMS)))
+                .build();
+    }
 }
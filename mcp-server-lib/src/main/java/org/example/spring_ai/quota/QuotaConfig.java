@@ -0,0 +1,22 @@
+package org.example.spring_ai.quota;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(ToolQuotaProperties.class)
+public class QuotaConfig {
+
+    @Bean
+    public ToolQuotas toolQuotas(ToolQuotaProperties properties, MeterRegistry registry) {
+        return new ToolQuotas(properties, registry);
+    }
+
+    @Bean
+    public ToolCostEstimator toolCostEstimator(ToolQuotaProperties properties) {
+        return new ToolCostEstimator(properties.costs());
+    }
+}
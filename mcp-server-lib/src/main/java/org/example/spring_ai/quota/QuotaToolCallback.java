@@ -0,0 +1,68 @@
+package org.example.spring_ai.quota;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * Tool callback decorator admitting each call through {@link ToolQuotas}, weighted by the
+ * {@link ToolCostEstimator}. The client info the MCP client reported at initialization is taken
+ * from the server exchange Spring AI puts into the tool context: its name selects the quota
+ * settings, and the instance itself, which the MCP server keeps once per session, identifies the
+ * session whose quota is charged. Calls without one share the {@link ToolQuotas#UNKNOWN_CLIENT} quota.
+ */
+public class QuotaToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final ToolQuotas quotas;
+    private final ToolCostEstimator costEstimator;
+
+    public QuotaToolCallback(ToolCallback delegate, ToolQuotas quotas, ToolCostEstimator costEstimator) {
+        this.delegate = delegate;
+        this.quotas = quotas;
+        this.costEstimator = costEstimator;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        String tool = delegate.getToolDefinition().name();
+        McpSchema.Implementation clientInfo = clientInfo(toolContext);
+        ToolQuotas.Permit permit = quotas.acquire(clientInfo, clientName(clientInfo), tool, costEstimator.cost(tool, toolInput));
+        try {
+            return toolContext == null ? delegate.call(toolInput) : delegate.call(toolInput, toolContext);
+        } finally {
+            permit.release();
+        }
+    }
+
+    static McpSchema.Implementation clientInfo(ToolContext toolContext) {
+        if (toolContext == null) return null;
+        Object exchange = toolContext.getContext().get(McpToolUtils.TOOL_CONTEXT_MCP_EXCHANGE_KEY);
+        return exchange instanceof McpSyncServerExchange sync ? sync.getClientInfo() : null;
+    }
+
+    public static String clientName(McpSchema.Implementation clientInfo) {
+        return clientInfo == null || clientInfo.name() == null || clientInfo.name().isBlank()
+                ? ToolQuotas.UNKNOWN_CLIENT : clientInfo.name();
+    }
+}
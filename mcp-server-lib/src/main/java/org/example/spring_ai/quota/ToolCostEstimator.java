@@ -0,0 +1,77 @@
+package org.example.spring_ai.quota;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Estimates the cost of a tool call from its arguments, per {@link ToolQuotaProperties.Cost}, so an
+ * OMS search for 500 orders or a semantic search for 50 hits weighs more than a default-sized one.
+ * Tool and argument names match case-insensitively.
+ */
+public class ToolCostEstimator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ToolQuotaProperties.Cost UNIT = new ToolQuotaProperties.Cost(1, 0, Map.of());
+
+    private final Map<String, ToolQuotaProperties.Cost> costs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    public ToolCostEstimator(Map<String, ToolQuotaProperties.Cost> costs) {
+        this.costs.putAll(costs);
+    }
+
+    /**
+     * @param toolInput JSON arguments as passed to the tool callback; unparseable input costs the base
+     */
+    public double cost(String tool, String toolInput) {
+        JsonNode arguments;
+        try {
+            arguments = toolInput == null || toolInput.isBlank() ? null : MAPPER.readTree(toolInput);
+        } catch (Exception e) {
+            arguments = null;
+        }
+        return estimate(tool, arguments);
+    }
+
+    public double cost(String tool, Map<String, Object> arguments) {
+        return estimate(tool, arguments == null ? null : MAPPER.valueToTree(arguments));
+    }
+
+    private double estimate(String tool, JsonNode arguments) {
+        ToolQuotaProperties.Cost cost = costs.getOrDefault(tool, UNIT);
+        if (cost.units().isEmpty()) return cost.base();
+        double units = 1;
+        for (Map.Entry<String, Double> unit : cost.units().entrySet()) {
+            double value = value(argument(arguments, unit.getKey()));
+            units *= value > 0 ? value : unit.getValue();
+        }
+        return cost.base() + cost.perUnit() * units;
+    }
+
+    private static JsonNode argument(JsonNode arguments, String name) {
+        if (arguments == null || !arguments.isObject()) return null;
+        for (Iterator<Map.Entry<String, JsonNode>> it = arguments.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (field.getKey().equalsIgnoreCase(name)) return field.getValue();
+        }
+        return null;
+    }
+
+    /** Numeric value of an argument, array length for arrays, 0 if absent or not a number. */
+    private static double value(JsonNode node) {
+        if (node == null || node.isNull()) return 0;
+        if (node.isArray()) return node.size();
+        if (node.isNumber()) return node.asDouble();
+        if (node.isTextual()) {
+            try {
+                return Double.parseDouble(node.asText().trim());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
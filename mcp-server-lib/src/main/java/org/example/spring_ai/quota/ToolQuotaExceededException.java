@@ -0,0 +1,26 @@
+package org.example.spring_ai.quota;
+
+/**
+ * Thrown when a tool call is rejected by {@link ToolQuotas}. The message is returned to the MCP
+ * client as the tool error, so it states which quota was hit and that the call can be retried.
+ */
+public class ToolQuotaExceededException extends RuntimeException {
+
+    private final String client;
+    private final String reason;
+
+    public ToolQuotaExceededException(String client, String reason, String message) {
+        super(message);
+        this.client = client;
+        this.reason = reason;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    /** "rate", "concurrency", "queue_full" or "timeout". */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.spring_ai.quota;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-client quotas and scheduling of tool executions ("mcp.quota.*").
+ *
+ * @param enabled      apply quotas to tool calls
+ * @param capacity     cost units executing at once across all clients; further calls wait by priority
+ * @param maxQueue     calls allowed to wait for capacity; beyond that calls are rejected immediately
+ * @param queueTimeout maximum time a call waits for capacity
+ * @param clients      quota per client name; clients without an entry use the "default" entry,
+ *                     or {@link Client#DEFAULT}
+ * @param costs        cost model per tool name; tools without an entry cost 1
+ */
+@ConfigurationProperties(prefix = "mcp.quota")
+public record ToolQuotaProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32") double capacity,
+        @DefaultValue("64") int maxQueue,
+        @DefaultValue("5s") Duration queueTimeout,
+        Map<String, Client> clients,
+        Map<String, Cost> costs) {
+
+    public static final String DEFAULT_CLIENT = "default";
+
+    public ToolQuotaProperties {
+        clients = clients == null ? Map.of() : clients;
+        costs = costs == null ? Map.of() : costs;
+    }
+
+    public Client client(String name) {
+        Client c = clients.get(name);
+        if (c == null) c = clients.get(DEFAULT_CLIENT);
+        return c == null ? Client.DEFAULT : c;
+    }
+
+    /**
+     * @param priority      scheduling priority when capacity is exhausted; higher runs first
+     * @param ratePerSecond cost units the client may spend per second, on average
+     * @param burst         cost units the client may spend at once (token bucket size)
+     * @param maxConcurrent calls of the client running or waiting at once
+     */
+    public record Client(
+            @DefaultValue("0") int priority,
+            @DefaultValue("10") double ratePerSecond,
+            @DefaultValue("40") double burst,
+            @DefaultValue("4") int maxConcurrent) {
+
+        public static final Client DEFAULT = new Client(0, 10, 40, 4);
+    }
+
+    /**
+     * Cost of a call: {@code base + perUnit * units}, where units is the product of the listed
+     * arguments (numbers as given, arrays by length), each falling back to its default when absent.
+     *
+     * @param units argument name to default value
+     */
+    public record Cost(
+            @DefaultValue("1") double base,
+            @DefaultValue("0") double perUnit,
+            Map<String, Double> units) {
+
+        public Cost {
+            units = units == null ? Map.of() : units;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package org.example.spring_ai.quota;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-session admission and priority scheduling of tool executions.
+ *
+ * Quotas are kept per MCP session, so a client cannot spend another client's quota by reporting
+ * the same name; the reported client name only selects the settings ({@code mcp.quota.clients}).
+ * Calls outside a session share one quota per client name. Idle sessions whose bucket has refilled
+ * are forgotten.
+ *
+ * A call is admitted in three steps, all weighted by its estimated cost:
+ * - the session's token bucket (ratePerSecond, burst) must hold the cost, else "rate";
+ * - the session may have at most maxConcurrent calls running or waiting, else "concurrency";
+ * - the shared capacity must have room for the cost. When it has not, the call waits, ordered by
+ *   client priority and then arrival, up to the queue timeout ("timeout"); when maxQueue calls
+ *   already wait it is rejected at once ("queue_full").
+ * Rejections throw {@link ToolQuotaExceededException} and are counted per client and reason as
+ * "mcp.quota.rejected". Meters are tagged with the client name only if it is configured, and with
+ * {@link #OTHER_CLIENTS} otherwise, so arbitrary reported names cannot grow the tag set. A call
+ * costing more than the burst or the capacity is charged the maximum, so it is slow to admit but
+ * never impossible.
+ */
+@Slf4j
+public class ToolQuotas {
+
+    public static final String UNKNOWN_CLIENT = "unknown";
+    /** Meter tag and stats key of all clients without an entry of their own in {@code mcp.quota.clients}. */
+    public static final String OTHER_CLIENTS = "other";
+    public static final List<String> REASONS = List.of("rate", "concurrency", "queue_full", "timeout");
+
+    private static final int MIN_PRUNE_AT = 64;
+
+    private static final Comparator<Waiter> SCHEDULE = Comparator.comparingInt((Waiter w) -> -w.priority)
+            .thenComparingLong(w -> w.sequence);
+
+    private final ToolQuotaProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Quota state by session, compared by identity. */
+    private final Map<Object, ClientState> sessions = new IdentityHashMap<>();
+    /** Stand-in sessions of calls made outside a session, one per client name. */
+    private final Map<String, Object> sessionless = new HashMap<>();
+    /** Counters by meter tag: configured client names and {@link #OTHER_CLIENTS}. */
+    private final Map<String, Totals> totals = new HashMap<>();
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(SCHEDULE);
+    private double inUse;
+    private long sequence;
+    private int pruneAt = MIN_PRUNE_AT;
+
+    /**
+     * @param meterRegistry registry for the "mcp.quota.*" meters, or {@code null}
+     */
+    public ToolQuotas(ToolQuotaProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    ToolQuotas(ToolQuotaProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        if (meterRegistry != null) {
+            Gauge.builder("mcp.quota.capacity.in.use", this, q -> q.stats().inUse())
+                    .description("Cost units of tool calls executing").register(meterRegistry);
+            Gauge.builder("mcp.quota.waiting", this, q -> q.stats().waiting())
+                    .description("Tool calls waiting for capacity").register(meterRegistry);
+        }
+    }
+
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Admit a call, waiting for capacity by priority if needed.
+     *
+     * @param session identity of the caller's MCP session (compared by identity), or {@code null}
+     * @param client  name the client reported; selects its settings
+     * @throws ToolQuotaExceededException if a quota rejects the call
+     */
+    public Permit acquire(Object session, String client, String tool, double cost) {
+        return admit(session, client, tool, cost, true);
+    }
+
+    /**
+     * Admit a call only if capacity is free right now. For non-blocking callers, which must not
+     * park a thread in the queue.
+     *
+     * @throws ToolQuotaExceededException if a quota rejects the call or capacity is exhausted
+     */
+    public Permit tryAcquire(Object session, String client, String tool, double cost) {
+        return admit(session, client, tool, cost, false);
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            List<ClientStats> perClient = new ArrayList<>(totals.size());
+            totals.values().forEach(t -> perClient.add(t.stats()));
+            return new Stats(properties.capacity(), inUse, queue.size(), sessions.size(), perClient);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param tag a configured client name or {@link #OTHER_CLIENTS}
+     */
+    public ClientStats stats(String tag) {
+        lock.lock();
+        try {
+            Totals t = totals.get(tag);
+            return t == null ? null : t.stats();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Meter tag of a client name: the name itself if configured, else {@link #OTHER_CLIENTS}. */
+    String tag(String client) {
+        return properties.clients().containsKey(client) ? client : OTHER_CLIENTS;
+    }
+
+    private Permit admit(Object session, String client, String tool, double cost, boolean wait) {
+        if (!properties.enabled()) {
+            return Permit.NONE;
+        }
+        long timeoutNanos = properties.queueTimeout().toNanos();
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            Object key = session != null ? session : sessionless.computeIfAbsent(client, name -> new Object());
+            ClientState state = sessions.get(key);
+            if (state == null) {
+                if (sessions.size() >= pruneAt) {
+                    prune(now);
+                }
+                state = register(client, now);
+                sessions.put(key, state);
+            }
+            ToolQuotaProperties.Client settings = state.settings;
+            state.refill(now);
+            double charge = Math.min(Math.max(cost, 0), settings.burst());
+            if (state.tokens < charge) {
+                throw reject(state, "rate", "Client '%s' exceeded its rate quota for %s (cost %.1f, %.1f of %.0f units left, refilling %.1f/s). Retry later."
+                        .formatted(client, tool, cost, state.tokens, settings.burst(), settings.ratePerSecond()));
+            }
+            if (state.active >= settings.maxConcurrent()) {
+                throw reject(state, "concurrency", "Client '%s' already has %d tool calls running or queued (limit %d); %s was rejected. Retry when one completes."
+                        .formatted(client, state.active, settings.maxConcurrent(), tool));
+            }
+            double weight = Math.min(Math.max(cost, 0), properties.capacity());
+            state.start(charge);
+            if (queue.isEmpty() && inUse + weight <= properties.capacity()) {
+                inUse += weight;
+                return grant(state, weight);
+            }
+            if (!wait || queue.size() >= properties.maxQueue()) {
+                state.undo(charge);
+                throw reject(state, "queue_full", wait
+                        ? "Tool capacity is saturated with %d calls queued; %s from client '%s' was rejected. Retry later.".formatted(queue.size(), tool, client)
+                        : "Tool capacity is saturated; %s from client '%s' was rejected. Retry later.".formatted(tool, client));
+            }
+            Waiter waiter = new Waiter(settings.priority(), sequence++, weight, lock.newCondition());
+            queue.add(waiter);
+            long remaining = timeoutNanos;
+            try {
+                while (!waiter.granted) {
+                    if (remaining <= 0) {
+                        throw abandon(waiter, state, charge, "%s from client '%s' waited %d ms for tool capacity. Retry later."
+                                .formatted(tool, client, properties.queueTimeout().toMillis()));
+                    }
+                    remaining = waiter.signal.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!waiter.granted) {
+                    throw abandon(waiter, state, charge, "%s from client '%s' was interrupted while waiting for tool capacity."
+                            .formatted(tool, client));
+                }
+            }
+            return grant(state, weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit grant(ClientState state, double weight) {
+        state.totals.accepted++;
+        return new Permit(this, state, weight);
+    }
+
+    private ToolQuotaExceededException abandon(Waiter waiter, ClientState state, double charge, String message) {
+        queue.remove(waiter);
+        state.undo(charge);
+        // The leaving waiter may have been blocking smaller ones behind it
+        dispatch();
+        return reject(state, "timeout", message);
+    }
+
+    private ToolQuotaExceededException reject(ClientState state, String reason, String message) {
+        state.totals.rejected.merge(reason, 1L, Long::sum);
+        log.warn("[Quota] Rejected ({}): {}", reason, message);
+        return new ToolQuotaExceededException(state.name, reason, message);
+    }
+
+    private void release(ClientState state, double weight) {
+        lock.lock();
+        try {
+            inUse = Math.max(0, inUse - weight);
+            state.release();
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Grant queued calls in schedule order while the next one fits. Called with the lock held. */
+    private void dispatch() {
+        while (!queue.isEmpty() && inUse + queue.peek().weight <= properties.capacity()) {
+            Waiter next = queue.poll();
+            inUse += next.weight;
+            next.granted = true;
+            next.signal.signal();
+        }
+    }
+
+    /** Forget idle sessions whose bucket has refilled; they would start out the same. Called with the lock held. */
+    private void prune(long now) {
+        sessions.values().removeIf(state -> {
+            if (state.active > 0) return false;
+            state.refill(now);
+            return state.tokens >= state.settings.burst();
+        });
+        sessionless.values().removeIf(key -> !sessions.containsKey(key));
+        pruneAt = Math.max(MIN_PRUNE_AT, sessions.size() * 2);
+    }
+
+    private ClientState register(String client, long now) {
+        String tag = tag(client);
+        Totals t = totals.computeIfAbsent(tag, this::registerMeters);
+        t.sessions++;
+        ClientState state = new ClientState(client, properties.client(client), t, now);
+        log.debug("[Quota] Session of client '{}': priority {}, {}/s (burst {}), {} concurrent",
+                client, state.settings.priority(), state.settings.ratePerSecond(), state.settings.burst(),
+                state.settings.maxConcurrent());
+        return state;
+    }
+
+    private Totals registerMeters(String tag) {
+        if (meterRegistry != null) {
+            Gauge.builder("mcp.quota.active", this, q -> q.stats(tag).active())
+                    .tag("client", tag).description("Tool calls running or queued").register(meterRegistry);
+            FunctionCounter.builder("mcp.quota.accepted", this, q -> q.stats(tag).accepted())
+                    .tag("client", tag).register(meterRegistry);
+            for (String reason : REASONS) {
+                FunctionCounter.builder("mcp.quota.rejected", this, q -> q.stats(tag).rejected().getOrDefault(reason, 0L))
+                        .tag("client", tag).tag("reason", reason).register(meterRegistry);
+            }
+        }
+        return new Totals(tag);
+    }
+
+    /** An admitted call; release it exactly once when the call completes. */
+    public static final class Permit {
+
+        static final Permit NONE = new Permit(null, null, 0);
+
+        private final ToolQuotas quotas;
+        private final ClientState state;
+        private final double weight;
+        private boolean released;
+
+        private Permit(ToolQuotas quotas, ClientState state, double weight) {
+            this.quotas = quotas;
+            this.state = state;
+            this.weight = weight;
+        }
+
+        public void release() {
+            synchronized (this) {
+                if (released || quotas == null) return;
+                released = true;
+            }
+            quotas.release(state, weight);
+        }
+    }
+
+    /**
+     * @param sessions quota states currently kept, one per session
+     * @param clients  totals per meter tag
+     */
+    public record Stats(double capacity, double inUse, int waiting, int sessions, List<ClientStats> clients) {}
+
+    /**
+     * Totals of a meter tag (a configured client name or {@link #OTHER_CLIENTS}).
+     *
+     * @param sessions sessions seen since startup
+     */
+    public record ClientStats(String client, long sessions, int active, long accepted, Map<String, Long> rejected) {}
+
+    /** Counters of one meter tag, across its sessions. */
+    private static final class Totals {
+
+        final String tag;
+        final Map<String, Long> rejected = new HashMap<>();
+        long sessions;
+        int active;
+        long accepted;
+
+        Totals(String tag) {
+            this.tag = tag;
+        }
+
+        ClientStats stats() {
+            return new ClientStats(tag, sessions, active, accepted, Map.copyOf(rejected));
+        }
+    }
+
+    private static final class ClientState {
+
+        final String name;
+        final ToolQuotaProperties.Client settings;
+        final Totals totals;
+        double tokens;
+        long refilledNanos;
+        int active;
+
+        ClientState(String name, ToolQuotaProperties.Client settings, Totals totals, long now) {
+            this.name = name;
+            this.settings = settings;
+            this.totals = totals;
+            this.tokens = settings.burst();
+            this.refilledNanos = now;
+        }
+
+        void refill(long now) {
+            tokens = Math.min(settings.burst(), tokens + (now - refilledNanos) * settings.ratePerSecond() / 1e9);
+            refilledNanos = now;
+        }
+
+        void start(double charge) {
+            tokens -= charge;
+            active++;
+            totals.active++;
+        }
+
+        void undo(double charge) {
+            tokens = Math.min(settings.burst(), tokens + charge);
+            release();
+        }
+
+        void release() {
+            active--;
+            totals.active--;
+        }
+    }
+
+    private static final class Waiter {
+
+        final int priority;
+        final long sequence;
+        final double weight;
+        final Condition signal;
+        boolean granted;
+
+        Waiter(int priority, long sequence, double weight, Condition signal) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.weight = weight;
+            this.signal = signal;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.spring_ai.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulkhead with an AIMD concurrency limit for one upstream.
+ *
+ * The limit grows by roughly one per limit-sized window of fast, successful calls while the
+ * bulkhead is saturated, and is multiplied by the backoff ratio when a call fails or exceeds the
+ * latency threshold. Only calls started after the previous decrease can shrink it again, so one
+ * slow burst does not collapse the limit to its minimum. Callers beyond the limit wait up to the
+ * queue timeout; when the queue is full or the wait times out the call is shed with
+ * {@link BulkheadRejectedException}.
+ */
+public class AdaptiveBulkhead {
+
+    private final String name;
+    private final BulkheadProperties.Upstream settings;
+    private final long latencyThresholdNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long lastDecreaseNanos;
+
+    private long accepted;
+    private long rejectedQueueFull;
+    private long rejectedTimeout;
+
+    public AdaptiveBulkhead(String name, BulkheadProperties.Upstream settings) {
+        this.name = name;
+        this.settings = settings;
+        this.latencyThresholdNanos = settings.latencyThreshold().toNanos();
+        this.limit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), settings.initialLimit()));
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Run a task under a permit. Any exception thrown by the task counts as overload.
+     */
+    public <T, E extends Exception> T execute(Task<T, E> task) throws E {
+        Permit permit = acquire();
+        boolean ok = false;
+        try {
+            T result = task.run();
+            ok = true;
+            return result;
+        } finally {
+            permit.release(!ok);
+        }
+    }
+
+    /**
+     * Wait for a permit.
+     *
+     * @throws BulkheadRejectedException if the wait queue is full or the queue timeout elapses
+     */
+    public Permit acquire() {
+        long timeoutNanos = settings.queueTimeout().toNanos();
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                return grant();
+            }
+            if (waiting >= settings.maxQueue()) {
+                rejectedQueueFull++;
+                throw rejection("queue_full", "%d callers already waiting".formatted(waiting));
+            }
+            waiting++;
+            try {
+                long remaining = timeoutNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        rejectedTimeout++;
+                        throw rejection("timeout", "no permit within %d ms".formatted(settings.queueTimeout().toMillis()));
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejectedTimeout++;
+                throw rejection("timeout", "interrupted while waiting");
+            } finally {
+                waiting--;
+            }
+            return grant();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take a permit only if one is free right now. For non-blocking callers, which must not park a
+     * thread in the wait queue.
+     *
+     * @throws BulkheadRejectedException if the bulkhead is at its limit
+     */
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                return grant();
+            }
+            rejectedQueueFull++;
+            throw rejection("queue_full", "no free permit for a non-blocking call");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(name, (int) limit, inFlight, waiting, accepted, rejectedQueueFull, rejectedTimeout);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit grant() {
+        inFlight++;
+        accepted++;
+        return new Permit(System.nanoTime(), inFlight >= (int) limit);
+    }
+
+    private void onRelease(Permit permit, boolean overloaded) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            inFlight--;
+            if (overloaded || now - permit.startNanos > latencyThresholdNanos) {
+                if (permit.startNanos > lastDecreaseNanos) {
+                    limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+                    lastDecreaseNanos = now;
+                }
+            } else if (permit.saturated) {
+                limit = Math.min(settings.maxLimit(), limit + 1.0 / limit);
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BulkheadRejectedException rejection(String reason, String detail) {
+        return new BulkheadRejectedException(name, reason,
+                "Upstream '%s' is overloaded (limit %d, %d in flight): %s. Request shed, retry later."
+                        .formatted(name, (int) limit, inFlight, detail));
+    }
+
+    /**
+     * Granted slot; must be released exactly once.
+     */
+    public final class Permit {
+        private final long startNanos;
+        private final boolean saturated;
+        private boolean released;
+
+        private Permit(long startNanos, boolean saturated) {
+            this.startNanos = startNanos;
+            this.saturated = saturated;
+        }
+
+        /**
+         * @param overloaded true if the call failed in a way that indicates upstream overload
+         */
+        public void release(boolean overloaded) {
+            if (released) return;
+            released = true;
+            onRelease(this, overloaded);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * Point-in-time view of the bulkhead.
+     */
+    public record Stats(String upstream, int limit, int inFlight, int waiting,
+                        long accepted, long rejectedQueueFull, long rejectedTimeout) {}
+}
@@ -0,0 +1,34 @@
+package org.example.spring_ai.resilience;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient counterpart of {@link BulkheadHttpInterceptor}. Permits are taken with
+ * {@link AdaptiveBulkhead#tryAcquire()}: a reactive caller never waits in the queue, so exchanges
+ * beyond the limit are shed immediately. Errors and 5xx responses count as overload.
+ */
+public class BulkheadExchangeFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveBulkhead bulkhead;
+
+    public BulkheadExchangeFilter(AdaptiveBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public @NonNull Mono<ClientResponse> filter(@NonNull ClientRequest request, @NonNull ExchangeFunction next) {
+        return Mono.defer(() -> {
+            AdaptiveBulkhead.Permit permit = bulkhead.tryAcquire();
+            return next.exchange(request)
+                    .doOnSuccess(response -> permit.release(response != null && response.statusCode().is5xxServerError()))
+                    .doOnError(e -> permit.release(true))
+                    .doOnCancel(() -> permit.release(false));
+        });
+    }
+}
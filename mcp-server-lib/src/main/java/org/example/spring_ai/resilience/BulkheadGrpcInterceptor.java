@@ -0,0 +1,99 @@
+package org.example.spring_ai.resilience;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Holds a bulkhead permit from call start until the call closes. Unavailable, deadline-exceeded
+ * and resource-exhausted statuses count as overload.
+ *
+ * Calls started from threads that must not block (event loops, gRPC callbacks, pools serving
+ * async tools) set {@link #NON_BLOCKING} on their call options: they take the permit with
+ * {@link AdaptiveBulkhead#tryAcquire()} like {@link BulkheadExchangeFilter} and, when none is free,
+ * close immediately with {@code RESOURCE_EXHAUSTED} instead of waiting in the queue.
+ */
+public class BulkheadGrpcInterceptor implements ClientInterceptor {
+
+    /** Call option marking a call whose caller must not wait for a permit. */
+    public static final CallOptions.Key<Boolean> NON_BLOCKING = CallOptions.Key.createWithDefault("bulkhead.nonBlocking", false);
+
+    private final AdaptiveBulkhead bulkhead;
+
+    public BulkheadGrpcInterceptor(AdaptiveBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                               CallOptions callOptions, Channel next) {
+        boolean nonBlocking = callOptions.getOption(NON_BLOCKING);
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+
+            /** Set when the call was rejected in {@link #start}; the delegate is then never started. */
+            private boolean rejected;
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                AdaptiveBulkhead.Permit permit;
+                if (nonBlocking) {
+                    try {
+                        permit = bulkhead.tryAcquire();
+                    } catch (BulkheadRejectedException e) {
+                        rejected = true;
+                        responseListener.onClose(Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage()).withCause(e),
+                                new Metadata());
+                        return;
+                    }
+                } else {
+                    permit = bulkhead.acquire();
+                }
+                try {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            permit.release(isOverload(status));
+                            super.onClose(status, trailers);
+                        }
+                    }, headers);
+                } catch (RuntimeException e) {
+                    permit.release(true);
+                    throw e;
+                }
+            }
+
+            @Override
+            public void request(int numMessages) {
+                if (!rejected) super.request(numMessages);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                if (!rejected) super.sendMessage(message);
+            }
+
+            @Override
+            public void halfClose() {
+                if (!rejected) super.halfClose();
+            }
+
+            @Override
+            public void cancel(String message, Throwable cause) {
+                if (!rejected) super.cancel(message, cause);
+            }
+        };
+    }
+
+    private static boolean isOverload(Status status) {
+        return switch (status.getCode()) {
+            case UNAVAILABLE, DEADLINE_EXCEEDED, RESOURCE_EXHAUSTED -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.spring_ai.resilience;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+/**
+ * Runs each REST exchange under a bulkhead permit. I/O errors and 5xx responses count as overload,
+ * except when the calling thread was interrupted (e.g. a hedged attempt cancelled by the winner).
+ */
+public class BulkheadHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveBulkhead bulkhead;
+
+    public BulkheadHttpInterceptor(AdaptiveBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public @NonNull ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body, @NonNull ClientHttpRequestExecution execution) throws IOException {
+        AdaptiveBulkhead.Permit permit = bulkhead.acquire();
+        boolean overloaded = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            overloaded = response.getStatusCode().is5xxServerError();
+            return response;
+        } finally {
+            permit.release(overloaded && !Thread.currentThread().isInterrupted());
+        }
+    }
+}
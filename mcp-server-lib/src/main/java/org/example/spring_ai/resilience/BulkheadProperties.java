@@ -0,0 +1,44 @@
+package org.example.spring_ai.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-upstream bulkhead settings ("mcp.bulkhead.upstreams.&lt;name&gt;.*").
+ * Upstreams without an entry use {@link Upstream#DEFAULT}.
+ */
+@ConfigurationProperties(prefix = "mcp.bulkhead")
+public record BulkheadProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<String, Upstream> upstreams) {
+
+    public Upstream upstream(String name) {
+        Upstream u = upstreams == null ? null : upstreams.get(name);
+        return u == null ? Upstream.DEFAULT : u;
+    }
+
+    /**
+     * @param initialLimit     concurrency limit at startup
+     * @param minLimit         lower bound for the adaptive limit
+     * @param maxLimit         upper bound for the adaptive limit
+     * @param maxQueue         callers allowed to wait for a permit; beyond that calls are shed immediately
+     * @param queueTimeout     maximum time a caller waits for a permit
+     * @param latencyThreshold calls slower than this count as overload and shrink the limit
+     * @param backoffRatio     multiplicative decrease applied on overload (0..1)
+     */
+    public record Upstream(
+            @DefaultValue("8") int initialLimit,
+            @DefaultValue("1") int minLimit,
+            @DefaultValue("32") int maxLimit,
+            @DefaultValue("32") int maxQueue,
+            @DefaultValue("2s") Duration queueTimeout,
+            @DefaultValue("1s") Duration latencyThreshold,
+            @DefaultValue("0.75") double backoffRatio) {
+
+        public static final Upstream DEFAULT =
+                new Upstream(8, 1, 32, 32, Duration.ofSeconds(2), Duration.ofSeconds(1), 0.75);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.spring_ai.resilience;
+
+/**
+ * Thrown when a call is shed by an upstream bulkhead. The message is returned to the MCP client
+ * as the tool error, so it states which upstream is saturated and that the call can be retried.
+ */
+public class BulkheadRejectedException extends RuntimeException {
+
+    private final String upstream;
+    private final String reason;
+
+    public BulkheadRejectedException(String upstream, String reason, String message) {
+        super(message);
+        this.upstream = upstream;
+        this.reason = reason;
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+
+    /** "queue_full" or "timeout". */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.spring_ai.resilience;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of per-upstream bulkheads, created lazily from {@link BulkheadProperties} and
+ * published as "mcp.bulkhead.*" meters tagged with the upstream name.
+ */
+@Slf4j
+@Component
+public class Bulkheads {
+
+    public static final String OMS = "oms";
+    public static final String OLLAMA = "ollama";
+    public static final String QDRANT = "qdrant";
+    public static final String FILESYSTEM = "filesystem";
+
+    private static final BulkheadProperties.Upstream UNBOUNDED = new BulkheadProperties.Upstream(
+            1_000_000, 1_000_000, 1_000_000, 0, Duration.ZERO, Duration.ofDays(1), 1.0);
+
+    private final BulkheadProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<String, AdaptiveBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public Bulkheads(BulkheadProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public AdaptiveBulkhead get(String upstream) {
+        return bulkheads.computeIfAbsent(upstream, this::create);
+    }
+
+    public List<AdaptiveBulkhead.Stats> stats() {
+        return bulkheads.values().stream().map(AdaptiveBulkhead::stats).toList();
+    }
+
+    private AdaptiveBulkhead create(String upstream) {
+        BulkheadProperties.Upstream settings = properties.enabled() ? properties.upstream(upstream) : UNBOUNDED;
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(upstream, settings);
+        log.info("[Bulkhead] {}: initial limit {} (min {}, max {}), queue {} / {} ms",
+                upstream, settings.initialLimit(), settings.minLimit(), settings.maxLimit(),
+                settings.maxQueue(), settings.queueTimeout().toMillis());
+        meterRegistry.ifAvailable(registry -> register(registry, bulkhead));
+        return bulkhead;
+    }
+
+    private static void register(MeterRegistry registry, AdaptiveBulkhead bulkhead) {
+        String upstream = bulkhead.getName();
+        Gauge.builder("mcp.bulkhead.limit", bulkhead, b -> b.stats().limit())
+                .tag("upstream", upstream).description("Adaptive concurrency limit").register(registry);
+        Gauge.builder("mcp.bulkhead.in.flight", bulkhead, b -> b.stats().inFlight())
+                .tag("upstream", upstream).register(registry);
+        Gauge.builder("mcp.bulkhead.waiting", bulkhead, b -> b.stats().waiting())
+                .tag("upstream", upstream).register(registry);
+        FunctionCounter.builder("mcp.bulkhead.accepted", bulkhead, b -> b.stats().accepted())
+                .tag("upstream", upstream).register(registry);
+        FunctionCounter.builder("mcp.bulkhead.rejected", bulkhead, b -> b.stats().rejectedQueueFull())
+                .tag("upstream", upstream).tag("reason", "queue_full").register(registry);
+        FunctionCounter.builder("mcp.bulkhead.rejected", bulkhead, b -> b.stats().rejectedTimeout())
+                .tag("upstream", upstream).tag("reason", "timeout").register(registry);
+    }
+}
@@ -0,0 +1,287 @@
+package org.example.spring_ai.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.MDC;
+
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes idempotent reads with bounded retries and optional hedging.
+ *
+ * Retries use full-jitter exponential backoff and only apply to errors accepted by the
+ * {@code retryable} predicate. When hedging is enabled a second attempt is started once the
+ * observed p95 latency (never below the minimum hedge delay) has elapsed, and the first
+ * successful response wins; the losing attempt is then cancelled and its thread interrupted, so
+ * it gives up its connection and bulkhead permit. Both retries and hedges draw from a shared
+ * {@link RetryBudget} so they cannot multiply load on a struggling upstream.
+ *
+ * Hedged attempts run on at most {@code hedgeMaxThreads} threads. When all are busy the primary
+ * attempt runs on the caller's thread without a hedge, and a due hedge is skipped.
+ */
+@Slf4j
+public class HedgedRetryExecutor implements AutoCloseable {
+
+    private static final int MIN_SAMPLES_FOR_PERCENTILE = 20;
+    private static final ContextSnapshotFactory CONTEXT = ContextSnapshotFactory.builder().build();
+
+    private final String name;
+    private final Settings settings;
+    private final RetryBudget budget;
+    private final LatencyTracker latencies = new LatencyTracker(512);
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+    private final AtomicLong saturated = new AtomicLong();
+
+    public HedgedRetryExecutor(String name, Settings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.budget = new RetryBudget(settings.budgetRatio(), settings.budgetMaxTokens());
+        this.executor = settings.hedging() ? newHedgePool(name, Math.max(2, settings.hedgeMaxThreads())) : null;
+    }
+
+    private static ThreadPoolExecutor newHedgePool(String name, int maxThreads) {
+        AtomicInteger threads = new AtomicInteger();
+        // No queue: an attempt that cannot start right away is not worth hedging
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, name + "-hedge-" + threads.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * @param attempt   one upstream call; must be safe to run more than once concurrently
+     * @param retryable errors worth another attempt (transient I/O, 5xx, throttling)
+     */
+    public <T> T execute(Supplier<T> attempt, Predicate<Throwable> retryable) {
+        budget.deposit();
+        for (int n = 1; ; n++) {
+            try {
+                return settings.hedging() ? hedged(attempt) : timed(attempt);
+            } catch (RuntimeException e) {
+                if (n >= settings.maxAttempts() || !retryable.test(e)) throw e;
+                if (!budget.tryWithdraw()) {
+                    budgetExhausted.incrementAndGet();
+                    log.debug("[{}] Retry budget exhausted, failing after attempt {}", name, n);
+                    throw e;
+                }
+                retries.incrementAndGet();
+                long backoff = backoffMillis(n);
+                log.debug("[{}] Attempt {} failed ({}), retrying in {} ms", name, n, e.toString(), backoff);
+                sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * @return delay after which a hedge is sent
+     */
+    public Duration hedgeDelay() {
+        long min = settings.hedgeMinDelay().toNanos();
+        if (latencies.count() < MIN_SAMPLES_FOR_PERCENTILE) {
+            return Duration.ofNanos(Math.max(min, settings.hedgeInitialDelay().toNanos()));
+        }
+        return Duration.ofNanos(Math.max(min, latencies.percentile(settings.hedgePercentile())));
+    }
+
+    public Stats stats() {
+        return new Stats(retries.get(), hedges.get(), hedgeWins.get(), budgetExhausted.get(), saturated.get(),
+                budget.balance(), hedgeDelay().toMillis());
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    private <T> T timed(Supplier<T> attempt) {
+        long start = System.nanoTime();
+        T result = attempt.get();
+        latencies.record(System.nanoTime() - start);
+        return result;
+    }
+
+    private <T> T hedged(Supplier<T> attempt) {
+        Supplier<T> task = withCallerContext(attempt);
+        CompletableFuture<T> primary = new CompletableFuture<>();
+        Future<?> primaryRun = submit(task, primary);
+        if (primaryRun == null) {
+            return timed(attempt);
+        }
+        long delay = hedgeDelay().toNanos();
+        try {
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // primary is slow: hedge if the budget allows
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primaryRun.cancel(true);
+            throw new CancellationException("Interrupted while waiting for " + name);
+        }
+        if (!budget.tryWithdraw()) {
+            budgetExhausted.incrementAndGet();
+            return join(primary);
+        }
+        CompletableFuture<T> hedge = new CompletableFuture<>();
+        Future<?> hedgeRun = submit(task, hedge);
+        if (hedgeRun == null) {
+            return join(primary);
+        }
+        hedges.incrementAndGet();
+        return join(firstSuccessful(primary, primaryRun, hedge, hedgeRun));
+    }
+
+    /**
+     * Start an attempt on the hedge pool, completing {@code result} with its outcome.
+     *
+     * @return the running task, or null if every hedge thread is busy
+     */
+    private <T> Future<?> submit(Supplier<T> task, CompletableFuture<T> result) {
+        try {
+            return executor.submit(() -> {
+                try {
+                    result.complete(timed(task));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            saturated.incrementAndGet();
+            log.debug("[{}] All {} hedge threads busy, not hedging", name, settings.hedgeMaxThreads());
+            return null;
+        }
+    }
+
+    /**
+     * Carry the caller's MDC (tool name, debug flag) and current observation onto hedge threads,
+     * so hedged HTTP calls stay children of the tool span.
+     */
+    private static <T> Supplier<T> withCallerContext(Supplier<T> attempt) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        ContextSnapshot snapshot = CONTEXT.captureAll();
+        return () -> {
+            if (mdc != null) MDC.setContextMap(mdc);
+            try (ContextSnapshot.Scope scope = snapshot.setThreadLocals()) {
+                return attempt.get();
+            } finally {
+                MDC.clear();
+            }
+        };
+    }
+
+    /**
+     * Complete with the first successful attempt and cancel the other, or fail once both failed.
+     */
+    private <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary, Future<?> primaryRun,
+                                                     CompletableFuture<T> hedge, Future<?> hedgeRun) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((value, error) -> {
+            if (error == null) {
+                if (result.complete(value)) hedgeRun.cancel(true);
+            } else if (failures.incrementAndGet() == 2) {
+                result.completeExceptionally(error);
+            }
+        });
+        hedge.whenComplete((value, error) -> {
+            if (error == null) {
+                if (result.complete(value)) {
+                    hedgeWins.incrementAndGet();
+                    primaryRun.cancel(true);
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable t) {
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t instanceof RuntimeException re ? re : new IllegalStateException(t);
+    }
+
+    private long backoffMillis(int attempt) {
+        long cap = settings.maxBackoff().toMillis();
+        long exp = settings.initialBackoff().toMillis() << Math.min(attempt - 1, 20);
+        return ThreadLocalRandom.current().nextLong(Math.min(cap, exp) + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted during retry backoff");
+        }
+    }
+
+    /**
+     * @param maxAttempts       total attempts including the first
+     * @param initialBackoff    base of the exponential backoff (full jitter)
+     * @param maxBackoff        backoff cap
+     * @param hedging           send a second request when the first is slower than the hedge delay
+     * @param hedgePercentile   latency percentile used as hedge delay once enough samples exist
+     * @param hedgeInitialDelay hedge delay until enough samples exist
+     * @param hedgeMinDelay     lower bound for the hedge delay
+     * @param hedgeMaxThreads   threads running hedged attempts (primaries and hedges together)
+     * @param budgetRatio       extra attempts allowed per primary request
+     * @param budgetMaxTokens   burst of extra attempts allowed
+     */
+    public record Settings(
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            boolean hedging,
+            double hedgePercentile,
+            Duration hedgeInitialDelay,
+            Duration hedgeMinDelay,
+            int hedgeMaxThreads,
+            double budgetRatio,
+            int budgetMaxTokens) {}
+
+    /**
+     * @param saturated attempts run without hedging because every hedge thread was busy
+     */
+    public record Stats(long retries, long hedges, long hedgeWins, long budgetExhausted, long saturated,
+                        double budgetBalance, long hedgeDelayMillis) {}
+}
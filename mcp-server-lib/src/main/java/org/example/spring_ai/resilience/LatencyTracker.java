@@ -0,0 +1,42 @@
+package org.example.spring_ai.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of the most recent call latencies for percentile estimates (e.g. hedge delays).
+ */
+public class LatencyTracker {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    public LatencyTracker(int window) {
+        this.samples = new long[window];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) count++;
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * @param quantile value in (0, 1], e.g. 0.95
+     * @return latency in nanos at the quantile, or -1 without samples
+     */
+    public long percentile(double quantile) {
+        long[] copy;
+        synchronized (this) {
+            if (count == 0) return -1;
+            copy = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(quantile * copy.length) - 1;
+        return copy[Math.max(0, Math.min(copy.length - 1, index))];
+    }
+}
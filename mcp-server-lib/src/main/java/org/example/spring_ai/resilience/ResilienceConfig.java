@@ -0,0 +1,31 @@
+package org.example.spring_ai.resilience;
+
+import org.springframework.ai.ollama.OllamaEmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires bulkheads into upstream clients that are not created by this application
+ * (the auto-configured Ollama embedding model; the in-process model has no upstream to guard).
+ * OMS REST and Qdrant gRPC clients attach their interceptors where they are built.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public static BeanPostProcessor embeddingModelBulkheadPostProcessor(ObjectProvider<Bulkheads> bulkheads) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof OllamaEmbeddingModel model) {
+                    return new GuardedEmbeddingModel(model, bulkheads.getObject().get(Bulkheads.OLLAMA));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.spring_ai.resilience;
+
+/**
+ * Token bucket limiting extra attempts (retries and hedges) to a fraction of primary requests.
+ * Each primary request deposits {@code ratio} tokens up to {@code maxTokens}; each extra attempt
+ * withdraws one. With ratio 0.1 extra load stays below ~10% even when the upstream is failing.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    public synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1.0) return false;
+        tokens -= 1.0;
+        return true;
+    }
+
+    public synchronized double balance() {
+        return tokens;
+    }
+}
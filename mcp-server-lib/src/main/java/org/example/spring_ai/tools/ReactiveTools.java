@@ -0,0 +1,168 @@
+package org.example.spring_ai.tools;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.example.spring_ai.cache.CachingToolCallback;
+import org.example.spring_ai.cache.CorpusVersion;
+import org.example.spring_ai.cache.ToolResultCache;
+import org.example.spring_ai.encoding.ResponseEncoding;
+import org.example.spring_ai.logging.LoggingToolCallback;
+import org.example.spring_ai.quota.QuotaToolCallback;
+import org.example.spring_ai.quota.ToolCostEstimator;
+import org.example.spring_ai.quota.ToolQuotas;
+import org.example.spring_ai.warmup.AccessStats;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.util.json.JsonParser;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Builds native async MCP tool specifications for the async server mode
+ * ({@code spring.ai.mcp.server.type=ASYNC}).
+ *
+ * The blocking tool callbacks are bridged by Spring AI onto a bounded elastic scheduler, one
+ * parked thread per in-flight call. The tools listed in {@link #TOOL_NAMES} instead return a
+ * {@link Mono} that completes from the WebClient event loop, the Qdrant gRPC callbacks or the doc
+ * I/O pool, so thread count stays flat as concurrent calls grow. Each call is observed as an
+ * "mcp.tool" span like {@code ObservedToolCallback}; the span is current while the handler is
+ * invoked and is put into the Reactor context of its {@link Mono}, so upstream calls become child
+ * spans on either path. Cacheable tools share the {@link ToolResultCache} with their blocking
+ * counterparts; hits replay the {@link AccessStats}
+ * accesses recorded on the calling thread while the handler was invoked. Cache misses are admitted
+ * through the {@link ToolQuotas} without waiting: a call that would have to queue for capacity is rejected, as a
+ * parked caller would pin an event-loop thread. Results go through the same {@link ResponseEncoding}
+ * as the blocking tools. Tool names, descriptions and input schemas come from the blocking
+ * definitions, so clients see the same tools in both modes, and like {@code LoggingToolCallback}
+ * each call puts the tool name and debug flag into the MDC while it runs on the calling thread and
+ * logs its input when the flag is set.
+ */
+@Slf4j
+public class ReactiveTools {
+
+    /** Tools with a native async implementation; their blocking callbacks are not registered in async mode. */
+    public static final Set<String> TOOL_NAMES = Set.of("searchOrders", "semanticSearchDocs", "readDomainDoc", "readDocSection");
+
+    private final ObservationRegistry observationRegistry;
+    private final ToolResultCache cache;
+    private final CorpusVersion corpusVersion;
+    private final AccessStats accessStats;
+    private final Set<String> cachedTools;
+    private final ToolQuotas quotas;
+    private final ToolCostEstimator costEstimator;
+    private final ResponseEncoding encoding;
+
+    public ReactiveTools(ObservationRegistry observationRegistry, ToolResultCache cache, CorpusVersion corpusVersion,
+                         AccessStats accessStats, Collection<String> cachedTools, ToolQuotas quotas,
+                         ToolCostEstimator costEstimator, ResponseEncoding encoding) {
+        this.observationRegistry = observationRegistry;
+        this.cache = cache;
+        this.corpusVersion = corpusVersion;
+        this.accessStats = accessStats;
+        this.cachedTools = Set.copyOf(cachedTools);
+        this.quotas = quotas;
+        this.costEstimator = costEstimator;
+        this.encoding = encoding;
+    }
+
+    /**
+     * @param definition schema of the blocking variant of the tool
+     * @param handler    non-blocking implementation; its result is serialized to JSON like a tool callback result
+     */
+    public McpServerFeatures.AsyncToolSpecification spec(ToolDefinition definition, Function<Arguments, Mono<?>> handler) {
+        ToolDefinition withDebug = LoggingToolCallback.withDebugFlag(definition);
+        McpSchema.Tool tool = new McpSchema.Tool(withDebug.name(), withDebug.description(), withDebug.inputSchema());
+        return new McpServerFeatures.AsyncToolSpecification(tool,
+                (exchange, arguments) -> call(definition.name(), exchange.getClientInfo(),
+                        arguments == null ? Map.of() : arguments, handler));
+    }
+
+    Mono<McpSchema.CallToolResult> call(String name, McpSchema.Implementation clientInfo,
+                                                Map<String, Object> arguments, Function<Arguments, Mono<?>> handler) {
+        boolean debug = Boolean.parseBoolean(String.valueOf(arguments.get("debug")));
+        return Mono.defer(() -> LoggingToolCallback.inContext(name, debug, () -> {
+            long start = System.nanoTime();
+            if (debug) {
+                log.info("[MCP] {} input: {}", name, JsonParser.toJson(arguments));
+            }
+            Observation observation = Observation.createNotStarted("mcp.tool", observationRegistry)
+                    .contextualName("tool " + name)
+                    .lowCardinalityKeyValue("mcp.tool.name", name)
+                    .start();
+            String key = cachedTools.contains(name) ? CachingToolCallback.key(name, JsonParser.toJson(arguments)) : null;
+            long version = key == null ? 0 : corpusVersion.current();
+            ToolResultCache.Entry cached = key == null ? null : cache.get(key, version);
+            if (cached != null) {
+                accessStats.replay(cached.accesses());
+            }
+            List<AccessStats.Access> accesses = new ArrayList<>();
+            Mono<String> result = cached != null
+                    ? Mono.just(cached.result())
+                    : Mono.defer(() -> LoggingToolCallback.inContext(name, debug,
+                                    () -> accessStats.capturing(accesses, () -> admitted(name, clientInfo, arguments, handler, observation))))
+                            .map(JsonParser::toJson)
+                            .doOnNext(json -> {
+                                if (key != null) cache.put(key, version, json, accesses);
+                            });
+            return result
+                    .map(json -> new McpSchema.CallToolResult(List.of(new McpSchema.TextContent(encoding.apply(name, json))), false))
+                    .onErrorResume(e -> {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        observation.error(cause);
+                        log.warn("[MCP] {} failed: {}", name, cause.toString());
+                        return Mono.just(new McpSchema.CallToolResult(
+                                List.of(new McpSchema.TextContent(String.valueOf(cause.getMessage()))), true));
+                    })
+                    .doOnSuccess(done -> log.debug("[MCP] {} completed in {} ms", name, (System.nanoTime() - start) / 1_000_000))
+                    .doFinally(signal -> observation.stop());
+        }));
+    }
+
+    private Mono<?> admitted(String name, McpSchema.Implementation clientInfo, Map<String, Object> arguments,
+                             Function<Arguments, Mono<?>> handler, Observation observation) {
+        ToolQuotas.Permit permit = quotas.tryAcquire(clientInfo, QuotaToolCallback.clientName(clientInfo), name,
+                costEstimator.cost(name, arguments));
+        // Subscribe now, so the handler's synchronous part runs (and records accesses) on this thread;
+        // the scope covers upstream calls started there (Qdrant gRPC), the Reactor context the rest (WebClient)
+        try (Observation.Scope scope = observation.openScope()) {
+            CompletableFuture<?> future = handler.apply(new Arguments(arguments))
+                    .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation))
+                    .toFuture();
+            return Mono.fromFuture(future).doFinally(signal -> permit.release());
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Tool arguments as sent by the client, converted to parameter types the way method tool
+     * callbacks bind them.
+     */
+    public record Arguments(Map<String, Object> values) {
+
+        public <T> T get(String name, Class<T> type) {
+            Object value = values.get(name);
+            return value == null ? null : type.cast(JsonParser.toTypedObject(value, type));
+        }
+
+        public List<String> strings(String name) {
+            Object value = values.get(name);
+            if (value == null) return null;
+            if (value instanceof Collection<?> list) return list.stream().map(String::valueOf).toList();
+            return List.of(value.toString());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.spring_ai.tracing;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Tool callback decorator opening an "mcp.tool" observation (span and timer) per invocation.
+ * Upstream calls made by the tool (OMS HTTP, embeddings, Qdrant gRPC, file reads) become child
+ * spans; time not covered by children is local work such as result serialization.
+ */
+public class ObservedToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final ObservationRegistry registry;
+
+    public ObservedToolCallback(ToolCallback delegate, ObservationRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        String name = delegate.getToolDefinition().name();
+        return Observation.createNotStarted("mcp.tool", registry)
+                .contextualName("tool " + name)
+                .lowCardinalityKeyValue("mcp.tool.name", name)
+                .highCardinalityKeyValue("mcp.tool.input.chars", String.valueOf(toolInput == null ? 0 : toolInput.length()))
+                .observe(() -> toolContext == null ? delegate.call(toolInput) : delegate.call(toolInput, toolContext));
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.spring_ai.tracing;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Optional file export of spans. Spring Boot collects every {@code SpanExporter} bean into the
+ * OpenTelemetry batch processor, so this runs alongside the OTLP exporter
+ * ("management.otlp.tracing.endpoint") when both are configured.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnExpression("'${management.tracing.enabled:true}' == 'true' and '${mcp.tracing.file.path:}' != ''")
+    public FileSpanExporter fileSpanExporter(@Value("${mcp.tracing.file.path}") String path) throws IOException {
+        return new FileSpanExporter(Paths.get(path));
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.spring_ai.vector;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.example.spring_ai.docs.CorpusPack;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.ollama.OllamaEmbeddingModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.ai.transformers.TransformersEmbeddingModel;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds a {@link CorpusPack} from doc directories: every doc's normalized text, sections and token
+ * index, plus the chunks {@link DocumentIndexerService} would index, optionally with their embeddings.
+ * Run with {@code ./gradlew corpusPack -Ppack.docs=../specs -Ppack.embeddings=transformers}.
+ *
+ * Options (system properties):
+ * - pack.docs: comma-separated base directories, as domain.docs.paths
+ * - pack.output: pack file
+ * - pack.chunkSize, pack.chunkOverlap: must match vector.store.chunk-size/chunk-overlap for the
+ *   packed chunks and vectors to be used (default 1000/200)
+ * - pack.embeddings: none (default), transformers or ollama; the server uses the vectors only when
+ *   it runs the same model
+ * - pack.onnxModel (transformers), pack.ollamaUrl and pack.ollamaModel (ollama)
+ */
+@Slf4j
+public final class CorpusPackBuilder {
+
+    private CorpusPackBuilder() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Path> baseDirs = new ArrayList<>();
+        for (String part : prop("docs", "oms/specs").split(",")) {
+            if (!part.isBlank()) baseDirs.add(Paths.get(part.trim()).toAbsolutePath().normalize());
+        }
+        Path output = Paths.get(prop("output", "build/corpus.pack"));
+        int chunkSize = Integer.parseInt(prop("chunkSize", "1000"));
+        int chunkOverlap = Integer.parseInt(prop("chunkOverlap", "200"));
+        String embeddings = prop("embeddings", "none").trim();
+
+        long start = System.currentTimeMillis();
+        List<Source> sources = new ArrayList<>();
+        List<Document> allChunks = new ArrayList<>();
+        for (Path baseDir : baseDirs) {
+            if (!Files.isDirectory(baseDir)) {
+                throw new IllegalArgumentException("Not a directory: " + baseDir);
+            }
+            String baseName = VectorNamespaces.baseDirName(baseDir);
+            for (Path file : DocumentIndexerService.listDocFiles(baseDir)) {
+                String relativePath = baseDir.relativize(file).toString().replace('\\', '/');
+                String text = CorpusPack.normalize(Files.readString(file, StandardCharsets.UTF_8));
+                long size = Files.size(file);
+                long lastModified = Files.getLastModifiedTime(file).toMillis();
+                List<Document> chunks = DocumentIndexerService.chunkDocuments(baseName, relativePath,
+                        DocumentIndexerService.packedMetadata(size, lastModified),
+                        DocumentIndexerService.split(text, chunkSize, chunkOverlap));
+                sources.add(new Source(baseName, relativePath, lastModified, size, text, chunks));
+                allChunks.addAll(chunks);
+            }
+        }
+        if (sources.isEmpty()) {
+            throw new IllegalStateException("No .md/.markdown/.txt/.adoc files under " + baseDirs);
+        }
+        log.info("[Pack] Read {} docs ({} chunks) from {}", sources.size(), allChunks.size(), baseDirs);
+
+        String modelName = "";
+        int dimensions = 0;
+        Map<String, float[]> vectors = new HashMap<>();
+        if (!embeddings.equals("none")) {
+            EmbeddingModel model = embeddingModel(embeddings);
+            modelName = EmbeddingModelConfig.modelName(modelEnvironment(embeddings));
+            long embedStart = System.currentTimeMillis();
+            // The same call the vector store makes when it adds documents
+            List<float[]> embedded = model.embed(allChunks, EmbeddingOptions.builder().build(), new TokenCountBatchingStrategy());
+            for (int i = 0; i < allChunks.size(); i++) {
+                vectors.put(allChunks.get(i).getId(), embedded.get(i));
+            }
+            dimensions = embedded.isEmpty() ? 0 : embedded.get(0).length;
+            log.info("[Pack] Embedded {} chunks with {} ({} dims) in {}ms",
+                    allChunks.size(), modelName, dimensions, System.currentTimeMillis() - embedStart);
+        }
+
+        List<CorpusPack.Entry> entries = new ArrayList<>(sources.size());
+        for (Source source : sources) {
+            List<String> texts = source.chunks().stream().map(Document::getText).toList();
+            List<float[]> chunkVectors = dimensions == 0 ? null
+                    : source.chunks().stream().map(chunk -> vectors.get(chunk.getId())).toList();
+            entries.add(new CorpusPack.Entry(source.baseDir(), source.relativePath(), source.lastModified(),
+                    source.size(), source.text(), texts, chunkVectors));
+        }
+        CorpusPack.Manifest manifest = CorpusPack.Writer.write(output, entries, chunkSize, chunkOverlap, modelName, dimensions);
+        log.info("[Pack] ✅ Wrote {} ({} docs, {} bytes, corpus {}) in {}ms", output.toAbsolutePath(),
+                manifest.documents(), Files.size(output), manifest.corpusHash(), System.currentTimeMillis() - start);
+    }
+
+    private static EmbeddingModel embeddingModel(String provider) throws Exception {
+        return switch (provider) {
+            case "ollama" -> OllamaEmbeddingModel.builder()
+                    .ollamaApi(OllamaApi.builder().baseUrl(prop("ollamaUrl", "http://localhost:11434")).build())
+                    .defaultOptions(OllamaOptions.builder().model(prop("ollamaModel", "nomic-embed-text")).build())
+                    .build();
+            case EmbeddingModelConfig.TRANSFORMERS -> {
+                TransformersEmbeddingModel model = new TransformersEmbeddingModel();
+                String modelUri = prop("onnxModel", "");
+                if (!modelUri.isBlank()) {
+                    model.setModelResource(modelUri);
+                }
+                model.afterPropertiesSet();
+                yield new ParallelEmbeddingModel(model, 32, 0);
+            }
+            default -> throw new IllegalArgumentException("Unknown pack.embeddings: " + provider + " (none, transformers, ollama)");
+        };
+    }
+
+    /**
+     * Server properties selecting the same model, so the recorded name matches
+     * {@link EmbeddingModelConfig#modelName} at startup.
+     */
+    private static StandardEnvironment modelEnvironment(String provider) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(EmbeddingModelConfig.PROVIDER_PROPERTY, provider);
+        properties.put("spring.ai.ollama.embedding.options.model", prop("ollamaModel", "nomic-embed-text"));
+        String onnxModel = prop("onnxModel", "");
+        if (!onnxModel.isBlank()) {
+            properties.put("spring.ai.embedding.transformer.onnx.model-uri", onnxModel);
+        }
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("corpusPack", properties));
+        return environment;
+    }
+
+    private static String prop(String name, String defaultValue) {
+        return System.getProperty("pack." + name, defaultValue);
+    }
+
+    private record Source(String baseDir, String relativePath, long lastModified, long size, String text,
+                          List<Document> chunks) {}
+}
@@ -0,0 +1,232 @@
+package org.example.spring_ai.vector;
+
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.util.StringUtils;
+
+import io.qdrant.client.ConditionFactory;
+import io.qdrant.client.grpc.Points;
+
+/**
+ * Optional metadata filters for semantic search, translated into vector store filter expressions.
+ *
+ * All fields are optional:
+ * - pathPrefix: directory prefix, either relative to a base dir ("orders/") or including it ("specs/orders")
+ * - baseDir: name of the configured base directory (e.g. "specs")
+ * - filenameGlob: glob on the file name (e.g. "*.md", "oms_*.md", "domain-model_spec.md")
+ * - modifiedSince: ISO-8601 instant, local date-time (UTC) or date
+ *
+ * Globs that cannot be expressed as a payload match (anything beyond an exact name or "*.ext")
+ * are narrowed by extension where possible and applied as a residual in-process filter.
+ * Wildcard globs match case-insensitively on both sides ("*.MD" finds "notes.md"); an exact
+ * name without wildcards is an exact payload match.
+ *
+ * pathPrefix and modifiedSince rely on the path_prefixes and last_modified_epoch payload fields.
+ * Points indexed before those fields existed do not match these filters until they are rewritten;
+ * {@link DocumentIndexerService#reconcile(boolean)} (run on startup with auto-indexing, or via
+ * reconcileVectorStore) re-upserts such points with the full payload.
+ */
+public record DocSearchFilter(String pathPrefix, String baseDir, String filenameGlob, Instant modifiedSince) {
+
+    /** Payload fields written by {@link DocumentIndexerService} and indexed in Qdrant. */
+    public static final String FIELD_SOURCE = "source";
+    public static final String FIELD_FILENAME = "filename";
+    public static final String FIELD_PATH = "path";
+    public static final String FIELD_BASE_DIR = "base_dir";
+    public static final String FIELD_PATH_PREFIXES = "path_prefixes";
+    public static final String FIELD_EXTENSION = "extension";
+    public static final String FIELD_LAST_MODIFIED = "last_modified";
+    public static final String FIELD_LAST_MODIFIED_EPOCH = "last_modified_epoch";
+
+    public static final DocSearchFilter NONE = new DocSearchFilter(null, null, null, null);
+
+    /**
+     * Build a filter from raw tool arguments, normalizing blanks to null.
+     *
+     * @throws IllegalArgumentException if modifiedSince cannot be parsed
+     */
+    public static DocSearchFilter of(String pathPrefix, String baseDir, String filenameGlob, String modifiedSince) {
+        String prefix = normalizePath(pathPrefix);
+        String base = StringUtils.hasText(baseDir) ? baseDir.trim() : null;
+        String glob = StringUtils.hasText(filenameGlob) ? filenameGlob.trim() : null;
+        Instant since = StringUtils.hasText(modifiedSince) ? parseInstant(modifiedSince.trim()) : null;
+        if (prefix == null && base == null && glob == null && since == null) {
+            return NONE;
+        }
+        return new DocSearchFilter(prefix, base, glob, since);
+    }
+
+    public boolean isEmpty() {
+        return pathPrefix == null && baseDir == null && filenameGlob == null && modifiedSince == null;
+    }
+
+    /**
+     * @return filter expression for the vector store, or null when no payload condition applies
+     */
+    public Filter.Expression toExpression() {
+        FilterExpressionBuilder b = new FilterExpressionBuilder();
+        List<FilterExpressionBuilder.Op> ops = new ArrayList<>();
+        if (pathPrefix != null) {
+            ops.add(b.eq(FIELD_PATH_PREFIXES, pathPrefix));
+        }
+        if (baseDir != null) {
+            ops.add(b.eq(FIELD_BASE_DIR, baseDir));
+        }
+        if (filenameGlob != null) {
+            if (!hasWildcard(filenameGlob)) {
+                ops.add(b.eq(FIELD_FILENAME, filenameGlob));
+            } else {
+                String ext = globExtension(filenameGlob);
+                if (ext != null) {
+                    ops.add(b.eq(FIELD_EXTENSION, ext));
+                }
+            }
+        }
+        if (modifiedSince != null) {
+            ops.add(b.gte(FIELD_LAST_MODIFIED_EPOCH, modifiedSince.toEpochMilli()));
+        }
+        if (ops.isEmpty()) {
+            return null;
+        }
+        FilterExpressionBuilder.Op combined = ops.get(0);
+        for (int i = 1; i < ops.size(); i++) {
+            combined = b.and(combined, ops.get(i));
+        }
+        return combined.build();
+    }
+
+    /**
+     * Same conditions as {@link #toExpression()}, built directly for the Qdrant gRPC API
+     * (used where searches bypass the Spring AI vector store, e.g. batch search).
+     *
+     * @return Qdrant filter, or null when no payload condition applies
+     */
+    public Points.Filter toQdrantFilter() {
+        Points.Filter.Builder filter = Points.Filter.newBuilder();
+        if (pathPrefix != null) {
+            filter.addMust(ConditionFactory.matchKeyword(FIELD_PATH_PREFIXES, pathPrefix));
+        }
+        if (baseDir != null) {
+            filter.addMust(ConditionFactory.matchKeyword(FIELD_BASE_DIR, baseDir));
+        }
+        if (filenameGlob != null) {
+            if (!hasWildcard(filenameGlob)) {
+                filter.addMust(ConditionFactory.matchKeyword(FIELD_FILENAME, filenameGlob));
+            } else {
+                String ext = globExtension(filenameGlob);
+                if (ext != null) {
+                    filter.addMust(ConditionFactory.matchKeyword(FIELD_EXTENSION, ext));
+                }
+            }
+        }
+        if (modifiedSince != null) {
+            filter.addMust(ConditionFactory.range(FIELD_LAST_MODIFIED_EPOCH,
+                    Points.Range.newBuilder().setGte(modifiedSince.toEpochMilli()).build()));
+        }
+        return filter.getMustCount() == 0 ? null : filter.build();
+    }
+
+    /**
+     * @return true if the glob is only partially expressed by {@link #toExpression()} and results
+     *         must be checked with {@link #residualMatcher()}
+     */
+    public boolean needsResidualFilter() {
+        if (filenameGlob == null || !hasWildcard(filenameGlob)) return false;
+        String ext = globExtension(filenameGlob);
+        return ext == null || !filenameGlob.equalsIgnoreCase("*." + ext);
+    }
+
+    /**
+     * The part of the filter that cannot be pushed down to the vector store, as a predicate on
+     * result metadata. Build it once per search; the glob is compiled here, not per candidate.
+     */
+    public Predicate<Map<String, Object>> residualMatcher() {
+        if (!needsResidualFilter()) return metadata -> true;
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + filenameGlob.toLowerCase(Locale.ROOT));
+        return metadata -> {
+            Object filename = metadata.get(FIELD_FILENAME);
+            return filename != null && matcher.matches(Paths.get(filename.toString().toLowerCase(Locale.ROOT)));
+        };
+    }
+
+    /**
+     * All directory prefixes under which a document is reachable, both relative to its base dir
+     * and including the base dir name. Stored as a keyword array so prefix filters become exact matches.
+     */
+    public static List<String> pathPrefixes(String baseName, String relativePath) {
+        List<String> prefixes = new ArrayList<>();
+        prefixes.add(baseName);
+        String[] parts = relativePath.split("/");
+        StringBuilder rel = new StringBuilder();
+        for (int i = 0; i < parts.length - 1; i++) {
+            if (rel.length() > 0) rel.append('/');
+            rel.append(parts[i]);
+            prefixes.add(rel.toString());
+            prefixes.add(baseName + "/" + rel);
+        }
+        return prefixes;
+    }
+
+    /** Lower-case file extension without the dot, or an empty string. */
+    public static String extensionOf(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizePath(String path) {
+        if (!StringUtils.hasText(path)) return null;
+        String p = path.trim().replace('\\', '/');
+        while (p.startsWith("./")) p = p.substring(2);
+        while (p.startsWith("/")) p = p.substring(1);
+        while (p.endsWith("/")) p = p.substring(0, p.length() - 1);
+        return p.isEmpty() ? null : p;
+    }
+
+    private static boolean hasWildcard(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') return true;
+        }
+        return false;
+    }
+
+    private static String globExtension(String glob) {
+        int dot = glob.lastIndexOf('.');
+        if (dot < 0 || dot == glob.length() - 1) return null;
+        String ext = glob.substring(dot + 1);
+        return hasWildcard(ext) ? null : ext.toLowerCase(Locale.ROOT);
+    }
+
+    private static Instant parseInstant(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException ignored) {
+            // fall through to local formats
+        }
+        try {
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException ignored) {
+            // fall through to date only
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay().toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                    "modifiedSince must be an ISO-8601 instant, date-time or date: " + value, e);
+        }
+    }
+}
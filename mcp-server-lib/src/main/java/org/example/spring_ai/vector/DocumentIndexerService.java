@@ -1,110 +1,394 @@
 package org.example.spring_ai.vector;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.example.spring_ai.docs.CorpusPack;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.reader.TextReader;
 import org.springframework.ai.transformer.splitter.TextSplitter;
 import org.springframework.ai.transformer.splitter.TokenTextSplitter;
-import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.stereotype.Service;
 
+import io.qdrant.client.PointIdFactory;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.VectorsFactory;
+import io.qdrant.client.WithPayloadSelectorFactory;
+import io.qdrant.client.WithVectorsSelectorFactory;
+import io.qdrant.client.grpc.Collections.PayloadSchemaType;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points.PointId;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Service for indexing domain documents into the vector store.
- * Automatically indexes documents on application startup if enabled.
+ * Service for indexing domain documents into the vector store, one collection per
+ * {@link VectorNamespaces namespace}. Automatically indexes documents on application startup if enabled.
+ *
+ * Chunk ids are derived from source path, chunk index and chunk text, so re-indexing the same
+ * content upserts the same points. {@link #reconcile(boolean)} compares the expected chunk ids
+ * with the collection, deletes orphaned, changed and duplicate points and embeds only what is missing.
+ *
+ * With a {@link CorpusPack} configured, chunks come from the pack instead of the base directories.
+ * If the pack was built with the same chunk settings and embedding model as configured here, its
+ * chunk vectors are upserted as they are and nothing is embedded at all.
  */
 @Slf4j
 @Service
 @ConditionalOnProperty(name = "vector.store.enabled", havingValue = "true", matchIfMissing = false)
 public class DocumentIndexerService {
 
-    private final VectorStore vectorStore;
-    private final List<Path> baseDirs;
+    /** Payload fields used by semantic search filters; indexed so filtered searches stay fast. */
+    private static final Map<String, PayloadSchemaType> PAYLOAD_INDEXES = Map.of(
+            DocSearchFilter.FIELD_SOURCE, PayloadSchemaType.Keyword,
+            DocSearchFilter.FIELD_FILENAME, PayloadSchemaType.Keyword,
+            DocSearchFilter.FIELD_PATH, PayloadSchemaType.Keyword,
+            DocSearchFilter.FIELD_BASE_DIR, PayloadSchemaType.Keyword,
+            DocSearchFilter.FIELD_PATH_PREFIXES, PayloadSchemaType.Keyword,
+            DocSearchFilter.FIELD_EXTENSION, PayloadSchemaType.Keyword,
+            DocSearchFilter.FIELD_LAST_MODIFIED_EPOCH, PayloadSchemaType.Integer);
+
+    private static final int SCROLL_BATCH_SIZE = 512;
+    private static final int DELETE_BATCH_SIZE = 512;
+    private static final int UPSERT_BATCH_SIZE = 256;
+
+    private final VectorNamespaces namespaces;
+    private final QdrantClient qdrantClient;
+    private final VectorSnapshotService snapshotService;
+    private final ApplicationEventPublisher eventPublisher;
     private final int chunkSize;
     private final int chunkOverlap;
     private final boolean autoIndexOnStartup;
+    private final CorpusPack pack;
+    private final boolean packVectors;
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
 
     public DocumentIndexerService(
-            VectorStore vectorStore,
-            @Value("${domain.docs.paths:oms/specs}") String paths,
+            VectorNamespaces namespaces,
+            QdrantClient qdrantClient,
+            VectorSnapshotService snapshotService,
+            ApplicationEventPublisher eventPublisher,
+            Environment environment,
+            ObjectProvider<CorpusPack> corpusPack,
             @Value("${vector.store.chunk-size:1000}") int chunkSize,
             @Value("${vector.store.chunk-overlap:200}") int chunkOverlap,
             @Value("${vector.store.auto-index-on-startup:true}") boolean autoIndexOnStartup) {
         
-        this.vectorStore = vectorStore;
+        this.namespaces = namespaces;
+        this.qdrantClient = qdrantClient;
+        this.snapshotService = snapshotService;
+        this.eventPublisher = eventPublisher;
         this.chunkSize = chunkSize;
         this.chunkOverlap = chunkOverlap;
         this.autoIndexOnStartup = autoIndexOnStartup;
-        
-        // Parse base directories
-        this.baseDirs = new ArrayList<>();
-        for (String part : paths.split(",")) {
-            String trimmed = part.trim();
-            if (!trimmed.isEmpty()) {
-                Path p = Paths.get(trimmed).toAbsolutePath().normalize();
-                if (Files.exists(p)) {
-                    baseDirs.add(p);
-                }
-            }
-        }
+        this.pack = corpusPack.getIfAvailable();
+        this.packVectors = pack != null && pack.manifest().dimensions() > 0
+                && pack.manifest().hasChunks(chunkSize, chunkOverlap)
+                && pack.manifest().embeddingModel().equals(EmbeddingModelConfig.modelName(environment));
         
         log.info("[Vector] DocumentIndexer configured:");
-        log.info("  - Base dirs: {}", baseDirs);
+        log.info("  - Namespaces: {}", namespaces.names());
         log.info("  - Chunk size: {}", chunkSize);
         log.info("  - Chunk overlap: {}", chunkOverlap);
         log.info("  - Auto-index on startup: {}", autoIndexOnStartup);
+        if (pack != null) {
+            log.info("  - Corpus pack: {} ({} docs, {})", pack.file(), pack.docs().size(),
+                    packVectors ? "precomputed vectors from " + pack.manifest().embeddingModel()
+                            : "embedding at index time");
+        }
     }
 
     /**
-     * Auto-index documents on application startup if enabled.
+     * Auto-index documents on application startup if enabled, namespace by namespace.
+     * A snapshot matching the current embedding model and the namespace's corpus is restored instead when configured.
+     * Payload indexes are ensured afterwards so filtered searches work on existing collections too.
+     * A {@link VectorIndexReadyEvent} is published at the end either way.
      */
     @EventListener(ApplicationReadyEvent.class)
     public void autoIndexOnStartup() {
-        if (autoIndexOnStartup) {
-            log.info("[Vector] Auto-indexing enabled, starting document indexing...");
+        for (VectorNamespaces.Namespace namespace : namespaces.all()) {
+            if (snapshotService.isRestoreOnStartup() && snapshotService.restoreIfCurrent(namespace, corpusHash(namespace))) {
+                ensurePayloadIndexes(namespace);
+                log.info("[Vector] Namespace {} restored from snapshot, skipping initial indexing", namespace.name());
+                continue;
+            }
+            ensurePayloadIndexes(namespace);
+            if (autoIndexOnStartup) {
+                log.info("[Vector] Auto-indexing enabled, reconciling namespace {} with documents...", namespace.name());
+                try {
+                    ReconcileReport report = withMaintenanceLock(() -> doReconcile(namespace, false));
+                    if (report.deleted() > 0 || report.added() > 0) {
+                        exportSnapshotIfEnabled(namespace);
+                    }
+                } catch (Exception e) {
+                    log.error("[Vector] Auto-indexing of namespace {} failed: {}", namespace.name(), e.getMessage(), e);
+                }
+            } else {
+                log.info("[Vector] Auto-indexing disabled, skipping initial indexing of namespace {}", namespace.name());
+            }
+        }
+        eventPublisher.publishEvent(new VectorIndexReadyEvent("startup"));
+    }
+
+    /**
+     * Hash over a namespace's corpus: every doc's relative path and content plus the chunking settings.
+     * Used to decide whether a vector snapshot still reflects the docs on disk.
+     */
+    public String corpusHash(VectorNamespaces.Namespace namespace) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(("chunk:" + chunkSize + "/" + chunkOverlap).getBytes(StandardCharsets.UTF_8));
+            for (Path baseDir : namespace.baseDirs()) {
+                if (pack != null) {
+                    for (CorpusPack.Doc doc : pack.docs(baseDir)) {
+                        digest.update(doc.relativePath().getBytes(StandardCharsets.UTF_8));
+                        digest.update((byte) 0);
+                        digest.update(pack.bytes(doc));
+                        digest.update((byte) 0);
+                    }
+                    continue;
+                }
+                for (Path file : listDocFiles(baseDir)) {
+                    digest.update(baseDir.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    digest.update(Files.readAllBytes(file));
+                    digest.update((byte) 0);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to compute corpus hash", e);
+        }
+    }
+
+    private void exportSnapshotIfEnabled(VectorNamespaces.Namespace namespace) {
+        if (!snapshotService.isExportAfterIndex()) return;
+        try {
+            snapshotService.export(namespace, corpusHash(namespace));
+        } catch (Exception e) {
+            log.warn("[Vector] Snapshot export of namespace {} failed: {}", namespace.name(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create Qdrant payload indexes on the metadata fields used by search filters.
+     * Qdrant treats re-creating an existing index as a no-op, so this is safe on every startup.
+     */
+    public void ensurePayloadIndexes(VectorNamespaces.Namespace namespace) {
+        String collectionName = namespace.collection();
+        for (Map.Entry<String, PayloadSchemaType> entry : PAYLOAD_INDEXES.entrySet()) {
             try {
-                indexAllDocuments();
-            } catch (Exception e) {
-                log.error("[Vector] Auto-indexing failed: {}", e.getMessage(), e);
+                qdrantClient.createPayloadIndexAsync(
+                        collectionName, entry.getKey(), entry.getValue(), null, true, null, null).get();
+                log.debug("[Vector] Payload index ensured: {} ({})", entry.getKey(), entry.getValue());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("[Vector] Interrupted while creating payload indexes");
+                return;
+            } catch (ExecutionException e) {
+                log.warn("[Vector] Failed to create payload index on {}: {}", entry.getKey(), e.getMessage());
             }
-        } else {
-            log.info("[Vector] Auto-indexing disabled, skipping initial indexing");
         }
+        log.info("[Vector] Payload indexes ensured on collection {}: {}", collectionName, PAYLOAD_INDEXES.keySet());
     }
 
     /**
-     * Index all documents from configured base directories.
+     * Index all documents of a namespace into its collection.
+     * Chunk ids are deterministic, so existing points for unchanged chunks are overwritten in place.
      */
-    public void indexAllDocuments() {
-        log.info("[Vector] Starting document indexing...");
+    public void indexAllDocuments(VectorNamespaces.Namespace namespace) {
+        log.info("[Vector] Starting document indexing of namespace {}...", namespace.name());
         
+        List<Document> allChunks = collectChunks(namespace).chunks();
+        
+        if (!allChunks.isEmpty()) {
+            log.info("[Vector] Adding {} chunks to {}...", allChunks.size(), namespace.collection());
+            addChunks(namespace, allChunks);
+            log.info("[Vector] ✅ Successfully indexed {} chunks", allChunks.size());
+        } else {
+            log.warn("[Vector] No documents found to index in namespace {}", namespace.name());
+        }
+    }
+
+    /**
+     * Reconcile every namespace's collection with the documents on disk.
+     * Deletes points whose source no longer exists, whose content changed, or which duplicate a
+     * current chunk (e.g. legacy random-id points), then embeds and adds chunks that are missing.
+     * Current points indexed without the search filter payload are re-added as well.
+     * Nothing is deleted from a namespace whose document scan came back empty or incomplete.
+     *
+     * @param dryRun only compute the report, without deleting or adding anything
+     * @return counts summed over all namespaces
+     */
+    public ReconcileReport reconcile(boolean dryRun) {
+        ReconcileReport report = withMaintenanceLock(() -> {
+            ReconcileReport total = ReconcileReport.empty(dryRun);
+            for (VectorNamespaces.Namespace namespace : namespaces.all()) {
+                total = total.plus(doReconcile(namespace, dryRun));
+            }
+            return total;
+        });
+        if (!dryRun && (report.deleted() > 0 || report.added() > 0)) {
+            eventPublisher.publishEvent(new VectorIndexReadyEvent("reconcile"));
+        }
+        return report;
+    }
+
+    private <T> T withMaintenanceLock(Supplier<T> work) {
+        if (!maintenanceLock.tryLock()) {
+            throw new IllegalStateException("Vector store maintenance already in progress");
+        }
+        try {
+            return work.get();
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private ReconcileReport doReconcile(VectorNamespaces.Namespace namespace, boolean dryRun) {
+        long start = System.currentTimeMillis();
+        Scan scan = collectChunks(namespace);
+        List<IndexedPoint> existing = scrollIndexedPoints(namespace.collection());
+        ReconcilePlan plan = plan(scan.chunks(), existing);
+
+        boolean deletesSkipped = skipDeletes(scan, plan);
+        if (deletesSkipped) {
+            log.warn("[Vector] Reconcile {}: keeping {} points that would be deleted, the document scan {}",
+                    namespace.name(), plan.toDelete().size(),
+                    scan.complete() ? "found no documents" : "was incomplete");
+        }
+        List<PointId> toDelete = deletesSkipped ? List.of() : plan.toDelete();
+
+        if (!dryRun) {
+            deletePoints(namespace.collection(), toDelete);
+            if (!plan.missing().isEmpty()) {
+                addChunks(namespace, plan.missing());
+            }
+        }
+
+        ReconcileReport report = new ReconcileReport(
+                dryRun,
+                scan.chunks().size(),
+                existing.size(),
+                plan.orphaned(),
+                plan.stale(),
+                plan.duplicates(),
+                toDelete.size(),
+                plan.missing().size(),
+                deletesSkipped,
+                System.currentTimeMillis() - start);
+        log.info("[Vector] Reconcile {} {}: {}", namespace.name(), dryRun ? "(dry run)" : "done", report);
+        return report;
+    }
+
+    /**
+     * A missing mount or unreadable file must not look like deleted documents: deletions are only
+     * applied after a complete scan that found at least one document.
+     */
+    static boolean skipDeletes(Scan scan, ReconcilePlan plan) {
+        return !plan.toDelete().isEmpty() && (!scan.complete() || scan.chunks().isEmpty());
+    }
+
+    /**
+     * Compare the expected chunks with the stored points. A stored point that is not expected is
+     * orphaned if its source is gone, a duplicate if an expected point holds the same source and
+     * chunk index, and stale (changed content) otherwise. Expected chunks without a point, or whose
+     * point lacks the search filter payload, are missing.
+     */
+    static ReconcilePlan plan(List<Document> chunks, List<IndexedPoint> existing) {
+        Map<String, Document> expected = new LinkedHashMap<>();
+        Set<String> sources = new HashSet<>();
+        for (Document chunk : chunks) {
+            expected.put(chunk.getId(), chunk);
+            sources.add(String.valueOf(chunk.getMetadata().get("source")));
+        }
+
+        Set<String> existingIds = new HashSet<>();
+        Set<String> currentChunkKeys = new HashSet<>();
+        for (IndexedPoint point : existing) {
+            // Points written before the search filter payload existed are re-upserted with it
+            if (point.filterPayload()) {
+                existingIds.add(point.id());
+            }
+            if (expected.containsKey(point.id())) {
+                currentChunkKeys.add(point.chunkKey());
+            }
+        }
+
+        List<PointId> toDelete = new ArrayList<>();
+        int orphaned = 0;
+        int stale = 0;
+        int duplicates = 0;
+        for (IndexedPoint point : existing) {
+            if (expected.containsKey(point.id())) continue;
+            if (point.source() == null || !sources.contains(point.source())) {
+                orphaned++;
+            } else if (currentChunkKeys.contains(point.chunkKey())) {
+                duplicates++;
+            } else {
+                stale++;
+            }
+            toDelete.add(point.pointId());
+        }
+
+        List<Document> missing = expected.values().stream()
+                .filter(chunk -> !existingIds.contains(chunk.getId()))
+                .toList();
+        return new ReconcilePlan(toDelete, missing, orphaned, stale, duplicates);
+    }
+
+    /**
+     * Chunk every document in a namespace's base directories without embedding anything.
+     * The scan is incomplete if a base directory is missing or a directory or file could not be read.
+     */
+    Scan collectChunks(VectorNamespaces.Namespace namespace) {
+        if (pack != null) {
+            return new Scan(collectPackedChunks(namespace), true);
+        }
         List<Document> allChunks = new ArrayList<>();
         int fileCount = 0;
+        boolean complete = true;
         
-        for (Path baseDir : baseDirs) {
-            if (!Files.isDirectory(baseDir)) continue;
+        for (Path baseDir : namespace.baseDirs()) {
+            if (!Files.isDirectory(baseDir)) {
+                log.warn("[Vector] Base directory {} is missing or not a directory", baseDir);
+                complete = false;
+                continue;
+            }
             
-            try (Stream<Path> stream = Files.walk(baseDir)) {
-                List<Path> docFiles = stream
-                        .filter(Files::isRegularFile)
-                        .filter(this::isDocFile)
-                        .toList();
+            try {
+                List<Path> docFiles = listDocFiles(baseDir);
                 
                 log.info("[Vector] Found {} documents in {}", docFiles.size(), baseDir);
                 
@@ -113,23 +397,74 @@ public class DocumentIndexerService {
                         List<Document> chunks = indexDocument(filePath, baseDir);
                         allChunks.addAll(chunks);
                         fileCount++;
-                        log.debug("[Vector] Indexed {}: {} chunks", filePath.getFileName(), chunks.size());
+                        log.debug("[Vector] Chunked {}: {} chunks", filePath.getFileName(), chunks.size());
                     } catch (Exception e) {
                         log.warn("[Vector] Failed to index {}: {}", filePath, e.getMessage());
+                        complete = false;
                     }
                 }
-            } catch (IOException e) {
+            } catch (IOException | UncheckedIOException e) {
                 log.warn("[Vector] Failed to walk directory {}: {}", baseDir, e.getMessage());
+                complete = false;
             }
         }
-        
-        if (!allChunks.isEmpty()) {
-            log.info("[Vector] Adding {} chunks from {} files to vector store...", allChunks.size(), fileCount);
-            vectorStore.add(allChunks);
-            log.info("[Vector] ✅ Successfully indexed {} documents ({} chunks)", fileCount, allChunks.size());
-        } else {
-            log.warn("[Vector] No documents found to index");
+        log.debug("[Vector] Collected {} chunks from {} files", allChunks.size(), fileCount);
+        return new Scan(allChunks, complete);
+    }
+
+    /**
+     * Chunks of a namespace's packed docs: split at pack build time if the chunk settings match,
+     * otherwise split here from the packed text.
+     */
+    private List<Document> collectPackedChunks(VectorNamespaces.Namespace namespace) {
+        boolean presplit = pack.manifest().hasChunks(chunkSize, chunkOverlap);
+        List<Document> allChunks = new ArrayList<>();
+        for (Path baseDir : namespace.baseDirs()) {
+            for (CorpusPack.Doc doc : pack.docs(baseDir)) {
+                List<String> texts = presplit ? pack.chunks(doc) : split(pack.text(doc), chunkSize, chunkOverlap);
+                allChunks.addAll(chunkDocuments(doc.baseDir(), doc.relativePath(),
+                        packedMetadata(doc.size(), doc.lastModified()), texts));
+            }
+        }
+        log.debug("[Vector] Collected {} chunks of namespace {} from corpus pack", allChunks.size(), namespace.name());
+        return allChunks;
+    }
+
+    /**
+     * Add chunks to a namespace's collection. Chunks with a precomputed vector in the corpus pack are
+     * upserted directly, with the payload the vector store would write; otherwise the store embeds them.
+     * A doc's chunks are contiguous, so each doc's packed vectors are decoded once.
+     */
+    private void addChunks(VectorNamespaces.Namespace namespace, List<Document> chunks) {
+        if (!packVectors) {
+            namespace.store().add(chunks);
+            return;
+        }
+        List<PointStruct> batch = new ArrayList<>(UPSERT_BATCH_SIZE);
+        String packedSource = null;
+        List<CorpusPack.Chunk> packed = List.of();
+        for (Document chunk : chunks) {
+            Map<String, Object> metadata = chunk.getMetadata();
+            String source = String.valueOf(metadata.get("source"));
+            if (!source.equals(packedSource)) {
+                packed = pack.chunksWithVectors(pack.doc(pack.file().resolve(source)));
+                packedSource = source;
+            }
+            float[] vector = packed.get(((Number) metadata.get("chunk_index")).intValue()).vector();
+            batch.add(PointStruct.newBuilder()
+                    .setId(PointIdFactory.id(UUID.fromString(chunk.getId())))
+                    .setVectors(VectorsFactory.vectors(vector))
+                    .putAllPayload(QdrantPayloads.toPayload(chunk.getText(), metadata))
+                    .build());
+            if (batch.size() == UPSERT_BATCH_SIZE) {
+                QdrantFutures.await(qdrantClient.upsertAsync(namespace.collection(), batch));
+                batch = new ArrayList<>(UPSERT_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            QdrantFutures.await(qdrantClient.upsertAsync(namespace.collection(), batch));
         }
+        log.info("[Vector] Upserted {} chunks with precomputed vectors into {}", chunks.size(), namespace.collection());
     }
 
     /**
@@ -153,42 +488,94 @@ public class DocumentIndexerService {
         
         // Add metadata
         String relativePath = baseDir.relativize(filePath).toString().replace('\\', '/');
-        String baseName = baseDir.getFileName() == null ? baseDir.toString() : baseDir.getFileName().toString();
-        String fullPath = baseName + "/" + relativePath;
-        
         Map<String, Object> metadata = new HashMap<>(doc.getMetadata());
-        metadata.put("source", fullPath);
-        metadata.put("filename", filePath.getFileName().toString());
-        metadata.put("path", relativePath);
-        metadata.put("base_dir", baseName);
-        
         try {
-            metadata.put("file_size", Files.size(filePath));
-            metadata.put("last_modified", Files.getLastModifiedTime(filePath).toString());
+            metadata.putAll(fileMetadata(Files.size(filePath), Files.getLastModifiedTime(filePath)));
         } catch (IOException e) {
             log.debug("[Vector] Could not get file metadata: {}", e.getMessage());
         }
         
-        // Create new document with metadata
-        Document documentWithMetadata = new Document(doc.getText(), metadata);
-        
-        // Split into chunks
+        return chunkDocuments(VectorNamespaces.baseDirName(baseDir), relativePath, metadata,
+                split(doc.getText(), chunkSize, chunkOverlap));
+    }
+
+    /**
+     * Split a document's text into chunk texts.
+     */
+    static List<String> split(String text, int chunkSize, int chunkOverlap) {
         TextSplitter splitter = new TokenTextSplitter(chunkSize, chunkOverlap, 5, 10000, true);
-        List<Document> chunks = splitter.split(documentWithMetadata);
-        
-        // Add chunk metadata
-        for (int i = 0; i < chunks.size(); i++) {
-            chunks.get(i).getMetadata().put("chunk_index", i);
-            chunks.get(i).getMetadata().put("total_chunks", chunks.size());
+        return splitter.split(new Document(text)).stream().map(Document::getText).toList();
+    }
+
+    /**
+     * Chunk documents of one source file: the file's metadata plus source, path and chunk position
+     * fields, with stable ids derived from source, position and content.
+     */
+    static List<Document> chunkDocuments(String baseName, String relativePath, Map<String, Object> fileMetadata,
+                                         List<String> texts) {
+        String fullPath = baseName + "/" + relativePath;
+        String fileName = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        Map<String, Object> metadata = new HashMap<>(fileMetadata);
+        metadata.put("source", fullPath);
+        metadata.put("filename", fileName);
+        metadata.put("path", relativePath);
+        metadata.put("base_dir", baseName);
+        metadata.put(DocSearchFilter.FIELD_PATH_PREFIXES, DocSearchFilter.pathPrefixes(baseName, relativePath));
+        metadata.put(DocSearchFilter.FIELD_EXTENSION, DocSearchFilter.extensionOf(fileName));
+
+        List<Document> result = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            Map<String, Object> chunkMetadata = new HashMap<>(metadata);
+            chunkMetadata.put("chunk_index", i);
+            chunkMetadata.put("total_chunks", texts.size());
+            result.add(new Document(chunkId(fullPath, i, texts.get(i)), texts.get(i), chunkMetadata));
+        }
+        return result;
+    }
+
+    private static Map<String, Object> fileMetadata(long size, FileTime lastModified) {
+        return Map.of(
+                "file_size", size,
+                "last_modified", lastModified.toString(),
+                DocSearchFilter.FIELD_LAST_MODIFIED_EPOCH, lastModified.toMillis());
+    }
+
+    /**
+     * Metadata of a packed doc, as {@link TextReader} and {@link #fileMetadata} would give for its source file.
+     * Shared with {@link CorpusPackBuilder} so pack-time embeddings see the same chunk documents.
+     */
+    static Map<String, Object> packedMetadata(long size, long lastModified) {
+        Map<String, Object> metadata = new HashMap<>(fileMetadata(size, FileTime.fromMillis(lastModified)));
+        metadata.put(TextReader.CHARSET_METADATA, StandardCharsets.UTF_8.name());
+        return metadata;
+    }
+
+    /**
+     * Deterministic point id for a chunk; changes whenever the chunk text changes.
+     */
+    static String chunkId(String source, int chunkIndex, String text) {
+        String key = source + '\u0000' + chunkIndex + '\u0000' + text;
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * List documentation files under a base directory in a stable (sorted) order.
+     */
+    static List<Path> listDocFiles(Path baseDir) throws IOException {
+        if (!Files.isDirectory(baseDir)) return List.of();
+        try (Stream<Path> stream = Files.walk(baseDir)) {
+            return stream
+                    .filter(Files::isRegularFile)
+                    .filter(DocumentIndexerService::isDocFile)
+                    .sorted()
+                    .toList();
         }
-        
-        return chunks;
     }
 
     /**
      * Check if a file is a documentation file.
      */
-    private boolean isDocFile(Path p) {
+    private static boolean isDocFile(Path p) {
         String name = p.getFileName().toString().toLowerCase(Locale.ROOT);
         return name.endsWith(".md") || 
                name.endsWith(".markdown") || 
@@ -197,12 +584,108 @@ public class DocumentIndexerService {
     }
 
     /**
-     * Clear all documents from the vector store and re-index.
+     * Scroll all point ids with the payload fields needed to classify them.
+     */
+    private List<IndexedPoint> scrollIndexedPoints(String collectionName) {
+        List<IndexedPoint> points = new ArrayList<>();
+        PointId offset = null;
+        do {
+            ScrollPoints.Builder scroll = ScrollPoints.newBuilder()
+                    .setCollectionName(collectionName)
+                    .setLimit(SCROLL_BATCH_SIZE)
+                    .setWithPayload(WithPayloadSelectorFactory.include(
+                            List.of("source", "chunk_index", DocSearchFilter.FIELD_PATH_PREFIXES)))
+                    .setWithVectors(WithVectorsSelectorFactory.enable(false));
+            if (offset != null) {
+                scroll.setOffset(offset);
+            }
+            ScrollResponse response = QdrantFutures.await(qdrantClient.scrollAsync(scroll.build()));
+            for (RetrievedPoint point : response.getResultList()) {
+                Map<String, JsonWithInt.Value> payload = point.getPayloadMap();
+                JsonWithInt.Value source = payload.get("source");
+                JsonWithInt.Value chunkIndex = payload.get("chunk_index");
+                points.add(new IndexedPoint(
+                        point.getId(),
+                        source == null ? null : source.getStringValue(),
+                        chunkIndex == null ? -1 : chunkIndex.getIntegerValue(),
+                        payload.containsKey(DocSearchFilter.FIELD_PATH_PREFIXES)));
+            }
+            offset = response.hasNextPageOffset() ? response.getNextPageOffset() : null;
+        } while (offset != null);
+        return points;
+    }
+
+    private void deletePoints(String collectionName, List<PointId> ids) {
+        for (int from = 0; from < ids.size(); from += DELETE_BATCH_SIZE) {
+            List<PointId> batch = ids.subList(from, Math.min(ids.size(), from + DELETE_BATCH_SIZE));
+            QdrantFutures.await(qdrantClient.deleteAsync(collectionName, batch));
+        }
+        if (!ids.isEmpty()) {
+            log.info("[Vector] Deleted {} points from {}", ids.size(), collectionName);
+        }
+    }
+
+    /**
+     * Chunks collected from a namespace's documents.
+     *
+     * @param complete false if some base directory, directory or file could not be read
+     */
+    record Scan(List<Document> chunks, boolean complete) {}
+
+    /**
+     * Points to delete and chunks to add, with the reason counts of the deletions.
+     */
+    record ReconcilePlan(List<PointId> toDelete, List<Document> missing, int orphaned, int stale, int duplicates) {}
+
+    /**
+     * Minimal view of a stored point used during reconciliation.
+     *
+     * @param filterPayload whether the point carries the payload fields used by {@link DocSearchFilter}
+     */
+    record IndexedPoint(PointId pointId, String source, long chunkIndex, boolean filterPayload) {
+
+        String id() {
+            return pointId.hasUuid() ? pointId.getUuid() : Long.toString(pointId.getNum());
+        }
+
+        String chunkKey() {
+            return source + "#" + chunkIndex;
+        }
+    }
+
+    /**
+     * Outcome of a reconciliation run.
+     *
+     * @param deletesSkipped true if points were kept because the document scan was empty or incomplete
      */
-    public void reindexAllDocuments() {
-        log.info("[Vector] Clearing vector store and re-indexing all documents...");
-        // Note: Qdrant doesn't have a built-in delete all method in Spring AI
-        // You may need to delete and recreate the collection via Qdrant client
-        indexAllDocuments();
+    public record ReconcileReport(
+            boolean dryRun,
+            int expectedChunks,
+            int existingPoints,
+            int orphaned,
+            int stale,
+            int duplicates,
+            int deleted,
+            int added,
+            boolean deletesSkipped,
+            long durationMs
+    ) {
+
+        static ReconcileReport empty(boolean dryRun) {
+            return new ReconcileReport(dryRun, 0, 0, 0, 0, 0, 0, 0, false, 0);
+        }
+
+        ReconcileReport plus(ReconcileReport other) {
+            return new ReconcileReport(dryRun,
+                    expectedChunks + other.expectedChunks,
+                    existingPoints + other.existingPoints,
+                    orphaned + other.orphaned,
+                    stale + other.stale,
+                    duplicates + other.duplicates,
+                    deleted + other.deleted,
+                    added + other.added,
+                    deletesSkipped || other.deletesSkipped,
+                    durationMs + other.durationMs);
+        }
     }
 }
@@ -0,0 +1,57 @@
+package org.example.spring_ai.vector;
+
+import org.springframework.ai.transformers.TransformersEmbeddingModel;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Embedding model selection.
+ *
+ * Spring AI auto-configures exactly one embedding model, chosen by {@code spring.ai.model.embedding}:
+ * {@code ollama} (HTTP to a local Ollama, default) or {@code transformers} (in-process ONNX Runtime on
+ * the CPU). The in-process model is wrapped in a {@link ParallelEmbeddingModel} so indexing runs
+ * batches on all cores.
+ */
+@Slf4j
+@Configuration
+public class EmbeddingModelConfig {
+
+    public static final String PROVIDER_PROPERTY = "spring.ai.model.embedding";
+    public static final String TRANSFORMERS = "transformers";
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER_PROPERTY, havingValue = TRANSFORMERS)
+    public static BeanPostProcessor localEmbeddingModelPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof TransformersEmbeddingModel model) {
+                    ParallelEmbeddingModel parallel = new ParallelEmbeddingModel(model,
+                            environment.getProperty("vector.embedding.local.batch-size", Integer.class, 32),
+                            environment.getProperty("vector.embedding.local.threads", Integer.class, 0));
+                    log.info("[Vector] In-process embedding model {}: batch size {}, {} threads",
+                            modelName(environment), parallel.getBatchSize(), parallel.getThreads());
+                    return parallel;
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Identifier of the configured embedding model, recorded in vector snapshot manifests.
+     * Ollama models keep their bare name so existing snapshots stay valid.
+     */
+    public static String modelName(Environment environment) {
+        if (TRANSFORMERS.equals(environment.getProperty(PROVIDER_PROPERTY))) {
+            return TRANSFORMERS + ":" + environment.getProperty("spring.ai.embedding.transformer.onnx.model-uri",
+                    TransformersEmbeddingModel.DEFAULT_ONNX_MODEL);
+        }
+        return environment.getProperty("spring.ai.ollama.embedding.options.model", "unknown");
+    }
+}
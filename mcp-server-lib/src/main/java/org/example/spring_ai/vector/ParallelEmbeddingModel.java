@@ -0,0 +1,103 @@
+package org.example.spring_ai.vector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/**
+ * Splits large embedding requests to an in-process model into fixed-size batches run in parallel.
+ *
+ * Each batch is one inference call (padded to its longest text), so moderate batches keep padding
+ * waste low while the pool keeps the cores busy with tokenization, tensor setup and pooling.
+ * Requests of at most one batch, e.g. a search query, run on the caller's thread.
+ */
+public class ParallelEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final int batchSize;
+    private final int threads;
+    private final ExecutorService executor;
+
+    /**
+     * @param threads pool size; 0 or less uses one thread per available processor
+     */
+    public ParallelEmbeddingModel(EmbeddingModel delegate, int batchSize, int threads) {
+        this.delegate = delegate;
+        this.batchSize = Math.max(1, batchSize);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(this.threads, daemonThreads());
+    }
+
+    public EmbeddingModel getDelegate() {
+        return delegate;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> texts = request.getInstructions();
+        if (texts.size() <= batchSize) {
+            return delegate.call(request);
+        }
+        List<Future<EmbeddingResponse>> futures = new ArrayList<>();
+        for (int from = 0; from < texts.size(); from += batchSize) {
+            EmbeddingRequest batch = new EmbeddingRequest(
+                    texts.subList(from, Math.min(texts.size(), from + batchSize)), request.getOptions());
+            futures.add(executor.submit(() -> delegate.call(batch)));
+        }
+        List<Embedding> embeddings = new ArrayList<>(texts.size());
+        try {
+            for (Future<EmbeddingResponse> future : futures) {
+                for (Embedding embedding : future.get().getResults()) {
+                    embeddings.add(new Embedding(embedding.getOutput(), embeddings.size()));
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while embedding " + texts.size() + " texts", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Embedding failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "embed-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
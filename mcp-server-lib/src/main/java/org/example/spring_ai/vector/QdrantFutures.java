@@ -0,0 +1,52 @@
+package org.example.spring_ai.vector;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Helpers for the Qdrant client's future-based API: blocking waits and adaptation to
+ * {@link CompletableFuture} for the non-blocking tool variants.
+ */
+final class QdrantFutures {
+
+    private QdrantFutures() {
+    }
+
+    /**
+     * Wait for a Qdrant call, unwrapping execution failures into an unchecked exception.
+     */
+    static <T> T await(ListenableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Qdrant", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Qdrant call failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * View a Qdrant call as a {@link CompletableFuture}, completed on the gRPC callback thread.
+     */
+    static <T> CompletableFuture<T> toCompletable(ListenableFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.spring_ai.vector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.qdrant.client.grpc.JsonWithInt;
+
+/**
+ * Conversion between Qdrant payload values and plain Java objects, mirroring how the Spring AI
+ * vector store stores and exposes document metadata.
+ */
+final class QdrantPayloads {
+
+    /** Payload key under which the Spring AI Qdrant vector store keeps the document text. */
+    static final String CONTENT_FIELD = "doc_content";
+
+    private QdrantPayloads() {
+    }
+
+    /**
+     * @return all payload entries except the document content, as Java values
+     */
+    static Map<String, Object> toMetadata(Map<String, JsonWithInt.Value> payload) {
+        Map<String, Object> metadata = new HashMap<>(payload.size() * 2);
+        for (Map.Entry<String, JsonWithInt.Value> e : payload.entrySet()) {
+            if (!CONTENT_FIELD.equals(e.getKey())) {
+                metadata.put(e.getKey(), toJava(e.getValue()));
+            }
+        }
+        return metadata;
+    }
+
+    static String content(Map<String, JsonWithInt.Value> payload) {
+        JsonWithInt.Value value = payload.get(CONTENT_FIELD);
+        return value == null ? "" : value.getStringValue();
+    }
+
+    /**
+     * Payload of a point as the Spring AI vector store writes it: metadata plus the text under
+     * {@link #CONTENT_FIELD}.
+     */
+    static Map<String, JsonWithInt.Value> toPayload(String content, Map<String, Object> metadata) {
+        Map<String, JsonWithInt.Value> payload = new HashMap<>(metadata.size() * 2 + 2);
+        metadata.forEach((key, value) -> payload.put(key, toValue(value)));
+        payload.put(CONTENT_FIELD, toValue(content));
+        return payload;
+    }
+
+    static JsonWithInt.Value toValue(Object value) {
+        JsonWithInt.Value.Builder builder = JsonWithInt.Value.newBuilder();
+        if (value == null) {
+            return builder.setNullValue(JsonWithInt.NullValue.NULL_VALUE).build();
+        }
+        if (value instanceof String s) return builder.setStringValue(s).build();
+        if (value instanceof Boolean b) return builder.setBoolValue(b).build();
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return builder.setIntegerValue(((Number) value).longValue()).build();
+        }
+        if (value instanceof Number n) return builder.setDoubleValue(n.doubleValue()).build();
+        if (value instanceof Iterable<?> list) {
+            JsonWithInt.ListValue.Builder values = JsonWithInt.ListValue.newBuilder();
+            list.forEach(v -> values.addValues(toValue(v)));
+            return builder.setListValue(values).build();
+        }
+        if (value instanceof Map<?, ?> map) {
+            JsonWithInt.Struct.Builder struct = JsonWithInt.Struct.newBuilder();
+            map.forEach((k, v) -> struct.putFields(String.valueOf(k), toValue(v)));
+            return builder.setStructValue(struct).build();
+        }
+        return builder.setStringValue(value.toString()).build();
+    }
+
+    static Object toJava(JsonWithInt.Value value) {
+        return switch (value.getKindCase()) {
+            case STRING_VALUE -> value.getStringValue();
+            case INTEGER_VALUE -> value.getIntegerValue();
+            case DOUBLE_VALUE -> value.getDoubleValue();
+            case BOOL_VALUE -> value.getBoolValue();
+            case LIST_VALUE -> {
+                List<Object> list = new ArrayList<>(value.getListValue().getValuesCount());
+                for (JsonWithInt.Value v : value.getListValue().getValuesList()) {
+                    list.add(toJava(v));
+                }
+                yield list;
+            }
+            case STRUCT_VALUE -> toMetadata(value.getStructValue().getFieldsMap());
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.spring_ai.vector;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/**
+ * LRU cache of query embeddings in front of the embedding model.
+ *
+ * Only text embeddings ({@code embed(String)} / {@code embed(List<String>)}) are cached; these are
+ * what searches use. Document embedding during indexing goes through {@code call} and passes
+ * straight to the model. Kept out of the bean graph as an {@link EmbeddingModel} so the indexer and
+ * other consumers keep injecting the single auto-configured model; the vector store and semantic
+ * search use {@link #asEmbeddingModel()} / {@link #embed(List)}.
+ */
+public class QueryEmbeddingCache {
+
+    private final EmbeddingModel delegate;
+    private final int maxEntries;
+    private final Map<String, float[]> cache;
+    private final EmbeddingModel model = new CachingEmbeddingModel();
+    private long hits;
+    private long misses;
+
+    public QueryEmbeddingCache(EmbeddingModel delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > QueryEmbeddingCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return embedding model view that serves query embeddings from this cache
+     */
+    public EmbeddingModel asEmbeddingModel() {
+        return model;
+    }
+
+    public float[] embed(String text) {
+        return embed(List.of(text)).get(0);
+    }
+
+    /**
+     * Embed texts, sending only cache misses to the model (in one batched call).
+     */
+    public List<float[]> embed(List<String> texts) {
+        float[][] result = new float[texts.size()][];
+        List<String> missing = new ArrayList<>();
+        List<Integer> missingAt = new ArrayList<>();
+        synchronized (cache) {
+            for (int i = 0; i < texts.size(); i++) {
+                float[] cached = cache.get(texts.get(i));
+                if (cached != null) {
+                    result[i] = cached;
+                    hits++;
+                } else {
+                    missing.add(texts.get(i));
+                    missingAt.add(i);
+                    misses++;
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<float[]> embedded = delegate.embed(missing);
+            synchronized (cache) {
+                for (int i = 0; i < missing.size(); i++) {
+                    cache.put(missing.get(i), embedded.get(i));
+                    result[missingAt.get(i)] = embedded.get(i);
+                }
+            }
+        }
+        return List.of(result);
+    }
+
+    /**
+     * Non-blocking {@link #embed(String)}: a cached embedding completes immediately, a miss is
+     * embedded on {@code executor} (the embedding model itself only has a blocking API).
+     */
+    public CompletableFuture<float[]> embedAsync(String text, Executor executor) {
+        synchronized (cache) {
+            float[] cached = cache.get(text);
+            if (cached != null) {
+                hits++;
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> embed(text), executor);
+    }
+
+    public Stats stats() {
+        synchronized (cache) {
+            return new Stats(cache.size(), hits, misses);
+        }
+    }
+
+    public record Stats(int entries, long hits, long misses) {}
+
+    private final class CachingEmbeddingModel implements EmbeddingModel {
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            return delegate.call(request);
+        }
+
+        @Override
+        public float[] embed(String text) {
+            return QueryEmbeddingCache.this.embed(text);
+        }
+
+        @Override
+        public List<float[]> embed(List<String> texts) {
+            return QueryEmbeddingCache.this.embed(texts);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return delegate.embed(document);
+        }
+
+        @Override
+        public int dimensions() {
+            return delegate.dimensions();
+        }
+    }
+}
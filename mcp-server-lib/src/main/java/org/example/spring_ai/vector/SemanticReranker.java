@@ -0,0 +1,281 @@
+package org.example.spring_ai.vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.ai.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local re-ranking stage for semantic search results.
+ *
+ * Candidates over-fetched from the vector store are re-scored in parallel by combining:
+ * - the original vector similarity
+ * - lexical coverage: IDF-weighted share of query terms present in the chunk
+ * - BM25 computed over the candidate set (a lightweight, LLM-free relevance scorer)
+ * - heading proximity: query terms in markdown headings, and matches close to the nearest heading
+ *
+ * Scoring runs under a strict latency budget; if it is exceeded the original order is kept.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vector.store.enabled", havingValue = "true", matchIfMissing = false)
+public class SemanticReranker {
+
+    private static final double WEIGHT_VECTOR = 0.45;
+    private static final double WEIGHT_COVERAGE = 0.25;
+    private static final double WEIGHT_BM25 = 0.15;
+    private static final double WEIGHT_HEADING = 0.15;
+
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "do", "does", "for", "from", "how", "in",
+            "is", "it", "of", "on", "or", "the", "to", "we", "what", "when", "where", "which", "with");
+
+    private final int candidateMultiplier;
+    private final int maxCandidates;
+    private final long latencyBudgetMs;
+    private final ExecutorService executor;
+
+    public SemanticReranker(
+            @Value("${vector.search.rerank.candidate-multiplier:4}") int candidateMultiplier,
+            @Value("${vector.search.rerank.max-candidates:60}") int maxCandidates,
+            @Value("${vector.search.rerank.latency-budget-ms:150}") long latencyBudgetMs,
+            @Value("${vector.search.rerank.threads:0}") int threads) {
+        this.candidateMultiplier = Math.max(1, candidateMultiplier);
+        this.maxCandidates = Math.max(1, maxCandidates);
+        this.latencyBudgetMs = Math.max(1, latencyBudgetMs);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(poolSize, daemonThreads());
+        log.info("[Vector] SemanticReranker configured: multiplier={}, maxCandidates={}, budget={}ms, threads={}",
+                this.candidateMultiplier, this.maxCandidates, this.latencyBudgetMs, poolSize);
+    }
+
+    /**
+     * @return number of candidates to fetch from the vector store for a final result size of k
+     */
+    public int candidateCount(int k) {
+        return Math.max(k, Math.min(k * candidateMultiplier, maxCandidates));
+    }
+
+    /**
+     * Re-rank candidates and return the top k. Falls back to the original (vector) order when
+     * the latency budget is exceeded or scoring fails.
+     */
+    public List<Document> rerank(String query, List<Document> candidates, int k) {
+        if (candidates.size() <= 1) {
+            return limit(candidates, k);
+        }
+        List<String> queryTerms = queryTerms(query);
+        if (queryTerms.isEmpty()) {
+            return limit(candidates, k);
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Features>> futures = new ArrayList<>(candidates.size());
+        for (Document doc : candidates) {
+            futures.add(CompletableFuture.supplyAsync(() -> Features.extract(doc, queryTerms), executor));
+        }
+        List<Features> features = new ArrayList<>(candidates.size());
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(latencyBudgetMs, TimeUnit.MILLISECONDS);
+            for (CompletableFuture<Features> f : futures) {
+                features.add(f.join());
+            }
+        } catch (TimeoutException e) {
+            futures.forEach(f -> f.cancel(true));
+            log.warn("[Vector] Re-ranking exceeded {}ms budget for {} candidates, keeping vector order",
+                    latencyBudgetMs, candidates.size());
+            return limit(candidates, k);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return limit(candidates, k);
+        } catch (ExecutionException e) {
+            log.warn("[Vector] Re-ranking failed, keeping vector order: {}", e.getMessage());
+            return limit(candidates, k);
+        }
+
+        List<Scored> scored = score(features, queryTerms);
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed());
+
+        List<Document> reranked = new ArrayList<>(Math.min(k, scored.size()));
+        for (int i = 0; i < scored.size() && reranked.size() < k; i++) {
+            Scored s = scored.get(i);
+            s.doc().getMetadata().put("rerank_score", s.score());
+            reranked.add(s.doc());
+        }
+        log.debug("[Vector] Re-ranked {} candidates in {}ms", candidates.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return reranked;
+    }
+
+    private List<Scored> score(List<Features> features, List<String> queryTerms) {
+        int n = features.size();
+        double avgLength = 0;
+        Map<String, Integer> docFreq = new HashMap<>();
+        for (Features f : features) {
+            avgLength += f.length();
+            for (String t : queryTerms) {
+                if (f.termFreq().getOrDefault(t, 0) > 0) docFreq.merge(t, 1, Integer::sum);
+            }
+        }
+        avgLength = Math.max(1.0, avgLength / n);
+
+        Map<String, Double> idf = new HashMap<>();
+        double idfTotal = 0;
+        for (String t : queryTerms) {
+            int df = docFreq.getOrDefault(t, 0);
+            double w = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+            idf.put(t, w);
+            idfTotal += w;
+        }
+
+        double[] bm25 = new double[n];
+        double maxBm25 = 0;
+        for (int i = 0; i < n; i++) {
+            Features f = features.get(i);
+            double s = 0;
+            for (String t : queryTerms) {
+                int tf = f.termFreq().getOrDefault(t, 0);
+                if (tf == 0) continue;
+                double norm = tf + BM25_K1 * (1 - BM25_B + BM25_B * f.length() / avgLength);
+                s += idf.get(t) * (tf * (BM25_K1 + 1)) / norm;
+            }
+            bm25[i] = s;
+            maxBm25 = Math.max(maxBm25, s);
+        }
+
+        List<Scored> scored = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Features f = features.get(i);
+            double coverage = 0;
+            if (idfTotal > 0) {
+                for (String t : queryTerms) {
+                    if (f.termFreq().getOrDefault(t, 0) > 0) coverage += idf.get(t);
+                }
+                coverage /= idfTotal;
+            }
+            double normBm25 = maxBm25 > 0 ? bm25[i] / maxBm25 : 0;
+            double total = WEIGHT_VECTOR * f.vectorScore()
+                    + WEIGHT_COVERAGE * coverage
+                    + WEIGHT_BM25 * normBm25
+                    + WEIGHT_HEADING * f.headingScore();
+            scored.add(new Scored(f.doc(), total));
+        }
+        return scored;
+    }
+
+    static List<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String t : tokenize(query)) {
+            if (!STOPWORDS.contains(t)) terms.add(t);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String lc = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lc.length(); i++) {
+            boolean word = i < lc.length() && Character.isLetterOrDigit(lc.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                if (i - start > 1) tokens.add(lc.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static List<Document> limit(List<Document> docs, int k) {
+        return docs.size() <= k ? docs : new ArrayList<>(docs.subList(0, k));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "rerank-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private record Scored(Document doc, double score) {}
+
+    /**
+     * Per-candidate features, computed independently so they can be extracted in parallel.
+     */
+    private record Features(Document doc, double vectorScore, int length, Map<String, Integer> termFreq,
+                            double headingScore) {
+
+        static Features extract(Document doc, List<String> queryTerms) {
+            String text = doc.getText() == null ? "" : doc.getText();
+            List<String> tokens = tokenize(text);
+            Map<String, Integer> tf = new HashMap<>();
+            for (String t : tokens) {
+                if (queryTerms.contains(t)) tf.merge(t, 1, Integer::sum);
+            }
+            double vectorScore = doc.getScore() == null ? 0.0 : doc.getScore();
+            return new Features(doc, vectorScore, tokens.size(), tf, headingScore(text, queryTerms));
+        }
+
+        /**
+         * Share of query terms found in headings, blended with how close the first query match
+         * sits to its nearest preceding heading (matches directly under a heading score highest).
+         */
+        private static double headingScore(String text, List<String> queryTerms) {
+            String[] lines = text.split("\n");
+            Set<String> inHeadings = new LinkedHashSet<>();
+            int lastHeadingLine = -1;
+            int matchDistance = -1;
+            for (int i = 0; i < lines.length; i++) {
+                String line = lines[i].trim();
+                if (line.startsWith("#")) {
+                    lastHeadingLine = i;
+                    for (String t : tokenize(line)) {
+                        if (queryTerms.contains(t)) inHeadings.add(t);
+                    }
+                } else if (matchDistance < 0 && lastHeadingLine >= 0) {
+                    for (String t : tokenize(line)) {
+                        if (queryTerms.contains(t)) {
+                            matchDistance = i - lastHeadingLine;
+                            break;
+                        }
+                    }
+                }
+            }
+            double headingCoverage = (double) inHeadings.size() / queryTerms.size();
+            double proximity = matchDistance < 0 ? 0.0 : 1.0 / matchDistance;
+            return 0.7 * headingCoverage + 0.3 * proximity;
+        }
+    }
+}
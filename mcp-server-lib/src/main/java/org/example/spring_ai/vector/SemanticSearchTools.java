@@ -1,19 +1,34 @@
 package org.example.spring_ai.vector;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.example.spring_ai.resilience.BulkheadGrpcInterceptor;
+import org.example.spring_ai.warmup.AccessStats;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.vectorstore.SearchRequest;
-import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 import io.qdrant.client.QdrantClient;
+import io.qdrant.client.WithPayloadSelectorFactory;
+import io.qdrant.client.grpc.Points;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -25,27 +40,64 @@ import lombok.extern.slf4j.Slf4j;
 @ConditionalOnProperty(name = "vector.store.enabled", havingValue = "true", matchIfMissing = false)
 public class SemanticSearchTools {
 
-    private final VectorStore vectorStore;
+    private static final int RESIDUAL_FILTER_OVERFETCH = 4;
+    private static final int MAX_FETCH_K = 100;
+
+    private static final int MAX_BATCH_QUERIES = 10;
+
+    private final VectorNamespaces vectorNamespaces;
+    private final QueryEmbeddingCache queryEmbeddings;
     private final QdrantClient qdrantClient;
     private final String collectionName;
+    private final SemanticReranker reranker;
+    private final AccessStats accessStats;
+    private final boolean rerankByDefault;
+    private final ExecutorService embedExecutor;
 
     public SemanticSearchTools(
-            VectorStore vectorStore, 
+            VectorNamespaces vectorNamespaces,
+            QueryEmbeddingCache queryEmbeddings,
             QdrantClient qdrantClient,
-            @org.springframework.beans.factory.annotation.Value("${spring.ai.qdrant.collection-name}") String collectionName) {
-        this.vectorStore = vectorStore;
+            SemanticReranker reranker,
+            AccessStats accessStats,
+            @org.springframework.beans.factory.annotation.Value("${spring.ai.qdrant.collection-name}") String collectionName,
+            @org.springframework.beans.factory.annotation.Value("${vector.search.rerank.default-enabled:false}") boolean rerankByDefault,
+            @org.springframework.beans.factory.annotation.Value("${vector.search.embed-threads:4}") int embedThreads) {
+        this.vectorNamespaces = vectorNamespaces;
+        this.queryEmbeddings = queryEmbeddings;
         this.qdrantClient = qdrantClient;
+        this.reranker = reranker;
+        this.accessStats = accessStats;
         this.collectionName = collectionName;
-        log.info("[MCP] SemanticSearchTools initialized with vector store");
+        this.rerankByDefault = rerankByDefault;
+        AtomicInteger embedThreadCount = new AtomicInteger();
+        this.embedExecutor = Executors.newFixedThreadPool(Math.max(1, embedThreads), r -> {
+            Thread t = new Thread(r, "query-embed-" + embedThreadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("[MCP] SemanticSearchTools initialized with namespaces {}", vectorNamespaces.names());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        embedExecutor.shutdownNow();
     }
 
     /**
      * Perform semantic search across domain documents using vector embeddings.
      * This finds documents based on meaning, not just keyword matching.
+     * Optional metadata filters are pushed down to Qdrant as payload conditions.
      * 
      * @param query Natural language query describing what you're looking for
      * @param topK Number of most similar results to return (default: 5, max: 20)
      * @param similarityThreshold Minimum similarity score (0.0-1.0, default: 0.5)
+     * @param pathPrefix Restrict to documents under this directory (e.g. "specs/orders") (nullable)
+     * @param baseDir Restrict to one configured base directory by name (nullable)
+     * @param filenameGlob Restrict by file name glob (e.g. "*.md", "oms_*") (nullable)
+     * @param modifiedSince Only documents modified at or after this ISO-8601 date/time (nullable)
+     * @param rerank Re-rank over-fetched candidates locally for higher precision (nullable)
+     * @param namespaces Namespaces (collections) to search; all, or the one holding baseDir, if omitted (nullable)
      * @return List of semantically similar document chunks with metadata
      */
     @Tool(
@@ -53,12 +105,23 @@ public class SemanticSearchTools {
         description = "Semantic search across domain documents using vector embeddings. " +
                      "Finds documents based on meaning and context, not just keywords. " +
                      "Use this for natural language queries or when keyword search returns insufficient results. " +
-                     "Default similarity threshold is 0.5 (lower = more results, higher = more precise)."
+                     "Default similarity threshold is 0.5 (lower = more results, higher = more precise). " +
+                     "Optional filters: pathPrefix (directory), baseDir, filenameGlob (e.g. '*.md'), " +
+                     "modifiedSince (ISO-8601 date or date-time). " +
+                     "Set rerank=true to re-score extra candidates locally for better precision in the top results. " +
+                     "Optional namespaces (see getVectorStoreInfo) limit the search to those spec collections; " +
+                     "they are searched in parallel and merged by score."
     )
     public List<SemanticSearchResult> semanticSearchDocs(
             String query, 
             Integer topK, 
-            Double similarityThreshold) {
+            Double similarityThreshold,
+            String pathPrefix,
+            String baseDir,
+            String filenameGlob,
+            String modifiedSince,
+            Boolean rerank,
+            List<String> namespaces) {
         
         if (!StringUtils.hasText(query)) {
             log.warn("[MCP] semanticSearchDocs called with empty query");
@@ -69,24 +132,50 @@ public class SemanticSearchTools {
         double threshold = (similarityThreshold == null || similarityThreshold < 0) 
                 ? 0.5  // Lowered from 0.7 to 0.5 for better recall
                 : Math.min(similarityThreshold, 1.0);
+        DocSearchFilter filter = DocSearchFilter.of(pathPrefix, baseDir, filenameGlob, modifiedSince);
+        boolean doRerank = rerank == null ? rerankByDefault : rerank;
+        List<VectorNamespaces.Namespace> selected = vectorNamespaces.select(namespaces, baseDir);
 
-        log.info("[MCP] semanticSearchDocs: query='{}', topK={}, threshold={}", query, k, threshold);
+        log.info("[MCP] semanticSearchDocs: query='{}', topK={}, threshold={}, filter={}, rerank={}, namespaces={}",
+                query, k, threshold, filter, doRerank, selected.stream().map(VectorNamespaces.Namespace::name).toList());
+        accessStats.record(AccessStats.Kind.QUERY, query);
 
         try {
-            // Perform similarity search  
-            SearchRequest searchRequest = SearchRequest.builder()
+            // Over-fetch for re-ranking and when part of the filename glob has to be applied in-process
+            int candidates = doRerank ? reranker.candidateCount(k) : k;
+            int fetchK = filter.needsResidualFilter()
+                    ? Math.min(candidates * RESIDUAL_FILTER_OVERFETCH, MAX_FETCH_K)
+                    : candidates;
+            SearchRequest.Builder searchRequest = SearchRequest.builder()
                     .query(query)
-                    .topK(k)
-                    .similarityThreshold(threshold)
-                    .build();
+                    .topK(fetchK)
+                    .similarityThreshold(threshold);
+            Filter.Expression expression = filter.toExpression();
+            if (expression != null) {
+                searchRequest.filterExpression(expression);
+            }
             
-            List<Document> results = vectorStore.similaritySearch(searchRequest);
+            if (selected.size() > 1) {
+                // Embed once up front; the per-namespace searches then hit the query embedding cache
+                queryEmbeddings.embed(query);
+            }
+            List<Document> results = vectorNamespaces.search(searchRequest.build(), selected);
+            if (filter.needsResidualFilter()) {
+                Predicate<Map<String, Object>> residual = filter.residualMatcher();
+                results = results.stream()
+                        .filter(doc -> residual.test(doc.getMetadata()))
+                        .limit(candidates)
+                        .toList();
+            }
+            if (doRerank) {
+                results = reranker.rerank(query, results, k);
+            }
             
             log.info("[MCP] semanticSearchDocs returned {} results", results.size());
             
             // Log similarity scores for debugging
             if (results.isEmpty()) {
-                log.warn("[MCP] No results found. Try lowering the similarity threshold (current: {})", threshold);
+                log.warn("[MCP] No results found. Try lowering the similarity threshold (current: {}) or relaxing filters", threshold);
             } else {
                 for (int i = 0; i < Math.min(3, results.size()); i++) {
                     Document doc = results.get(i);
@@ -110,70 +199,340 @@ public class SemanticSearchTools {
     }
 
     /**
-     * Get embedding statistics and vector store information.
+     * Non-blocking {@link #semanticSearchDocs} for the async MCP server. The query embedding comes
+     * from the cache or the embedding pool, then every selected namespace is searched with
+     * Qdrant's async gRPC API; no thread waits for Qdrant, not even for a Qdrant bulkhead permit
+     * (searches beyond the limit fail fast). Residual filtering and re-ranking run on the thread
+     * completing the last search.
+     */
+    public CompletableFuture<List<SemanticSearchResult>> semanticSearchDocsAsync(
+            String query,
+            Integer topK,
+            Double similarityThreshold,
+            String pathPrefix,
+            String baseDir,
+            String filenameGlob,
+            String modifiedSince,
+            Boolean rerank,
+            List<String> namespaces) {
+
+        if (!StringUtils.hasText(query)) {
+            log.warn("[MCP] semanticSearchDocs called with empty query");
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        int k = (topK == null || topK <= 0) ? 5 : Math.min(topK, 20);
+        double threshold = (similarityThreshold == null || similarityThreshold < 0)
+                ? 0.5
+                : Math.min(similarityThreshold, 1.0);
+        DocSearchFilter filter = DocSearchFilter.of(pathPrefix, baseDir, filenameGlob, modifiedSince);
+        boolean doRerank = rerank == null ? rerankByDefault : rerank;
+        List<VectorNamespaces.Namespace> selected = vectorNamespaces.select(namespaces, baseDir);
+        int candidates = doRerank ? reranker.candidateCount(k) : k;
+        int fetchK = filter.needsResidualFilter()
+                ? Math.min(candidates * RESIDUAL_FILTER_OVERFETCH, MAX_FETCH_K)
+                : candidates;
+        Points.Filter qdrantFilter = filter.toQdrantFilter();
+        Predicate<Map<String, Object>> residual = filter.residualMatcher();
+
+        log.info("[MCP] semanticSearchDocs (async): query='{}', topK={}, threshold={}, filter={}, rerank={}, namespaces={}",
+                query, k, threshold, filter, doRerank, selected.stream().map(VectorNamespaces.Namespace::name).toList());
+        accessStats.record(AccessStats.Kind.QUERY, query);
+
+        return queryEmbeddings.embedAsync(query, embedExecutor)
+                .thenCompose(embedding -> {
+                    List<Float> vector = toFloatList(embedding);
+                    List<CompletableFuture<List<Points.ScoredPoint>>> searches = selected.stream()
+                            .map(namespace -> searchNonBlocking(
+                                    searchPoints(namespace.collection(), vector, fetchK, threshold, qdrantFilter)))
+                            .toList();
+                    return CompletableFuture.allOf(searches.toArray(CompletableFuture[]::new))
+                            .thenApply(done -> searches.stream().flatMap(search -> search.join().stream()).toList());
+                })
+                .thenApply(points -> {
+                    List<Document> results = points.stream()
+                            .sorted(Comparator.comparingDouble(Points.ScoredPoint::getScore).reversed())
+                            .limit(fetchK)
+                            .map(point -> toDocument(point, QdrantPayloads.toMetadata(point.getPayloadMap())))
+                            .filter(doc -> residual.test(doc.getMetadata()))
+                            .limit(candidates)
+                            .toList();
+                    if (doRerank) {
+                        results = reranker.rerank(query, results, k);
+                    }
+                    log.info("[MCP] semanticSearchDocs (async) returned {} results", results.size());
+                    return results.stream().map(this::toSearchResult).toList();
+                })
+                .exceptionallyCompose(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.error("[MCP] semanticSearchDocs (async) failed: {}", cause.getMessage(), cause);
+                    return CompletableFuture.failedFuture(
+                            new SemanticSearchException("Semantic search failed: " + cause.getMessage(), cause));
+                });
+    }
+
+    /**
+     * Run several semantic searches in one round trip: all queries are embedded in a single
+     * batched call and searched with Qdrant's batch search API. Results are deduplicated across
+     * queries; a chunk is listed once, under the query it matched best.
+     *
+     * @param queries Natural language queries (1-10)
+     * @param topK Results per query (default: 5, max: 20)
+     * @param similarityThreshold Minimum similarity score (0.0-1.0, default: 0.5)
+     * @param pathPrefix Restrict to documents under this directory (nullable)
+     * @param baseDir Restrict to one configured base directory by name (nullable)
+     * @param filenameGlob Restrict by file name glob (nullable)
+     * @param modifiedSince Only documents modified at or after this ISO-8601 date/time (nullable)
+     * @param namespaces Namespaces (collections) to search (nullable)
+     * @return results grouped per query
+     */
+    @Tool(
+        name = "semanticSearchBatch",
+        description = "Semantic search for several related queries at once (max 10), e.g. one per concept in a " +
+                     "multi-part question. Embeds all queries in one call and searches them in one batch. " +
+                     "Returns deduplicated results grouped per query, best first; a chunk matching several queries is listed " +
+                     "under the best-matching one with 'matched_queries' in its metadata. Same optional filters and namespaces as semanticSearchDocs."
+    )
+    public SemanticBatchResult semanticSearchBatch(
+            List<String> queries,
+            Integer topK,
+            Double similarityThreshold,
+            String pathPrefix,
+            String baseDir,
+            String filenameGlob,
+            String modifiedSince,
+            List<String> namespaces) {
+
+        List<String> cleaned = queries == null ? List.of() : queries.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .toList();
+        if (cleaned.isEmpty()) {
+            log.warn("[MCP] semanticSearchBatch called without queries");
+            return new SemanticBatchResult(List.of(), 0);
+        }
+        if (cleaned.size() > MAX_BATCH_QUERIES) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_QUERIES + " queries per batch, got " + cleaned.size());
+        }
+
+        int k = (topK == null || topK <= 0) ? 5 : Math.min(topK, 20);
+        double threshold = (similarityThreshold == null || similarityThreshold < 0)
+                ? 0.5
+                : Math.min(similarityThreshold, 1.0);
+        DocSearchFilter filter = DocSearchFilter.of(pathPrefix, baseDir, filenameGlob, modifiedSince);
+        int fetchK = filter.needsResidualFilter() ? Math.min(k * RESIDUAL_FILTER_OVERFETCH, MAX_FETCH_K) : k;
+        List<VectorNamespaces.Namespace> selected = vectorNamespaces.select(namespaces, baseDir);
+
+        log.info("[MCP] semanticSearchBatch: {} queries, topK={}, threshold={}, filter={}, namespaces={}",
+                cleaned.size(), k, threshold, filter, selected.stream().map(VectorNamespaces.Namespace::name).toList());
+
+        try {
+            cleaned.forEach(q -> accessStats.record(AccessStats.Kind.QUERY, q));
+            List<float[]> embeddings = queryEmbeddings.embed(cleaned);
+
+            Points.Filter qdrantFilter = filter.toQdrantFilter();
+            Predicate<Map<String, Object>> residual = filter.residualMatcher();
+            List<List<Float>> vectors = embeddings.stream().map(SemanticSearchTools::toFloatList).toList();
+
+            // One batch search per namespace collection, all in flight at once
+            List<ListenableFuture<List<Points.BatchResult>>> pending = new ArrayList<>(selected.size());
+            for (VectorNamespaces.Namespace namespace : selected) {
+                List<Points.SearchPoints> searches = new ArrayList<>(cleaned.size());
+                for (List<Float> vector : vectors) {
+                    searches.add(searchPoints(namespace.collection(), vector, fetchK, threshold, qdrantFilter));
+                }
+                pending.add(qdrantClient.searchBatchAsync(namespace.collection(), searches, null));
+            }
+            List<List<Points.ScoredPoint>> perQuery = new ArrayList<>(cleaned.size());
+            for (int q = 0; q < cleaned.size(); q++) {
+                perQuery.add(new ArrayList<>());
+            }
+            for (ListenableFuture<List<Points.BatchResult>> future : pending) {
+                List<Points.BatchResult> batch = QdrantFutures.await(future);
+                for (int q = 0; q < batch.size(); q++) {
+                    perQuery.get(q).addAll(batch.get(q).getResultList());
+                }
+            }
+            perQuery.forEach(points -> points.sort(
+                    Comparator.comparingDouble(Points.ScoredPoint::getScore).reversed()));
+
+            List<List<Document>> assigned = assignToBestQuery(perQuery, k, residual);
+            int unique = 0;
+            List<QueryResults> groups = new ArrayList<>(cleaned.size());
+            for (int q = 0; q < cleaned.size(); q++) {
+                unique += assigned.get(q).size();
+                groups.add(new QueryResults(cleaned.get(q), assigned.get(q).stream().map(this::toSearchResult).toList()));
+            }
+            log.info("[MCP] semanticSearchBatch returned {} unique chunks for {} queries", unique, cleaned.size());
+            return new SemanticBatchResult(groups, unique);
+
+        } catch (Exception e) {
+            log.error("[MCP] semanticSearchBatch failed: {}", e.getMessage(), e);
+            throw new SemanticSearchException("Semantic batch search failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Search through the points stub with {@link BulkheadGrpcInterceptor#NON_BLOCKING} set, so a
+     * caller on an event-loop or pool thread never parks waiting for a Qdrant bulkhead permit.
+     */
+    private CompletableFuture<List<Points.ScoredPoint>> searchNonBlocking(Points.SearchPoints request) {
+        return QdrantFutures.toCompletable(qdrantClient.grpcClient().points()
+                        .withOption(BulkheadGrpcInterceptor.NON_BLOCKING, true)
+                        .search(request))
+                .thenApply(Points.SearchResponse::getResultList);
+    }
+
+    private static Points.SearchPoints searchPoints(String collection, List<Float> vector, int limit,
+                                                    double threshold, Points.Filter filter) {
+        Points.SearchPoints.Builder search = Points.SearchPoints.newBuilder()
+                .setCollectionName(collection)
+                .addAllVector(vector)
+                .setLimit(limit)
+                .setScoreThreshold((float) threshold)
+                .setWithPayload(WithPayloadSelectorFactory.enable(true));
+        if (filter != null) {
+            search.setFilter(filter);
+        }
+        return search.build();
+    }
+
+    /**
+     * Keep each query's top k hits (after the residual filter) and assign every chunk to the
+     * query where it scored best, noting all queries that matched it in "matched_queries".
+     *
+     * @param perQuery hits per query, best first
+     * @return documents per query, best first
+     */
+    static List<List<Document>> assignToBestQuery(List<List<Points.ScoredPoint>> perQuery, int k,
+                                                  Predicate<Map<String, Object>> residual) {
+        Map<String, BestMatch> best = new HashMap<>();
+        Map<String, List<Integer>> matchedQueries = new HashMap<>();
+        for (int q = 0; q < perQuery.size(); q++) {
+            int kept = 0;
+            for (Points.ScoredPoint point : perQuery.get(q)) {
+                if (kept >= k) break;
+                Map<String, Object> metadata = QdrantPayloads.toMetadata(point.getPayloadMap());
+                if (!residual.test(metadata)) continue;
+                kept++;
+                String id = pointId(point);
+                matchedQueries.computeIfAbsent(id, key -> new ArrayList<>()).add(q);
+                BestMatch current = best.get(id);
+                if (current == null || point.getScore() > current.score()) {
+                    best.put(id, new BestMatch(q, point.getScore(), point, metadata));
+                }
+            }
+        }
+
+        List<List<BestMatch>> grouped = new ArrayList<>(perQuery.size());
+        for (int q = 0; q < perQuery.size(); q++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (Map.Entry<String, BestMatch> entry : best.entrySet()) {
+            entry.getValue().metadata().put("matched_queries", matchedQueries.get(entry.getKey()));
+            grouped.get(entry.getValue().queryIndex()).add(entry.getValue());
+        }
+        List<List<Document>> result = new ArrayList<>(perQuery.size());
+        for (List<BestMatch> group : grouped) {
+            result.add(group.stream()
+                    .sorted(Comparator.comparingDouble(BestMatch::score).reversed())
+                    .map(match -> toDocument(match.point(), match.metadata()))
+                    .toList());
+        }
+        return result;
+    }
+
+    private static String pointId(Points.ScoredPoint point) {
+        return point.getId().hasUuid() ? point.getId().getUuid() : Long.toString(point.getId().getNum());
+    }
+
+    /**
+     * Document for a scored point, with "distance" metadata as the vector store reports it.
+     */
+    private static Document toDocument(Points.ScoredPoint point, Map<String, Object> metadata) {
+        metadata.put("distance", 1.0 - point.getScore());
+        return Document.builder()
+                .id(pointId(point))
+                .text(QdrantPayloads.content(point.getPayloadMap()))
+                .metadata(metadata)
+                .score((double) point.getScore())
+                .build();
+    }
+
+    private static List<Float> toFloatList(float[] values) {
+        List<Float> list = new ArrayList<>(values.length);
+        for (float v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    private record BestMatch(int queryIndex, float score, Points.ScoredPoint point, Map<String, Object> metadata) {}
+
+    /**
+     * Get embedding statistics and vector store information, per namespace and in total.
      */
     @Tool(
         name = "getVectorStoreInfo",
-        description = "Get information about the vector store including number of indexed documents and configuration."
+        description = "Get information about the vector store including the namespaces (one collection per spec base directory " +
+                     "or group), the number of indexed documents and configuration."
     )
     public VectorStoreInfo getVectorStoreInfo() {
         log.info("[MCP] getVectorStoreInfo called");
         
-        try {
-            // Get collection info from Qdrant
-            var collectionInfo = qdrantClient.getCollectionInfoAsync(collectionName).get();
-            
-            // Extract statistics
-            long pointsCount = collectionInfo.getPointsCount();
-            long vectorsCount = collectionInfo.getVectorsCount();
-            long segmentsCount = collectionInfo.getSegmentsCount();
-            String status = collectionInfo.getStatus().name();
-            
-            // Get optimizer status
-            var optimizerStatus = collectionInfo.getOptimizerStatus();
-            boolean indexing = optimizerStatus.getOk();
-            
-            // Get vector config
-            var vectorsConfig = collectionInfo.getConfig().getParams().getVectorsConfig();
-            long vectorSize = 0L;
-            String distance = "unknown";
-            
-            if (vectorsConfig.hasParams()) {
-                vectorSize = vectorsConfig.getParams().getSize();
-                distance = vectorsConfig.getParams().getDistance().name();
+        List<NamespaceInfo> namespaceInfos = new ArrayList<>();
+        long pointsCount = 0;
+        long vectorsCount = 0;
+        long segmentsCount = 0;
+        long vectorSize = 0L;
+        String distance = "unknown";
+        boolean indexing = true;
+        List<String> errors = new ArrayList<>();
+        for (VectorNamespaces.Namespace namespace : vectorNamespaces.all()) {
+            try {
+                var collectionInfo = QdrantFutures.await(qdrantClient.getCollectionInfoAsync(namespace.collection()));
+                
+                // Get vector config
+                var vectorsConfig = collectionInfo.getConfig().getParams().getVectorsConfig();
+                if (vectorsConfig.hasParams()) {
+                    vectorSize = vectorsConfig.getParams().getSize();
+                    distance = vectorsConfig.getParams().getDistance().name();
+                }
+                pointsCount += collectionInfo.getPointsCount();
+                vectorsCount += collectionInfo.getVectorsCount();
+                segmentsCount += collectionInfo.getSegmentsCount();
+                indexing &= collectionInfo.getOptimizerStatus().getOk();
+                namespaceInfos.add(new NamespaceInfo(namespace.name(), namespace.collection(), namespace.baseDirNames(),
+                        collectionInfo.getStatus().name(), collectionInfo.getPointsCount()));
+            } catch (Exception e) {
+                log.error("[MCP] getVectorStoreInfo failed for {}: {}", namespace.collection(), e.getMessage(), e);
+                errors.add(namespace.name() + ": " + e.getMessage());
+                namespaceInfos.add(new NamespaceInfo(namespace.name(), namespace.collection(), namespace.baseDirNames(),
+                        "ERROR", 0L));
             }
-            
-            log.info("[MCP] Vector store stats: points={}, vectors={}, segments={}, status={}", 
-                    pointsCount, vectorsCount, segmentsCount, status);
-            
-            return new VectorStoreInfo(
-                "Qdrant",
-                collectionName,
-                status,
-                pointsCount,
-                vectorsCount,
-                segmentsCount,
-                vectorSize,
-                distance,
-                indexing,
-                "Vector store is operational with " + pointsCount + " indexed vectors"
-            );
-            
-        } catch (Exception e) {
-            log.error("[MCP] getVectorStoreInfo failed: {}", e.getMessage(), e);
-            return new VectorStoreInfo(
-                "Qdrant",
-                collectionName,
-                "ERROR",
-                0L,
-                0L,
-                0L,
-                0L,
-                "unknown",
-                false,
-                "Error retrieving stats: " + e.getMessage()
-            );
         }
+        
+        log.info("[MCP] Vector store stats: namespaces={}, points={}, vectors={}, segments={}",
+                namespaceInfos.size(), pointsCount, vectorsCount, segmentsCount);
+        
+        return new VectorStoreInfo(
+            "Qdrant",
+            collectionName,
+            errors.isEmpty()
+                    ? namespaceInfos.stream().map(NamespaceInfo::status).distinct().collect(Collectors.joining("/"))
+                    : "ERROR",
+            pointsCount,
+            vectorsCount,
+            segmentsCount,
+            vectorSize,
+            distance,
+            indexing,
+            errors.isEmpty()
+                    ? "Vector store is operational with " + pointsCount + " indexed vectors in " + namespaceInfos.size() + " namespaces"
+                    : "Error retrieving stats: " + String.join("; ", errors),
+            namespaceInfos
+        );
     }
 
     /**
@@ -239,7 +598,25 @@ public class SemanticSearchTools {
     ) {}
 
     /**
-     * Vector store information.
+     * Results of one query within a batch search.
+     */
+    public record QueryResults(
+        String query,
+        List<SemanticSearchResult> results
+    ) {}
+
+    /**
+     * Batch search response: results grouped per query, deduplicated across queries.
+     */
+    public record SemanticBatchResult(
+        List<QueryResults> groups,
+        int uniqueChunks
+    ) {}
+
+    /**
+     * Vector store information; counts are summed over all namespaces.
+     *
+     * @param collectionName prefix of the namespace collections
      */
     public record VectorStoreInfo(
         String type,
@@ -251,7 +628,19 @@ public class SemanticSearchTools {
         Long vectorSize,
         String distanceMetric,
         Boolean indexing,
-        String notes
+        String notes,
+        List<NamespaceInfo> namespaces
+    ) {}
+
+    /**
+     * One namespace: its collection and the base directories indexed into it.
+     */
+    public record NamespaceInfo(
+        String name,
+        String collectionName,
+        List<String> baseDirs,
+        String status,
+        long pointsCount
     ) {}
 
     /**
@@ -0,0 +1,9 @@
+package org.example.spring_ai.vector;
+
+/**
+ * Published by {@link DocumentIndexerService} once the collection is usable after startup
+ * (restored or reconciled) and whenever a reconcile or re-index changed its contents.
+ *
+ * @param reason "startup" or "reconcile"
+ */
+public record VectorIndexReadyEvent(String reason) {}
@@ -0,0 +1,79 @@
+package org.example.spring_ai.vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MCP tools for maintaining the vector collection (reconciliation and snapshots).
+ * File locations come from configuration only; clients cannot choose arbitrary paths.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vector.store.enabled", havingValue = "true", matchIfMissing = false)
+public class VectorMaintenanceTools {
+
+    private final VectorSnapshotService snapshotService;
+    private final DocumentIndexerService indexerService;
+    private final VectorNamespaces namespaces;
+
+    public VectorMaintenanceTools(VectorSnapshotService snapshotService, DocumentIndexerService indexerService,
+                                  VectorNamespaces namespaces) {
+        this.snapshotService = snapshotService;
+        this.indexerService = indexerService;
+        this.namespaces = namespaces;
+        log.info("[MCP] VectorMaintenanceTools initialized");
+    }
+
+    @Tool(
+        name = "reconcileVectorStore",
+        description = "Reconcile every namespace's vector collection with the documents on disk: delete vectors of removed files, " +
+                     "changed chunks and duplicates, then embed only missing chunks. Use dryRun=true to preview counts. " +
+                     "Deletions are skipped (deletesSkipped=true) when a base dir or file could not be read."
+    )
+    public DocumentIndexerService.ReconcileReport reconcileVectorStore(Boolean dryRun) {
+        log.info("[MCP] reconcileVectorStore called (dryRun={})", dryRun);
+        return indexerService.reconcile(Boolean.TRUE.equals(dryRun));
+    }
+
+    @Tool(
+        name = "exportVectorSnapshot",
+        description = "Export each namespace's vector collection (vectors, payloads and a manifest with embedding model and " +
+                     "corpus hash) to its snapshot file so other environments can restore it instead of re-indexing."
+    )
+    public List<SnapshotResult> exportVectorSnapshot() {
+        log.info("[MCP] exportVectorSnapshot called");
+        if (!snapshotService.isEnabled()) {
+            return List.of(new SnapshotResult(null, false, null, null, "Snapshots disabled: set vector.store.snapshot.path"));
+        }
+        List<SnapshotResult> results = new ArrayList<>();
+        for (VectorNamespaces.Namespace namespace : namespaces.all()) {
+            String path = snapshotService.snapshotPath(namespace).toString();
+            try {
+                var manifest = snapshotService.export(namespace, indexerService.corpusHash(namespace));
+                results.add(new SnapshotResult(namespace.name(), true, path, manifest,
+                        "Exported " + manifest.pointCount() + " points"));
+            } catch (Exception e) {
+                log.error("[MCP] exportVectorSnapshot of namespace {} failed: {}", namespace.name(), e.getMessage(), e);
+                results.add(new SnapshotResult(namespace.name(), false, path, null, "Export failed: " + e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Result of a snapshot operation for one namespace.
+     */
+    public record SnapshotResult(
+        String namespace,
+        boolean success,
+        String path,
+        VectorSnapshotService.SnapshotManifest manifest,
+        String notes
+    ) {}
+}
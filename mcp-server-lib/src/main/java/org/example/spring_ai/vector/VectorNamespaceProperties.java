@@ -0,0 +1,27 @@
+package org.example.spring_ai.vector;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * How configured base directories map to vector namespaces (one Qdrant collection each).
+ *
+ * @param groups               namespace name to the base directory names (last path segment) it covers;
+ *                             base directories not listed in any group get a namespace of their own
+ * @param searchThreads         threads searching namespaces in parallel (0 = one per namespace)
+ * @param dropLegacyCollection delete the single collection (and snapshot) from before namespaces on
+ *                             startup instead of only warning about it
+ */
+@ConfigurationProperties(prefix = "vector.store.namespaces")
+public record VectorNamespaceProperties(
+        Map<String, List<String>> groups,
+        @DefaultValue("0") int searchThreads,
+        @DefaultValue("false") boolean dropLegacyCollection) {
+
+    public VectorNamespaceProperties {
+        groups = groups == null ? Map.of() : groups;
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.spring_ai.vector;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.util.StringUtils;
+
+/**
+ * Vector namespaces: every configured base directory, or group of base directories, is indexed into
+ * its own Qdrant collection named {@code <spring.ai.qdrant.collection-name>-<namespace>}.
+ *
+ * Searches select namespaces and query their collections in parallel; results are merged by
+ * similarity score, so a scoped search only touches the vectors of the selected corpus.
+ */
+public class VectorNamespaces {
+
+    private final Map<String, Namespace> byName = new LinkedHashMap<>();
+    private final ExecutorService executor;
+
+    public VectorNamespaces(List<Namespace> namespaces, int searchThreads) {
+        for (Namespace namespace : namespaces) {
+            byName.put(namespace.name(), namespace);
+        }
+        int threads = searchThreads > 0 ? searchThreads : Math.max(1, namespaces.size());
+        this.executor = Executors.newFixedThreadPool(threads, daemonThreads());
+    }
+
+    public List<Namespace> all() {
+        return List.copyOf(byName.values());
+    }
+
+    public List<String> names() {
+        return List.copyOf(byName.keySet());
+    }
+
+    /**
+     * Namespaces a search should cover: the named ones if given, otherwise the namespace holding
+     * {@code baseDir} if that filter is set, otherwise all.
+     *
+     * @throws IllegalArgumentException for an unknown namespace name
+     */
+    public List<Namespace> select(Collection<String> names, String baseDir) {
+        if (names != null && names.stream().anyMatch(StringUtils::hasText)) {
+            List<Namespace> selected = new ArrayList<>();
+            for (String name : names) {
+                if (!StringUtils.hasText(name)) continue;
+                Namespace namespace = byName.get(name.trim());
+                if (namespace == null) {
+                    throw new IllegalArgumentException("Unknown namespace '" + name.trim() + "', available: " + names());
+                }
+                if (!selected.contains(namespace)) selected.add(namespace);
+            }
+            return selected;
+        }
+        if (StringUtils.hasText(baseDir)) {
+            for (Namespace namespace : byName.values()) {
+                if (namespace.baseDirNames().contains(baseDir.trim())) return List.of(namespace);
+            }
+        }
+        return all();
+    }
+
+    /**
+     * Run the same similarity search against each namespace (in parallel when there are several)
+     * and merge the hits by score.
+     */
+    public List<Document> search(SearchRequest request, List<Namespace> namespaces) {
+        return searchEach(namespaces, namespace -> namespace.store().similaritySearch(request), request.getTopK());
+    }
+
+    /**
+     * Apply a per-namespace search in parallel and keep the {@code topK} best hits overall.
+     */
+    public List<Document> searchEach(List<Namespace> namespaces, Function<Namespace, List<Document>> search, int topK) {
+        if (namespaces.size() == 1) {
+            return search.apply(namespaces.get(0));
+        }
+        List<Future<List<Document>>> futures = new ArrayList<>(namespaces.size());
+        for (Namespace namespace : namespaces) {
+            futures.add(executor.submit(() -> search.apply(namespace)));
+        }
+        List<List<Document>> results = new ArrayList<>(namespaces.size());
+        try {
+            for (Future<List<Document>> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching namespaces", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Namespace search failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return merge(results, topK);
+    }
+
+    /**
+     * Highest-scoring {@code topK} documents across per-namespace result lists.
+     */
+    static List<Document> merge(List<List<Document>> results, int topK) {
+        List<Document> all = new ArrayList<>();
+        results.forEach(all::addAll);
+        all.sort(Comparator.comparingDouble((Document d) -> d.getScore() == null ? 0 : d.getScore()).reversed());
+        return all.size() <= topK ? all : new ArrayList<>(all.subList(0, topK));
+    }
+
+    /**
+     * Group base directories into namespaces. Directories named in a group join that namespace;
+     * every other directory gets its own namespace named after it. Stores are attached later.
+     */
+    static List<Namespace> plan(List<Path> baseDirs, Map<String, List<String>> groups, String collectionPrefix) {
+        Map<String, List<Path>> members = new LinkedHashMap<>();
+        List<String> groupNames = groups.keySet().stream().map(VectorNamespaces::sanitize).toList();
+        for (Path baseDir : baseDirs) {
+            String dirName = baseDirName(baseDir);
+            String namespace = null;
+            for (Map.Entry<String, List<String>> group : groups.entrySet()) {
+                if (group.getValue() != null && group.getValue().contains(dirName)) {
+                    namespace = sanitize(group.getKey());
+                    break;
+                }
+            }
+            if (namespace == null) {
+                namespace = sanitize(dirName);
+                if (members.containsKey(namespace) || groupNames.contains(namespace)) {
+                    // Ungrouped base dirs with the same name (or a group's name): keep them apart
+                    int suffix = 2;
+                    while (members.containsKey(namespace + "-" + suffix)) suffix++;
+                    namespace = namespace + "-" + suffix;
+                }
+            }
+            members.computeIfAbsent(namespace, n -> new ArrayList<>()).add(baseDir);
+        }
+        List<Namespace> namespaces = new ArrayList<>(members.size());
+        members.forEach((name, dirs) -> namespaces.add(
+                new Namespace(name, collectionPrefix + "-" + name, List.copyOf(dirs), null)));
+        return namespaces;
+    }
+
+    /**
+     * Name of a base directory as stored in the {@code base_dir} payload field.
+     */
+    static String baseDirName(Path baseDir) {
+        return baseDir.getFileName() == null ? baseDir.toString() : baseDir.getFileName().toString();
+    }
+
+    static String sanitize(String name) {
+        String cleaned = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_-]+", "-").replaceAll("^-+|-+$", "");
+        return cleaned.isEmpty() ? "default" : cleaned;
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "vector-search-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * One namespace and its collection.
+     *
+     * @param baseDirs absolute base directories indexed into this namespace
+     * @param store    vector store bound to {@code collection}
+     */
+    public record Namespace(String name, String collection, List<Path> baseDirs, VectorStore store) {
+
+        public List<String> baseDirNames() {
+            return baseDirs.stream().map(VectorNamespaces::baseDirName).toList();
+        }
+
+        Namespace withStore(VectorStore store) {
+            return new Namespace(name, collection, baseDirs, store);
+        }
+    }
+}
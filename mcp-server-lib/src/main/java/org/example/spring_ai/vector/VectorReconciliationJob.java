@@ -0,0 +1,34 @@
+package org.example.spring_ai.vector;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodic reconciliation of the vector collection with the documents on disk.
+ * Disabled unless "vector.store.reconcile.cron" is set (e.g. "0 0 * * * *" for hourly).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vector.store.enabled", havingValue = "true", matchIfMissing = false)
+public class VectorReconciliationJob {
+
+    private final DocumentIndexerService indexerService;
+
+    public VectorReconciliationJob(DocumentIndexerService indexerService) {
+        this.indexerService = indexerService;
+    }
+
+    @Scheduled(cron = "${vector.store.reconcile.cron:-}")
+    public void reconcile() {
+        try {
+            indexerService.reconcile(false);
+        } catch (IllegalStateException e) {
+            log.info("[Vector] Scheduled reconcile skipped: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("[Vector] Scheduled reconcile failed: {}", e.getMessage(), e);
+        }
+    }
+}
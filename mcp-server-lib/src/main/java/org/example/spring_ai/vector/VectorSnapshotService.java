@@ -0,0 +1,422 @@
+package org.example.spring_ai.vector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import io.qdrant.client.PointIdFactory;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.VectorsFactory;
+import io.qdrant.client.WithPayloadSelectorFactory;
+import io.qdrant.client.WithVectorsSelectorFactory;
+import io.qdrant.client.grpc.Collections.Distance;
+import io.qdrant.client.grpc.Collections.VectorParams;
+import io.qdrant.client.grpc.JsonWithInt;
+import io.qdrant.client.grpc.Points.PointId;
+import io.qdrant.client.grpc.Points.PointStruct;
+import io.qdrant.client.grpc.Points.RetrievedPoint;
+import io.qdrant.client.grpc.Points.ScrollPoints;
+import io.qdrant.client.grpc.Points.ScrollResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Export and restore of a namespace's vector collection as a compact binary snapshot.
+ *
+ * A snapshot holds a manifest (embedding model, corpus hash, vector size, distance, point count)
+ * followed by every point's id, raw float vector and protobuf-encoded payload and a trailer with
+ * the number of points written, gzip-compressed (the gzip CRC-32 covers the whole content).
+ * On startup {@link DocumentIndexerService} restores a snapshot whose manifest matches the current
+ * model and corpus instead of re-embedding every document. The whole file is read and validated
+ * before the live collection is dropped, so a truncated or corrupt snapshot leaves it untouched.
+ *
+ * Configure via:
+ * - vector.store.snapshot.path: snapshot file location, one file per namespace (empty disables snapshots)
+ * - vector.store.snapshot.restore-on-startup: load a matching snapshot instead of indexing
+ * - vector.store.snapshot.export-after-index: write a snapshot after a full index
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "vector.store.enabled", havingValue = "true", matchIfMissing = false)
+public class VectorSnapshotService {
+
+    private static final byte[] MAGIC = {'M', 'C', 'P', 'V', 'S', 'N', 'A', 'P'};
+    private static final int FORMAT_VERSION = 2;
+    private static final int BATCH_SIZE = 256;
+    private static final byte POINT_MARKER = 1;
+    private static final byte END_MARKER = 0;
+    private static final byte ID_UUID = 0;
+    private static final byte ID_NUM = 1;
+    private static final int MAX_PAYLOAD_ENTRIES = 4096;
+
+    private final QdrantClient qdrantClient;
+    private final String embeddingModelName;
+    private final Path snapshotPath;
+    private final boolean restoreOnStartup;
+    private final boolean exportAfterIndex;
+
+    public VectorSnapshotService(
+            QdrantClient qdrantClient,
+            Environment environment,
+            @Value("${vector.store.snapshot.path:}") String snapshotPath,
+            @Value("${vector.store.snapshot.restore-on-startup:true}") boolean restoreOnStartup,
+            @Value("${vector.store.snapshot.export-after-index:true}") boolean exportAfterIndex) {
+        this.qdrantClient = qdrantClient;
+        this.embeddingModelName = EmbeddingModelConfig.modelName(environment);
+        this.snapshotPath = StringUtils.hasText(snapshotPath)
+                ? Paths.get(snapshotPath.trim()).toAbsolutePath().normalize()
+                : null;
+        this.restoreOnStartup = restoreOnStartup;
+        this.exportAfterIndex = exportAfterIndex;
+        log.info("[Vector] Snapshot path: {}", this.snapshotPath == null ? "(disabled)" : this.snapshotPath);
+    }
+
+    public boolean isEnabled() {
+        return snapshotPath != null;
+    }
+
+    public boolean isRestoreOnStartup() {
+        return isEnabled() && restoreOnStartup;
+    }
+
+    public boolean isExportAfterIndex() {
+        return isEnabled() && exportAfterIndex;
+    }
+
+    /**
+     * Snapshot file of a namespace: the configured path with the namespace inserted before the
+     * extension, e.g. {@code data/domain-docs.specs.vsnap}.
+     */
+    public Path snapshotPath(VectorNamespaces.Namespace namespace) {
+        if (snapshotPath == null) return null;
+        String fileName = snapshotPath.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String namespaced = dot > 0
+                ? fileName.substring(0, dot) + "." + namespace.name() + fileName.substring(dot)
+                : fileName + "." + namespace.name();
+        return snapshotPath.resolveSibling(namespaced);
+    }
+
+    /**
+     * Read only the manifest of a namespace's snapshot.
+     *
+     * @return manifest, or null if no snapshot file exists
+     */
+    public SnapshotManifest readManifest(VectorNamespaces.Namespace namespace) throws IOException {
+        Path file = snapshotPath(namespace);
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = openForRead(file)) {
+            return readHeader(in);
+        }
+    }
+
+    /**
+     * Restore a namespace's snapshot if its manifest matches the current embedding model and corpus.
+     * The file is validated first; only then is the collection dropped, recreated and loaded.
+     *
+     * @return true if the snapshot was restored
+     */
+    public boolean restoreIfCurrent(VectorNamespaces.Namespace namespace, String corpusHash) {
+        Path file = snapshotPath(namespace);
+        try {
+            SnapshotManifest manifest = readManifest(namespace);
+            if (manifest == null) {
+                log.info("[Vector] No snapshot found at {}, indexing from source", file);
+                return false;
+            }
+            if (!manifest.embeddingModel().equals(embeddingModelName) || !manifest.corpusHash().equals(corpusHash)) {
+                log.info("[Vector] Snapshot is stale (model {} vs {}, corpus {} vs {}), indexing from source",
+                        manifest.embeddingModel(), embeddingModelName, manifest.corpusHash(), corpusHash);
+                return false;
+            }
+            long start = System.currentTimeMillis();
+            long restored = restore(file, namespace.collection());
+            log.info("[Vector] ✅ Restored {} points into {} from snapshot in {}ms",
+                    restored, namespace.collection(), System.currentTimeMillis() - start);
+            return true;
+        } catch (Exception e) {
+            log.warn("[Vector] Snapshot restore failed, indexing from source: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Write all points of a namespace's collection to its snapshot path.
+     * The file is written to a temporary sibling and atomically moved into place.
+     */
+    public SnapshotManifest export(VectorNamespaces.Namespace namespace, String corpusHash) throws IOException {
+        if (snapshotPath == null) {
+            throw new IllegalStateException("vector.store.snapshot.path is not configured");
+        }
+        String collectionName = namespace.collection();
+        Path file = snapshotPath(namespace);
+        long start = System.currentTimeMillis();
+        var info = QdrantFutures.await(qdrantClient.getCollectionInfoAsync(collectionName));
+        var params = info.getConfig().getParams().getVectorsConfig().getParams();
+        SnapshotManifest manifest = new SnapshotManifest(
+                FORMAT_VERSION,
+                embeddingModelName,
+                corpusHash,
+                collectionName,
+                (int) params.getSize(),
+                params.getDistance().name(),
+                info.getPointsCount(),
+                Instant.now().toString());
+
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        long written = 0;
+        try (DataOutputStream out = openForWrite(tmp)) {
+            writeHeader(out, manifest);
+            PointId offset = null;
+            do {
+                ScrollPoints.Builder scroll = ScrollPoints.newBuilder()
+                        .setCollectionName(collectionName)
+                        .setLimit(BATCH_SIZE)
+                        .setWithPayload(WithPayloadSelectorFactory.enable(true))
+                        .setWithVectors(WithVectorsSelectorFactory.enable(true));
+                if (offset != null) {
+                    scroll.setOffset(offset);
+                }
+                ScrollResponse response = QdrantFutures.await(qdrantClient.scrollAsync(scroll.build()));
+                for (RetrievedPoint point : response.getResultList()) {
+                    writePoint(out, point.getId(), point.getVectors().getVector().getDataList(), point.getPayloadMap());
+                    written++;
+                }
+                offset = response.hasNextPageOffset() ? response.getNextPageOffset() : null;
+            } while (offset != null);
+            writeTrailer(out, written);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("[Vector] ✅ Exported {} points to {} ({} bytes) in {}ms",
+                written, file, Files.size(file), System.currentTimeMillis() - start);
+        return manifest;
+    }
+
+    private long restore(Path file, String collectionName) throws IOException {
+        SnapshotManifest manifest = verify(file);
+        recreateCollection(collectionName, manifest);
+        return readPoints(file, batch -> QdrantFutures.await(qdrantClient.upsertAsync(collectionName, batch)));
+    }
+
+    /**
+     * Read a snapshot end to end without loading it anywhere: every point must parse with the
+     * manifest's vector size, the trailer count must match the points read and the gzip checksum
+     * must verify.
+     *
+     * @throws IOException if the file is truncated, corrupt or inconsistent with its manifest
+     */
+    static SnapshotManifest verify(Path file) throws IOException {
+        try (DataInputStream in = openForRead(file)) {
+            SnapshotManifest manifest = readHeader(in);
+            long count = 0;
+            while (readMarker(in) == POINT_MARKER) {
+                readPoint(in, manifest.vectorSize());
+                count++;
+            }
+            readTrailer(in, count);
+            return manifest;
+        }
+    }
+
+    /**
+     * Stream a snapshot's points in batches of {@value #BATCH_SIZE}.
+     *
+     * @return number of points read
+     */
+    static long readPoints(Path file, Consumer<List<PointStruct>> sink) throws IOException {
+        try (DataInputStream in = openForRead(file)) {
+            SnapshotManifest manifest = readHeader(in);
+            List<PointStruct> batch = new ArrayList<>(BATCH_SIZE);
+            long count = 0;
+            while (readMarker(in) == POINT_MARKER) {
+                batch.add(readPoint(in, manifest.vectorSize()));
+                if (batch.size() == BATCH_SIZE) {
+                    sink.accept(batch);
+                    count += batch.size();
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+                count += batch.size();
+            }
+            readTrailer(in, count);
+            return count;
+        }
+    }
+
+    private void recreateCollection(String collectionName, SnapshotManifest manifest) {
+        if (Boolean.TRUE.equals(QdrantFutures.await(qdrantClient.collectionExistsAsync(collectionName)))) {
+            QdrantFutures.await(qdrantClient.deleteCollectionAsync(collectionName));
+        }
+        QdrantFutures.await(qdrantClient.createCollectionAsync(collectionName, VectorParams.newBuilder()
+                .setSize(manifest.vectorSize())
+                .setDistance(Distance.valueOf(manifest.distance()))
+                .build()));
+    }
+
+    static void writeHeader(DataOutputStream out, SnapshotManifest m) throws IOException {
+        out.write(MAGIC);
+        out.writeInt(m.formatVersion());
+        out.writeUTF(m.embeddingModel());
+        out.writeUTF(m.corpusHash());
+        out.writeUTF(m.collectionName());
+        out.writeInt(m.vectorSize());
+        out.writeUTF(m.distance());
+        out.writeLong(m.pointCount());
+        out.writeUTF(m.createdAt());
+    }
+
+    private static SnapshotManifest readHeader(DataInputStream in) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a vector snapshot file");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version: " + version);
+        }
+        return new SnapshotManifest(version, in.readUTF(), in.readUTF(), in.readUTF(),
+                in.readInt(), in.readUTF(), in.readLong(), in.readUTF());
+    }
+
+    static void writePoint(DataOutputStream out, PointId id, List<Float> vector,
+                           Map<String, JsonWithInt.Value> payload) throws IOException {
+        out.writeByte(POINT_MARKER);
+        if (id.hasUuid()) {
+            out.writeByte(ID_UUID);
+            UUID uuid = UUID.fromString(id.getUuid());
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(ID_NUM);
+            out.writeLong(id.getNum());
+        }
+        out.writeInt(vector.size());
+        for (Float f : vector) {
+            out.writeFloat(f);
+        }
+        out.writeInt(payload.size());
+        for (Map.Entry<String, JsonWithInt.Value> e : payload.entrySet()) {
+            out.writeUTF(e.getKey());
+            e.getValue().writeDelimitedTo(out);
+        }
+    }
+
+    static void writeTrailer(DataOutputStream out, long pointCount) throws IOException {
+        out.writeByte(END_MARKER);
+        out.writeLong(pointCount);
+    }
+
+    private static byte readMarker(DataInputStream in) throws IOException {
+        byte marker = in.readByte();
+        if (marker != POINT_MARKER && marker != END_MARKER) {
+            throw new IOException("Corrupt snapshot: unexpected record marker " + marker);
+        }
+        return marker;
+    }
+
+    private static void readTrailer(DataInputStream in, long pointsRead) throws IOException {
+        long written = in.readLong();
+        if (written != pointsRead) {
+            throw new IOException("Corrupt snapshot: " + pointsRead + " points read, " + written + " written");
+        }
+        // Reading to the end makes GZIPInputStream check the CRC-32 and length trailer
+        if (in.read() != -1) {
+            throw new IOException("Corrupt snapshot: data after the end marker");
+        }
+    }
+
+    private static PointStruct readPoint(DataInputStream in, int vectorSize) throws IOException {
+        byte idType = in.readByte();
+        if (idType != ID_UUID && idType != ID_NUM) {
+            throw new IOException("Corrupt snapshot: unknown point id type " + idType);
+        }
+        PointId id = idType == ID_UUID
+                ? PointIdFactory.id(new UUID(in.readLong(), in.readLong()))
+                : PointIdFactory.id(in.readLong());
+        int dim = in.readInt();
+        if (dim != vectorSize) {
+            throw new IOException("Corrupt snapshot: vector of size " + dim + ", expected " + vectorSize);
+        }
+        List<Float> vector = new ArrayList<>(dim);
+        for (int i = 0; i < dim; i++) {
+            vector.add(in.readFloat());
+        }
+        int entries = in.readInt();
+        if (entries < 0 || entries > MAX_PAYLOAD_ENTRIES) {
+            throw new IOException("Corrupt snapshot: " + entries + " payload entries");
+        }
+        Map<String, JsonWithInt.Value> payload = new HashMap<>(entries * 2);
+        for (int i = 0; i < entries; i++) {
+            String key = in.readUTF();
+            JsonWithInt.Value value = JsonWithInt.Value.parseDelimitedFrom(in);
+            if (value == null) {
+                throw new EOFException("Corrupt snapshot: payload ends early");
+            }
+            payload.put(key, value);
+        }
+        return PointStruct.newBuilder()
+                .setId(id)
+                .setVectors(VectorsFactory.vectors(vector))
+                .putAllPayload(payload)
+                .build();
+    }
+
+    static DataOutputStream openForWrite(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024)));
+    }
+
+    private static DataInputStream openForRead(Path file) throws IOException {
+        InputStream raw = Files.newInputStream(file);
+        return new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw, 64 * 1024)));
+    }
+
+    /**
+     * Snapshot manifest; a snapshot is only restored when model and corpus hash match.
+     */
+    public record SnapshotManifest(
+            int formatVersion,
+            String embeddingModel,
+            String corpusHash,
+            String collectionName,
+            int vectorSize,
+            String distance,
+            long pointCount,
+            String createdAt
+    ) {}
+}
@@ -1,24 +1,39 @@
 package org.example.spring_ai.vector;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.spring_ai.docs.CorpusPack;
+import org.example.spring_ai.resilience.BulkheadGrpcInterceptor;
+import org.example.spring_ai.resilience.Bulkheads;
 import org.springframework.ai.embedding.EmbeddingModel;
-import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.qdrant.QdrantVectorStore;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.observation.ObservationRegistry;
 import io.qdrant.client.QdrantClient;
 import io.qdrant.client.QdrantGrpcClient;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Configuration for vector store and embedding model.
- * Enables semantic search capabilities using Qdrant and Ollama.
+ * Enables semantic search capabilities using Qdrant and the configured embedding model.
  * 
- * Note: OllamaEmbeddingModel is auto-configured via Spring Boot properties.
- * We only need to configure the Qdrant VectorStore here.
+ * Note: the EmbeddingModel (Ollama or in-process transformers, see {@link EmbeddingModelConfig})
+ * is auto-configured via Spring Boot properties. We only need to configure the Qdrant vector stores
+ * here, one per namespace (see {@link VectorNamespaces}).
  * 
  * This configuration explicitly disables Spring AI's QdrantVectorStoreAutoConfiguration
  * to avoid bean naming conflicts.
@@ -29,11 +44,13 @@ import lombok.extern.slf4j.Slf4j;
 @EnableAutoConfiguration(exclude = {
     org.springframework.ai.vectorstore.qdrant.autoconfigure.QdrantVectorStoreAutoConfiguration.class
 })
+@EnableConfigurationProperties(VectorNamespaceProperties.class)
 public class VectorStoreConfig {
 
     @Value("${spring.ai.qdrant.base-url}")
     private String qdrantUrl;
 
+    /** Collection name prefix; namespace collections are named {@code <prefix>-<namespace>}. */
     @Value("${spring.ai.qdrant.collection-name}")
     private String collectionName;
 
@@ -42,33 +59,113 @@ public class VectorStoreConfig {
 
     /**
      * Qdrant client for vector database operations.
+     * Every gRPC call runs under the Qdrant bulkhead and is observed (span covers the permit wait).
      */
     @Bean
-    public QdrantClient qdrantClient() {
+    public QdrantClient qdrantClient(Bulkheads bulkheads, ObservationRegistry observationRegistry) {
         log.info("[Vector] Configuring Qdrant client: {}", qdrantUrl);
         
         // Extract host and port from URL
         String host = qdrantUrl.replace("http://", "").replace("https://", "").split(":")[0];
         int port = 6334; // gRPC port
         
+        var channel = ManagedChannelBuilder.forAddress(host, port)
+                .usePlaintext()
+                .intercept(new BulkheadGrpcInterceptor(bulkheads.get(Bulkheads.QDRANT)),
+                        new ObservationGrpcClientInterceptor(observationRegistry))
+                .build();
         return new QdrantClient(
-                QdrantGrpcClient.newBuilder(host, port, false)
+                QdrantGrpcClient.newBuilder(channel, true)
                         .build()
         );
     }
 
     /**
-     * Qdrant Vector Store for storing and retrieving document embeddings.
-     * The EmbeddingModel is auto-configured by Spring Boot from application.yml
+     * Cache of query embeddings, so repeated (and pre-warmed) queries skip the embedding model.
+     */
+    @Bean
+    public QueryEmbeddingCache queryEmbeddingCache(EmbeddingModel embeddingModel,
+                                                   @Value("${vector.search.embedding-cache.max-entries:2000}") int maxEntries) {
+        return new QueryEmbeddingCache(embeddingModel, maxEntries);
+    }
+
+    /**
+     * One Qdrant vector store per namespace (base directory or configured group of base directories),
+     * each bound to its own collection. Query embeddings go through the {@link QueryEmbeddingCache}.
+     * With a {@link CorpusPack}, the base directories are the ones packed.
      */
     @Bean
-    public VectorStore vectorStore(QdrantClient qdrantClient, EmbeddingModel embeddingModel) {
-        log.info("[Vector] Configuring Qdrant vector store with collection: {}", collectionName);
+    public VectorNamespaces vectorNamespaces(QdrantClient qdrantClient, QueryEmbeddingCache queryEmbeddingCache,
+                                             ObservationRegistry observationRegistry,
+                                             VectorNamespaceProperties properties,
+                                             ObjectProvider<CorpusPack> corpusPack,
+                                             @Value("${domain.docs.paths:oms/specs}") String paths,
+                                             @Value("${vector.store.snapshot.path:}") String snapshotPath) throws Exception {
+        List<Path> baseDirs = new ArrayList<>();
+        CorpusPack pack = corpusPack.getIfAvailable();
+        if (pack != null) {
+            baseDirs.addAll(pack.baseDirs());
+        } else {
+            for (String part : paths.split(",")) {
+                String trimmed = part.trim();
+                if (!trimmed.isEmpty()) {
+                    Path p = Paths.get(trimmed).toAbsolutePath().normalize();
+                    if (Files.exists(p)) {
+                        baseDirs.add(p);
+                    }
+                }
+            }
+        }
+        EmbeddingModel embeddingModel = queryEmbeddingCache.asEmbeddingModel();
         log.info("[Vector] Using embedding model: {}", embeddingModel.getClass().getSimpleName());
-        
-        return QdrantVectorStore.builder(qdrantClient, embeddingModel)
-                .collectionName(collectionName)
-                .initializeSchema(initializeSchema)
-                .build();
+
+        List<VectorNamespaces.Namespace> namespaces = new ArrayList<>();
+        for (VectorNamespaces.Namespace planned : VectorNamespaces.plan(baseDirs, properties.groups(), collectionName)) {
+            QdrantVectorStore store = QdrantVectorStore.builder(qdrantClient, embeddingModel)
+                    .collectionName(planned.collection())
+                    .initializeSchema(initializeSchema)
+                    .observationRegistry(observationRegistry)
+                    .build();
+            // Not a bean itself: create the collection here
+            store.afterPropertiesSet();
+            namespaces.add(planned.withStore(store));
+            log.info("[Vector] Namespace {} -> collection {} ({})",
+                    planned.name(), planned.collection(), planned.baseDirNames());
+        }
+        legacyCollection(qdrantClient, snapshotPath, properties.dropLegacyCollection());
+        return new VectorNamespaces(namespaces, properties.searchThreads());
+    }
+
+    /**
+     * Before namespaces, all documents were indexed into one collection named after the prefix
+     * itself, snapshotted to the configured snapshot path. Neither is read any more: the namespace
+     * collections are filled from their own snapshots or by embedding the corpus again. Drop both
+     * when configured, otherwise warn so the space can be reclaimed.
+     */
+    private void legacyCollection(QdrantClient qdrantClient, String snapshotPath, boolean drop) {
+        try {
+            if (Boolean.TRUE.equals(QdrantFutures.await(qdrantClient.collectionExistsAsync(collectionName)))) {
+                if (drop) {
+                    QdrantFutures.await(qdrantClient.deleteCollectionAsync(collectionName));
+                    log.info("[Vector] Deleted collection {} from before namespaces", collectionName);
+                } else {
+                    log.warn("[Vector] Collection {} from before namespaces is no longer searched; documents are indexed "
+                            + "into {}-<namespace> instead. Delete it or set vector.store.namespaces.drop-legacy-collection=true",
+                            collectionName, collectionName);
+                }
+            }
+            Path snapshot = StringUtils.hasText(snapshotPath) ? Paths.get(snapshotPath.trim()).toAbsolutePath().normalize() : null;
+            if (snapshot != null && Files.exists(snapshot)) {
+                if (drop) {
+                    Files.delete(snapshot);
+                    log.info("[Vector] Deleted snapshot {} from before namespaces", snapshot);
+                } else {
+                    log.warn("[Vector] Snapshot {} from before namespaces is no longer restored; namespaces use "
+                            + "<name>.<namespace>.vsnap files next to it", snapshot);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[Vector] Could not check for the collection {} from before namespaces: {}", collectionName, e.getMessage());
+        }
     }
 }
@@ -0,0 +1,154 @@
+package org.example.spring_ai.warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts which docs, sections and semantic queries are accessed, so caches can be pre-warmed with
+ * the hot set after a restart. Counts survive restarts in a small JSON file, written periodically
+ * and on shutdown; each kind keeps at most {@code maxEntries} keys.
+ */
+@Slf4j
+@Component
+public class AccessStats {
+
+    public enum Kind { DOC, SECTION, QUERY }
+
+    /** One recorded access, kept with cached tool results so cache hits count like the original call. */
+    public record Access(Kind kind, String key) {}
+
+    private static final ThreadLocal<List<Access>> CAPTURE = new ThreadLocal<>();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_KEY_LENGTH = 512;
+
+    private final WarmupProperties properties;
+    private final Path file;
+    private final Map<Kind, Map<String, AtomicLong>> counts = new EnumMap<>(Kind.class);
+    private volatile boolean dirty;
+
+    public AccessStats(WarmupProperties properties) {
+        this.properties = properties;
+        this.file = StringUtils.hasText(properties.statsFile()) ? Paths.get(properties.statsFile()) : null;
+        for (Kind kind : Kind.values()) {
+            counts.put(kind, new ConcurrentHashMap<>());
+        }
+        load();
+    }
+
+    public void record(Kind kind, String key) {
+        if (!StringUtils.hasText(key) || key.length() > MAX_KEY_LENGTH) return;
+        counts.get(kind).computeIfAbsent(key.trim(), k -> new AtomicLong()).incrementAndGet();
+        dirty = true;
+        List<Access> capture = CAPTURE.get();
+        if (capture != null) capture.add(new Access(kind, key));
+    }
+
+    /**
+     * Runs {@code call}, also adding the accesses it records on the calling thread to {@code sink}.
+     */
+    public <T> T capturing(List<Access> sink, Supplier<T> call) {
+        List<Access> outer = CAPTURE.get();
+        CAPTURE.set(sink);
+        try {
+            return call.get();
+        } finally {
+            if (outer == null) CAPTURE.remove(); else CAPTURE.set(outer);
+        }
+    }
+
+    /** Counts the accesses again, e.g. those of a call served from a cache. */
+    public void replay(List<Access> accesses) {
+        accesses.forEach(access -> record(access.kind(), access.key()));
+    }
+
+    /**
+     * @return up to {@code limit} keys of the given kind, most accessed first
+     */
+    public List<String> top(Kind kind, int limit) {
+        return counts.get(kind).entrySet().stream()
+                .sorted(Map.Entry.<String, AtomicLong>comparingByValue(Comparator.comparingLong(AtomicLong::get)).reversed())
+                .limit(Math.max(0, limit))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${mcp.warmup.flush-interval:1m}")
+    public void flush() {
+        if (file == null || !dirty) return;
+        dirty = false;
+        Map<String, Map<String, Long>> snapshot = new LinkedHashMap<>();
+        for (Kind kind : Kind.values()) {
+            prune(counts.get(kind));
+            Map<String, Long> values = new LinkedHashMap<>();
+            for (String key : top(kind, properties.maxEntries())) {
+                AtomicLong count = counts.get(kind).get(key);
+                if (count != null) values.put(key, count.get());
+            }
+            snapshot.put(kind.name().toLowerCase(Locale.ROOT), values);
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            MAPPER.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("[Warmup] Failed to write access stats to {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private void load() {
+        if (file == null || !Files.isRegularFile(file)) return;
+        try {
+            Map<String, Map<String, Long>> stored = MAPPER.readValue(file.toFile(), new TypeReference<>() {});
+            for (Kind kind : Kind.values()) {
+                Map<String, Long> values = stored.getOrDefault(kind.name().toLowerCase(Locale.ROOT), Map.of());
+                values.forEach((key, count) -> counts.get(kind).put(key, new AtomicLong(count)));
+            }
+            log.info("[Warmup] Loaded access stats from {}: {} docs, {} sections, {} queries", file,
+                    counts.get(Kind.DOC).size(), counts.get(Kind.SECTION).size(), counts.get(Kind.QUERY).size());
+        } catch (IOException e) {
+            log.warn("[Warmup] Ignoring unreadable access stats {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void prune(Map<String, AtomicLong> values) {
+        int excess = values.size() - properties.maxEntries();
+        if (excess <= 0) return;
+        values.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(AtomicLong::get)))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(values::remove);
+    }
+}
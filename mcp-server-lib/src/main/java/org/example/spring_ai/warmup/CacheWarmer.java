@@ -0,0 +1,109 @@
+package org.example.spring_ai.warmup;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.example.spring_ai.docs.DomainDocsTools;
+import org.example.spring_ai.vector.QueryEmbeddingCache;
+import org.example.spring_ai.vector.VectorIndexReadyEvent;
+import org.example.spring_ai.vector.VectorNamespaces;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pre-warms caches with the hot set from {@link AccessStats} in the background, so the first tool
+ * calls after a deploy are as fast as warm ones.
+ *
+ * - On startup: the most-read docs (and docs of the most-read sections) are loaded into the doc cache.
+ * - Once the vector index is ready, and after every re-index: the most frequent semantic queries are
+ *   embedded in one batch into the query embedding cache, then searched once each across all
+ *   namespaces so Qdrant pages in the segments they touch.
+ */
+@Slf4j
+@Component
+public class CacheWarmer {
+
+    private static final int WARMUP_TOP_K = 5;
+
+    private final AccessStats accessStats;
+    private final DomainDocsTools docsTools;
+    private final ObjectProvider<VectorNamespaces> vectorNamespaces;
+    private final ObjectProvider<QueryEmbeddingCache> queryEmbeddings;
+    private final WarmupProperties properties;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cache-warmup");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public CacheWarmer(AccessStats accessStats, DomainDocsTools docsTools, ObjectProvider<VectorNamespaces> vectorNamespaces,
+                       ObjectProvider<QueryEmbeddingCache> queryEmbeddings, WarmupProperties properties) {
+        this.accessStats = accessStats;
+        this.docsTools = docsTools;
+        this.vectorNamespaces = vectorNamespaces;
+        this.queryEmbeddings = queryEmbeddings;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (properties.enabled()) {
+            executor.execute(this::warmDocs);
+        }
+    }
+
+    @EventListener(VectorIndexReadyEvent.class)
+    public void onIndexReady(VectorIndexReadyEvent event) {
+        if (properties.enabled()) {
+            executor.execute(() -> warmVectors(event.reason()));
+        }
+    }
+
+    void warmDocs() {
+        Set<String> hot = new LinkedHashSet<>(accessStats.top(AccessStats.Kind.DOC, properties.topDocs()));
+        for (String section : accessStats.top(AccessStats.Kind.SECTION, properties.topDocs())) {
+            int hash = section.indexOf('#');
+            hot.add(hash < 0 ? section : section.substring(0, hash));
+        }
+        if (hot.isEmpty()) return;
+        try {
+            docsTools.warm(hot);
+        } catch (RuntimeException e) {
+            log.warn("[Warmup] Doc cache warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    void warmVectors(String reason) {
+        VectorNamespaces namespaces = vectorNamespaces.getIfAvailable();
+        QueryEmbeddingCache cache = queryEmbeddings.getIfAvailable();
+        List<String> queries = accessStats.top(AccessStats.Kind.QUERY, properties.topQueries());
+        if (namespaces == null || cache == null || queries.isEmpty()) return;
+        long start = System.currentTimeMillis();
+        try {
+            cache.embed(queries);
+            int searched = 0;
+            for (String query : queries) {
+                namespaces.search(SearchRequest.builder().query(query).topK(WARMUP_TOP_K).build(), namespaces.all());
+                searched++;
+            }
+            log.info("[Warmup] Vector warm-up after {}: {} queries embedded and searched in {} ms (cache: {})",
+                    reason, searched, System.currentTimeMillis() - start, cache.stats());
+        } catch (RuntimeException e) {
+            log.warn("[Warmup] Vector warm-up after {} failed: {}", reason, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.spring_ai.warmup;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Access statistics and cache pre-warming ("mcp.warmup.*").
+ *
+ * @param enabled        pre-warm caches on startup and after re-indexing
+ * @param statsFile      file the access counts are persisted to (empty = in memory only)
+ * @param flushInterval  how often changed counts are written to the stats file
+ * @param maxEntries     entries kept per kind (docs, sections, queries); the least used are dropped
+ * @param topDocs        number of most-read documents loaded into the doc cache
+ * @param topQueries     number of most-frequent semantic queries pre-embedded and searched
+ */
+@ConfigurationProperties(prefix = "mcp.warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("data/access-stats.json") String statsFile,
+        @DefaultValue("1m") Duration flushInterval,
+        @DefaultValue("500") int maxEntries,
+        @DefaultValue("50") int topDocs,
+        @DefaultValue("20") int topQueries) {}
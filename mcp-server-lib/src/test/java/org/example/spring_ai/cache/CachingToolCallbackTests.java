@@ -0,0 +1,110 @@
+package org.example.spring_ai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.example.spring_ai.vector.VectorIndexReadyEvent;
+import org.example.spring_ai.warmup.AccessStats;
+import org.example.spring_ai.warmup.WarmupProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+class CachingToolCallbackTests {
+
+	private final AtomicInteger calls = new AtomicInteger();
+	private final AtomicLong fingerprint = new AtomicLong();
+	private final AccessStats accessStats = new AccessStats(new WarmupProperties(true, "", Duration.ofMinutes(1), 500, 50, 20));
+
+	private final ToolCallback tool = tool("searchDomainDocs");
+
+	@Test
+	void normalizesArgumentOrderWhitespaceCaseAndDebugFlag() {
+		assertThat(CachingToolCallback.normalize("{\"topK\": 5, \"query\": \"  State   Transitions \", \"debug\": true}", true))
+				.isEqualTo(CachingToolCallback.normalize("{\"query\":\"state transitions\",\"topK\":5,\"baseDir\":null}", true))
+				.isEqualTo("{\"query\":\"state transitions\",\"topK\":5}");
+		assertThat(CachingToolCallback.normalize("{\"path\":\"specs/OMS.md\"}", true)).isEqualTo("{\"path\":\"specs/OMS.md\"}");
+		assertThat(CachingToolCallback.normalize("not json", true)).isNull();
+	}
+
+	@Test
+	void keysSemanticQueriesOnTheExactText() {
+		assertThat(CachingToolCallback.key("semanticSearchDocs", "{\"query\":\"Fill States\",\"debug\":true}"))
+				.isEqualTo("semanticSearchDocs {\"query\":\"Fill States\"}")
+				.isNotEqualTo(CachingToolCallback.key("semanticSearchDocs", "{\"query\":\"fill states\"}"));
+		assertThat(CachingToolCallback.key("semanticSearchBatch", "{\"queries\":[\" OMS \",\"oms\"]}"))
+				.isEqualTo("semanticSearchBatch {\"queries\":[\" OMS \",\"oms\"]}");
+		assertThat(CachingToolCallback.key("searchDomainDocs", "{\"query\":\"Fill States\"}"))
+				.isEqualTo(CachingToolCallback.key("searchDomainDocs", "{\"query\":\"fill states\"}"));
+	}
+
+	@Test
+	void replaysRecordedAccessesOnHits() {
+		ToolCallback recording = new ToolCallback() {
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return ToolDefinition.builder().name("semanticSearchDocs").description("").inputSchema("{}").build();
+			}
+
+			@Override
+			public String call(String toolInput) {
+				accessStats.record(AccessStats.Kind.QUERY, "order states");
+				return "result " + calls.incrementAndGet();
+			}
+		};
+		CachingToolCallback cached = new CachingToolCallback(recording, new ToolResultCache(10_000),
+				new CorpusVersion(fingerprint::get, 0), accessStats);
+
+		cached.call("{\"query\":\"order states\"}");
+		cached.call("{\"query\":\"order states\"}");
+		accessStats.record(AccessStats.Kind.QUERY, "fills");
+
+		assertThat(calls).hasValue(1);
+		assertThat(accessStats.top(AccessStats.Kind.QUERY, 2)).containsExactly("order states", "fills");
+	}
+
+	@Test
+	void reusesResultsUntilTheCorpusChanges() {
+		CorpusVersion version = new CorpusVersion(fingerprint::get, 0);
+		CachingToolCallback cached = new CachingToolCallback(tool, new ToolResultCache(10_000), version, accessStats);
+
+		assertThat(cached.call("{\"query\":\"fills\"}")).isEqualTo("result 1");
+		assertThat(cached.call("{\"query\":\"Fills\"}")).isEqualTo("result 1");
+
+		fingerprint.set(42);
+		assertThat(cached.call("{\"query\":\"fills\"}")).isEqualTo("result 2");
+
+		version.onVectorIndexReady(new VectorIndexReadyEvent("reconcile"));
+		assertThat(cached.call("{\"query\":\"fills\"}")).isEqualTo("result 3");
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedResultsBeyondTheCharacterBudget() {
+		ToolResultCache cache = new ToolResultCache(30);
+		cache.put("a", 0, "x".repeat(10));
+		cache.put("b", 0, "y".repeat(10));
+		cache.get("a", 0);
+		cache.put("c", 0, "z".repeat(10));
+
+		assertThat(cache.get("a", 0)).isNotNull();
+		assertThat(cache.get("b", 0)).isNull();
+		assertThat(cache.get("a", 1)).isNull();
+	}
+
+	private ToolCallback tool(String name) {
+		return new ToolCallback() {
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return ToolDefinition.builder().name(name).description("").inputSchema("{}").build();
+			}
+
+			@Override
+			public String call(String toolInput) {
+				return "result " + calls.incrementAndGet();
+			}
+		};
+	}
+}
@@ -0,0 +1,110 @@
+package org.example.spring_ai.docs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CorpusPackTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void roundTripsDocsSectionsIndexesAndChunks() throws Exception {
+		String orders = CorpusPack.normalize("\uFEFF# Orders\r\nPlacing orders.\r\n## Cancel\r\nCancel an order.\r\n");
+		String fills = "# Fills\nPartial fills.\n";
+		Path file = dir.resolve("corpus.pack");
+		CorpusPack.Writer.write(file, List.of(
+				new CorpusPack.Entry("specs", "oms/orders.md", 1_000L, 64L, orders,
+						List.of("# Orders", "## Cancel"), List.of(new float[] {1f, 2f}, new float[] {3f, 4f})),
+				new CorpusPack.Entry("specs", "fills.md", 2_000L, 24L, fills,
+						List.of("# Fills"), List.of(new float[] {5f, 6f}))),
+				1000, 200, "test-model", 2);
+
+		CorpusPack pack = CorpusPack.open(file);
+
+		assertThat(orders).isEqualTo("# Orders\nPlacing orders.\n## Cancel\nCancel an order.\n");
+		assertThat(pack.manifest().documents()).isEqualTo(2);
+		assertThat(pack.manifest().hasChunks(1000, 200)).isTrue();
+		assertThat(pack.baseDirs()).containsExactly(pack.file().resolve("specs"));
+		assertThat(pack.paths()).containsExactly(
+				pack.file().resolve("specs/fills.md"), pack.file().resolve("specs/oms/orders.md"));
+
+		CorpusPack.Doc doc = pack.doc(pack.file().resolve("specs/oms/orders.md"));
+		assertThat(doc.lastModified()).isEqualTo(1_000L);
+		assertThat(doc.size()).isEqualTo(64L);
+		assertThat(pack.text(doc)).isEqualTo(orders);
+		assertThat(pack.sections(doc)).isEqualTo(DomainDocsTools.extractSections(orders));
+
+		TokenIndex packed = pack.tokenIndex(doc);
+		TokenIndex built = TokenIndex.of(orders);
+		assertThat(packed.size()).isEqualTo(built.size());
+		assertThat(packed.positions("order")).containsExactly(built.positions("order"));
+		assertThat(packed.start(3)).isEqualTo(built.start(3));
+
+		assertThat(pack.chunks(doc)).containsExactly("# Orders", "## Cancel");
+		assertThat(pack.chunksWithVectors(doc)).extracting(CorpusPack.Chunk::text).containsExactly("# Orders", "## Cancel");
+		assertThat(pack.chunksWithVectors(doc).get(1).vector()).containsExactly(3f, 4f);
+		assertThat(pack.chunksWithVectors(pack.doc(pack.file().resolve("specs/fills.md"))).get(0).vector())
+				.containsExactly(5f, 6f);
+	}
+
+	@Test
+	void servesPackedDocsThroughTheDocCache() throws Exception {
+		Path file = dir.resolve("corpus.pack");
+		CorpusPack.Writer.write(file, List.of(
+				new CorpusPack.Entry("specs", "a.md", 1_000L, 8L, "# A\nText", List.of(), null)), 0, 0, "", 0);
+		CorpusPack pack = CorpusPack.open(file);
+		CorpusPack.Doc doc = pack.docs().get(0);
+		DocCache cache = new DocCache(1_000, new DocCache.Source() {
+			@Override
+			public DocCache.Stamp stamp(Path path) {
+				return new DocCache.Stamp(pack.doc(path).lastModified(), pack.doc(path).size());
+			}
+
+			@Override
+			public TokenIndex index(Path path, String content) {
+				return pack.tokenIndex(pack.doc(path));
+			}
+		});
+
+		DocCache.Indexed indexed = cache.indexed(doc.path(), () -> pack.text(doc));
+
+		assertThat(indexed.content()).isEqualTo("# A\nText");
+		assertThat(indexed.index().positions("text")).containsExactly(1);
+		assertThat(pack.chunksWithVectors(doc)).isEmpty();
+	}
+
+	@Test
+	void rejectsTruncatedPacksWithIOException() throws Exception {
+		Path file = dir.resolve("corpus.pack");
+		CorpusPack.Writer.write(file, List.of(
+				new CorpusPack.Entry("specs", "a.md", 1_000L, 8L, "# A\nText", List.of("# A"), List.of(new float[] {1f, 2f}))),
+				1000, 200, "test-model", 2);
+		byte[] bytes = Files.readAllBytes(file);
+
+		for (int length : new int[] {10, 40, bytes.length - 5}) {
+			Path truncated = Files.write(dir.resolve("truncated-" + length + ".pack"), Arrays.copyOf(bytes, length));
+			assertThatThrownBy(() -> CorpusPack.open(truncated))
+					.isInstanceOf(IOException.class)
+					.hasMessageContaining("truncated");
+		}
+	}
+
+	@Test
+	void rejectsFilesThatAreNotPacks() throws Exception {
+		Path file = Files.writeString(dir.resolve("notes.pack"), "not a corpus pack");
+
+		assertThatThrownBy(() -> CorpusPack.open(file))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("Not a corpus pack");
+	}
+}
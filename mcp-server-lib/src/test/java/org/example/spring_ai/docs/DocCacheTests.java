@@ -0,0 +1,83 @@
+package org.example.spring_ai.docs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DocCacheTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void servesUnchangedFilesFromMemoryAndReloadsModifiedOnes() throws Exception {
+		Path doc = Files.writeString(dir.resolve("a.md"), "v1");
+		DocCache cache = new DocCache(1_000);
+		AtomicInteger loads = new AtomicInteger();
+		DocCache.Loader loader = () -> {
+			loads.incrementAndGet();
+			return Files.readString(doc);
+		};
+
+		assertThat(cache.get(doc, loader)).isEqualTo("v1");
+		assertThat(cache.get(doc, loader)).isEqualTo("v1");
+		assertThat(loads).hasValue(1);
+
+		Files.writeString(doc, "v2");
+		Files.setLastModifiedTime(doc, FileTime.fromMillis(Files.getLastModifiedTime(doc).toMillis() + 2_000));
+
+		assertThat(cache.get(doc, loader)).isEqualTo("v2");
+		assertThat(loads).hasValue(2);
+		assertThat(cache.stats().hits()).isEqualTo(1);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedBeyondTheCharacterBudget() throws Exception {
+		Path a = Files.writeString(dir.resolve("a.md"), "aaaa");
+		Path b = Files.writeString(dir.resolve("b.md"), "bbbb");
+		Path c = Files.writeString(dir.resolve("c.md"), "cccc");
+		DocCache cache = new DocCache(10);
+
+		cache.get(a, () -> Files.readString(a));
+		cache.get(b, () -> Files.readString(b));
+		cache.get(a, () -> Files.readString(a));
+		cache.get(c, () -> Files.readString(c));
+
+		assertThat(cache.stats().documents()).isEqualTo(2);
+		assertThat(cache.stats().chars()).isEqualTo(8);
+		AtomicInteger reloads = new AtomicInteger();
+		cache.get(a, () -> {
+			reloads.incrementAndGet();
+			return Files.readString(a);
+		});
+		assertThat(reloads).hasValue(0);
+	}
+
+	@Test
+	void asyncReadsShareTheCacheWithBlockingReads() throws Exception {
+		Path doc = Files.writeString(dir.resolve("a.md"), "content");
+		DocCache cache = new DocCache(1_000);
+		AtomicInteger loads = new AtomicInteger();
+
+		String first = cache.getAsync(doc, () -> {
+			loads.incrementAndGet();
+			return CompletableFuture.completedFuture("content");
+		}).get();
+		CompletableFuture<String> second = cache.getAsync(doc, () -> {
+			loads.incrementAndGet();
+			return CompletableFuture.completedFuture("reloaded");
+		});
+
+		assertThat(first).isEqualTo("content");
+		assertThat(second).isCompletedWithValue("content");
+		assertThat(cache.get(doc, () -> "reloaded")).isEqualTo("content");
+		assertThat(loads).hasValue(1);
+	}
+}
@@ -0,0 +1,64 @@
+package org.example.spring_ai.docs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class DocScorerTests {
+
+	@Test
+	void matchesWholeWordsIgnoringCaseAndPlurals() {
+		DocScorer.Query query = DocScorer.Query.parse("Order");
+
+		assertThat(match("Reorder the preorder queue", query)).isNull();
+		assertThat(match("Two ORDERS were filled", query)).isNotNull();
+	}
+
+	@Test
+	void ranksPhraseAboveScatteredTerms() {
+		DocScorer.Query query = DocScorer.Query.parse("state machine");
+		DocScorer.Match phrase = match("The order state machine drives every transition of an order.", query);
+		DocScorer.Match scattered = match("The machine stores its state in the database for every order.", query);
+		DocScorer.Corpus corpus = corpus(query, phrase, scattered);
+
+		assertThat(DocScorer.phraseCount(phrase, query)).isEqualTo(1);
+		assertThat(DocScorer.phraseCount(scattered, query)).isZero();
+		assertThat(DocScorer.score(phrase, query, corpus)).isGreaterThan(DocScorer.score(scattered, query, corpus));
+	}
+
+	@Test
+	void normalizesForDocumentLength() {
+		DocScorer.Query query = DocScorer.Query.parse("allocation");
+		DocScorer.Match shortDoc = match("Allocation rules for block orders.", query);
+		DocScorer.Match longDoc = match("Allocation " + "filler text about unrelated topics ".repeat(40), query);
+		DocScorer.Corpus corpus = corpus(query, shortDoc, longDoc);
+
+		assertThat(DocScorer.score(shortDoc, query, corpus)).isGreaterThan(DocScorer.score(longDoc, query, corpus));
+	}
+
+	@Test
+	void centersSnippetOnWindowWithMostDistinctTerms() {
+		DocScorer.Query query = DocScorer.Query.parse("execution report");
+		String content = "An execution is mentioned early. " + "Unrelated words fill this part. ".repeat(20)
+				+ "Each execution report carries the fill price.";
+		DocScorer.Match match = match(content, query);
+
+		String snippet = DocScorer.snippet(content, match, 80);
+
+		assertThat(snippet).contains("execution report").startsWith("… ");
+		assertThat(DocScorer.minimalCover(match)).isEqualTo(2);
+	}
+
+	private static DocScorer.Match match(String content, DocScorer.Query query) {
+		TokenIndex index = TokenIndex.of(content);
+		return DocScorer.match(index, 0, index.size(), query);
+	}
+
+	private static DocScorer.Corpus corpus(DocScorer.Query query, DocScorer.Match... matches) {
+		DocScorer.Corpus corpus = new DocScorer.Corpus();
+		for (DocScorer.Match m : matches) {
+			corpus.add(m, query);
+		}
+		return corpus;
+	}
+}
@@ -0,0 +1,61 @@
+package org.example.spring_ai.docs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class SectionPagerTests {
+
+	private final String section = "## Orders\n" + "An order line with several words.\n".repeat(40) + "### Fills\nfill text\n";
+
+	@Test
+	void pagesOnLineBoundariesWithinTheBudgetUntilTheEnd() {
+		StringBuilder reassembled = new StringBuilder();
+		int from = 0;
+		String cursor = null;
+		int pages = 0;
+		do {
+			if (cursor != null) from = SectionPager.offset(section, cursor);
+			SectionPager.Page page = SectionPager.page(section, from, 50);
+			assertThat(page.tokens()).isLessThanOrEqualTo(50).isPositive();
+			assertThat(section.charAt(page.to() - 1)).isEqualTo('\n');
+			reassembled.append(section, page.from(), page.to());
+			cursor = page.nextCursor();
+			pages++;
+		} while (cursor != null);
+
+		assertThat(reassembled.toString()).isEqualTo(section);
+		assertThat(pages).isGreaterThan(1);
+	}
+
+	@Test
+	void returnsSmallSectionsInOnePage() {
+		SectionPager.Page page = SectionPager.page("## Short\ntext\n", 0, 4000);
+
+		assertThat(page.to()).isEqualTo(14);
+		assertThat(page.nextCursor()).isNull();
+	}
+
+	@Test
+	void cutsASingleOverlongLine() {
+		String longLine = "word ".repeat(500);
+
+		SectionPager.Page page = SectionPager.page(longLine, 0, 20);
+
+		assertThat(page.to()).isBetween(1, longLine.length() - 1);
+		assertThat(page.tokens()).isLessThanOrEqualTo(20);
+		assertThat(page.nextCursor()).isNotNull();
+	}
+
+	@Test
+	void rejectsCursorsForChangedSections() {
+		String cursor = SectionPager.page(section, 0, 50).nextCursor();
+
+		assertThatThrownBy(() -> SectionPager.offset(section + "edit", cursor))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("changed");
+		assertThatThrownBy(() -> SectionPager.offset(section, "not a cursor!"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
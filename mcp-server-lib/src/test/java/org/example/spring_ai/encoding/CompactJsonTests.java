@@ -0,0 +1,119 @@
+package org.example.spring_ai.encoding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CompactJsonTests {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	@Test
+	void encodesOrderPagesAsColumns() throws Exception {
+		List<Map<String, Object>> orders = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Map<String, Object> order = new LinkedHashMap<>();
+			order.put("orderId", "O" + i);
+			order.put("symbol", "BTC-USD");
+			order.put("side", i % 2 == 0 ? "BUY" : "SELL");
+			order.put("price", 100.5 + i);
+			order.put("orderQty", i == 3 ? null : 10 * i);
+			orders.add(order);
+		}
+		String json = MAPPER.writeValueAsString(Map.of("page", 0, "content", orders));
+
+		String compact = CompactJson.encode(json, 1024);
+
+		assertThat(compact).isNotNull().hasSizeLessThan(json.length());
+		JsonNode columns = MAPPER.readTree(compact).path("content").path("$columns");
+		assertThat(MAPPER.readTree(compact).path("content").path("$rows").asInt()).isEqualTo(8);
+		assertThat(columns.path("orderId").get(7).asText()).isEqualTo("O7");
+		assertThat(columns.path("symbol").path("$same").asText()).isEqualTo("BTC-USD");
+		assertThat(columns.path("side").path("$dict").toString()).isEqualTo("[\"BUY\",\"SELL\"]");
+		assertThat(columns.path("side").path("$codes").toString()).isEqualTo("[0,1,0,1,0,1,0,1]");
+		assertThat(columns.path("price").get(1).asDouble()).isEqualTo(101.5);
+		assertThat(columns.path("orderQty").get(3).isNull()).isTrue();
+	}
+
+	@Test
+	void deduplicatesSearchHitMetadata() throws Exception {
+		List<Map<String, Object>> hits = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			hits.add(Map.of("source", "specs/oms/orders.md", "snippet", "text " + i,
+					"metadata", Map.of("baseDir", "specs", "chunk_index", i, "distance", 0.1 * i)));
+		}
+		String json = MAPPER.writeValueAsString(hits);
+
+		JsonNode metadata = MAPPER.readTree(CompactJson.encode(json, 1024)).path("$columns").path("metadata").path("$columns");
+
+		assertThat(metadata.path("baseDir").path("$same").asText()).isEqualTo("specs");
+		assertThat(metadata.path("chunk_index").toString()).isEqualTo("[0,1,2]");
+	}
+
+	@Test
+	void keepsMissingFieldsApartFromNulls() throws Exception {
+		List<Map<String, Object>> orders = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			Map<String, Object> order = new LinkedHashMap<>();
+			order.put("orderId", "O" + i);
+			order.put("symbol", "BTC-USD");
+			if (i != 1) {
+				order.put("account", i == 0 ? null : "ACC-" + i);
+			}
+			orders.add(order);
+		}
+		String json = MAPPER.writeValueAsString(orders);
+
+		JsonNode table = MAPPER.readTree(CompactJson.encode(json, 1024));
+
+		assertThat(table.path("$columns").path("account").toString())
+				.isEqualTo("[null,null,\"ACC-2\",\"ACC-3\",\"ACC-4\",\"ACC-5\"]");
+		assertThat(table.path("$absent").path("account").toString()).isEqualTo("[1]");
+		assertThat(table.path("$absent").has("orderId")).isFalse();
+	}
+
+	@Test
+	void writesLongTextFieldsAsARawBody() throws Exception {
+		String text = "# Orders\n\n\"Quoted\" line\n".repeat(100);
+		String json = MAPPER.writeValueAsString(Map.of("path", "orders.md", "content", text, "totalLength", text.length()));
+
+		String compact = CompactJson.encode(json, 1024);
+
+		int split = compact.indexOf("\n\n");
+		JsonNode header = MAPPER.readTree(compact.substring(0, split));
+		assertThat(header.path("$body").asText()).isEqualTo("content");
+		assertThat(header.path("path").asText()).isEqualTo("orders.md");
+		assertThat(compact.substring(split + 2)).isEqualTo(text);
+	}
+
+	@Test
+	void measuresBothEncodingsInDryRun() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ResponseEncoding encoding = new ResponseEncoding(
+				new ResponseEncodingProperties(false, true, List.of("searchOrders"), 0, 1024), registry);
+		List<Map<String, Object>> orders = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			orders.add(Map.of("orderId", "O" + i, "account", "ACC-1", "side", "BUY"));
+		}
+		String json = MAPPER.writeValueAsString(orders);
+
+		assertThat(encoding.apply("searchOrders", json)).isEqualTo(json);
+		assertThat(encoding.apply("ping", "\"pong ü\"")).isEqualTo("\"pong ü\"");
+
+		assertThat(registry.get("mcp.tool.response.bytes").tag("tool", "searchOrders").tag("encoding", "json")
+				.summary().totalAmount()).isEqualTo(json.length());
+		assertThat(registry.get("mcp.tool.response.bytes").tag("tool", "searchOrders").tag("encoding", "compact")
+				.summary().totalAmount()).isLessThan(json.length());
+		assertThat(registry.get("mcp.tool.response.bytes").tag("tool", "ping").summary().totalAmount()).isEqualTo(9);
+	}
+}
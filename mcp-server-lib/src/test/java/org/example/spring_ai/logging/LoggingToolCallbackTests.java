@@ -0,0 +1,46 @@
+package org.example.spring_ai.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+class LoggingToolCallbackTests {
+
+	@Test
+	void declaresTheDebugFlagInTheInputSchema() {
+		ToolDefinition definition = ToolDefinition.builder()
+				.name("searchOrders")
+				.description("Search orders")
+				.inputSchema("{\"type\":\"object\",\"properties\":{\"symbol\":{\"type\":\"string\"}},\"required\":[\"symbol\"]}")
+				.build();
+
+		ToolDefinition withDebug = LoggingToolCallback.withDebugFlag(definition);
+
+		assertThat(withDebug.name()).isEqualTo("searchOrders");
+		assertThat(withDebug.inputSchema())
+				.contains("\"symbol\":{\"type\":\"string\"}")
+				.contains("\"debug\":{\"type\":\"boolean\"")
+				.contains("\"required\":[\"symbol\"]");
+		assertThat(LoggingToolCallback.withDebugFlag(withDebug)).isSameAs(withDebug);
+	}
+
+	@Test
+	void addsPropertiesToSchemasWithoutAny() {
+		ToolDefinition definition = ToolDefinition.builder()
+				.name("indexStatus")
+				.description("Index status")
+				.inputSchema("{\"type\":\"object\"}")
+				.build();
+
+		assertThat(LoggingToolCallback.withDebugFlag(definition).inputSchema()).contains("\"properties\":{\"debug\":");
+	}
+
+	@Test
+	void detectsTheDebugFlag() {
+		assertThat(LoggingToolCallback.hasDebugFlag("{\"symbol\":\"INTC\",\"debug\":true}")).isTrue();
+		assertThat(LoggingToolCallback.hasDebugFlag("{\"symbol\":\"debug\"}")).isFalse();
+		assertThat(LoggingToolCallback.hasDebugFlag("{\"debug\":false}")).isFalse();
+		assertThat(LoggingToolCallback.hasDebugFlag(null)).isFalse();
+	}
+}
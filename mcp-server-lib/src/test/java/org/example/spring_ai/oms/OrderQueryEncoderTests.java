@@ -0,0 +1,66 @@
+package org.example.spring_ai.oms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class OrderQueryEncoderTests {
+
+	@Test
+	void identicalFilterSetsShareAKey() {
+		Map<String, Object> a = new LinkedHashMap<>();
+		a.put("symbol", "INTC");
+		a.put("side", "BUY");
+		Map<String, Object> b = new LinkedHashMap<>();
+		b.put("side", "BUY");
+		b.put("symbol", "INTC");
+
+		assertThat(OrderQueryEncoder.key(a)).isEqualTo(OrderQueryEncoder.key(b));
+		assertThat(OrderQueryEncoder.key(a)).isNotEqualTo(OrderQueryEncoder.key(Map.of("symbol", "INTC")));
+	}
+
+	@Test
+	void encodesFiltersPagingAndSortInOnePass() {
+		Map<String, Object> params = new LinkedHashMap<>();
+		params.put("symbol", "INTC");
+		params.put("orderId__like", "01K6%");
+		params.put("price__between", "20,");
+		params.put("transactTime__between", "2025-08-01T00:00:00,2025-08-31T23:59:59");
+		params.put("side", "BUY");
+		params.put("account", "a b");
+
+		String uri = OrderQueryEncoder.encode(params, 0, 50, "price,DESC;transactTime");
+
+		assertThat(uri).isEqualTo("/api/query/orders?symbol=INTC&orderId__like=01K6%25&price__between=20,"
+				+ "&transactTime__between=2025-08-01T00:00:00,2025-08-31T23:59:59&side=BUY&account=a%20b"
+				+ "&page=0&size=50&sort=price,DESC;transactTime");
+	}
+
+	@Test
+	void rejectsMalformedFiltersBeforeAnyRequest() {
+		assertThatThrownBy(() -> OrderQueryEncoder.encode(Map.of("price__between", "30,20"), null, null, null))
+				.isInstanceOf(InvalidOrderQueryException.class).hasMessageContaining("price__between");
+		assertThatThrownBy(() -> OrderQueryEncoder.encode(Map.of("orderQty__gt", "ten"), null, null, null))
+				.hasMessageContaining("numeric");
+		assertThatThrownBy(() -> OrderQueryEncoder.encode(Map.of("transactTime__between", "2025-08-01,"), null, null, null))
+				.hasMessageContaining("ISO-8601");
+		assertThatThrownBy(() -> OrderQueryEncoder.encode(Map.of("side", "LONG"), null, null, null))
+				.hasMessageContaining("must be one of");
+		assertThatThrownBy(() -> OrderQueryEncoder.encode(Map.of("createdTime", "x"), null, null, null))
+				.hasMessageContaining("Unknown order filter");
+	}
+
+	@Test
+	void rejectsInvalidSortAndPaging() {
+		assertThatThrownBy(() -> OrderQueryEncoder.encode(null, null, null, "createdTime,DESC"))
+				.hasMessageContaining("Unsupported sort field 'createdTime'");
+		assertThatThrownBy(() -> OrderQueryEncoder.encode(null, null, null, "price,UP"))
+				.hasMessageContaining("ASC or DESC");
+		assertThatThrownBy(() -> OrderQueryEncoder.encode(null, null, 501, null))
+				.hasMessageContaining("size");
+	}
+}
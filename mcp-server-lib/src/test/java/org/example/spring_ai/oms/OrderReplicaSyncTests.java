@@ -0,0 +1,103 @@
+package org.example.spring_ai.oms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class OrderReplicaSyncTests {
+
+	private final List<Map<String, Object>> oms = new ArrayList<>();
+	private final List<String> bounds = new ArrayList<>();
+	private final List<Integer> pages = new ArrayList<>();
+	private Runnable afterFirstPage = () -> {};
+	private int failAfter = Integer.MAX_VALUE;
+
+	private final OrderReplicaSync sync = new OrderReplicaSync(this::search,
+			new OrderReplicaProperties(true, Duration.ofSeconds(5), Duration.ofSeconds(30), 2, 16));
+
+	@Test
+	void orderUpdatedMidScanDoesNotHideTheOrdersAfterIt() {
+		for (int i = 1; i <= 5; i++) {
+			oms.add(order("O" + i, "2025-10-10T10:00:0" + i));
+		}
+		afterFirstPage = () -> oms.get(0).put("transactTime", "2025-10-10T10:00:06");
+
+		sync.sync();
+
+		assertThat(sync.isFresh()).isTrue();
+		assertThat(sync.getReplica().size()).isEqualTo(5);
+		assertThat(sync.getReplica().query(Map.of("orderId", "O3"), 0, 1, null).orElseThrow().getContent()).hasSize(1);
+		assertThat(sync.getReplica().query(Map.of("orderId", "O1"), 0, 1, null).orElseThrow().getContent().get(0))
+				.containsEntry("transactTime", "2025-10-10T10:00:06");
+		assertThat(pages).containsOnly(0);
+	}
+
+	@Test
+	void failedIncrementalScanKeepsTheWatermark() {
+		oms.add(order("O1", "2025-10-10T10:00:01"));
+		sync.sync();
+		oms.add(order("O2", "2025-10-10T10:00:02"));
+		oms.add(order("O3", "2025-10-10T10:00:03"));
+		oms.add(order("O4", "2025-10-10T10:00:04"));
+		failAfter = pages.size() + 1;
+
+		sync.sync();
+		assertThat(sync.getReplica().size()).isEqualTo(2);
+
+		failAfter = Integer.MAX_VALUE;
+		int retry = pages.size();
+		sync.sync();
+
+		assertThat(bounds.get(retry)).isEqualTo("2025-10-10T10:00:01");
+		assertThat(sync.getReplica().size()).isEqualTo(4);
+		assertThat(sync.getReplica().maxTransactTime()).hasToString("2025-10-10T10:00:04");
+	}
+
+	@Test
+	void pagesByOffsetWithinATimestampThatFillsAPage() {
+		for (int i = 1; i <= 5; i++) {
+			oms.add(order("O" + i, "2025-10-10T10:00:00"));
+		}
+
+		sync.sync();
+
+		assertThat(sync.getReplica().size()).isEqualTo(5);
+		assertThat(pages).containsExactly(0, 0, 1, 2);
+	}
+
+	/** Offset-paged, transactTime-sorted view of {@link #oms}, like the query API. */
+	private PageResponse<Map<String, Object>> search(Map<String, ?> params, Integer page, Integer size, String sort) {
+		if (pages.size() >= failAfter) {
+			throw new IllegalStateException("OMS unavailable");
+		}
+		Object between = params.get("transactTime__between");
+		String from = between == null ? "" : between.toString().split(",", -1)[0];
+		bounds.add(from);
+		pages.add(page);
+		List<Map<String, Object>> matches = oms.stream()
+				.filter(o -> o.get("transactTime").toString().compareTo(from) >= 0)
+				.sorted(Comparator.comparing(o -> o.get("transactTime").toString()))
+				.<Map<String, Object>>map(HashMap::new)
+				.toList();
+		List<Map<String, Object>> content = matches.subList(Math.min(page * size, matches.size()),
+				Math.min((page + 1) * size, matches.size()));
+		if (pages.size() == 1) {
+			afterFirstPage.run();
+		}
+		return new PageResponse<>(content, page, size, matches.size(), (matches.size() + size - 1) / size);
+	}
+
+	private static Map<String, Object> order(String orderId, String transactTime) {
+		Map<String, Object> order = new HashMap<>();
+		order.put("orderId", orderId);
+		order.put("transactTime", transactTime);
+		return order;
+	}
+}
@@ -0,0 +1,112 @@
+package org.example.spring_ai.oms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderReplicaTests {
+
+	private final OrderReplica replica = new OrderReplica(4);
+
+	@BeforeEach
+	void load() {
+		replica.upsertAll(List.of(
+				order("O1", "R1", "INTC", "ACC1", 20.5, "2025-10-10T10:00:00"),
+				order("O2", "R1", "INTC", "ACC2", 22.0, "2025-10-10T11:00:00"),
+				order("O3", "R2", "AAPL", "ACC1", 180.0, "2025-10-10T12:00:00"),
+				order("O4", "R3", "INTC", "ACC1", 25.0, "2025-10-10T13:00:00")));
+	}
+
+	@Test
+	void filtersAndSortsLikeTheQueryApi() {
+		var page = replica.query(Map.of("symbol", "INTC", "price__between", "20,23"), 0, 10, "price,DESC").orElseThrow();
+
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getContent()).extracting(o -> o.get("orderId")).containsExactly("O2", "O1");
+	}
+
+	@Test
+	void upsertMovesOrderBetweenIndexes() {
+		Map<String, Object> moved = order("O1", "R1", "MSFT", "ACC1", 20.5, "2025-10-10T14:00:00");
+		replica.upsertAll(List.of(moved));
+
+		assertThat(replica.size()).isEqualTo(4);
+		assertThat(replica.query(Map.of("symbol", "INTC"), 0, 10, null).orElseThrow().getTotalElements()).isEqualTo(2);
+		assertThat(replica.query(Map.of("symbol", "MSFT"), 0, 10, null).orElseThrow().getContent())
+				.extracting(o -> o.get("orderId")).containsExactly("O1");
+		assertThat(replica.maxTransactTime()).hasToString("2025-10-10T14:00");
+	}
+
+	@Test
+	void pagesByAccountAndOpenEndedTimeRange() {
+		var page = replica.query(Map.of("account", "ACC1", "transactTime__between", "2025-10-10T11:30:00,"), 0, 1,
+				"transactTime,ASC").orElseThrow();
+
+		assertThat(page.getTotalPages()).isEqualTo(2);
+		assertThat(page.getContent()).extracting(o -> o.get("orderId")).containsExactly("O3");
+		assertThat(page.getContent().get(0)).containsEntry("transactTime", "2025-10-10T12:00:00");
+	}
+
+	@Test
+	void pagesByRootOrderIdAndOpenStartedTimeRange() {
+		var page = replica.query(Map.of("rootOrderId", "R1", "transactTime__between", ",2025-10-10T12:00:00"), 1, 1,
+				"transactTime,ASC").orElseThrow();
+
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getTotalPages()).isEqualTo(2);
+		assertThat(page.getContent()).extracting(o -> o.get("orderId")).containsExactly("O2");
+		assertThat(replica.query(Map.of("rootOrderId", "R9"), 0, 10, null).orElseThrow().getTotalElements()).isZero();
+	}
+
+	@Test
+	void materializesTheRestValuesAndTypes() {
+		Map<String, Object> rest = order("O5", "R5", "INTC", "ACC1", 20.5, "2025-10-10T15:00:00.123456+02:00");
+		rest.put("id", 5_000_000_000L);
+		rest.put("price", new BigDecimal("20.50"));
+		replica.upsertAll(List.of(rest));
+
+		Map<String, Object> o1 = replica.query(Map.of("orderId", "O1"), 0, 1, null).orElseThrow().getContent().get(0);
+		assertThat(o1.get("orderQty")).isEqualTo(100);
+		assertThat(o1.get("price")).isEqualTo(20.5);
+		assertThat(o1.get("transactTime")).isEqualTo("2025-10-10T10:00:00");
+
+		Map<String, Object> o5 = replica.query(Map.of("orderId", "O5"), 0, 1, null).orElseThrow().getContent().get(0);
+		assertThat(o5.get("id")).isEqualTo(5_000_000_000L);
+		assertThat(o5.get("price")).isEqualTo(new BigDecimal("20.50"));
+		assertThat(o5.get("transactTime")).isEqualTo("2025-10-10T15:00:00.123456+02:00");
+		assertThat(replica.query(Map.of("price__gt", "20.4", "symbol", "INTC"), 0, 10, null).orElseThrow()
+				.getTotalElements()).isEqualTo(4);
+	}
+
+	@Test
+	void likeSupportsWildcards() {
+		assertThat(replica.query(Map.of("orderId__like", "o%"), 0, 10, null).orElseThrow().getTotalElements()).isEqualTo(4);
+		assertThat(replica.query(Map.of("symbol__like", "NT"), 0, 10, null).orElseThrow().getTotalElements()).isEqualTo(3);
+	}
+
+	@Test
+	void unsupportedFiltersFallBack() {
+		assertThat(replica.query(Map.of("securityId", "US4581401001"), 0, 10, null)).isEmpty();
+		assertThat(replica.query(Map.of(), 0, 10, "sendingTime,ASC")).isEmpty();
+	}
+
+	private static Map<String, Object> order(String orderId, String rootOrderId, String symbol, String account,
+			double price, String transactTime) {
+		Map<String, Object> order = new HashMap<>();
+		order.put("orderId", orderId);
+		order.put("rootOrderId", rootOrderId);
+		order.put("symbol", symbol);
+		order.put("account", account);
+		order.put("price", price);
+		order.put("orderQty", 100);
+		order.put("state", "LIVE");
+		order.put("transactTime", transactTime);
+		return order;
+	}
+}
@@ -0,0 +1,138 @@
+package org.example.spring_ai.oms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class OrderTimeSeriesTests {
+
+	private final List<Map<String, Object>> orders = new ArrayList<>();
+	private final List<String> windows = new ArrayList<>();
+	private final AtomicLong now = new AtomicLong(millis("2025-08-01T13:00:00"));
+	private final OrderTimeSeriesMcpTools tools = new OrderTimeSeriesMcpTools(this::search,
+			new OrderTimeSeriesProperties(Duration.ofMinutes(1), 100_000, 10_000, 8, 2), now::get);
+
+	@Test
+	void rollsUpCountsQuantityAndVwapPerBucket() {
+		orders.add(order("2025-08-01T12:00:10", 10, 100.0));
+		orders.add(order("2025-08-01T12:00:50", 30, 200.0));
+		orders.add(order("2025-08-01T12:01:05", 5, null));
+
+		var response = tools.orderTimeSeries(null, null, "1m", "2025-08-01T12:00:00", "2025-08-01T12:01:59");
+
+		assertThat(response.bucketCount()).isEqualTo(2);
+		assertThat(response.buckets()).extracting(OrderTimeSeriesMcpTools.Bucket::start)
+				.containsExactly("2025-08-01T12:00:00", "2025-08-01T12:01:00");
+		assertThat(response.buckets().get(0).count()).isEqualTo(2);
+		assertThat(response.buckets().get(0).qty()).isEqualTo(40.0);
+		assertThat(response.buckets().get(0).vwap()).isEqualTo(175.0);
+		assertThat(response.buckets().get(1).vwap()).isNull();
+		assertThat(response.orderCount()).isEqualTo(3);
+		assertThat(response.totalQty()).isEqualTo(45.0);
+		assertThat(response.vwap()).isEqualTo(175.0);
+		assertThat(response.upstreamCalls()).isEqualTo(2);
+	}
+
+	@Test
+	void repeatedQueriesOnlyFetchTheOpenTail() {
+		for (int minute = 0; minute < 30; minute++) {
+			orders.add(order("2025-08-01T12:%02d:30".formatted(minute), 1, 10.0));
+		}
+		now.set(millis("2025-08-01T12:30:10"));
+		var first = tools.orderTimeSeries(null, "transactTime", "1m", "2025-08-01T12:00:00", null);
+		assertThat(first.fetchedOrders()).isEqualTo(30);
+		assertThat(first.cachedBuckets()).isZero();
+
+		orders.add(order("2025-08-01T12:35:00", 4, 20.0));
+		now.set(millis("2025-08-01T12:40:10"));
+		windows.clear();
+		var second = tools.orderTimeSeries(null, "transactTime", "1m", "2025-08-01T12:10:00", null);
+
+		// 12:10-12:29 were closed on the first call; 12:29 itself was still within the close delay
+		assertThat(second.cachedBuckets()).isEqualTo(19);
+		assertThat(windows).containsExactly("2025-08-01T12:29:00,2025-08-01T12:40:59.999");
+		assertThat(second.fetchedOrders()).isEqualTo(2);
+		assertThat(second.orderCount()).isEqualTo(21);
+		assertThat(second.totalQty()).isEqualTo(24.0);
+	}
+
+	@Test
+	void takesTheWindowFromTheFilters() {
+		orders.add(order("2025-08-01T12:00:10", 10, 100.0));
+		var filters = new OrderSearchMcpTools.OrderSearchFilters(null, null, null, null, null, null, "BTC-USD", null,
+				null, null, null, null, null, null, null, null, null, null, null, null,
+				"2025-08-01T12:00:00,2025-08-01T12:59:59", null, null, null, null, null);
+
+		var response = tools.orderTimeSeries(filters, null, "1h", null, null);
+
+		assertThat(response.from()).isEqualTo("2025-08-01T12:00:00");
+		assertThat(response.bucketCount()).isEqualTo(1);
+		assertThat(response.orderCount()).isEqualTo(1);
+		assertThatThrownBy(() -> tools.orderTimeSeries(null, "createdTime", "1m", "2025-08-01T12:00:00", null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> tools.orderTimeSeries(null, null, "1s", "2025-07-01T00:00:00", null))
+				.hasMessageContaining("wider bucket");
+	}
+
+	@Test
+	void mergesTouchingSeriesAndKeepsTheLatestBuckets() {
+		OrderTimeSeries older = new OrderTimeSeries(0, 10, 3);
+		older.add(5, 1, 2.0);
+		OrderTimeSeries newer = new OrderTimeSeries(30, 10, 2);
+		newer.add(45, 2, 4.0);
+
+		OrderTimeSeries merged = OrderTimeSeries.merge(older, newer, 10);
+		assertThat(merged.start()).isZero();
+		assertThat(merged.end()).isEqualTo(50);
+		assertThat(merged.count(0)).isEqualTo(1);
+		assertThat(merged.vwap(4)).isEqualTo(4.0);
+
+		OrderTimeSeries trimmed = OrderTimeSeries.merge(older, newer, 2);
+		assertThat(trimmed.start()).isEqualTo(30);
+		assertThat(OrderTimeSeries.merge(older, new OrderTimeSeries(100, 10, 1), 10).start()).isEqualTo(100);
+	}
+
+	/** In-memory OMS: filters by the between window, sorts by time and pages. */
+	private OrderTimeSeriesMcpTools.Page search(Map<String, Object> params, int page, int size, String sort) {
+		String window = params.get("transactTime__between").toString();
+		windows.add(window);
+		String[] bounds = window.split(",");
+		long from = millis(bounds[0]);
+		long to = millis(bounds[1]);
+		List<Map<String, Object>> matching = orders.stream()
+				.filter(o -> {
+					long t = millis(o.get("transactTime").toString());
+					return t >= from && t <= to;
+				})
+				.sorted(Comparator.comparing(o -> o.get("transactTime").toString()))
+				.toList();
+		int fromIndex = Math.min(matching.size(), page * size);
+		List<Map<String, Object>> content = matching.subList(fromIndex, Math.min(matching.size(), fromIndex + size));
+		long totalPages = (matching.size() + size - 1) / size;
+		return new OrderTimeSeriesMcpTools.Page(new PageResponse<>(content, page, size, matching.size(), totalPages), true);
+	}
+
+	private static Map<String, Object> order(String transactTime, double orderQty, Double price) {
+		Map<String, Object> order = new LinkedHashMap<>();
+		order.put("orderId", transactTime);
+		order.put("transactTime", transactTime);
+		order.put("orderQty", orderQty);
+		order.put("price", price);
+		return order;
+	}
+
+	private static long millis(String dateTime) {
+		return LocalDateTime.parse(dateTime).toInstant(ZoneOffset.UTC).toEpochMilli();
+	}
+}
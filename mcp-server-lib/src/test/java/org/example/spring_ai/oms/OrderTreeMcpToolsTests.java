@@ -0,0 +1,115 @@
+package org.example.spring_ai.oms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+class OrderTreeMcpToolsTests {
+
+	private final List<Map<String, Object>> oms = new ArrayList<>();
+	private final List<Map<String, ?>> queries = new ArrayList<>();
+	private final OrderTreeMcpTools tools = new OrderTreeMcpTools(this::search, null);
+
+	@Test
+	void resolvesTheRootFromAChildInTwoQueries() {
+		oms.add(order("R", "R", null, 150, 90));
+		oms.add(order("P1", "R", "R", 100, 20));
+		oms.add(order("C1", "R", "P1", 60, 30));
+		oms.add(order("C2", "R", "P1", 40, 10));
+		oms.add(order("P2", "R", "R", 50, 50));
+
+		var tree = tools.getOrderTree("C1");
+
+		assertThat(tree.rootOrderId()).isEqualTo("R");
+		assertThat(tree.orderCount()).isEqualTo(5);
+		assertThat(tree.depth()).isEqualTo(3);
+		assertThat(tree.upstreamCalls()).isEqualTo(2);
+		assertThat(queries).containsExactly(Map.of("orderId", "C1"), Map.of("rootOrderId", "R"));
+		assertThat(tree.notes()).isEmpty();
+	}
+
+	@Test
+	void rollsUpDirectChildrenAndLeaves() {
+		oms.add(order("R", "R", null, 150, 90));
+		oms.add(order("P1", "R", "R", 100, 20));
+		oms.add(order("C1", "R", "P1", 60, 30));
+		oms.add(order("C2", "R", "P1", 40, 10));
+		oms.add(order("P2", "R", "R", 50, 50));
+
+		OrderTreeMcpTools.OrderNode root = tools.getOrderTree("R").root();
+
+		assertThat(root.descendantCount()).isEqualTo(4);
+		assertThat(root.childOrderQty()).isEqualTo(150);
+		assertThat(root.childCumQty()).isEqualTo(70);
+		assertThat(root.leafOrderQty()).isEqualTo(150);
+		assertThat(root.leafCumQty()).isEqualTo(90);
+		OrderTreeMcpTools.OrderNode p1 = root.children().get(0);
+		assertThat(p1.order()).containsEntry("orderId", "P1");
+		assertThat(p1.children()).extracting(c -> c.order().get("orderId")).containsExactly("C1", "C2");
+		assertThat(p1.leafCumQty()).isEqualTo(40);
+		assertThat(root.children().get(1).leafOrderQty()).isEqualTo(50);
+	}
+
+	@Test
+	void attachesOrdersWithAnUnknownParentToTheRoot() {
+		oms.add(order("R", "R", null, 100, 0));
+		oms.add(order("C1", "R", "R", 60, 0));
+		oms.add(order("C2", "R", "X", 40, 0));
+
+		var tree = tools.getOrderTree("R");
+
+		assertThat(tree.root().children()).extracting(c -> c.order().get("orderId")).containsExactly("C1", "C2");
+		assertThat(tree.notes()).containsExactly("1 order(s) reference a parent outside this tree and were attached to the root");
+	}
+
+	@Test
+	void omitsParentCyclesWithANote() {
+		oms.add(order("R", "R", null, 100, 0));
+		oms.add(order("C1", "R", "R", 60, 0));
+		oms.add(order("A", "R", "B", 10, 0));
+		oms.add(order("B", "R", "A", 10, 0));
+
+		var tree = tools.getOrderTree("C1");
+
+		assertThat(tree.root().descendantCount()).isEqualTo(1);
+		assertThat(tree.notes()).containsExactly("2 order(s) are part of a parent cycle and were omitted");
+	}
+
+	@Test
+	void fetchesARootWithoutItsOwnRootOrderIdSeparately() {
+		oms.add(order("R", null, null, 100, 0));
+		oms.add(order("C1", "R", "R", 100, 0));
+
+		var tree = tools.getOrderTree("C1");
+
+		assertThat(tree.upstreamCalls()).isEqualTo(3);
+		assertThat(tree.root().order()).containsEntry("orderId", "R").containsEntry("orderQty", 100.0);
+		assertThat(tree.notes()).isEmpty();
+		assertThat(tools.getOrderTree("missing").notes()).containsExactly("Order not found");
+	}
+
+	private PageResponse<Map<String, Object>> search(Map<String, ?> params, Integer page, Integer size, String sort) {
+		queries.add(params);
+		List<Map<String, Object>> content = oms.stream()
+				.filter(o -> params.entrySet().stream().allMatch(p -> Objects.equals(o.get(p.getKey()), p.getValue())))
+				.toList();
+		return new PageResponse<>(content, page, size, content.size(), 1);
+	}
+
+	private static Map<String, Object> order(String orderId, String rootOrderId, String parentOrderId, double orderQty,
+			double cumQty) {
+		Map<String, Object> order = new HashMap<>();
+		order.put("orderId", orderId);
+		order.put("rootOrderId", rootOrderId);
+		order.put("parentOrderId", parentOrderId);
+		order.put("orderQty", orderQty);
+		order.put("cumQty", cumQty);
+		return order;
+	}
+}
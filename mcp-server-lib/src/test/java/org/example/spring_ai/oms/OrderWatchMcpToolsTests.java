@@ -0,0 +1,76 @@
+package org.example.spring_ai.oms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class OrderWatchMcpToolsTests {
+
+	private final List<Map<String, Object>> oms = new ArrayList<>();
+	private final OrderWatchMcpTools tools = new OrderWatchMcpTools(this::search, null,
+			new OrderWatchProperties(Duration.ofSeconds(5), Duration.ofMinutes(10), 20, 3, 120, 2, 1));
+
+	@AfterEach
+	void shutdown() {
+		tools.shutdown();
+	}
+
+	@Test
+	void cappedWatchKeepsTheNewestOrders() {
+		for (int i = 1; i <= 4; i++) {
+			oms.add(order("O" + i, "2025-10-10T10:00:0" + i));
+		}
+
+		var first = tools.watchOrders(null, null);
+
+		assertThat(first.truncated()).isTrue();
+		assertThat(first.added()).extracting(o -> o.get("orderId")).containsExactly("O2", "O3", "O4");
+
+		oms.add(order("O5", "2025-10-10T10:00:05"));
+		tools.pollAll();
+		var next = awaitChange(first.cursor());
+
+		assertThat(next.added()).extracting(o -> o.get("orderId")).containsExactly("O5");
+		assertThat(next.removed()).containsExactly("O2");
+		assertThat(next.orderCount()).isEqualTo(3);
+	}
+
+	private OrderWatchMcpTools.WatchOrdersResponse awaitChange(String cursor) {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (true) {
+			var response = tools.watchOrders(null, cursor);
+			if (!response.cursor().equals(cursor) || System.nanoTime() > deadline) {
+				return response;
+			}
+			Thread.onSpinWait();
+		}
+	}
+
+	/** The query API sorted by transactTime as requested, one page of {@code size} orders at a time. */
+	private PageResponse<Map<String, Object>> search(Map<String, ?> params, Integer page, Integer size, String sort) {
+		Comparator<Map<String, Object>> byTime = Comparator.comparing(o -> o.get("transactTime").toString());
+		List<Map<String, Object>> sorted = oms.stream()
+				.sorted(sort.endsWith("DESC") ? byTime.reversed() : byTime)
+				.<Map<String, Object>>map(HashMap::new)
+				.toList();
+		List<Map<String, Object>> content = sorted.subList(Math.min(page * size, sorted.size()),
+				Math.min((page + 1) * size, sorted.size()));
+		return new PageResponse<>(content, page, size, sorted.size(), (sorted.size() + size - 1) / size);
+	}
+
+	private static Map<String, Object> order(String orderId, String transactTime) {
+		Map<String, Object> order = new HashMap<>();
+		order.put("orderId", orderId);
+		order.put("transactTime", transactTime);
+		order.put("state", "NEW");
+		return order;
+	}
+}
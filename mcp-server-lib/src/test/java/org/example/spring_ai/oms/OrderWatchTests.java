@@ -0,0 +1,68 @@
+package org.example.spring_ai.oms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class OrderWatchTests {
+
+	private final OrderWatch watch = new OrderWatch(Map.of("symbol", "INTC"), 2);
+
+	@Test
+	void firstReadIsAFullResync() {
+		watch.apply(List.of(order("O1", "NEW", 0), order("O2", "NEW", 0)), false, 1L);
+
+		var changes = watch.since(0);
+
+		assertThat(changes.resync()).isTrue();
+		assertThat(changes.version()).isEqualTo(1);
+		assertThat(changes.added()).hasSize(2);
+	}
+
+	@Test
+	void mergesDeltasSinceTheClientVersion() {
+		watch.apply(List.of(order("O1", "NEW", 0), order("O2", "NEW", 0)), false, 1L);
+		watch.apply(List.of(order("O1", "PARTIALLY_FILLED", 50), order("O2", "NEW", 0), order("O3", "NEW", 0)), false, 2L);
+		watch.apply(List.of(order("O1", "FILLED", 100), order("O3", "NEW", 0)), false, 3L);
+
+		var changes = watch.since(1);
+
+		assertThat(changes.resync()).isFalse();
+		assertThat(changes.version()).isEqualTo(3);
+		assertThat(changes.added()).extracting(o -> o.get("orderId")).containsExactly("O3");
+		assertThat(changes.changed()).singleElement().satisfies(c -> {
+			assertThat(c.orderId()).isEqualTo("O1");
+			assertThat(c.fields()).containsExactlyInAnyOrderEntriesOf(Map.of("state", "FILLED", "cumQty", 100));
+		});
+		assertThat(changes.removed()).containsExactly("O2");
+		assertThat(watch.since(3).changed()).isEmpty();
+	}
+
+	@Test
+	void unchangedPollKeepsTheVersionAndOldCursorsResync() {
+		watch.apply(List.of(order("O1", "NEW", 0)), false, 1L);
+		assertThat(watch.apply(List.of(order("O1", "NEW", 0)), false, 2L)).isFalse();
+
+		watch.apply(List.of(order("O1", "NEW", 10)), false, 3L);
+		watch.apply(List.of(order("O1", "NEW", 20)), false, 4L);
+		watch.apply(List.of(order("O1", "NEW", 30)), false, 5L);
+
+		assertThat(watch.version()).isEqualTo(4);
+		assertThat(watch.since(1).resync()).isTrue();
+		assertThat(watch.since(2).changed()).singleElement()
+				.satisfies(c -> assertThat(c.fields()).containsEntry("cumQty", 30));
+	}
+
+	private static Map<String, Object> order(String orderId, String state, int cumQty) {
+		Map<String, Object> order = new LinkedHashMap<>();
+		order.put("orderId", orderId);
+		order.put("symbol", "INTC");
+		order.put("state", state);
+		order.put("cumQty", cumQty);
+		return order;
+	}
+}
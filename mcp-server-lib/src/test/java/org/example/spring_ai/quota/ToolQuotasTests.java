@@ -0,0 +1,164 @@
+package org.example.spring_ai.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ToolQuotasTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+	private final Object agentSession = new Object();
+
+	@Test
+	void rejectsClientsOverTheirRateAndCountsPerClient() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ToolQuotas quotas = new ToolQuotas(properties(32, Map.of("agent", new ToolQuotaProperties.Client(0, 1, 5, 8))),
+				registry, nanos::get);
+
+		quotas.acquire(agentSession, "agent", "searchOrders", 4).release();
+		assertThatThrownBy(() -> quotas.acquire(agentSession, "agent", "searchOrders", 4))
+				.isInstanceOf(ToolQuotaExceededException.class)
+				.hasMessageContaining("'agent'")
+				.extracting(e -> ((ToolQuotaExceededException) e).getReason()).isEqualTo("rate");
+		quotas.acquire(new Object(), "other", "searchOrders", 4).release();
+
+		nanos.addAndGet(Duration.ofSeconds(3).toNanos());
+		quotas.acquire(agentSession, "agent", "searchOrders", 4).release();
+
+		assertThat(registry.get("mcp.quota.rejected").tag("client", "agent").tag("reason", "rate")
+				.functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("mcp.quota.accepted").tag("client", "agent").functionCounter().count()).isEqualTo(2);
+		assertThat(quotas.stats(ToolQuotas.OTHER_CLIENTS).rejected()).isEmpty();
+	}
+
+	@Test
+	void keysQuotasBySessionAndTagsOnlyConfiguredClients() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ToolQuotas quotas = new ToolQuotas(properties(32, Map.of("agent", new ToolQuotaProperties.Client(0, 1, 5, 8))),
+				registry, nanos::get);
+
+		quotas.acquire(agentSession, "agent", "searchOrders", 5).release();
+		// Another session reporting the same name has a bucket of its own
+		quotas.acquire(new Object(), "agent", "searchOrders", 5).release();
+		for (int i = 0; i < 10; i++) {
+			quotas.acquire(new Object(), "client-" + i, "searchOrders", 1).release();
+		}
+
+		assertThat(registry.find("mcp.quota.accepted").functionCounters())
+				.extracting(counter -> counter.getId().getTag("client"))
+				.containsExactlyInAnyOrder("agent", ToolQuotas.OTHER_CLIENTS);
+		assertThat(quotas.stats("agent").sessions()).isEqualTo(2);
+		assertThat(quotas.stats(ToolQuotas.OTHER_CLIENTS).accepted()).isEqualTo(10);
+	}
+
+	@Test
+	void forgetsIdleSessionsOnceTheirBucketRefilled() {
+		ToolQuotas quotas = new ToolQuotas(properties(32, Map.of()), null, nanos::get);
+		ToolQuotas.Permit running = quotas.acquire(agentSession, "agent", "searchOrders", 1);
+		for (int i = 0; i < 63; i++) {
+			quotas.acquire(new Object(), "agent", "searchOrders", 1).release();
+		}
+		assertThat(quotas.stats().sessions()).isEqualTo(64);
+
+		nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+		quotas.acquire(new Object(), "agent", "searchOrders", 1).release();
+
+		assertThat(quotas.stats().sessions()).isEqualTo(2);
+		running.release();
+	}
+
+	@Test
+	void limitsCallsPerClient() {
+		ToolQuotas quotas = new ToolQuotas(properties(32, Map.of("default", new ToolQuotaProperties.Client(0, 100, 100, 1))),
+				null, nanos::get);
+		ToolQuotas.Permit permit = quotas.acquire(agentSession, "agent", "readDomainDoc", 1);
+
+		assertThatThrownBy(() -> quotas.acquire(agentSession, "agent", "readDomainDoc", 1))
+				.isInstanceOf(ToolQuotaExceededException.class)
+				.extracting(e -> ((ToolQuotaExceededException) e).getReason()).isEqualTo("concurrency");
+		quotas.acquire(null, "other", "readDomainDoc", 1).release();
+
+		permit.release();
+		permit.release();
+		quotas.acquire(agentSession, "agent", "readDomainDoc", 1).release();
+		assertThat(quotas.stats(ToolQuotas.OTHER_CLIENTS).active()).isZero();
+	}
+
+	@Test
+	void grantsCapacityByPriorityThenArrival() throws Exception {
+		ToolQuotas quotas = new ToolQuotas(properties(2, Map.of(
+				"batch", new ToolQuotaProperties.Client(-1, 100, 100, 4),
+				"interactive", new ToolQuotaProperties.Client(5, 100, 100, 4))), null, nanos::get);
+		ToolQuotas.Permit running = quotas.acquire(null, "batch", "searchOrders", 2);
+		List<String> order = new CopyOnWriteArrayList<>();
+
+		Thread batch = waiter(quotas, "batch", order);
+		awaitWaiting(quotas, 1);
+		Thread interactive = waiter(quotas, "interactive", order);
+		awaitWaiting(quotas, 2);
+
+		running.release();
+		batch.join(5_000);
+		interactive.join(5_000);
+
+		assertThat(order).containsExactly("interactive", "batch");
+		assertThat(quotas.stats().inUse()).isZero();
+	}
+
+	@Test
+	void nonBlockingCallersAreRejectedInsteadOfQueued() {
+		ToolQuotas quotas = new ToolQuotas(properties(2, Map.of()), null, nanos::get);
+		ToolQuotas.Permit permit = quotas.tryAcquire(agentSession, "agent", "semanticSearchDocs", 5);
+
+		assertThatThrownBy(() -> quotas.tryAcquire(new Object(), "other", "semanticSearchDocs", 1))
+				.isInstanceOf(ToolQuotaExceededException.class)
+				.extracting(e -> ((ToolQuotaExceededException) e).getReason()).isEqualTo("queue_full");
+
+		permit.release();
+		quotas.tryAcquire(null, "other", "semanticSearchDocs", 1).release();
+	}
+
+	@Test
+	void estimatesCostFromArguments() {
+		ToolCostEstimator estimator = new ToolCostEstimator(Map.of(
+				"searchOrders", new ToolQuotaProperties.Cost(1, 0.05, Map.of("size", 20.0)),
+				"semanticSearchBatch", new ToolQuotaProperties.Cost(1, 0.2, Map.of("queries", 1.0, "topk", 5.0))));
+
+		assertThat(estimator.cost("searchOrders", "{}")).isEqualTo(2.0);
+		assertThat(estimator.cost("searchOrders", "{\"size\": 200}")).isEqualTo(11.0);
+		assertThat(estimator.cost("semanticSearchBatch", "{\"queries\": [\"a\", \"b\"], \"topK\": 10}")).isEqualTo(5.0);
+		assertThat(estimator.cost("semanticSearchBatch", Map.of("queries", List.of("a")))).isEqualTo(2.0);
+		assertThat(estimator.cost("ping", "not json")).isEqualTo(1.0);
+	}
+
+	private static Thread waiter(ToolQuotas quotas, String client, List<String> order) {
+		Thread thread = new Thread(() -> {
+			ToolQuotas.Permit permit = quotas.acquire(null, client, "searchOrders", 2);
+			order.add(client);
+			permit.release();
+		});
+		thread.start();
+		return thread;
+	}
+
+	private static void awaitWaiting(ToolQuotas quotas, int waiting) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (quotas.stats().waiting() < waiting && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(quotas.stats().waiting()).isEqualTo(waiting);
+	}
+
+	private static ToolQuotaProperties properties(double capacity, Map<String, ToolQuotaProperties.Client> clients) {
+		return new ToolQuotaProperties(true, capacity, 8, Duration.ofSeconds(10), clients, Map.of());
+	}
+}
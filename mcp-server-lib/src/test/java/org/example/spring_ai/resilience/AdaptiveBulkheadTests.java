@@ -0,0 +1,69 @@
+package org.example.spring_ai.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveBulkheadTests {
+
+	@Test
+	void shedsWhenLimitAndQueueAreExhausted() {
+		AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("oms", upstream(1, 0, Duration.ofMillis(10)));
+		AdaptiveBulkhead.Permit permit = bulkhead.acquire();
+
+		assertThatThrownBy(bulkhead::acquire)
+				.isInstanceOf(BulkheadRejectedException.class)
+				.hasMessageContaining("'oms'")
+				.extracting(e -> ((BulkheadRejectedException) e).getReason()).isEqualTo("queue_full");
+
+		permit.release(false);
+		assertThat(bulkhead.stats().rejectedQueueFull()).isEqualTo(1);
+	}
+
+	@Test
+	void nonBlockingCallersAreShedInsteadOfQueued() {
+		AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("oms", upstream(1, 8, Duration.ofSeconds(10)));
+		AdaptiveBulkhead.Permit permit = bulkhead.tryAcquire();
+
+		assertThatThrownBy(bulkhead::tryAcquire)
+				.isInstanceOf(BulkheadRejectedException.class)
+				.extracting(e -> ((BulkheadRejectedException) e).getReason()).isEqualTo("queue_full");
+
+		permit.release(false);
+		bulkhead.tryAcquire().release(false);
+		assertThat(bulkhead.stats().accepted()).isEqualTo(2);
+	}
+
+	@Test
+	void timesOutQueuedCallers() {
+		AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("ollama", upstream(1, 1, Duration.ofMillis(20)));
+		AdaptiveBulkhead.Permit permit = bulkhead.acquire();
+
+		assertThatThrownBy(bulkhead::acquire)
+				.isInstanceOf(BulkheadRejectedException.class)
+				.extracting(e -> ((BulkheadRejectedException) e).getReason()).isEqualTo("timeout");
+		permit.release(false);
+	}
+
+	@Test
+	void shrinksOnOverloadAndGrowsWhenSaturated() {
+		AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("qdrant", upstream(8, 8, Duration.ofMillis(10)));
+
+		bulkhead.acquire().release(true);
+		assertThat(bulkhead.stats().limit()).isEqualTo(4);
+
+		for (int round = 0; round < 20; round++) {
+			AdaptiveBulkhead.Permit[] permits = new AdaptiveBulkhead.Permit[bulkhead.stats().limit()];
+			for (int i = 0; i < permits.length; i++) permits[i] = bulkhead.acquire();
+			for (AdaptiveBulkhead.Permit p : permits) p.release(false);
+		}
+		assertThat(bulkhead.stats().limit()).isGreaterThan(4);
+	}
+
+	private static BulkheadProperties.Upstream upstream(int limit, int maxQueue, Duration queueTimeout) {
+		return new BulkheadProperties.Upstream(limit, 1, 16, maxQueue, queueTimeout, Duration.ofSeconds(10), 0.5);
+	}
+}
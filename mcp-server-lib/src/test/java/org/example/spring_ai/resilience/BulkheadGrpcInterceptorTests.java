@@ -0,0 +1,128 @@
+package org.example.spring_ai.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+class BulkheadGrpcInterceptorTests {
+
+	private final AdaptiveBulkhead bulkhead = new AdaptiveBulkhead("qdrant",
+			new BulkheadProperties.Upstream(1, 1, 16, 8, Duration.ofSeconds(10), Duration.ofSeconds(10), 0.5));
+	private final BulkheadGrpcInterceptor interceptor = new BulkheadGrpcInterceptor(bulkhead);
+	private final List<String> started = new ArrayList<>();
+
+	@Test
+	void nonBlockingCallsCloseWithResourceExhaustedInsteadOfWaiting() {
+		AdaptiveBulkhead.Permit held = bulkhead.tryAcquire();
+		List<Status> closed = new ArrayList<>();
+
+		ClientCall<String, String> call = interceptor.interceptCall(METHOD,
+				CallOptions.DEFAULT.withOption(BulkheadGrpcInterceptor.NON_BLOCKING, true), channel());
+		call.start(new ClientCall.Listener<>() {
+			@Override
+			public void onClose(Status status, Metadata trailers) {
+				closed.add(status);
+			}
+		}, new Metadata());
+		call.sendMessage("search");
+		call.halfClose();
+
+		assertThat(closed).singleElement().satisfies(status -> {
+			assertThat(status.getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+			assertThat(status.getCause()).isInstanceOf(BulkheadRejectedException.class);
+		});
+		assertThat(started).isEmpty();
+		assertThat(bulkhead.stats().inFlight()).isEqualTo(1);
+		held.release(false);
+	}
+
+	@Test
+	void nonBlockingCallsHoldAFreePermitUntilClose() {
+		List<ClientCall.Listener<String>> listeners = new ArrayList<>();
+		ClientCall<String, String> call = interceptor.interceptCall(METHOD,
+				CallOptions.DEFAULT.withOption(BulkheadGrpcInterceptor.NON_BLOCKING, true), channel(listeners));
+
+		call.start(new ClientCall.Listener<>() {}, new Metadata());
+		assertThat(started).containsExactly("started");
+		assertThat(bulkhead.stats().inFlight()).isEqualTo(1);
+
+		listeners.get(0).onClose(Status.OK, new Metadata());
+		assertThat(bulkhead.stats().inFlight()).isZero();
+	}
+
+	private Channel channel() {
+		return channel(new ArrayList<>());
+	}
+
+	private Channel channel(List<ClientCall.Listener<String>> listeners) {
+		return new Channel() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method, CallOptions options) {
+				return (ClientCall<ReqT, RespT>) new ClientCall<String, String>() {
+					@Override
+					public void start(Listener<String> listener, Metadata headers) {
+						started.add("started");
+						listeners.add(listener);
+					}
+
+					@Override
+					public void request(int numMessages) {
+					}
+
+					@Override
+					public void cancel(String message, Throwable cause) {
+					}
+
+					@Override
+					public void halfClose() {
+						throw new IllegalStateException("not started");
+					}
+
+					@Override
+					public void sendMessage(String message) {
+						throw new IllegalStateException("not started");
+					}
+				};
+			}
+
+			@Override
+			public String authority() {
+				return "qdrant";
+			}
+		};
+	}
+
+	private static final MethodDescriptor.Marshaller<String> STRINGS = new MethodDescriptor.Marshaller<>() {
+		@Override
+		public InputStream stream(String value) {
+			return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public String parse(InputStream stream) {
+			return "";
+		}
+	};
+
+	private static final MethodDescriptor<String, String> METHOD = MethodDescriptor.<String, String>newBuilder()
+			.setType(MethodDescriptor.MethodType.UNARY)
+			.setFullMethodName("qdrant.Points/Search")
+			.setRequestMarshaller(STRINGS)
+			.setResponseMarshaller(STRINGS)
+			.build();
+}
@@ -0,0 +1,107 @@
+package org.example.spring_ai.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class HedgedRetryExecutorTests {
+
+	@Test
+	void retriesTransientFailures() {
+		try (HedgedRetryExecutor executor = new HedgedRetryExecutor("test", settings(false, 10))) {
+			AtomicInteger calls = new AtomicInteger();
+
+			String result = executor.execute(() -> {
+				if (calls.incrementAndGet() < 3) throw new IllegalStateException("transient");
+				return "ok";
+			}, e -> true);
+
+			assertThat(result).isEqualTo("ok");
+			assertThat(executor.stats().retries()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void doesNotRetryPermanentFailuresOrBeyondBudget() {
+		try (HedgedRetryExecutor executor = new HedgedRetryExecutor("test", settings(false, 0))) {
+			AtomicInteger calls = new AtomicInteger();
+
+			assertThatThrownBy(() -> executor.execute(() -> {
+				calls.incrementAndGet();
+				throw new IllegalStateException("transient");
+			}, e -> true)).isInstanceOf(IllegalStateException.class);
+
+			assertThat(calls).hasValue(1);
+			assertThat(executor.stats().budgetExhausted()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void hedgeWinsOverSlowPrimaryAndCancelsIt() throws InterruptedException {
+		try (HedgedRetryExecutor executor = new HedgedRetryExecutor("test", settings(true, 10))) {
+			AtomicInteger calls = new AtomicInteger();
+			CountDownLatch never = new CountDownLatch(1);
+			CountDownLatch primaryInterrupted = new CountDownLatch(1);
+
+			String result = executor.execute(() -> {
+				if (calls.incrementAndGet() == 1) {
+					try {
+						never.await();
+					} catch (InterruptedException e) {
+						primaryInterrupted.countDown();
+					}
+					return "slow";
+				}
+				return "fast";
+			}, e -> true);
+
+			assertThat(result).isEqualTo("fast");
+			assertThat(primaryInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(executor.stats().hedges()).isEqualTo(1);
+			assertThat(executor.stats().hedgeWins()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void runsOnTheCallerWithoutHedgingWhenAllHedgeThreadsAreBusy() throws InterruptedException {
+		try (HedgedRetryExecutor executor = new HedgedRetryExecutor("test", settings(true, 10))) {
+			CountDownLatch gate = new CountDownLatch(1);
+			CountDownLatch started = new CountDownLatch(2);
+			Thread blocked = new Thread(() -> executor.execute(() -> {
+				started.countDown();
+				await(gate);
+				return "slow";
+			}, e -> true));
+			blocked.start();
+			// primary and hedge of the blocked call hold both hedge threads
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+			Thread caller = Thread.currentThread();
+			String result = executor.execute(() -> Thread.currentThread() == caller ? "caller" : "pool", e -> true);
+
+			assertThat(result).isEqualTo("caller");
+			assertThat(executor.stats().saturated()).isEqualTo(1);
+			gate.countDown();
+			blocked.join(5000);
+		}
+	}
+
+	private static HedgedRetryExecutor.Settings settings(boolean hedging, int budgetTokens) {
+		return new HedgedRetryExecutor.Settings(3, Duration.ofMillis(1), Duration.ofMillis(5), hedging, 0.95,
+				Duration.ofMillis(20), Duration.ofMillis(5), 2, 0.1, budgetTokens);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
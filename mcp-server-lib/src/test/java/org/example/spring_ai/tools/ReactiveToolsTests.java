@@ -0,0 +1,78 @@
+package org.example.spring_ai.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.example.spring_ai.cache.ToolResultCache;
+import org.example.spring_ai.encoding.ResponseEncoding;
+import org.example.spring_ai.encoding.ResponseEncodingProperties;
+import org.example.spring_ai.quota.ToolCostEstimator;
+import org.example.spring_ai.quota.ToolQuotaProperties;
+import org.example.spring_ai.quota.ToolQuotas;
+import org.example.spring_ai.warmup.AccessStats;
+import org.example.spring_ai.warmup.WarmupProperties;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class ReactiveToolsTests {
+
+	private final ObservationRegistry registry = ObservationRegistry.create();
+	private final List<Observation.Context> started = new CopyOnWriteArrayList<>();
+
+	private final ReactiveTools tools = new ReactiveTools(registry, new ToolResultCache(10_000), null,
+			new AccessStats(new WarmupProperties(false, "", Duration.ofMinutes(1), 500, 50, 20)), List.of(),
+			new ToolQuotas(new ToolQuotaProperties(true, 32, 8, Duration.ofSeconds(1), Map.of(), Map.of()), null),
+			new ToolCostEstimator(Map.of()),
+			new ResponseEncoding(new ResponseEncodingProperties(false, false, List.of(), 0, 1024), new SimpleMeterRegistry()));
+
+	ReactiveToolsTests() {
+		registry.observationConfig().observationHandler(new ObservationHandler<>() {
+			@Override
+			public void onStart(Observation.Context context) {
+				started.add(context);
+			}
+
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return true;
+			}
+		});
+	}
+
+	@Test
+	void upstreamCallsAreChildrenOfTheToolObservation() {
+		AtomicReference<Observation> current = new AtomicReference<>();
+
+		McpSchema.CallToolResult result = tools.call("searchOrders", null, Map.of(), arguments -> {
+			current.set(registry.getCurrentObservation());
+			// Like WebClient: the parent comes from the Reactor context, on another thread
+			return Mono.deferContextual(context -> {
+				Observation.createNotStarted("http.client.requests", registry)
+						.parentObservation(context.getOrDefault(ObservationThreadLocalAccessor.KEY, null))
+						.start().stop();
+				return Mono.just(Map.of("content", List.of()));
+			}).subscribeOn(Schedulers.parallel());
+		}).block(Duration.ofSeconds(5));
+
+		assertThat(result.isError()).isFalse();
+		assertThat(started).extracting(Observation.Context::getName).containsExactly("mcp.tool", "http.client.requests");
+		Observation.Context tool = started.get(0);
+		assertThat(tool.getLowCardinalityKeyValue("mcp.tool.name").getValue()).isEqualTo("searchOrders");
+		assertThat(current.get().getContextView()).isSameAs(tool);
+		assertThat(started.get(1).getParentObservation().getContextView()).isSameAs(tool);
+		assertThat(registry.getCurrentObservation()).isNull();
+	}
+}
@@ -0,0 +1,77 @@
+package org.example.spring_ai.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+class FileSpanExporterTests {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void appendsOneJsonLinePerSpanWithItsParent() throws IOException {
+		Path file = dir.resolve("logs/spans.jsonl");
+		String parentId = trace(file);
+		trace(file);
+
+		List<String> lines = Files.readAllLines(file);
+		assertThat(lines).hasSize(4);
+		JsonNode child = MAPPER.readTree(lines.get(0));
+		JsonNode parent = MAPPER.readTree(lines.get(1));
+
+		assertThat(child.path("name").asText()).isEqualTo("oms search");
+		assertThat(child.path("kind").asText()).isEqualTo("CLIENT");
+		assertThat(child.path("status").asText()).isEqualTo("ERROR");
+		assertThat(child.path("attributes").path("http.status_code").asLong()).isEqualTo(503);
+		assertThat(child.path("traceId").asText()).isEqualTo(parent.path("traceId").asText());
+		assertThat(child.path("parentSpanId").asText()).isEqualTo(parentId).isEqualTo(parent.path("spanId").asText());
+		assertThat(child.path("durationMicros").asLong()).isNotNegative();
+
+		assertThat(parent.path("name").asText()).isEqualTo("tool searchOrders");
+		assertThat(parent.path("parentSpanId").isNull()).isTrue();
+		assertThat(parent.path("status").asText()).isEqualTo("UNSET");
+	}
+
+	/** Exports a tool span with one failed client span below it and closes the exporter; returns the tool span id. */
+	private static String trace(Path file) throws IOException {
+		SdkTracerProvider provider = SdkTracerProvider.builder()
+				.addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+				.build();
+		try {
+			Tracer tracer = provider.get("test");
+			Span tool = tracer.spanBuilder("tool searchOrders").startSpan();
+			Span search = tracer.spanBuilder("oms search")
+					.setParent(Context.root().with(tool))
+					.setSpanKind(SpanKind.CLIENT)
+					.setAttribute("http.status_code", 503L)
+					.startSpan();
+			search.setStatus(StatusCode.ERROR);
+			search.end();
+			tool.end();
+			return tool.getSpanContext().getSpanId();
+		} finally {
+			provider.shutdown().join(5, TimeUnit.SECONDS);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package org.example.spring_ai.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+class ObservedToolCallbackTests {
+
+	private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+	private final ObservationRegistry registry = ObservationRegistry.create();
+	private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+
+	ObservedToolCallbackTests() {
+		registry.observationConfig()
+				.observationHandler(new DefaultMeterObservationHandler(meters))
+				.observationHandler(new ObservationHandler<>() {
+					@Override
+					public void onStop(Observation.Context context) {
+						stopped.add(context);
+					}
+
+					@Override
+					public boolean supportsContext(Observation.Context context) {
+						return true;
+					}
+				});
+	}
+
+	@Test
+	void observesEachCallAsOneToolObservation() {
+		ToolCallback observed = new ObservedToolCallback(tool("searchOrders", null), registry);
+
+		assertThat(observed.call("{\"symbol\":\"INTC\"}")).isEqualTo("ok");
+
+		assertThat(stopped).singleElement().satisfies(context -> {
+			assertThat(context.getName()).isEqualTo("mcp.tool");
+			assertThat(context.getContextualName()).isEqualTo("tool searchOrders");
+			assertThat(context.getLowCardinalityKeyValue("mcp.tool.name").getValue()).isEqualTo("searchOrders");
+			assertThat(context.getHighCardinalityKeyValue("mcp.tool.input.chars").getValue()).isEqualTo("17");
+			assertThat(context.getError()).isNull();
+		});
+		assertThat(meters.get("mcp.tool").tag("mcp.tool.name", "searchOrders").tag("error", "none").timer().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void tagsFailedCallsWithTheError() {
+		ToolCallback observed = new ObservedToolCallback(tool("readDomainDoc", new IllegalStateException("not found")), registry);
+
+		assertThatThrownBy(() -> observed.call("{}")).isInstanceOf(IllegalStateException.class);
+
+		assertThat(stopped).singleElement()
+				.satisfies(context -> assertThat(context.getError()).hasMessage("not found"));
+		assertThat(meters.get("mcp.tool").tag("mcp.tool.name", "readDomainDoc").tag("error", "IllegalStateException")
+				.timer().count()).isEqualTo(1);
+	}
+
+	private static ToolCallback tool(String name, RuntimeException failure) {
+		ToolDefinition definition = ToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+		return new ToolCallback() {
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				if (failure != null) throw failure;
+				return "ok";
+			}
+		};
+	}
+}
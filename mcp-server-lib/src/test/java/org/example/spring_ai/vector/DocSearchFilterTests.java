@@ -0,0 +1,86 @@
+package org.example.spring_ai.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import io.qdrant.client.grpc.Points;
+
+class DocSearchFilterTests {
+
+	@Test
+	void normalizesArgumentsAndParsesDates() {
+		assertThat(DocSearchFilter.of(" ", null, "", null)).isSameAs(DocSearchFilter.NONE);
+
+		DocSearchFilter filter = DocSearchFilter.of("./specs/orders/", " specs ", " *.md ", "2025-08-01");
+		assertThat(filter.pathPrefix()).isEqualTo("specs/orders");
+		assertThat(filter.baseDir()).isEqualTo("specs");
+		assertThat(filter.filenameGlob()).isEqualTo("*.md");
+		assertThat(filter.modifiedSince()).isEqualTo(Instant.parse("2025-08-01T00:00:00Z"));
+		assertThat(DocSearchFilter.of(null, null, null, "2025-08-01T12:00:00").modifiedSince())
+				.isEqualTo(Instant.parse("2025-08-01T12:00:00Z"));
+		assertThatThrownBy(() -> DocSearchFilter.of(null, null, null, "last week"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void pushesDownPrefixExtensionAndDate() {
+		DocSearchFilter filter = DocSearchFilter.of("specs/orders", null, "*.MD", "2025-08-01");
+
+		Points.Filter qdrant = filter.toQdrantFilter();
+		assertThat(qdrant.getMustList()).extracting(condition -> condition.getField().getKey())
+				.containsExactly(DocSearchFilter.FIELD_PATH_PREFIXES, DocSearchFilter.FIELD_EXTENSION,
+						DocSearchFilter.FIELD_LAST_MODIFIED_EPOCH);
+		assertThat(qdrant.getMust(1).getField().getMatch().getKeyword()).isEqualTo("md");
+		assertThat(filter.toExpression().type()).isEqualTo(Filter.ExpressionType.AND);
+		assertThat(filter.needsResidualFilter()).isFalse();
+		assertThat(DocSearchFilter.NONE.toQdrantFilter()).isNull();
+		assertThat(DocSearchFilter.NONE.toExpression()).isNull();
+	}
+
+	@Test
+	void exactNamesArePushedDownWithoutResidual() {
+		DocSearchFilter filter = DocSearchFilter.of(null, null, "domain-model_spec.md", null);
+
+		assertThat(filter.toQdrantFilter().getMust(0).getField().getKey()).isEqualTo(DocSearchFilter.FIELD_FILENAME);
+		assertThat(filter.needsResidualFilter()).isFalse();
+		assertThat(filter.residualMatcher().test(Map.of())).isTrue();
+	}
+
+	@Test
+	void residualGlobMatchesCaseInsensitively() {
+		DocSearchFilter filter = DocSearchFilter.of(null, null, "OMS_*.MD", null);
+		assertThat(filter.needsResidualFilter()).isTrue();
+		assertThat(filter.toQdrantFilter().getMust(0).getField().getMatch().getKeyword()).isEqualTo("md");
+
+		Predicate<Map<String, Object>> residual = filter.residualMatcher();
+		assertThat(residual.test(Map.of(DocSearchFilter.FIELD_FILENAME, "oms_states.md"))).isTrue();
+		assertThat(residual.test(Map.of(DocSearchFilter.FIELD_FILENAME, "Oms_States.Md"))).isTrue();
+		assertThat(residual.test(Map.of(DocSearchFilter.FIELD_FILENAME, "fix_states.md"))).isFalse();
+		assertThat(residual.test(Map.of())).isFalse();
+	}
+
+	@Test
+	void globsWithoutFixedExtensionAreResidualOnly() {
+		DocSearchFilter filter = DocSearchFilter.of(null, null, "oms_*", null);
+
+		assertThat(filter.toQdrantFilter()).isNull();
+		assertThat(filter.needsResidualFilter()).isTrue();
+		assertThat(filter.residualMatcher().test(Map.of(DocSearchFilter.FIELD_FILENAME, "OMS_spec.adoc"))).isTrue();
+	}
+
+	@Test
+	void derivesPathPrefixesAndExtensions() {
+		assertThat(DocSearchFilter.pathPrefixes("specs", "orders/states/lifecycle.md"))
+				.containsExactly("specs", "orders", "specs/orders", "orders/states", "specs/orders/states");
+		assertThat(DocSearchFilter.pathPrefixes("specs", "readme.md")).containsExactly("specs");
+		assertThat(DocSearchFilter.extensionOf("Design.ADOC")).isEqualTo("adoc");
+		assertThat(DocSearchFilter.extensionOf("LICENSE")).isEmpty();
+	}
+}
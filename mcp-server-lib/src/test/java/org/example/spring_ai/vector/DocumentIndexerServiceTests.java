@@ -0,0 +1,89 @@
+package org.example.spring_ai.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import io.qdrant.client.PointIdFactory;
+
+class DocumentIndexerServiceTests {
+
+	private final List<Document> chunks = DocumentIndexerService.chunkDocuments("specs", "orders/states.md",
+			Map.of(), List.of("NEW -> PARTIALLY_FILLED", "PARTIALLY_FILLED -> FILLED"));
+
+	@Test
+	void chunkIdsAreStableAndFollowContent() {
+		List<Document> again = DocumentIndexerService.chunkDocuments("specs", "orders/states.md",
+				Map.of(), List.of("NEW -> PARTIALLY_FILLED", "PARTIALLY_FILLED -> CANCELED"));
+
+		assertThat(again.get(0).getId()).isEqualTo(chunks.get(0).getId());
+		assertThat(again.get(1).getId()).isNotEqualTo(chunks.get(1).getId());
+		assertThat(chunks.get(0).getMetadata())
+				.containsEntry("source", "specs/orders/states.md")
+				.containsEntry(DocSearchFilter.FIELD_EXTENSION, "md");
+	}
+
+	@Test
+	void upToDateCollectionNeedsNothing() {
+		var plan = DocumentIndexerService.plan(chunks, List.of(current(0), current(1)));
+
+		assertThat(plan.toDelete()).isEmpty();
+		assertThat(plan.missing()).isEmpty();
+	}
+
+	@Test
+	void classifiesChangedOrphanedAndDuplicatePoints() {
+		List<DocumentIndexerService.IndexedPoint> existing = new ArrayList<>();
+		existing.add(current(0));
+		// chunk 1 was indexed with older text
+		existing.add(point(UUID.randomUUID(), "specs/orders/states.md", 1, true));
+		// a file that no longer exists, and a point without payload
+		existing.add(point(UUID.randomUUID(), "specs/orders/removed.md", 0, true));
+		existing.add(point(UUID.randomUUID(), null, -1, false));
+		// legacy random-id copy of chunk 0
+		existing.add(point(UUID.randomUUID(), "specs/orders/states.md", 0, true));
+
+		var plan = DocumentIndexerService.plan(chunks, existing);
+
+		assertThat(plan.stale()).isEqualTo(1);
+		assertThat(plan.orphaned()).isEqualTo(2);
+		assertThat(plan.duplicates()).isEqualTo(1);
+		assertThat(plan.toDelete()).hasSize(4).doesNotContain(current(0).pointId());
+		assertThat(plan.missing()).extracting(Document::getId).containsExactly(chunks.get(1).getId());
+	}
+
+	@Test
+	void reAddsCurrentPointsWithoutFilterPayload() {
+		var plan = DocumentIndexerService.plan(chunks, List.of(current(0),
+				point(UUID.fromString(chunks.get(1).getId()), "specs/orders/states.md", 1, false)));
+
+		assertThat(plan.toDelete()).isEmpty();
+		assertThat(plan.missing()).extracting(Document::getId).containsExactly(chunks.get(1).getId());
+	}
+
+	@Test
+	void keepsPointsWhenTheScanIsEmptyOrIncomplete() {
+		var emptyPlan = DocumentIndexerService.plan(List.of(), List.of(current(0), current(1)));
+		assertThat(emptyPlan.orphaned()).isEqualTo(2);
+		assertThat(DocumentIndexerService.skipDeletes(new DocumentIndexerService.Scan(List.of(), true), emptyPlan)).isTrue();
+
+		var plan = DocumentIndexerService.plan(chunks.subList(0, 1), List.of(current(0), current(1)));
+		assertThat(plan.toDelete()).hasSize(1);
+		assertThat(DocumentIndexerService.skipDeletes(new DocumentIndexerService.Scan(chunks.subList(0, 1), false), plan)).isTrue();
+		assertThat(DocumentIndexerService.skipDeletes(new DocumentIndexerService.Scan(chunks.subList(0, 1), true), plan)).isFalse();
+	}
+
+	private DocumentIndexerService.IndexedPoint current(int chunk) {
+		return point(UUID.fromString(chunks.get(chunk).getId()), "specs/orders/states.md", chunk, true);
+	}
+
+	private static DocumentIndexerService.IndexedPoint point(UUID id, String source, long chunkIndex, boolean filterPayload) {
+		return new DocumentIndexerService.IndexedPoint(PointIdFactory.id(id), source, chunkIndex, filterPayload);
+	}
+}
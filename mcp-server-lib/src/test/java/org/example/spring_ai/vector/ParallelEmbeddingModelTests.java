@@ -0,0 +1,63 @@
+package org.example.spring_ai.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+class ParallelEmbeddingModelTests {
+
+	private final Set<Integer> batchSizes = ConcurrentHashMap.newKeySet();
+
+	private final EmbeddingModel lengthModel = new EmbeddingModel() {
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			batchSizes.add(request.getInstructions().size());
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(new float[] {text.length()}, embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return new float[] {document.getText().length()};
+		}
+	};
+
+	@Test
+	void splitsLargeRequestsIntoBatchesAndKeepsOrder() {
+		ParallelEmbeddingModel model = new ParallelEmbeddingModel(lengthModel, 4, 3);
+		List<String> texts = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			texts.add("x".repeat(i + 1));
+		}
+
+		EmbeddingResponse response = model.call(new EmbeddingRequest(texts, null));
+
+		assertThat(batchSizes).containsExactlyInAnyOrder(4, 2);
+		assertThat(response.getResults()).hasSize(10);
+		for (int i = 0; i < 10; i++) {
+			assertThat(response.getResults().get(i).getIndex()).isEqualTo(i);
+			assertThat(response.getResults().get(i).getOutput()[0]).isEqualTo(i + 1);
+		}
+	}
+
+	@Test
+	void passesSmallRequestsThrough() {
+		ParallelEmbeddingModel model = new ParallelEmbeddingModel(lengthModel, 32, 2);
+
+		assertThat(model.embed("query")).containsExactly(5f);
+		assertThat(batchSizes).containsExactly(1);
+	}
+}
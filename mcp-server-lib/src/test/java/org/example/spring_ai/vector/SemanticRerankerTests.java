@@ -0,0 +1,53 @@
+package org.example.spring_ai.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+class SemanticRerankerTests {
+
+	private final SemanticReranker reranker = new SemanticReranker(4, 60, 1000, 2);
+
+	@AfterEach
+	void tearDown() {
+		reranker.shutdown();
+	}
+
+	@Test
+	void promotesChunkWithQueryTermsInHeading() {
+		Document generic = doc("generic", "Orders are stored in the database and replicated.", 0.80);
+		Document precise = doc("precise", "## Cancel Replace Flow\nA cancel/replace request amends the order.", 0.72);
+
+		List<Document> result = reranker.rerank("cancel replace flow", List.of(generic, precise), 1);
+
+		assertThat(result).extracting(Document::getId).containsExactly("precise");
+		assertThat(result.get(0).getMetadata()).containsKey("rerank_score");
+	}
+
+	@Test
+	void keepsVectorOrderWhenQueryHasNoTerms() {
+		Document first = doc("first", "alpha", 0.9);
+		Document second = doc("second", "beta", 0.8);
+
+		List<Document> result = reranker.rerank("the of", List.of(first, second), 2);
+
+		assertThat(result).extracting(Document::getId).containsExactly("first", "second");
+	}
+
+	@Test
+	void candidateCountIsBoundedByMaxCandidates() {
+		assertThat(reranker.candidateCount(5)).isEqualTo(20);
+		assertThat(reranker.candidateCount(20)).isEqualTo(60);
+	}
+
+	private static Document doc(String id, String text, double score) {
+		Map<String, Object> metadata = new HashMap<>();
+		return Document.builder().id(id).text(text).metadata(metadata).score(score).build();
+	}
+}
@@ -0,0 +1,53 @@
+package org.example.spring_ai.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+import io.qdrant.client.PointIdFactory;
+import io.qdrant.client.ValueFactory;
+import io.qdrant.client.grpc.Points;
+
+class SemanticSearchToolsTests {
+
+	@Test
+	void assignsSharedChunksToTheBestQueryAndSortsEachGroup() {
+		List<List<Points.ScoredPoint>> perQuery = List.of(
+				List.of(hit(1, 0.90f, "a.md"), hit(2, 0.70f, "b.md"), hit(3, 0.65f, "c.md")),
+				List.of(hit(2, 0.95f, "b.md"), hit(4, 0.80f, "d.md"), hit(1, 0.60f, "a.md")));
+
+		List<List<Document>> groups = SemanticSearchTools.assignToBestQuery(perQuery, 3, metadata -> true);
+
+		assertThat(groups.get(0)).extracting(Document::getId).containsExactly("1", "3");
+		assertThat(groups.get(1)).extracting(Document::getId).containsExactly("2", "4");
+		assertThat(groups.get(1).get(0).getScore()).isCloseTo(0.95, within(1e-6));
+		assertThat(groups.get(0).get(0).getMetadata().get("matched_queries")).isEqualTo(List.of(0, 1));
+		assertThat(groups.get(1).get(1).getMetadata().get("matched_queries")).isEqualTo(List.of(1));
+	}
+
+	@Test
+	void appliesTopKAfterTheResidualFilter() {
+		List<List<Points.ScoredPoint>> perQuery = List.of(
+				List.of(hit(1, 0.9f, "a.txt"), hit(2, 0.8f, "b.md"), hit(3, 0.7f, "c.md"), hit(4, 0.6f, "d.md")));
+
+		List<List<Document>> groups = SemanticSearchTools.assignToBestQuery(perQuery, 2,
+				metadata -> metadata.get("filename").toString().endsWith(".md"));
+
+		assertThat(groups.get(0)).extracting(Document::getId).containsExactly("2", "3");
+	}
+
+	private static Points.ScoredPoint hit(long id, float score, String filename) {
+		return Points.ScoredPoint.newBuilder()
+				.setId(PointIdFactory.id(id))
+				.setScore(score)
+				.putAllPayload(Map.of(
+						QdrantPayloads.CONTENT_FIELD, ValueFactory.value("chunk " + id),
+						"filename", ValueFactory.value(filename)))
+				.build();
+	}
+}
@@ -0,0 +1,67 @@
+package org.example.spring_ai.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+
+class VectorNamespacesTests {
+
+	private final Path productA = Path.of("/data/product-a/specs");
+	private final Path productB = Path.of("/data/product-b/Specs");
+	private final Path manifesto = Path.of("/data/Team Manifesto");
+	private final Path adrs = Path.of("/data/adrs");
+
+	@Test
+	void givesEachUngroupedBaseDirItsOwnNamespace() {
+		List<VectorNamespaces.Namespace> namespaces = VectorNamespaces.plan(
+				List.of(productA, productB, manifesto), Map.of(), "domain-docs");
+
+		assertThat(namespaces).extracting(VectorNamespaces.Namespace::name)
+				.containsExactly("specs", "specs-2", "team-manifesto");
+		assertThat(namespaces).extracting(VectorNamespaces.Namespace::collection)
+				.containsExactly("domain-docs-specs", "domain-docs-specs-2", "domain-docs-team-manifesto");
+	}
+
+	@Test
+	void putsGroupedBaseDirsIntoOneNamespace() {
+		List<VectorNamespaces.Namespace> namespaces = VectorNamespaces.plan(
+				List.of(productA, manifesto, adrs), Map.of("architecture", List.of("Team Manifesto", "adrs")), "docs");
+
+		assertThat(namespaces).hasSize(2);
+		assertThat(namespaces.get(1).name()).isEqualTo("architecture");
+		assertThat(namespaces.get(1).baseDirs()).containsExactly(manifesto, adrs);
+	}
+
+	@Test
+	void selectsByNameOrBaseDir() {
+		VectorNamespaces namespaces = new VectorNamespaces(
+				VectorNamespaces.plan(List.of(productA, adrs), Map.of(), "docs"), 1);
+
+		assertThat(namespaces.select(List.of("adrs"), null)).extracting(VectorNamespaces.Namespace::name).containsExactly("adrs");
+		assertThat(namespaces.select(null, "specs")).extracting(VectorNamespaces.Namespace::name).containsExactly("specs");
+		assertThat(namespaces.select(null, null)).hasSize(2);
+		assertThatThrownBy(() -> namespaces.select(List.of("nope"), null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("available");
+		namespaces.close();
+	}
+
+	@Test
+	void mergesResultsByScore() {
+		List<Document> merged = VectorNamespaces.merge(List.of(
+				List.of(doc("a1", 0.9), doc("a2", 0.5)),
+				List.of(doc("b1", 0.8), doc("b2", 0.7))), 3);
+
+		assertThat(merged).extracting(Document::getId).containsExactly("a1", "b1", "b2");
+	}
+
+	private static Document doc(String id, double score) {
+		return Document.builder().id(id).text(id).score(score).build();
+	}
+}
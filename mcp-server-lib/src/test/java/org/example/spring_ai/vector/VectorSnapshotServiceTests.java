@@ -0,0 +1,83 @@
+package org.example.spring_ai.vector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.qdrant.client.PointIdFactory;
+import io.qdrant.client.ValueFactory;
+import io.qdrant.client.grpc.Points.PointStruct;
+
+class VectorSnapshotServiceTests {
+
+	@TempDir
+	Path dir;
+
+	private final VectorSnapshotService.SnapshotManifest manifest = new VectorSnapshotService.SnapshotManifest(
+			2, "nomic-embed-text", "abc123", "domain-docs-specs", 3, "Cosine", 2, "2025-08-01T00:00:00Z");
+
+	@Test
+	void roundTripsPointsAndPayload() throws IOException {
+		Path file = write(dir.resolve("ok.vsnap"), 2, 2);
+
+		assertThat(VectorSnapshotService.verify(file)).isEqualTo(manifest);
+		List<PointStruct> points = new ArrayList<>();
+		assertThat(VectorSnapshotService.readPoints(file, points::addAll)).isEqualTo(2);
+
+		assertThat(points.get(0).getId().getUuid()).isEqualTo(new UUID(1, 0).toString());
+		assertThat(points.get(1).getId().getNum()).isEqualTo(7);
+		assertThat(points.get(0).getVectors().getVector().getDataList()).containsExactly(0.5f, 1.0f, 1.5f);
+		assertThat(points.get(0).getPayloadMap().get("source").getStringValue()).isEqualTo("specs/orders.md");
+		assertThat(points.get(1).getPayloadMap().get("chunk_index").getIntegerValue()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsTruncatedFiles() throws IOException {
+		Path file = write(dir.resolve("truncated.vsnap"), 2, 2);
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(bytes, bytes.length - 12));
+
+		assertThatThrownBy(() -> VectorSnapshotService.verify(file)).isInstanceOf(IOException.class);
+	}
+
+	@Test
+	void rejectsChecksumMismatchAndWrongPointCount() throws IOException {
+		Path corrupt = write(dir.resolve("corrupt.vsnap"), 2, 2);
+		byte[] bytes = Files.readAllBytes(corrupt);
+		// first byte of the gzip CRC-32 trailer
+		bytes[bytes.length - 8] ^= 0x5a;
+		Files.write(corrupt, bytes);
+		assertThatThrownBy(() -> VectorSnapshotService.verify(corrupt)).isInstanceOf(IOException.class);
+
+		Path miscounted = write(dir.resolve("miscounted.vsnap"), 2, 3);
+		assertThatThrownBy(() -> VectorSnapshotService.verify(miscounted))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("2 points read, 3 written");
+	}
+
+	private Path write(Path file, int points, long trailerCount) throws IOException {
+		try (DataOutputStream out = VectorSnapshotService.openForWrite(file)) {
+			VectorSnapshotService.writeHeader(out, manifest);
+			for (int i = 0; i < points; i++) {
+				VectorSnapshotService.writePoint(out,
+						i == 0 ? PointIdFactory.id(new UUID(1, 0)) : PointIdFactory.id(7),
+						List.of(0.5f * (i + 1), 1.0f * (i + 1), 1.5f * (i + 1)),
+						Map.of("source", ValueFactory.value("specs/orders.md"), "chunk_index", ValueFactory.value(i)));
+			}
+			VectorSnapshotService.writeTrailer(out, trailerCount);
+		}
+		return file;
+	}
+}